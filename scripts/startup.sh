@@ -0,0 +1,111 @@
+#!/usr/bin/env bash
+#
+# Fast-startup runs from the flat layout built by `./gradlew startupDist`.
+#
+#   scripts/startup.sh train       AppCDS training run: start with AOT, serve a few requests,
+#                                  stop, and dump the loaded classes to build/startup/app.jsa
+#   scripts/startup.sh run [args]  start with AOT and the CDS archive
+#   scripts/startup.sh benchmark   report time to the first served GET /products for the
+#                                  plain, AOT and AOT+CDS modes
+#
+# Database settings come from the usual SPRING_DATASOURCE_* environment variables.
+# Tunables: PORT (8080), PROFILES (prod), RUNS (3), JAVA_OPTS.
+set -euo pipefail
+
+DIST_DIR="$(cd "$(dirname "$0")/.." && pwd)/build/startup"
+PORT="${PORT:-8080}"
+PROFILES="${PROFILES:-prod}"
+RUNS="${RUNS:-3}"
+JAVA_OPTS="${JAVA_OPTS:-}"
+ARCHIVE="app.jsa"
+MAIN_CLASS="com.shopease.ShopEaseApplication"
+PRODUCTS_URL="http://localhost:${PORT}/api/products"
+
+if [[ ! -f "${DIST_DIR}/classpath.args" ]]; then
+    echo "Missing ${DIST_DIR}/classpath.args, run ./gradlew startupDist first" >&2
+    exit 1
+fi
+cd "${DIST_DIR}"
+
+now_ms() {
+    date +%s%3N
+}
+
+# Starts the application in the background with the given JVM options; sets APP_PID
+start_app() {
+    # shellcheck disable=SC2086
+    java ${JAVA_OPTS} "$@" @classpath.args "${MAIN_CLASS}" \
+        --spring.profiles.active="${PROFILES}" --server.port="${PORT}" > app.log 2>&1 &
+    APP_PID=$!
+}
+
+# Polls GET /products until it is served; prints the milliseconds since $1
+wait_for_products() {
+    local started=$1
+    until curl -sf -o /dev/null "${PRODUCTS_URL}"; do
+        if ! kill -0 "${APP_PID}" 2> /dev/null; then
+            echo "Application exited, see ${DIST_DIR}/app.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    echo $(( $(now_ms) - started ))
+}
+
+stop_app() {
+    kill -TERM "${APP_PID}"
+    wait "${APP_PID}" || true
+}
+
+train() {
+    rm -f "${ARCHIVE}"
+    start_app -Dspring.aot.enabled=true -XX:ArchiveClassesAtExit="${ARCHIVE}"
+    wait_for_products "$(now_ms)" > /dev/null
+    # Exercise the storefront read path so its classes land in the archive
+    for _ in $(seq 1 20); do
+        curl -sf -o /dev/null "${PRODUCTS_URL}"
+        curl -sf -o /dev/null "${PRODUCTS_URL}/best-sellers" || true
+    done
+    stop_app
+    echo "Wrote ${DIST_DIR}/${ARCHIVE}"
+}
+
+run() {
+    # shellcheck disable=SC2086
+    exec java ${JAVA_OPTS} -Dspring.aot.enabled=true -XX:SharedArchiveFile="${ARCHIVE}" \
+        @classpath.args "${MAIN_CLASS}" --spring.profiles.active="${PROFILES}" "$@"
+}
+
+measure() {
+    local label=$1
+    shift
+    local total=0
+    for run in $(seq 1 "${RUNS}"); do
+        local started
+        started=$(now_ms)
+        start_app "$@"
+        local elapsed
+        elapsed=$(wait_for_products "${started}")
+        stop_app
+        total=$(( total + elapsed ))
+        printf '%-10s run %d: %6d ms\n' "${label}" "${run}" "${elapsed}"
+    done
+    printf '%-10s mean:  %6d ms to first GET /products\n' "${label}" $(( total / RUNS ))
+}
+
+benchmark() {
+    measure "plain"
+    measure "aot" -Dspring.aot.enabled=true
+    if [[ -f "${ARCHIVE}" ]]; then
+        measure "aot+cds" -Dspring.aot.enabled=true -XX:SharedArchiveFile="${ARCHIVE}"
+    else
+        echo "No ${ARCHIVE}, run '$0 train' to include the AOT+CDS mode"
+    fi
+}
+
+case "${1:-}" in
+    train) train ;;
+    run) shift; run "$@" ;;
+    benchmark) benchmark ;;
+    *) echo "Usage: $0 {train|run|benchmark}" >&2; exit 1 ;;
+esac
@@ -0,0 +1,95 @@
+package com.shopease.benchmark;
+
+import com.shopease.model.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Builders for the detached entities used by the benchmarks.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Creates a user.
+     *
+     * @return A user with ID 1
+     */
+    static User user() {
+        User user = new User();
+        user.setId(1L);
+        user.setName("Benchmark User");
+        user.setEmail("benchmark@example.com");
+        user.setPassword("password");
+        user.setRole(User.Role.USER);
+        return user;
+    }
+
+    /**
+     * Creates a product.
+     *
+     * @param id The product ID
+     * @return An active product with a price that varies with the ID
+     */
+    static Product product(long id) {
+        LocalDateTime now = LocalDateTime.now();
+
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Product " + id);
+        product.setDescription("Description of product " + id);
+        product.setPrice(new BigDecimal("9.99").add(BigDecimal.valueOf(id % 100)));
+        product.setStockQuantity(1000);
+        product.setCategory("Category " + (id % 10));
+        product.setStatus(Product.ProductStatus.ACTIVE);
+        product.setCreatedAt(now);
+        product.setUpdatedAt(now);
+        return product;
+    }
+
+    /**
+     * Creates a cart with one line per product.
+     *
+     * @param user The cart owner
+     * @param itemCount The number of distinct products in the cart
+     * @return A populated cart
+     */
+    static Cart cart(User user, int itemCount) {
+        Cart cart = new Cart();
+        cart.setId(1L);
+        cart.setUser(user);
+        cart.setLastAccessed(LocalDateTime.now());
+
+        for (int i = 1; i <= itemCount; i++) {
+            CartItem item = new CartItem();
+            item.setId((long) i);
+            item.setCart(cart);
+            item.setProduct(product(i));
+            item.setQuantity(1 + i % 3);
+            item.setAddedAt(LocalDateTime.now());
+            cart.getItems().add(item);
+        }
+        return cart;
+    }
+
+    /**
+     * Creates a valid percentage discount.
+     *
+     * @param percentage The discount percentage
+     * @return A discount that is valid now
+     */
+    static Discount discount(String percentage) {
+        Discount discount = new Discount();
+        discount.setId(1L);
+        discount.setCode("BENCH" + percentage);
+        discount.setPercentage(new BigDecimal(percentage));
+        discount.setStartDate(LocalDateTime.now().minusDays(1));
+        discount.setExpiryDate(LocalDateTime.now().plusDays(30));
+        discount.setMaxUsage(Integer.MAX_VALUE);
+        discount.setCurrentUsage(0);
+        return discount;
+    }
+}
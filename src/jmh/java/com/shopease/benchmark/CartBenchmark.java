@@ -0,0 +1,37 @@
+package com.shopease.benchmark;
+
+import com.shopease.dto.response.CartResponse;
+import com.shopease.model.Cart;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for cart totals and cart response mapping, which run on every cart request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CartBenchmark {
+
+    @Param({"1", "10", "50", "200"})
+    private int cartSize;
+
+    private Cart cart;
+
+    @Setup
+    public void setup() {
+        cart = BenchmarkFixtures.cart(BenchmarkFixtures.user(), cartSize);
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotal() {
+        return cart.calculateTotal();
+    }
+
+    @Benchmark
+    public CartResponse cartResponseFromEntity() {
+        return CartResponse.fromEntity(cart);
+    }
+}
@@ -0,0 +1,33 @@
+package com.shopease.benchmark;
+
+import com.shopease.model.Discount;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for discount calculation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DiscountBenchmark {
+
+    @Param({"10", "12.5", "33.33"})
+    private String percentage;
+
+    private Discount discount;
+    private BigDecimal amount;
+
+    @Setup
+    public void setup() {
+        discount = BenchmarkFixtures.discount(percentage);
+        amount = new BigDecimal("1234.56");
+    }
+
+    @Benchmark
+    public BigDecimal calculateDiscount() {
+        return discount.calculateDiscount(amount);
+    }
+}
@@ -0,0 +1,69 @@
+package com.shopease.benchmark;
+
+import com.shopease.model.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous BigDecimal pricing path with long-cents Money arithmetic:
+ * summing price * quantity over the lines of a cart and applying a percentage discount.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MoneyBenchmark {
+
+    @Param({"1", "10", "50", "100", "500"})
+    private int lines;
+
+    private BigDecimal[] decimalPrices;
+    private Money[] moneyPrices;
+    private int[] quantities;
+    private BigDecimal decimalPercentage;
+    private long basisPoints;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        decimalPrices = new BigDecimal[lines];
+        moneyPrices = new Money[lines];
+        quantities = new int[lines];
+
+        for (int i = 0; i < lines; i++) {
+            long cents = random.nextLong(199, 200_000);
+            decimalPrices[i] = BigDecimal.valueOf(cents, 2);
+            moneyPrices[i] = Money.ofCents(cents);
+            quantities[i] = 1 + random.nextInt(5);
+        }
+
+        decimalPercentage = new BigDecimal("12.50");
+        basisPoints = 1250;
+    }
+
+    /**
+     * The pricing path used before Money was introduced.
+     */
+    @Benchmark
+    public BigDecimal bigDecimalTotalWithDiscount() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            total = total.add(decimalPrices[i].multiply(BigDecimal.valueOf(quantities[i])));
+        }
+        BigDecimal discount = total.multiply(decimalPercentage.divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP));
+        return total.subtract(discount);
+    }
+
+    @Benchmark
+    public Money moneyTotalWithDiscount() {
+        long totalCents = 0;
+        for (int i = 0; i < lines; i++) {
+            totalCents = Math.addExact(totalCents, Math.multiplyExact(moneyPrices[i].cents(), (long) quantities[i]));
+        }
+        Money total = Money.ofCents(totalCents);
+        return total.minus(total.percentage(basisPoints));
+    }
+}
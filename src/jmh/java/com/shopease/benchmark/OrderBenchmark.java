@@ -0,0 +1,56 @@
+package com.shopease.benchmark;
+
+import com.shopease.dto.response.OrderResponse;
+import com.shopease.model.Cart;
+import com.shopease.model.Discount;
+import com.shopease.model.Order;
+import com.shopease.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for checkout: building an order from a cart, recalculating prices when a
+ * discount is applied, and mapping the order to its response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderBenchmark {
+
+    @Param({"1", "10", "50", "200"})
+    private int cartSize;
+
+    private User user;
+    private Cart cart;
+    private Discount discount;
+    private Order order;
+
+    @Setup
+    public void setup() {
+        user = BenchmarkFixtures.user();
+        cart = BenchmarkFixtures.cart(user, cartSize);
+        discount = BenchmarkFixtures.discount("15");
+        order = Order.createFromCart(cart, user);
+        order.setId(1L);
+    }
+
+    @Benchmark
+    public Order createFromCart() {
+        return Order.createFromCart(cart, user);
+    }
+
+    /**
+     * Applying a discount recalculates total, discount and final price over all items.
+     */
+    @Benchmark
+    public Order recalculatePrices() {
+        order.applyDiscount(discount);
+        return order;
+    }
+
+    @Benchmark
+    public OrderResponse orderResponseFromEntity() {
+        return OrderResponse.fromEntity(order);
+    }
+}
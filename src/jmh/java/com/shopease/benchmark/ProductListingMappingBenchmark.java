@@ -0,0 +1,72 @@
+package com.shopease.benchmark;
+
+import com.shopease.dto.response.ProductResponse;
+import com.shopease.model.Product;
+import com.shopease.repository.projection.ProductSummary;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares mapping a listing page from full entities with mapping it from the
+ * ProductSummary projection proxies that Spring Data returns for listing queries.
+ * Only the mapping is measured: the entities are detached and built in memory, so the cost of
+ * loading them is left to ProductListingQueryBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductListingMappingBenchmark {
+
+    @Param({"10", "50", "100"})
+    private int pageSize;
+
+    private List<Product> products;
+    private List<ProductSummary> summaries;
+
+    @Setup
+    public void setup() {
+        SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+        products = new ArrayList<>(pageSize);
+        summaries = new ArrayList<>(pageSize);
+
+        for (int i = 1; i <= pageSize; i++) {
+            Product product = BenchmarkFixtures.product(i);
+            products.add(product);
+
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", product.getId());
+            row.put("name", product.getName());
+            row.put("price", product.getPriceAmount());
+            row.put("stockQuantity", product.getStockQuantity());
+            row.put("category", product.getCategory());
+            row.put("status", product.getStatus());
+            row.put("createdAt", product.getCreatedAt());
+            row.put("updatedAt", product.getUpdatedAt());
+            summaries.add(projectionFactory.createProjection(ProductSummary.class, row));
+        }
+    }
+
+    @Benchmark
+    public List<ProductResponse> fromEntity() {
+        List<ProductResponse> responses = new ArrayList<>(pageSize);
+        for (Product product : products) {
+            responses.add(ProductResponse.fromEntity(product));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<ProductResponse> fromSummary() {
+        List<ProductResponse> responses = new ArrayList<>(pageSize);
+        for (ProductSummary summary : summaries) {
+            responses.add(ProductResponse.fromSummary(summary));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,101 @@
+package com.shopease.benchmark;
+
+import com.shopease.ShopEaseApplication;
+import com.shopease.dto.response.ProductResponse;
+import com.shopease.repository.ProductRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares a listing page loaded as managed Product entities with the same page loaded through
+ * the ProductSummary projection, including the query, entity hydration and the persistence
+ * context. Both run in a read-only transaction, as ProductServiceImpl does, against an embedded
+ * PostgreSQL. Mapping alone is measured by ProductListingMappingBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductListingQueryBenchmark {
+
+    private static final int PRODUCTS = 10_000;
+
+    @Param({"10", "50", "100"})
+    private int pageSize;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private TransactionTemplate readOnlyTransaction;
+    private Pageable pageable;
+
+    @Setup
+    public void setup() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        context = new SpringApplicationBuilder(ShopEaseApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "spring.datasource.username=postgres",
+                        "spring.datasource.password=postgres",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+
+        seedProducts(context.getBean(JdbcTemplate.class));
+        productRepository = context.getBean(ProductRepository.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        pageable = PageRequest.of(0, pageSize, Sort.by("id").descending());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public List<ProductResponse> entities() {
+        return readOnlyTransaction.execute(status -> productRepository.findAll(pageable).getContent().stream()
+                .map(ProductResponse::fromEntity)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<ProductResponse> summaries() {
+        return readOnlyTransaction.execute(status -> productRepository.findAllProjectedBy(pageable).getContent().stream()
+                .map(ProductResponse::fromSummary)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Inserts the products that the listing pages are read from.
+     */
+    private static void seedProducts(JdbcTemplate jdbcTemplate) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(PRODUCTS);
+        for (int i = 1; i <= PRODUCTS; i++) {
+            rows.add(new Object[]{"Benchmark product " + i, "Description of benchmark product " + i,
+                    9.99 + i % 100, 1000, "Category " + i % 10, now, now});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO products (name, description, price, stock_quantity, category, status, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, 'ACTIVE', ?, ?)", rows);
+    }
+}
@@ -0,0 +1,91 @@
+package com.shopease.admission;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A place in the checkout queue. A ticket waits in the line of every product in the user's
+ * cart and is admitted once it is within the admission window of all of them.
+ * State changes are made by CheckoutAdmissionQueue while holding its lock.
+ */
+public class AdmissionTicket {
+
+    /**
+     * Admission state of a ticket.
+     */
+    public enum Status {
+        WAITING,
+        ADMITTED,
+        SOLD_OUT
+    }
+
+    private final String id;
+    private final Long userId;
+    private final Set<Long> productIds;
+    private final LocalDateTime issuedAt;
+    private final long issuedAtNanos;
+
+    // Arrival number of the ticket in each product's line
+    final Map<Long, Long> arrivals = new HashMap<>();
+
+    private volatile Status status = Status.WAITING;
+    private volatile long admittedAtNanos;
+    volatile long lastSeenNanos;
+
+    AdmissionTicket(String id, Long userId, Set<Long> productIds, long nowNanos) {
+        this.id = id;
+        this.userId = userId;
+        this.productIds = Set.copyOf(productIds);
+        this.issuedAt = LocalDateTime.now();
+        this.issuedAtNanos = nowNanos;
+        this.lastSeenNanos = nowNanos;
+    }
+
+    void admit(long nowNanos) {
+        this.status = Status.ADMITTED;
+        this.admittedAtNanos = nowNanos;
+    }
+
+    void soldOut() {
+        this.status = Status.SOLD_OUT;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Set<Long> getProductIds() {
+        return productIds;
+    }
+
+    public LocalDateTime getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isAdmitted() {
+        return status == Status.ADMITTED;
+    }
+
+    /**
+     * Gets how long the ticket waited before it was admitted.
+     *
+     * @return The wait in nanoseconds, or -1 if the ticket has not been admitted
+     */
+    public long getWaitNanos() {
+        return status == Status.ADMITTED ? admittedAtNanos - issuedAtNanos : -1;
+    }
+
+    long getAdmittedAtNanos() {
+        return admittedAtNanos;
+    }
+}
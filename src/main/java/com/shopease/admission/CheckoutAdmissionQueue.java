@@ -0,0 +1,258 @@
+package com.shopease.admission;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.ToIntFunction;
+
+/**
+ * In-memory FIFO admission queue for checkouts. Every product has a line of the tickets whose
+ * carts contain it, and only the first {@code capacity(product)} tickets of a line are inside
+ * its admission window. A ticket is admitted when it is inside the window of every line it
+ * stands in, and keeps its place until it is released or expires.
+ *
+ * <p>Tickets are numbered from one global sequence, so all lines agree on their order and
+ * the oldest waiting ticket can always move forward; a ticket never blocks one that arrived
+ * earlier. Products without contention have short or empty lines, so their checkouts are
+ * admitted immediately.
+ *
+ * <p>All methods are synchronized. They only touch in-memory state and run in time
+ * proportional to the window size, so polling clients never reach the database.
+ */
+public class CheckoutAdmissionQueue {
+
+    private final ToIntFunction<Long> capacity;
+
+    private final Map<String, AdmissionTicket> tickets = new HashMap<>();
+    private final Map<Long, AdmissionTicket> ticketsByUser = new HashMap<>();
+    private final Map<Long, Line> lines = new HashMap<>();
+    private int admittedCount;
+
+    /**
+     * @param capacity How many checkouts of a product may be admitted at once; 0 when sold out
+     */
+    public CheckoutAdmissionQueue(ToIntFunction<Long> capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Issues a ticket for a user's cart, or returns the user's live ticket if there is one.
+     *
+     * @param userId The user ID
+     * @param productIds The products in the user's cart
+     * @param nowNanos The current time in nanoseconds
+     * @return The ticket; SOLD_OUT (and not queued) if any product has no capacity left
+     */
+    public synchronized AdmissionTicket enqueue(Long userId, Set<Long> productIds, long nowNanos) {
+        AdmissionTicket existing = ticketsByUser.get(userId);
+        if (existing != null) {
+            existing.lastSeenNanos = nowNanos;
+            return existing;
+        }
+
+        AdmissionTicket ticket = new AdmissionTicket(UUID.randomUUID().toString(), userId, productIds, nowNanos);
+        for (Long productId : productIds) {
+            if (capacity.applyAsInt(productId) <= 0) {
+                ticket.soldOut();
+                return ticket;
+            }
+        }
+
+        for (Long productId : productIds) {
+            Line line = lines.computeIfAbsent(productId, Line::new);
+            ticket.arrivals.put(productId, line.nextArrival++);
+            line.tickets.add(ticket);
+        }
+        tickets.put(ticket.getId(), ticket);
+        ticketsByUser.put(userId, ticket);
+
+        if (isInsideAllWindows(ticket)) {
+            admit(ticket, nowNanos);
+        }
+        return ticket;
+    }
+
+    /**
+     * Looks up a ticket and records that its holder is still polling. A waiting ticket for a
+     * product that has sold out in the meantime is taken out of the queue.
+     *
+     * @param ticketId The ticket ID
+     * @param nowNanos The current time in nanoseconds
+     * @return The ticket, or empty if it is unknown or expired
+     */
+    public synchronized Optional<AdmissionTicket> find(String ticketId, long nowNanos) {
+        AdmissionTicket ticket = tickets.get(ticketId);
+        if (ticket == null) {
+            return Optional.empty();
+        }
+        ticket.lastSeenNanos = nowNanos;
+        if (ticket.getStatus() == AdmissionTicket.Status.WAITING && isSoldOut(ticket)) {
+            leaveLines(ticket, nowNanos);
+            ticketsByUser.remove(ticket.getUserId(), ticket);
+            ticket.soldOut();
+        }
+        return Optional.of(ticket);
+    }
+
+    /**
+     * Estimates how many tickets must leave before this one is admitted. Tickets that gave up
+     * from the middle of a line are still counted until the line moves past them, so the
+     * estimate errs on the long side.
+     *
+     * @param ticket The ticket
+     * @return 0 if the ticket is admitted or no longer queued, otherwise its distance to the window
+     */
+    public synchronized int position(AdmissionTicket ticket) {
+        if (ticket.getStatus() != AdmissionTicket.Status.WAITING) {
+            return 0;
+        }
+        int position = 0;
+        for (Map.Entry<Long, Long> arrival : ticket.arrivals.entrySet()) {
+            Line line = lines.get(arrival.getKey());
+            if (line == null || line.tickets.isEmpty()) {
+                continue;
+            }
+            long head = line.tickets.iterator().next().arrivals.get(line.productId);
+            long ahead = Math.min(arrival.getValue() - head, line.tickets.size() - 1);
+            position = (int) Math.max(position, ahead - capacity.applyAsInt(line.productId) + 1);
+        }
+        return position;
+    }
+
+    /**
+     * Removes a ticket from the queue, letting the next tickets in its lines move up.
+     *
+     * @param ticket The ticket to release
+     * @param nowNanos The current time in nanoseconds
+     */
+    public synchronized void release(AdmissionTicket ticket, long nowNanos) {
+        if (tickets.remove(ticket.getId()) == null) {
+            return;
+        }
+        ticketsByUser.remove(ticket.getUserId(), ticket);
+        leaveLines(ticket, nowNanos);
+    }
+
+    /**
+     * Removes waiting and sold-out tickets that have not been polled within the timeout, and
+     * admitted tickets that were not used for a checkout within their time to live.
+     *
+     * @param nowNanos The current time in nanoseconds
+     * @param pollTimeoutNanos How long a waiting ticket survives without being polled
+     * @param admittedTtlNanos How long an admitted ticket stays valid
+     * @return The removed tickets
+     */
+    public synchronized List<AdmissionTicket> expire(long nowNanos, long pollTimeoutNanos, long admittedTtlNanos) {
+        List<AdmissionTicket> expired = new ArrayList<>();
+        for (AdmissionTicket ticket : tickets.values()) {
+            boolean stale = ticket.isAdmitted()
+                    ? nowNanos - ticket.getAdmittedAtNanos() > admittedTtlNanos
+                    : nowNanos - ticket.lastSeenNanos > pollTimeoutNanos;
+            if (stale) {
+                expired.add(ticket);
+            }
+        }
+        expired.forEach(ticket -> release(ticket, nowNanos));
+
+        // Capacity follows the stock level, so windows may have grown since the last change
+        for (Line line : lines.values()) {
+            promote(line, nowNanos);
+        }
+        return expired;
+    }
+
+    public synchronized int getWaitingCount() {
+        return ticketsByUser.size() - admittedCount;
+    }
+
+    public synchronized int getAdmittedCount() {
+        return admittedCount;
+    }
+
+    private void admit(AdmissionTicket ticket, long nowNanos) {
+        ticket.admit(nowNanos);
+        admittedCount++;
+    }
+
+    /**
+     * Takes a ticket out of its lines and admits the tickets that move into the windows.
+     */
+    private void leaveLines(AdmissionTicket ticket, long nowNanos) {
+        if (ticket.isAdmitted()) {
+            admittedCount--;
+        }
+        List<Line> affected = new ArrayList<>(ticket.getProductIds().size());
+        for (Long productId : ticket.getProductIds()) {
+            Line line = lines.get(productId);
+            if (line != null && line.tickets.remove(ticket)) {
+                if (line.tickets.isEmpty()) {
+                    lines.remove(productId);
+                } else {
+                    affected.add(line);
+                }
+            }
+        }
+        for (Line line : affected) {
+            promote(line, nowNanos);
+        }
+    }
+
+    /**
+     * Admits every waiting ticket inside a line's window that is also inside its other windows.
+     */
+    private void promote(Line line, long nowNanos) {
+        int window = capacity.applyAsInt(line.productId);
+        Iterator<AdmissionTicket> iterator = line.tickets.iterator();
+        for (int i = 0; i < window && iterator.hasNext(); i++) {
+            AdmissionTicket candidate = iterator.next();
+            if (candidate.getStatus() == AdmissionTicket.Status.WAITING && isInsideAllWindows(candidate)) {
+                admit(candidate, nowNanos);
+            }
+        }
+    }
+
+    private boolean isInsideAllWindows(AdmissionTicket ticket) {
+        for (Long productId : ticket.getProductIds()) {
+            if (!isInsideWindow(lines.get(productId), ticket)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isInsideWindow(Line line, AdmissionTicket ticket) {
+        int window = capacity.applyAsInt(line.productId);
+        Iterator<AdmissionTicket> iterator = line.tickets.iterator();
+        for (int i = 0; i < window && iterator.hasNext(); i++) {
+            if (iterator.next() == ticket) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isSoldOut(AdmissionTicket ticket) {
+        for (Long productId : ticket.getProductIds()) {
+            if (capacity.applyAsInt(productId) <= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Line {
+        private final Long productId;
+        private final LinkedHashSet<AdmissionTicket> tickets = new LinkedHashSet<>();
+        private long nextArrival;
+
+        private Line(Long productId) {
+            this.productId = productId;
+        }
+    }
+}
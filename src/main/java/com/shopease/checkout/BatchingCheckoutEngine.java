@@ -0,0 +1,466 @@
+package com.shopease.checkout;
+
+import com.shopease.event.OrderCreatedEvent;
+import com.shopease.exception.InvalidDiscountException;
+import com.shopease.exception.InvalidOrderException;
+import com.shopease.exception.ResourceNotFoundException;
+import com.shopease.inventory.StockMovement;
+import com.shopease.metrics.BusinessMetrics;
+import com.shopease.model.Cart;
+import com.shopease.model.CartItem;
+import com.shopease.model.Discount;
+import com.shopease.model.Order;
+import com.shopease.model.OrderItem;
+import com.shopease.model.Product;
+import com.shopease.repository.CartItemRepository;
+import com.shopease.repository.CartRepository;
+import com.shopease.repository.DiscountRepository;
+import com.shopease.repository.OrderRepository;
+import com.shopease.repository.ProductRepository;
+import com.shopease.service.LowStockService;
+import com.shopease.service.OrderService;
+import com.shopease.service.StockLedgerService;
+import com.shopease.service.StockReservationService;
+import com.shopease.service.StockShardService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Checkout engine that commits concurrent checkouts together (group commit). Checkouts are
+ * collected for up to app.checkout.batching.window-ms, or until max-batch-size have arrived,
+ * and then a single transaction locks the products of all carts, validates every checkout in
+ * arrival order against the stock left over by the ones before it, and writes the orders, one
+ * stock update per product and the cart deletions.
+ *
+ * <p>Each caller waits on its own future, for at most app.checkout.batching.wait-timeout-ms. A
+ * checkout that fails validation fails alone; if the shared transaction itself fails, every
+ * checkout of the batch is handed back to its caller, which retries it on its own thread through
+ * OrderService.createOrder. The flusher thread only ever runs group commits. Enabled with
+ * app.checkout.batching.enabled=true.
+ */
+@Component
+@ConditionalOnProperty(name = "app.checkout.batching.enabled", havingValue = "true")
+public class BatchingCheckoutEngine implements CheckoutEngine, SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchingCheckoutEngine.class);
+
+    private static final long IDLE_POLL_MS = 100;
+
+    private final OrderService orderService;
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final ProductRepository productRepository;
+    private final OrderRepository orderRepository;
+    private final DiscountRepository discountRepository;
+    private final LowStockService lowStockService;
+    private final StockReservationService stockReservationService;
+    private final StockShardService stockShardService;
+    private final StockLedgerService stockLedgerService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BusinessMetrics businessMetrics;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final DistributionSummary batchSizes;
+    private final Counter fallbacks;
+    private final BlockingQueue<PendingCheckout> queue = new LinkedBlockingQueue<>();
+
+    @Value("${app.checkout.batching.window-ms:3}")
+    private long windowMs = 3;
+
+    @Value("${app.checkout.batching.max-batch-size:50}")
+    private int maxBatchSize = 50;
+
+    @Value("${app.checkout.batching.wait-timeout-ms:30000}")
+    private long waitTimeoutMs = 30000;
+
+    @Value("${app.order.pending-ttl-minutes:30}")
+    private long pendingOrderTtlMinutes = 30;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public BatchingCheckoutEngine(OrderService orderService,
+                                  CartRepository cartRepository,
+                                  CartItemRepository cartItemRepository,
+                                  ProductRepository productRepository,
+                                  OrderRepository orderRepository,
+                                  DiscountRepository discountRepository,
+                                  LowStockService lowStockService,
+                                  StockReservationService stockReservationService,
+                                  StockShardService stockShardService,
+                                  StockLedgerService stockLedgerService,
+                                  ApplicationEventPublisher eventPublisher,
+                                  BusinessMetrics businessMetrics,
+                                  MeterRegistry meterRegistry,
+                                  PlatformTransactionManager transactionManager) {
+        this.orderService = orderService;
+        this.cartRepository = cartRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.productRepository = productRepository;
+        this.orderRepository = orderRepository;
+        this.discountRepository = discountRepository;
+        this.lowStockService = lowStockService;
+        this.stockReservationService = stockReservationService;
+        this.stockShardService = stockShardService;
+        this.stockLedgerService = stockLedgerService;
+        this.eventPublisher = eventPublisher;
+        this.businessMetrics = businessMetrics;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSizes = DistributionSummary.builder("shopease.checkout.batch.size")
+                .description("Checkouts committed per group commit")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("shopease.checkout.batch.fallbacks")
+                .description("Group commits that failed and were retried one checkout at a time")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Order checkout(Long userId, String discountCode) {
+        if (!running) {
+            return orderService.createOrder(userId, discountCode);
+        }
+
+        PendingCheckout pending = new PendingCheckout(userId, discountCode, new CompletableFuture<>());
+        queue.add(pending);
+        // stop() may have drained the queue just before the add; nobody else will take it then
+        if (!running && queue.remove(pending)) {
+            return orderService.createOrder(userId, discountCode);
+        }
+
+        Outcome outcome = await(pending);
+        if (outcome.retryAlone()) {
+            return orderService.createOrder(userId, discountCode);
+        }
+        if (outcome.redemption() != null) {
+            businessMetrics.recordDiscountRedemption(outcome.redemption());
+        }
+        recordCheckout(outcome.failure());
+        if (outcome.failure() != null) {
+            throw outcome.failure();
+        }
+        return outcome.order();
+    }
+
+    /**
+     * Waits for the flusher to commit a checkout. A checkout the flusher has not picked up by
+     * the deadline is taken back and retried alone; one that is already being committed may
+     * still commit, so its caller gets an error instead of a second attempt. Such an order
+     * stays pending and expires like any other unpaid order.
+     */
+    private Outcome await(PendingCheckout pending) {
+        try {
+            return pending.result().get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (queue.remove(pending)) {
+                return Outcome.retry();
+            }
+            throw new IllegalStateException("Checkout did not complete within " + waitTimeoutMs + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queue.remove(pending);
+            throw new IllegalStateException("Interrupted while waiting for checkout", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusher = new Thread(this::run, "checkout-batcher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<PendingCheckout> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(pending -> pending.result().complete(Outcome.retry()));
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Collects and commits batches until the engine is stopped.
+     */
+    private void run() {
+        List<PendingCheckout> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                try {
+                    processBatch(batch);
+                } catch (RuntimeException e) {
+                    // Keep the flusher alive and do not leave the callers of this batch waiting
+                    logger.error("Failed to complete a batch of {} checkouts", batch.size(), e);
+                    batch.forEach(pending -> pending.result().completeExceptionally(e));
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Waits for the first checkout, then keeps collecting until the window closes or the batch
+     * is full. Checkouts that are already queued when the window closes still join the batch.
+     */
+    private void collect(List<PendingCheckout> batch) throws InterruptedException {
+        PendingCheckout first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMs);
+        while (batch.size() < maxBatchSize) {
+            long remainingNanos = deadline - System.nanoTime();
+            PendingCheckout next = remainingNanos > 0
+                    ? queue.poll(remainingNanos, TimeUnit.NANOSECONDS)
+                    : queue.poll();
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * Commits a batch of checkouts in one transaction and completes their futures. If the
+     * transaction fails, the futures are completed with a retry outcome instead.
+     *
+     * @param batch The checkouts in arrival order
+     */
+    void processBatch(List<PendingCheckout> batch) {
+        batchSizes.record(batch.size());
+
+        List<Outcome> outcomes;
+        try {
+            outcomes = transactionTemplate.execute(status -> commit(batch));
+        } catch (RuntimeException e) {
+            logger.warn("Group commit of {} checkouts failed, retrying them one at a time", batch.size(), e);
+            fallbacks.increment();
+            batch.forEach(pending -> pending.result().complete(Outcome.retry()));
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result().complete(outcomes.get(i));
+        }
+    }
+
+    /**
+     * Validates and writes a batch inside the current transaction.
+     *
+     * @param batch The checkouts in arrival order
+     * @return One outcome per checkout, in the same order
+     */
+    private List<Outcome> commit(List<PendingCheckout> batch) {
+        Set<Long> userIds = new HashSet<>();
+        batch.forEach(pending -> userIds.add(pending.userId()));
+
+        // Lock the products first so the carts loaded below see their current stock;
+        // sharded products are not locked, their shards are updated in reduceStock
+        List<Long> productIds = cartItemRepository.findProductIdsByUserIdIn(userIds).stream()
+                .filter(productId -> !stockShardService.isSharded(productId))
+                .toList();
+        if (!productIds.isEmpty()) {
+            productRepository.findAllForUpdate(productIds);
+        }
+
+        Map<Long, Cart> carts = new HashMap<>();
+        cartRepository.findWithItemsByUserIdIn(userIds).forEach(cart -> carts.put(cart.getUser().getId(), cart));
+
+        Map<Long, Integer> remainingStock = new HashMap<>();
+        Map<Long, Integer> consumedHolds = new HashMap<>();
+        Map<String, Optional<Discount>> discounts = new HashMap<>();
+        List<Outcome> outcomes = new ArrayList<>(batch.size());
+        List<Order> orders = new ArrayList<>();
+        List<Cart> checkedOutCarts = new ArrayList<>();
+
+        for (PendingCheckout pending : batch) {
+            // A cart can only be checked out once, like a second createOrder finding it deleted
+            Cart cart = carts.remove(pending.userId());
+            if (cart == null) {
+                outcomes.add(Outcome.failed(new ResourceNotFoundException(
+                        "Cart not found for user with id: " + pending.userId()), null));
+                continue;
+            }
+
+            Outcome outcome = prepare(pending, cart, remainingStock, consumedHolds, discounts);
+            outcomes.add(outcome);
+            if (outcome.order() != null) {
+                orders.add(outcome.order());
+                checkedOutCarts.add(cart);
+            }
+        }
+
+        if (!orders.isEmpty()) {
+            orderRepository.saveAll(orders);
+            reduceStock(orders);
+            cartRepository.deleteAll(checkedOutCarts);
+            orders.forEach(order -> eventPublisher.publishEvent(new OrderCreatedEvent(order)));
+        }
+        return outcomes;
+    }
+
+    /**
+     * Validates one checkout against the stock and discount usage left by the earlier checkouts
+     * of the batch, and builds its order. Nothing is changed unless every check passes.
+     * Holds of earlier checkouts in the batch are only released after commit, so they are
+     * subtracted from the units reserved by other carts.
+     */
+    private Outcome prepare(PendingCheckout pending, Cart cart, Map<Long, Integer> remainingStock,
+                            Map<Long, Integer> consumedHolds, Map<String, Optional<Discount>> discounts) {
+        if (cart.getItems().isEmpty()) {
+            return Outcome.failed(new InvalidOrderException("Cannot create order with empty cart"), null);
+        }
+
+        for (CartItem item : cart.getItems()) {
+            Product product = item.getProduct();
+            int available = remainingStock.computeIfAbsent(product.getId(), id -> stockShardService.isSharded(id)
+                    ? stockShardService.getStockQuantity(id)
+                    : product.getStockQuantity());
+            int reservedByOthers = stockReservationService.getReservedByOthers(pending.userId(), product.getId())
+                    - consumedHolds.getOrDefault(product.getId(), 0);
+            if (available - Math.max(0, reservedByOthers) < item.getQuantity()) {
+                return Outcome.failed(new InvalidOrderException("Not enough stock for product: " + product.getName()), null);
+            }
+        }
+
+        Discount discount = null;
+        if (StringUtils.hasText(pending.discountCode())) {
+            discount = discounts.computeIfAbsent(pending.discountCode(), discountRepository::findByCode).orElse(null);
+            if (discount == null) {
+                return Outcome.failed(new ResourceNotFoundException(
+                        "Discount code not found: " + pending.discountCode()), "not_found");
+            }
+            if (!discount.isValid()) {
+                return Outcome.failed(new InvalidDiscountException(
+                        "Discount code is expired or exceeded usage limit"), "invalid");
+            }
+        }
+
+        Order order = Order.createFromCart(cart, cart.getUser());
+        order.setExpiresAt(order.getOrderDate().plusMinutes(pendingOrderTtlMinutes));
+        for (CartItem item : cart.getItems()) {
+            Long productId = item.getProduct().getId();
+            remainingStock.merge(productId, -item.getQuantity(), Integer::sum);
+            consumedHolds.merge(productId, stockReservationService.getHeldQuantity(pending.userId(), productId), Integer::sum);
+        }
+        if (discount != null) {
+            order.applyDiscount(discount);
+            discount.incrementUsage();
+            return new Outcome(order, null, "redeemed");
+        }
+        return new Outcome(order, null, null);
+    }
+
+    /**
+     * Applies the stock decrements of all orders with one update per product, in ID order.
+     * The ledger still gets one movement per order item, all written in one batch at commit.
+     * Sharded products were checked against this instance's view of their shards, so taking
+     * from the shards can still fail, which fails the batch and retries its checkouts alone.
+     */
+    private void reduceStock(List<Order> orders) {
+        Map<Long, Product> products = new HashMap<>();
+        Map<Long, Integer> sold = new TreeMap<>();
+        for (Order order : orders) {
+            for (OrderItem item : order.getItems()) {
+                stockLedgerService.record(item.getProduct().getId(), StockMovement.Type.ORDER, -item.getQuantity(), order.getId());
+                products.put(item.getProduct().getId(), item.getProduct());
+                sold.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+            }
+        }
+
+        sold.forEach((productId, quantity) -> {
+            Product product = products.get(productId);
+            if (stockShardService.isSharded(productId)) {
+                stockShardService.take(product, quantity);
+                return;
+            }
+            product.reduceStock(quantity);
+            productRepository.save(product);
+            lowStockService.recordStockLevel(productId, product.getStockQuantity());
+        });
+    }
+
+    /**
+     * Counts a batched checkout under the metric @Counted uses for OrderService.createOrder, with
+     * the same tag keys: endpoint (see MetricsConfig), result and exception. Runs on the
+     * caller's thread so the endpoint is the caller's request.
+     */
+    private void recordCheckout(RuntimeException failure) {
+        meterRegistry.counter(BusinessMetrics.CHECKOUTS, Tags.of(BusinessMetrics.endpointTag())
+                .and("result", failure == null ? "success" : "failure")
+                .and("exception", failure == null ? "none" : failure.getClass().getSimpleName())).increment();
+    }
+
+    record PendingCheckout(Long userId, String discountCode, CompletableFuture<Outcome> result) {
+    }
+
+    /**
+     * The result of one checkout of a batch: its order, or the failure its caller rethrows, or
+     * neither if the caller has to retry the checkout alone.
+     */
+    record Outcome(Order order, RuntimeException failure, String redemption) {
+
+        static Outcome failed(RuntimeException failure, String redemption) {
+            return new Outcome(null, failure, redemption);
+        }
+
+        static Outcome retry() {
+            return new Outcome(null, null, null);
+        }
+
+        boolean retryAlone() {
+            return order == null && failure == null;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.shopease.checkout;
+
+import com.shopease.model.Order;
+
+/**
+ * Turns a user's cart into an order. OrderController goes through this interface so that
+ * checkouts can either run one transaction each or be grouped into shared transactions.
+ */
+public interface CheckoutEngine {
+
+    /**
+     * Creates an order from a user's cart and waits until it is committed.
+     *
+     * @param userId The user ID
+     * @param discountCode The discount code to apply (optional)
+     * @return The created order
+     */
+    Order checkout(Long userId, String discountCode);
+}
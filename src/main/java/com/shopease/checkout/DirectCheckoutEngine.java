@@ -0,0 +1,25 @@
+package com.shopease.checkout;
+
+import com.shopease.model.Order;
+import com.shopease.service.OrderService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default checkout engine: every checkout is its own OrderService.createOrder transaction.
+ */
+@Component
+@ConditionalOnProperty(name = "app.checkout.batching.enabled", havingValue = "false", matchIfMissing = true)
+public class DirectCheckoutEngine implements CheckoutEngine {
+
+    private final OrderService orderService;
+
+    public DirectCheckoutEngine(OrderService orderService) {
+        this.orderService = orderService;
+    }
+
+    @Override
+    public Order checkout(Long userId, String discountCode) {
+        return orderService.createOrder(userId, discountCode);
+    }
+}
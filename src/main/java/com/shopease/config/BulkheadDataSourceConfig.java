@@ -0,0 +1,131 @@
+package com.shopease.config;
+
+import com.shopease.datasource.BulkheadAspect;
+import com.shopease.datasource.BulkheadPool;
+import com.shopease.datasource.BulkheadRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Separate connection pools (bulkheads) for the storefront, admin reporting and background
+ * jobs, selected with @Bulkhead. The storefront pool is configured from spring.datasource.hikari.*,
+ * the others from app.datasource.bulkheads.admin.* and app.datasource.bulkheads.batch.*.
+ * Each pool is a bean of its own, so Spring Boot publishes hikaricp.* metrics tagged with its name.
+ * Enabled by default; turn off with app.datasource.bulkheads.enabled=false.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.bulkheads.enabled", havingValue = "true", matchIfMissing = true)
+public class BulkheadDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource storefrontDataSource(DataSourceProperties properties) {
+        return pool(properties, BulkheadPool.STOREFRONT);
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.bulkheads.admin")
+    public HikariDataSource adminDataSource(DataSourceProperties properties) {
+        return pool(properties, BulkheadPool.ADMIN);
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.bulkheads.batch")
+    public HikariDataSource batchDataSource(DataSourceProperties properties) {
+        return pool(properties, BulkheadPool.BATCH);
+    }
+
+    /**
+     * Creates the data source that routes to the pool of the current bulkhead. Named
+     * primaryDataSource so that ReplicaDataSourceConfig routes its primary traffic through it.
+     *
+     * @return The bulkhead routing data source
+     */
+    @Bean
+    public BulkheadRoutingDataSource primaryDataSource(HikariDataSource storefrontDataSource,
+                                                       HikariDataSource adminDataSource,
+                                                       HikariDataSource batchDataSource) {
+        Map<BulkheadPool, DataSource> pools = new EnumMap<>(BulkheadPool.class);
+        pools.put(BulkheadPool.STOREFRONT, storefrontDataSource);
+        pools.put(BulkheadPool.ADMIN, adminDataSource);
+        pools.put(BulkheadPool.BATCH, batchDataSource);
+        return new BulkheadRoutingDataSource(pools);
+    }
+
+    /**
+     * Exposes the bulkheads as the application data source when there are no read replicas
+     * (otherwise ReplicaDataSourceConfig does). The lazy proxy only takes a connection at the
+     * first statement, so transactions served entirely from the second-level cache hold none.
+     *
+     * @param primaryDataSource The bulkhead routing data source
+     * @return The data source used by JPA, JdbcTemplate and Flyway
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "false", matchIfMissing = true)
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+        proxy.setTargetDataSource(primaryDataSource);
+        // Set explicitly so the proxy does not open a connection at startup to find them out
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return proxy;
+    }
+
+    @Bean
+    public BulkheadAspect bulkheadAspect() {
+        return new BulkheadAspect();
+    }
+
+    /**
+     * Publishes shopease.datasource.bulkhead.saturation: connections in use plus threads waiting
+     * for one, relative to the pool size. Values above 1 mean callers are queueing.
+     *
+     * @return The meter binder
+     */
+    @Bean
+    public MeterBinder bulkheadSaturationMetrics(HikariDataSource storefrontDataSource,
+                                                 HikariDataSource adminDataSource,
+                                                 HikariDataSource batchDataSource) {
+        return registry -> {
+            for (HikariDataSource pool : new HikariDataSource[]{storefrontDataSource, adminDataSource, batchDataSource}) {
+                Gauge.builder("shopease.datasource.bulkhead.saturation", pool, BulkheadDataSourceConfig::saturation)
+                        .tag("pool", pool.getPoolName())
+                        .description("Active connections plus waiting threads divided by the maximum pool size")
+                        .register(registry);
+            }
+        };
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, BulkheadPool bulkhead) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName(bulkhead.getPoolName());
+        return dataSource;
+    }
+
+    private static double saturation(HikariDataSource pool) {
+        HikariPoolMXBean poolBean = pool.getHikariPoolMXBean();
+        if (poolBean == null) {
+            return 0;
+        }
+        return (double) (poolBean.getActiveConnections() + poolBean.getThreadsAwaitingConnection())
+                / pool.getMaximumPoolSize();
+    }
+}
@@ -0,0 +1,98 @@
+package com.shopease.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopease.limiter.ConcurrencyLimitEndpoint;
+import com.shopease.limiter.ConcurrencyLimitFilter;
+import com.shopease.limiter.ConcurrencyLimiter;
+import com.shopease.limiter.EndpointGroup;
+import com.shopease.limiter.GradientConcurrencyLimit;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Adaptive concurrency limits for checkout and cart writes. Enabled by default; turn off with
+ * app.concurrency-limit.enabled=false.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Value("${app.concurrency-limit.checkout.initial-limit:20}")
+    private int checkoutInitialLimit;
+
+    @Value("${app.concurrency-limit.checkout.min-limit:4}")
+    private int checkoutMinLimit;
+
+    @Value("${app.concurrency-limit.checkout.max-limit:200}")
+    private int checkoutMaxLimit;
+
+    @Value("${app.concurrency-limit.cart.initial-limit:40}")
+    private int cartInitialLimit;
+
+    @Value("${app.concurrency-limit.cart.min-limit:8}")
+    private int cartMinLimit;
+
+    @Value("${app.concurrency-limit.cart.max-limit:400}")
+    private int cartMaxLimit;
+
+    @Value("${app.concurrency-limit.tolerance:2.0}")
+    private double tolerance;
+
+    @Value("${app.concurrency-limit.smoothing:0.2}")
+    private double smoothing;
+
+    @Value("${app.concurrency-limit.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Value("${app.concurrency-limit.rtt-window:500}")
+    private int rttWindow;
+
+    @Value("${app.concurrency-limit.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    @Bean
+    public Map<EndpointGroup, ConcurrencyLimiter> concurrencyLimiters(MeterRegistry meterRegistry) {
+        Map<EndpointGroup, ConcurrencyLimiter> limiters = new EnumMap<>(EndpointGroup.class);
+        limiters.put(EndpointGroup.CHECKOUT, new ConcurrencyLimiter(EndpointGroup.CHECKOUT,
+                gradientLimit(checkoutInitialLimit, checkoutMinLimit, checkoutMaxLimit), meterRegistry));
+        limiters.put(EndpointGroup.CART, new ConcurrencyLimiter(EndpointGroup.CART,
+                gradientLimit(cartInitialLimit, cartMinLimit, cartMaxLimit), meterRegistry));
+        return Collections.unmodifiableMap(limiters);
+    }
+
+    @Bean
+    public ConcurrencyLimitEndpoint concurrencyLimitEndpoint(Map<EndpointGroup, ConcurrencyLimiter> concurrencyLimiters) {
+        return new ConcurrencyLimitEndpoint(concurrencyLimiters);
+    }
+
+    /**
+     * Registers the limiter first in the chain, so shed requests cost neither token
+     * validation nor a database connection.
+     *
+     * @param concurrencyLimiters The limiter of each endpoint group
+     * @param objectMapper The mapper used to write the 503 body
+     * @return The filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            Map<EndpointGroup, ConcurrencyLimiter> concurrencyLimiters, ObjectMapper objectMapper) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(concurrencyLimiters, objectMapper, retryAfterSeconds));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+
+    private GradientConcurrencyLimit gradientLimit(int initialLimit, int minLimit, int maxLimit) {
+        return new GradientConcurrencyLimit(initialLimit, minLimit, maxLimit, tolerance, smoothing,
+                backoffRatio, rttWindow);
+    }
+}
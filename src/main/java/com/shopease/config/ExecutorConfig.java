@@ -0,0 +1,122 @@
+package com.shopease.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Configuration for application executors.
+ * With app.threads.virtual.enabled=true, @Async work and payment gateway calls run on
+ * virtual threads instead of platform thread pools.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    @Value("${app.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    /**
+     * Creates the default executor for @Async methods and async MVC requests.
+     * Declared explicitly because any other executor bean would otherwise switch off
+     * Spring Boot's auto-configured one.
+     *
+     * @param builder The auto-configured task executor builder
+     * @return The application task executor
+     */
+    @Primary
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public AsyncTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        if (virtualThreads) {
+            return virtualThreadExecutor("task-vt-", -1);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates the bounded executor that runs payment gateway calls.
+     * Keeping these calls outside of the order transaction means a slow gateway
+     * never holds a pooled database connection. On virtual threads, max-threads
+     * becomes the limit on concurrent gateway calls and calls beyond it are rejected.
+     *
+     * @param maxThreads The maximum number of concurrent gateway calls
+     * @param queueCapacity The number of calls that may wait for a thread
+     * @return The payment gateway executor
+     */
+    @Bean
+    public AsyncTaskExecutor paymentGatewayExecutor(
+            @Value("${app.payment.gateway.executor.max-threads:64}") int maxThreads,
+            @Value("${app.payment.gateway.executor.queue-capacity:256}") int queueCapacity) {
+        if (virtualThreads) {
+            return virtualThreadExecutor("payment-gateway-vt-", maxThreads);
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxThreads);
+        executor.setMaxPoolSize(maxThreads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("payment-gateway-");
+        return executor;
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread per task.
+     * Tasks beyond the concurrency limit are rejected immediately instead of making the
+     * caller wait for a running task to finish.
+     *
+     * @param namePrefix The thread name prefix
+     * @param concurrencyLimit The maximum number of concurrent tasks, or -1 for no limit
+     * @return The executor
+     */
+    static SimpleAsyncTaskExecutor virtualThreadExecutor(String namePrefix, int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = concurrencyLimit < 0
+                ? new SimpleAsyncTaskExecutor(namePrefix)
+                : new RejectingVirtualThreadExecutor(namePrefix, concurrencyLimit);
+        executor.setThreadFactory(Thread.ofVirtual().name(namePrefix, 0).factory());
+        return executor;
+    }
+
+    /**
+     * Virtual thread executor that holds a permit per running task and rejects tasks when
+     * none is free. SimpleAsyncTaskExecutor's own concurrency limit blocks the caller instead.
+     */
+    static class RejectingVirtualThreadExecutor extends SimpleAsyncTaskExecutor {
+
+        private final Semaphore permits;
+
+        RejectingVirtualThreadExecutor(String namePrefix, int concurrencyLimit) {
+            super(namePrefix);
+            this.permits = new Semaphore(concurrencyLimit);
+        }
+
+        @Override
+        protected void doExecute(Runnable task) {
+            if (!permits.tryAcquire()) {
+                throw new TaskRejectedException("All " + getThreadNamePrefix() + " threads are busy");
+            }
+            try {
+                super.doExecute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (RuntimeException ex) {
+                permits.release();
+                throw ex;
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.shopease.config;
+
+import com.shopease.metrics.BusinessMetrics;
+import io.micrometer.core.aop.CountedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for application metrics.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Enables @Counted on service methods. Counters are tagged with the endpoint that
+     * triggered the call in addition to Micrometer's result and exception tags.
+     *
+     * @param meterRegistry The meter registry
+     * @return The counted aspect
+     */
+    @Bean
+    public CountedAspect countedAspect(MeterRegistry meterRegistry) {
+        return new CountedAspect(meterRegistry, joinPoint -> Tags.of(BusinessMetrics.endpointTag()));
+    }
+}
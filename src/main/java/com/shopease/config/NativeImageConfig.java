@@ -0,0 +1,102 @@
+package com.shopease.config;
+
+import com.shopease.exception.ApiError;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.util.ClassUtils;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Runtime hints for the GraalVM native image, covering what Spring AOT cannot infer from
+ * bean definitions alone. Only used at build time; has no effect on the JVM.
+ */
+@Configuration
+@ImportRuntimeHints(NativeImageConfig.ShopEaseRuntimeHints.class)
+public class NativeImageConfig {
+
+    static class ShopEaseRuntimeHints implements RuntimeHintsRegistrar {
+
+        // jjwt-impl and jjwt-jackson are runtime-only and loaded by name or through ServiceLoader
+        private static final List<String> JJWT_TYPES = List.of(
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.impl.DefaultHeader",
+                "io.jsonwebtoken.impl.DefaultJwsHeader",
+                "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+                "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String type : JJWT_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type),
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+            // Entities, embeddables, converters and their enums, for Hibernate
+            for (Class<?> type : scan("com.shopease.model", classLoader)) {
+                hints.reflection().registerType(type, MemberCategory.values());
+            }
+
+            // Request and response bodies, including those only reached through generics
+            BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+            List<Class<?>> dtoTypes = scan("com.shopease.dto", classLoader);
+            bindingHints.registerReflectionHints(hints.reflection(), dtoTypes.toArray(Class<?>[]::new));
+            bindingHints.registerReflectionHints(hints.reflection(), ApiError.class);
+
+            // Flyway migrations and the second-level cache configuration
+            hints.resources().registerPattern("db/migration/*.sql");
+            hints.resources().registerPattern("ehcache.xml");
+
+            // JDK proxies created by datasource-proxy and the replica routing data source
+            hints.proxies().registerJdkProxy(ProxyJdbcObject.class, Connection.class);
+            hints.proxies().registerJdkProxy(ProxyJdbcObject.class, Statement.class);
+            hints.proxies().registerJdkProxy(ProxyJdbcObject.class, PreparedStatement.class);
+            hints.proxies().registerJdkProxy(ProxyJdbcObject.class, CallableStatement.class);
+            hints.proxies().registerJdkProxy(ProxyJdbcObject.class, ResultSet.class);
+            hints.proxies().registerJdkProxy(ConnectionProxy.class);
+        }
+
+        /**
+         * Finds every class in a package, including abstract classes, records and enums.
+         *
+         * @param basePackage The package to scan
+         * @param classLoader The class loader to resolve the classes with
+         * @return The classes found
+         */
+        private List<Class<?>> scan(String basePackage, ClassLoader classLoader) {
+            ClassPathScanningCandidateComponentProvider scanner =
+                    new ClassPathScanningCandidateComponentProvider(false) {
+                        @Override
+                        protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                            return true;
+                        }
+                    };
+            scanner.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
+            return scanner.findCandidateComponents(basePackage).stream()
+                    .map(BeanDefinition::getBeanClassName)
+                    .<Class<?>>map(name -> ClassUtils.resolveClassName(name, classLoader))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.shopease.config;
+
+import com.shopease.datasource.ReadYourWritesFilter;
+import com.shopease.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends @Transactional(readOnly = true) work to read replicas. Each replica has a single pool,
+ * with no bulkheads, so only storefront reads use it; admin reports and batch jobs read from the
+ * primary through their own bulkhead pools.
+ * Enabled with app.datasource.replicas.enabled=true; when disabled, Spring Boot's single
+ * auto-configured data source is used unchanged.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Value("${app.datasource.replicas.urls}")
+    private List<String> replicaUrls;
+
+    @Value("${app.datasource.replicas.username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replicas.password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Value("${app.datasource.replicas.maximum-pool-size:20}")
+    private int replicaPoolSize;
+
+    @Value("${app.datasource.replicas.max-lag-ms:1000}")
+    private long maxLagMs;
+
+    @Value("${app.datasource.read-your-writes.window-ms:5000}")
+    private long readYourWritesWindowMs;
+
+    /**
+     * Creates the connection pool for the primary, configured from spring.datasource.*.
+     * With bulkheads enabled, BulkheadDataSourceConfig provides the primary instead.
+     *
+     * @param properties The data source properties
+     * @return The primary data source
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.datasource.bulkheads.enabled", havingValue = "false")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Creates the routing data source over the primary and one pool per replica URL.
+     *
+     * @param primaryDataSource The primary data source
+     * @return The routing data source
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(replicaUrls.get(i).trim());
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLagMs);
+    }
+
+    /**
+     * Exposes the routing data source behind a lazy proxy. The proxy delays fetching a physical
+     * connection until the first statement, after the transaction manager has marked the
+     * transaction read-only, so the routing decision sees the right flag.
+     *
+     * @param replicaRoutingDataSource The routing data source
+     * @return The data source used by JPA, JdbcTemplate and Flyway
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+        proxy.setTargetDataSource(replicaRoutingDataSource);
+        // Set explicitly so the proxy does not open a connection at startup to find them out
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return proxy;
+    }
+
+    /**
+     * Registers the read-your-writes filter ahead of the security filter chain.
+     *
+     * @return The filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(readYourWritesWindowMs));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -4,6 +4,7 @@ import com.shopease.security.JwtAuthenticationFilter;
 import com.shopease.security.JwtTokenProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -60,10 +61,16 @@ public class SecurityConfig {
                         .requestMatchers("/products").permitAll()
                         .requestMatchers("/products/{id}").permitAll()
                         .requestMatchers("/swagger-ui/**", "/api-docs/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/health/**").permitAll()
                         // Secured endpoints
                         .requestMatchers("/admin/**").hasRole("ADMIN")
                         .requestMatchers("/cart/**").hasRole("USER")
                         .requestMatchers("/orders/**").hasRole("USER")
+                        .requestMatchers("/checkout/**").hasRole("USER")
+                        // Actuator write operations, such as resetting the SQL statistics
+                        .requestMatchers(HttpMethod.POST, "/actuator/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.PUT, "/actuator/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.DELETE, "/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .exceptionHandling(exception ->
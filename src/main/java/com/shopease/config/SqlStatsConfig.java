@@ -0,0 +1,82 @@
+package com.shopease.config;
+
+import com.shopease.metrics.SqlStatsEndpoint;
+import com.shopease.metrics.SqlStatsFilter;
+import com.shopease.metrics.SqlStatsListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-request SQL accounting. Wraps the application data source in a datasource-proxy that
+ * counts statements, rows and database time for each HTTP request. Enabled by default; turn
+ * off with app.sql.stats.enabled=false.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sql.stats.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatsConfig {
+
+    @Value("${app.sql.stats.repeat-threshold:5}")
+    private int repeatThreshold;
+
+    @Bean
+    public SqlStatsListener sqlStatsListener() {
+        return new SqlStatsListener();
+    }
+
+    /**
+     * Wraps the "dataSource" bean (the auto-configured pool, or the replica routing proxy) in a
+     * statement-counting proxy. Static so that it is registered before the data source is created.
+     *
+     * @param sqlStatsListener The listener, resolved lazily
+     * @return The bean post processor
+     */
+    @Bean
+    public static BeanPostProcessor sqlStatsDataSourcePostProcessor(ObjectProvider<SqlStatsListener> sqlStatsListener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    SqlStatsListener listener = sqlStatsListener.getObject();
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name("shopease")
+                            .listener(listener)
+                            .methodListener(listener)
+                            .proxyResultSet()
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public SqlStatsEndpoint sqlStatsEndpoint() {
+        return new SqlStatsEndpoint();
+    }
+
+    /**
+     * Registers the SQL stats filter ahead of security so that authentication queries are counted.
+     *
+     * @param sqlStatsEndpoint The endpoint that aggregates per-request stats
+     * @param meterRegistry The meter registry
+     * @return The filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<SqlStatsFilter> sqlStatsFilter(SqlStatsEndpoint sqlStatsEndpoint,
+                                                                 MeterRegistry meterRegistry) {
+        FilterRegistrationBean<SqlStatsFilter> registration = new FilterRegistrationBean<>(
+                new SqlStatsFilter(sqlStatsEndpoint, meterRegistry, repeatThreshold));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
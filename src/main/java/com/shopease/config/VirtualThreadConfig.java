@@ -0,0 +1,45 @@
+package com.shopease.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Runs Tomcat request handling and @Scheduled jobs on virtual threads.
+ * Enabled with app.threads.virtual.enabled=true. The number of concurrent requests is then
+ * bounded by server.tomcat.max-connections and the JDBC pool, not by a thread pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    /**
+     * Makes Tomcat start a virtual thread per request instead of using its worker pool.
+     *
+     * @return The protocol handler customizer
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("http-vt-", 0).factory()));
+    }
+
+    /**
+     * Creates the scheduler for @Scheduled jobs, backed by a small pool of virtual
+     * threads so that jobs blocking on JDBC do not hold platform threads.
+     *
+     * @return The task scheduler
+     */
+    @Bean
+    public TaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(4);
+        scheduler.setThreadFactory(Thread.ofVirtual().name("scheduling-vt-", 0).factory());
+        return scheduler;
+    }
+}
@@ -0,0 +1,88 @@
+package com.shopease.config;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs virtual threads that stay pinned to their carrier thread, for example while
+ * blocking inside a synchronized block in a driver. Uses the JFR jdk.VirtualThreadPinned
+ * event, so it works without restarting the JVM with extra flags.
+ */
+@Component
+@ConditionalOnProperty(name = {"app.threads.virtual.enabled", "app.threads.virtual.pinning-monitor.enabled"},
+        havingValue = "true")
+public class VirtualThreadPinningMonitor implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final int MAX_LOGGED_FRAMES = 12;
+
+    private final AtomicLong pinnedCount = new AtomicLong();
+    private RecordingStream recordingStream;
+
+    @Value("${app.threads.virtual.pinning-monitor.threshold-ms:20}")
+    private long thresholdMs;
+
+    /**
+     * Starts streaming pinning events once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable("jdk.VirtualThreadPinned")
+                .withThreshold(Duration.ofMillis(thresholdMs))
+                .withStackTrace();
+        recordingStream.onEvent("jdk.VirtualThreadPinned", this::logPinnedEvent);
+        recordingStream.startAsync();
+        logger.info("Virtual thread pinning monitor started with a {} ms threshold", thresholdMs);
+    }
+
+    /**
+     * Gets the number of pinning events seen since startup.
+     *
+     * @return The pinning event count
+     */
+    public long getPinnedCount() {
+        return pinnedCount.get();
+    }
+
+    @Override
+    public void destroy() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    private void logPinnedEvent(RecordedEvent event) {
+        pinnedCount.incrementAndGet();
+
+        StringBuilder frames = new StringBuilder();
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace != null) {
+            List<RecordedFrame> recordedFrames = stackTrace.getFrames();
+            for (int i = 0; i < Math.min(MAX_LOGGED_FRAMES, recordedFrames.size()); i++) {
+                RecordedFrame frame = recordedFrames.get(i);
+                frames.append(System.lineSeparator()).append("    at ")
+                        .append(frame.getMethod().getType().getName()).append('.')
+                        .append(frame.getMethod().getName())
+                        .append(':').append(frame.getLineNumber());
+            }
+        }
+
+        logger.warn("Virtual thread pinned for {} ms{}", event.getDuration().toMillis(), frames);
+    }
+}
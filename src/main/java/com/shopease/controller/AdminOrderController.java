@@ -0,0 +1,106 @@
+package com.shopease.controller;
+
+import com.shopease.datasource.Bulkhead;
+import com.shopease.datasource.BulkheadPool;
+import com.shopease.dto.response.OrderResponse;
+import com.shopease.dto.response.PagedResponse;
+import com.shopease.model.Order;
+import com.shopease.service.OrderService;
+import com.shopease.util.AppConstants;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Controller for admin order reporting. Lazy, so it is only created on the first admin
+ * request instead of adding to startup time.
+ */
+@RestController
+@RequestMapping("/orders/admin")
+@PreAuthorize("hasRole('ADMIN')")
+@Bulkhead(BulkheadPool.ADMIN)
+@Lazy
+public class AdminOrderController {
+
+    private final OrderService orderService;
+
+    public AdminOrderController(OrderService orderService) {
+        this.orderService = orderService;
+    }
+
+    /**
+     * Gets all orders.
+     *
+     * @param page The page number
+     * @param size The page size
+     * @return ResponseEntity with paged orders
+     */
+    @GetMapping("/all")
+    public ResponseEntity<PagedResponse<OrderResponse>> getAllOrders(
+            @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) int page,
+            @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_SIZE) int size) {
+
+        PagedResponse<OrderResponse> response = orderService.getAllOrdersPaged(page, size);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Gets orders by status.
+     *
+     * @param status The order status
+     * @param page The page number
+     * @param size The page size
+     * @return ResponseEntity with paged orders
+     */
+    @GetMapping("/status/{status}")
+    public ResponseEntity<PagedResponse<OrderResponse>> getOrdersByStatus(
+            @PathVariable Order.OrderStatus status,
+            @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) int page,
+            @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_SIZE) int size) {
+
+        PagedResponse<OrderResponse> response = orderService.getOrdersByStatus(status, page, size);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Gets orders by date range.
+     *
+     * @param startDate The start date
+     * @param endDate The end date
+     * @return ResponseEntity with orders
+     */
+    @GetMapping("/date-range")
+    public ResponseEntity<List<OrderResponse>> getOrdersByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+
+        List<Order> orders = orderService.getOrdersByDateRange(startDate, endDate);
+        List<OrderResponse> response = orders.stream()
+                .map(OrderResponse::fromEntity)
+                .collect(Collectors.toList());
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Gets revenue for a specific period.
+     *
+     * @param startDate The start date
+     * @param endDate The end date
+     * @return ResponseEntity with revenue
+     */
+    @GetMapping("/revenue")
+    public ResponseEntity<Double> getRevenueForPeriod(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+
+        Double revenue = orderService.calculateRevenueForPeriod(startDate, endDate);
+        return ResponseEntity.ok(revenue);
+    }
+}
@@ -0,0 +1,83 @@
+package com.shopease.controller;
+
+import com.shopease.admission.AdmissionTicket;
+import com.shopease.dto.response.AdmissionTicketResponse;
+import com.shopease.security.CurrentUser;
+import com.shopease.security.UserPrincipal;
+import com.shopease.service.CheckoutAdmissionService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller for the checkout admission queue. Answered from memory, so clients can poll
+ * their position during a flash sale without adding database load.
+ */
+@RestController
+@RequestMapping("/checkout/tickets")
+@PreAuthorize("hasRole('USER')")
+public class CheckoutAdmissionController {
+
+    private final CheckoutAdmissionService checkoutAdmissionService;
+
+    public CheckoutAdmissionController(CheckoutAdmissionService checkoutAdmissionService) {
+        this.checkoutAdmissionService = checkoutAdmissionService;
+    }
+
+    /**
+     * Joins the checkout queue with the products in the current user's cart.
+     *
+     * @param currentUser The authenticated user
+     * @return ResponseEntity with the ticket
+     */
+    @PostMapping
+    public ResponseEntity<AdmissionTicketResponse> requestTicket(@CurrentUser UserPrincipal currentUser) {
+        AdmissionTicket ticket = checkoutAdmissionService.requestAdmission(currentUser.getId(), null);
+        return toResponse(ticket);
+    }
+
+    /**
+     * Gets the status and queue position of a ticket.
+     *
+     * @param currentUser The authenticated user
+     * @param ticketId The ticket ID
+     * @return ResponseEntity with the ticket
+     */
+    @GetMapping("/{ticketId}")
+    public ResponseEntity<AdmissionTicketResponse> getTicket(
+            @CurrentUser UserPrincipal currentUser,
+            @PathVariable String ticketId) {
+
+        AdmissionTicket ticket = checkoutAdmissionService.getTicket(currentUser.getId(), ticketId);
+        return toResponse(ticket);
+    }
+
+    /**
+     * Leaves the checkout queue.
+     *
+     * @param currentUser The authenticated user
+     * @param ticketId The ticket ID
+     * @return ResponseEntity with no content
+     */
+    @DeleteMapping("/{ticketId}")
+    public ResponseEntity<Void> leaveQueue(
+            @CurrentUser UserPrincipal currentUser,
+            @PathVariable String ticketId) {
+
+        checkoutAdmissionService.release(checkoutAdmissionService.getTicket(currentUser.getId(), ticketId));
+        return ResponseEntity.noContent().build();
+    }
+
+    private ResponseEntity<AdmissionTicketResponse> toResponse(AdmissionTicket ticket) {
+        long pollIntervalMs = checkoutAdmissionService.getPollIntervalMs();
+        AdmissionTicketResponse response = AdmissionTicketResponse.fromTicket(ticket,
+                checkoutAdmissionService.getPosition(ticket), pollIntervalMs);
+        if (ticket.getStatus() == AdmissionTicket.Status.WAITING) {
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, pollIntervalMs / 1000)))
+                    .body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,22 +1,23 @@
 package com.shopease.controller;
 
+import com.shopease.admission.AdmissionTicket;
+import com.shopease.checkout.CheckoutEngine;
 import com.shopease.dto.request.CheckoutRequest;
+import com.shopease.dto.response.AdmissionTicketResponse;
 import com.shopease.dto.response.OrderResponse;
 import com.shopease.dto.response.PagedResponse;
 import com.shopease.model.Order;
 import com.shopease.security.CurrentUser;
 import com.shopease.security.UserPrincipal;
+import com.shopease.service.CheckoutAdmissionService;
 import com.shopease.service.OrderService;
 import com.shopease.util.AppConstants;
-import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
-
-import java.time.LocalDateTime;
-import java.util.List;
-import java.util.stream.Collectors;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 /**
  * Controller for order operations.
@@ -25,29 +26,56 @@ import java.util.stream.Collectors;
 @RequestMapping("/orders")
 public class OrderController {
 
+    public static final String CHECKOUT_TICKET_HEADER = "X-Checkout-Ticket";
+
     private final OrderService orderService;
+    private final CheckoutAdmissionService checkoutAdmissionService;
+    private final CheckoutEngine checkoutEngine;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService,
+                           CheckoutAdmissionService checkoutAdmissionService,
+                           CheckoutEngine checkoutEngine) {
         this.orderService = orderService;
+        this.checkoutAdmissionService = checkoutAdmissionService;
+        this.checkoutEngine = checkoutEngine;
     }
 
     /**
-     * Creates a new order from the current user's cart.
+     * Creates a new order from the current user's cart. The checkout first has to be admitted
+     * for the products in the cart; while it is not, the response is 202 with the queue ticket
+     * to poll at /checkout/tickets/{ticketId} and to send back in the X-Checkout-Ticket header.
      *
      * @param currentUser The authenticated user
+     * @param ticketId The admission ticket from an earlier attempt, if any
      * @param request The checkout request
-     * @return ResponseEntity with the created order
+     * @return ResponseEntity with the created order, or with the waiting ticket
      */
     @PostMapping
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<OrderResponse> createOrder(
+    public ResponseEntity<?> createOrder(
             @CurrentUser UserPrincipal currentUser,
+            @RequestHeader(value = CHECKOUT_TICKET_HEADER, required = false) String ticketId,
             @RequestBody(required = false) CheckoutRequest request) {
 
-        String discountCode = request != null ? request.getDiscountCode() : null;
-        Order order = orderService.createOrder(currentUser.getId(), discountCode);
-
-        return ResponseEntity.status(HttpStatus.CREATED).body(OrderResponse.fromEntity(order));
+        AdmissionTicket ticket = checkoutAdmissionService.requestAdmission(currentUser.getId(), ticketId);
+        if (!ticket.isAdmitted()) {
+            long pollIntervalMs = checkoutAdmissionService.getPollIntervalMs();
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, pollIntervalMs / 1000)))
+                    .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                            .path("/checkout/tickets/{ticketId}").buildAndExpand(ticket.getId()).toUri())
+                    .body(AdmissionTicketResponse.fromTicket(ticket,
+                            checkoutAdmissionService.getPosition(ticket), pollIntervalMs));
+        }
+
+        try {
+            String discountCode = request != null ? request.getDiscountCode() : null;
+            Order order = checkoutEngine.checkout(currentUser.getId(), discountCode);
+
+            return ResponseEntity.status(HttpStatus.CREATED).body(OrderResponse.fromEntity(order));
+        } finally {
+            checkoutAdmissionService.release(ticket);
+        }
     }
 
     /**
@@ -119,78 +147,4 @@ public class OrderController {
         Order order = orderService.cancelOrder(orderId);
         return ResponseEntity.ok(OrderResponse.fromEntity(order));
     }
-
-    /**
-     * Gets all orders (admin only).
-     *
-     * @param page The page number
-     * @param size The page size
-     * @return ResponseEntity with paged orders
-     */
-    @GetMapping("/admin/all")
-    @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<PagedResponse<OrderResponse>> getAllOrders(
-            @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) int page,
-            @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_SIZE) int size) {
-
-        PagedResponse<OrderResponse> response = orderService.getAllOrdersPaged(page, size);
-        return ResponseEntity.ok(response);
-    }
-
-    /**
-     * Gets orders by status (admin only).
-     *
-     * @param status The order status
-     * @param page The page number
-     * @param size The page size
-     * @return ResponseEntity with paged orders
-     */
-    @GetMapping("/admin/status/{status}")
-    @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<PagedResponse<OrderResponse>> getOrdersByStatus(
-            @PathVariable Order.OrderStatus status,
-            @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) int page,
-            @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_SIZE) int size) {
-
-        PagedResponse<OrderResponse> response = orderService.getOrdersByStatus(status, page, size);
-        return ResponseEntity.ok(response);
-    }
-
-    /**
-     * Gets orders by date range (admin only).
-     *
-     * @param startDate The start date
-     * @param endDate The end date
-     * @return ResponseEntity with orders
-     */
-    @GetMapping("/admin/date-range")
-    @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<OrderResponse>> getOrdersByDateRange(
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-
-        List<Order> orders = orderService.getOrdersByDateRange(startDate, endDate);
-        List<OrderResponse> response = orders.stream()
-                .map(OrderResponse::fromEntity)
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(response);
-    }
-
-    /**
-     * Gets revenue for a specific period (admin only).
-     *
-     * @param startDate The start date
-     * @param endDate The end date
-     * @return ResponseEntity with revenue
-     */
-    @GetMapping("/admin/revenue")
-    @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Double> getRevenueForPeriod(
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-
-        Double revenue = orderService.calculateRevenueForPeriod(startDate, endDate);
-        return ResponseEntity.ok(revenue);
-    }
-}
\ No newline at end of file
+}
@@ -1,11 +1,21 @@
 package com.shopease.controller;
 
+import com.shopease.datasource.Bulkhead;
+import com.shopease.datasource.BulkheadPool;
+import com.shopease.dto.request.BulkStockAdjustmentRequest;
 import com.shopease.dto.request.ProductRequest;
+import com.shopease.dto.request.StockShardRequest;
 import com.shopease.dto.response.ApiResponse;
+import com.shopease.dto.response.BestSellerResponse;
+import com.shopease.dto.response.BulkStockAdjustmentResponse;
 import com.shopease.dto.response.PagedResponse;
 import com.shopease.dto.response.ProductResponse;
+import com.shopease.dto.response.StockLedgerResponse;
 import com.shopease.model.Product;
+import com.shopease.service.BestSellerService;
 import com.shopease.service.ProductService;
+import com.shopease.service.StockLedgerService;
+import com.shopease.service.StockShardService;
 import com.shopease.util.AppConstants;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -14,7 +24,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Controller for product operations.
@@ -24,9 +33,18 @@ import java.util.stream.Collectors;
 public class ProductController {
 
     private final ProductService productService;
-
-    public ProductController(ProductService productService) {
+    private final BestSellerService bestSellerService;
+    private final StockShardService stockShardService;
+    private final StockLedgerService stockLedgerService;
+
+    public ProductController(ProductService productService,
+                             BestSellerService bestSellerService,
+                             StockShardService stockShardService,
+                             StockLedgerService stockLedgerService) {
         this.productService = productService;
+        this.bestSellerService = bestSellerService;
+        this.stockShardService = stockShardService;
+        this.stockLedgerService = stockLedgerService;
     }
 
     /**
@@ -53,8 +71,7 @@ public class ProductController {
      */
     @GetMapping("/{id}")
     public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id) {
-        Product product = productService.getProductById(id);
-        return ResponseEntity.ok(ProductResponse.fromEntity(product));
+        return ResponseEntity.ok(productService.getProductResponse(id));
     }
 
     /**
@@ -87,6 +104,61 @@ public class ProductController {
         return ResponseEntity.ok(ProductResponse.fromEntity(product));
     }
 
+    /**
+     * Applies stock and price adjustments to many products at once (admin only).
+     *
+     * @param request The adjustments to apply
+     * @return ResponseEntity with a summary of the applied adjustments
+     */
+    @PatchMapping("/bulk")
+    @Bulkhead(BulkheadPool.ADMIN)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkStockAdjustmentResponse> adjustStock(
+            @Valid @RequestBody BulkStockAdjustmentRequest request) {
+
+        BulkStockAdjustmentResponse response = productService.adjustStock(request);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Splits a hot product's stock across shard counters, or merges it back (admin only).
+     *
+     * @param id The product ID
+     * @param request The number of shards
+     * @return ResponseEntity with the product
+     */
+    @PutMapping("/{id}/stock-shards")
+    @Bulkhead(BulkheadPool.ADMIN)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ProductResponse> configureStockShards(
+            @PathVariable Long id,
+            @Valid @RequestBody StockShardRequest request) {
+
+        stockShardService.configure(id, request.getShards());
+        return ResponseEntity.ok(productService.getProductResponse(id));
+    }
+
+    /**
+     * Gets a product's stock ledger: its stock according to the ledger and its stock
+     * movements, newest first (admin only).
+     *
+     * @param id The product ID
+     * @param page The page number
+     * @param size The page size
+     * @return ResponseEntity with the product's ledger
+     */
+    @GetMapping("/{id}/stock-ledger")
+    @Bulkhead(BulkheadPool.ADMIN)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StockLedgerResponse> getStockLedger(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) int page,
+            @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_SIZE) int size) {
+
+        StockLedgerResponse response = stockLedgerService.getLedger(id, page, size);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Deletes a product (admin only).
      *
@@ -136,6 +208,22 @@ public class ProductController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Gets the best-selling products for a time window.
+     *
+     * @param window The time window (ALL_TIME, LAST_24_HOURS or LAST_7_DAYS)
+     * @param limit The maximum number of products to return
+     * @return ResponseEntity with the best-selling products
+     */
+    @GetMapping("/best-sellers")
+    public ResponseEntity<List<BestSellerResponse>> getBestSellers(
+            @RequestParam(defaultValue = "ALL_TIME") BestSellerService.SalesWindow window,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        List<BestSellerResponse> response = bestSellerService.getBestSellers(window, limit);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Gets products with low stock (admin only).
      *
@@ -143,15 +231,11 @@ public class ProductController {
      * @return ResponseEntity with products with low stock
      */
     @GetMapping("/low-stock")
+    @Bulkhead(BulkheadPool.ADMIN)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<ProductResponse>> getProductsWithLowStock(
             @RequestParam(defaultValue = "5") int threshold) {
 
-        List<Product> products = productService.getProductsWithLowStock(threshold);
-        List<ProductResponse> response = products.stream()
-                .map(ProductResponse::fromEntity)
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(productService.getProductsWithLowStock(threshold));
     }
 }
\ No newline at end of file
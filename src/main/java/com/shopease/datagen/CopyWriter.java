@@ -0,0 +1,121 @@
+package com.shopease.datagen;
+
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Buffers CSV rows for one table and streams them to PostgreSQL with COPY in batches.
+ */
+class CopyWriter implements AutoCloseable {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final CopyManager copyManager;
+    private final String copySql;
+    private final int batchSize;
+    private final StringBuilder buffer = new StringBuilder(1 << 20);
+    private int bufferedRows;
+    private long totalRows;
+    private boolean firstColumn = true;
+
+    /**
+     * Creates a writer for a table.
+     *
+     * @param copyManager The PostgreSQL copy manager
+     * @param table The table name
+     * @param columns The comma-separated column list, in the order values are written
+     * @param batchSize The number of rows sent per COPY
+     */
+    CopyWriter(CopyManager copyManager, String table, String columns, int batchSize) {
+        this.copyManager = copyManager;
+        this.copySql = "COPY " + table + " (" + columns + ") FROM STDIN WITH (FORMAT csv)";
+        this.batchSize = batchSize;
+    }
+
+    CopyWriter value(long value) {
+        separator();
+        buffer.append(value);
+        return this;
+    }
+
+    CopyWriter value(String value) {
+        separator();
+        if (value != null) {
+            buffer.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+        return this;
+    }
+
+    CopyWriter value(LocalDateTime value) {
+        separator();
+        if (value != null) {
+            buffer.append(TIMESTAMP_FORMAT.format(value));
+        }
+        return this;
+    }
+
+    /**
+     * Writes a monetary amount given in cents as a decimal with two places.
+     *
+     * @param cents The amount in cents
+     * @return This writer
+     */
+    CopyWriter cents(long cents) {
+        separator();
+        buffer.append(cents / 100).append('.');
+        long remainder = cents % 100;
+        if (remainder < 10) {
+            buffer.append('0');
+        }
+        buffer.append(remainder);
+        return this;
+    }
+
+    CopyWriter nullValue() {
+        separator();
+        return this;
+    }
+
+    /**
+     * Ends the current row, sending the buffer to the database when the batch is full.
+     */
+    void endRow() throws SQLException, IOException {
+        buffer.append('\n');
+        firstColumn = true;
+        bufferedRows++;
+        totalRows++;
+        if (bufferedRows >= batchSize) {
+            flush();
+        }
+    }
+
+    long getTotalRows() {
+        return totalRows;
+    }
+
+    @Override
+    public void close() throws SQLException, IOException {
+        flush();
+    }
+
+    private void flush() throws SQLException, IOException {
+        if (bufferedRows == 0) {
+            return;
+        }
+        copyManager.copyIn(copySql, new StringReader(buffer.toString()));
+        buffer.setLength(0);
+        bufferedRows = 0;
+    }
+
+    private void separator() {
+        if (!firstColumn) {
+            buffer.append(',');
+        }
+        firstColumn = false;
+    }
+}
@@ -0,0 +1,369 @@
+package com.shopease.datagen;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Bulk-loads synthetic users, products, carts, orders and payments for scale testing.
+ * Active only with the "datagen" profile. Rows are streamed with PostgreSQL COPY, product
+ * popularity follows a Zipfian distribution and order dates follow a seasonal pattern.
+ * New rows are appended after the existing IDs, and sequences are moved past them at the end.
+ */
+@Component
+@Profile("datagen")
+public class DataGenerator implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataGenerator.class);
+
+    private static final String[] CATEGORIES = {
+            "Electronics", "Computers", "Home", "Kitchen", "Garden", "Toys", "Books",
+            "Clothing", "Shoes", "Sports", "Beauty", "Grocery"
+    };
+
+    private static final String[] SEQUENCE_TABLES = {
+            "users", "products", "carts", "cart_items", "orders", "order_items", "payment_records"
+    };
+
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Value("${app.datagen.users:100000}")
+    private int userCount;
+
+    @Value("${app.datagen.products:10000}")
+    private int productCount;
+
+    @Value("${app.datagen.orders:1000000}")
+    private int orderCount;
+
+    @Value("${app.datagen.cart-fraction:0.2}")
+    private double cartFraction;
+
+    @Value("${app.datagen.max-items-per-order:5}")
+    private int maxItemsPerOrder;
+
+    @Value("${app.datagen.zipf-exponent:1.0}")
+    private double zipfExponent;
+
+    @Value("${app.datagen.history-days:730}")
+    private int historyDays;
+
+    @Value("${app.datagen.batch-size:50000}")
+    private int batchSize;
+
+    @Value("${app.datagen.seed:42}")
+    private long seed;
+
+    @Value("${app.datagen.password:password123}")
+    private String password;
+
+    @Value("${app.datagen.exit-when-done:true}")
+    private boolean exitWhenDone;
+
+    @Value("${app.order.pending-ttl-minutes:30}")
+    private long pendingOrderTtlMinutes;
+
+    public DataGenerator(DataSource dataSource,
+                         PasswordEncoder passwordEncoder,
+                         ConfigurableApplicationContext applicationContext) {
+        this.dataSource = dataSource;
+        this.passwordEncoder = passwordEncoder;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long startedAt = System.currentTimeMillis();
+        logger.info("Generating {} users, {} products and {} orders", userCount, productCount, orderCount);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            SplittableRandom random = new SplittableRandom(seed);
+
+            long firstUserId = nextId(connection, "users");
+            long firstProductId = nextId(connection, "products");
+
+            generateUsers(copyManager, firstUserId, random);
+            int[] priceCents = generateProducts(copyManager, firstProductId, random);
+
+            ZipfianDistribution popularity = new ZipfianDistribution(productCount, zipfExponent, random.split());
+            generateCarts(connection, copyManager, firstUserId, firstProductId, popularity, random);
+            generateOrders(connection, copyManager, firstUserId, firstProductId, priceCents, popularity, random);
+
+            resetSequences(connection);
+        }
+
+        logger.info("Data generation finished in {} s", (System.currentTimeMillis() - startedAt) / 1000);
+
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    /**
+     * Generates users. All users share one password hash, since hashing millions of
+     * passwords would dominate the run time.
+     */
+    private void generateUsers(CopyManager copyManager, long firstUserId, SplittableRandom random)
+            throws SQLException, IOException {
+        String passwordHash = passwordEncoder.encode(password);
+        LocalDateTime historyStart = LocalDateTime.now().minusDays(historyDays);
+
+        try (CopyWriter users = new CopyWriter(copyManager, "users",
+                "id, name, email, password, role, created_at, updated_at, version", batchSize)) {
+            for (int i = 0; i < userCount; i++) {
+                long id = firstUserId + i;
+                LocalDateTime createdAt = historyStart.minusMinutes(random.nextInt(365 * 24 * 60));
+                users.value(id)
+                        .value("User " + id)
+                        .value("user" + id + "@datagen.shopease.com")
+                        .value(passwordHash)
+                        .value("USER")
+                        .value(createdAt)
+                        .value(createdAt)
+                        .value(0)
+                        .endRow();
+            }
+            logger.info("Generated {} users", users.getTotalRows());
+        }
+    }
+
+    /**
+     * Generates products with log-uniform prices between 1.99 and 1999.99.
+     *
+     * @return The price of each generated product in cents, indexed by product offset
+     */
+    private int[] generateProducts(CopyManager copyManager, long firstProductId, SplittableRandom random)
+            throws SQLException, IOException {
+        int[] priceCents = new int[productCount];
+        LocalDateTime now = LocalDateTime.now();
+
+        try (CopyWriter products = new CopyWriter(copyManager, "products",
+                "id, name, description, price, stock_quantity, category, status, created_at, updated_at, version",
+                batchSize)) {
+            for (int i = 0; i < productCount; i++) {
+                long id = firstProductId + i;
+                String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+                priceCents[i] = (int) Math.round(199 * Math.pow(1000, random.nextDouble()));
+                int stock = random.nextInt(20) == 0 ? 0 : random.nextInt(1, 1000);
+                LocalDateTime createdAt = now.minusDays(random.nextInt(historyDays + 1));
+
+                products.value(id)
+                        .value(category + " Item " + id)
+                        .value("Generated " + category.toLowerCase() + " product " + id)
+                        .cents(priceCents[i])
+                        .value(stock)
+                        .value(category)
+                        .value(stock == 0 ? "OUT_OF_STOCK" : "ACTIVE")
+                        .value(createdAt)
+                        .value(createdAt)
+                        .value(0)
+                        .endRow();
+            }
+            logger.info("Generated {} products", products.getTotalRows());
+        }
+        return priceCents;
+    }
+
+    /**
+     * Generates active carts for a fraction of the users, with recently accessed dates.
+     */
+    private void generateCarts(Connection connection, CopyManager copyManager, long firstUserId,
+                               long firstProductId, ZipfianDistribution popularity, SplittableRandom random)
+            throws SQLException, IOException {
+        long cartId = nextId(connection, "carts");
+        long cartItemId = nextId(connection, "cart_items");
+        LocalDateTime now = LocalDateTime.now();
+
+        try (CopyWriter carts = new CopyWriter(copyManager, "carts",
+                "id, user_id, last_accessed, created_at, updated_at, version", batchSize);
+             CopyWriter cartItems = new CopyWriter(copyManager, "cart_items",
+                     "id, cart_id, product_id, quantity, added_at, created_at, updated_at, version", batchSize)) {
+
+            for (int i = 0; i < userCount; i++) {
+                if (random.nextDouble() >= cartFraction) {
+                    continue;
+                }
+
+                LocalDateTime lastAccessed = now.minusMinutes(random.nextInt(24 * 60));
+                carts.value(cartId).value(firstUserId + i).value(lastAccessed)
+                        .value(lastAccessed).value(lastAccessed).value(0).endRow();
+
+                for (int productOffset : distinctProducts(popularity, 1 + random.nextInt(5), random)) {
+                    cartItems.value(cartItemId++)
+                            .value(cartId)
+                            .value(firstProductId + productOffset)
+                            .value(1 + random.nextInt(3))
+                            .value(lastAccessed)
+                            .value(lastAccessed)
+                            .value(lastAccessed)
+                            .value(0)
+                            .endRow();
+                }
+                cartId++;
+            }
+            logger.info("Generated {} carts with {} items", carts.getTotalRows(), cartItems.getTotalRows());
+        }
+    }
+
+    /**
+     * Generates orders with their items and payment records. Orders placed within the pending
+     * TTL stay PENDING; older ones are mostly COMPLETED with some CANCELLED.
+     */
+    private void generateOrders(Connection connection, CopyManager copyManager, long firstUserId,
+                                long firstProductId, int[] priceCents, ZipfianDistribution popularity,
+                                SplittableRandom random) throws SQLException, IOException {
+        SeasonalDateDistribution orderDates = new SeasonalDateDistribution(historyDays, LocalDate.now());
+        LocalDateTime pendingSince = LocalDateTime.now().minusMinutes(pendingOrderTtlMinutes);
+        long orderId = nextId(connection, "orders");
+        long orderItemId = nextId(connection, "order_items");
+        long paymentId = nextId(connection, "payment_records");
+
+        try (CopyWriter orders = new CopyWriter(copyManager, "orders",
+                "id, user_id, total_price, discount_amount, final_price, status, discount_id, order_date, " +
+                        "expires_at, created_at, updated_at, version", batchSize);
+             CopyWriter orderItems = new CopyWriter(copyManager, "order_items",
+                     "id, order_id, product_id, quantity, price, created_at, updated_at, version", batchSize);
+             CopyWriter payments = new CopyWriter(copyManager, "payment_records",
+                     "id, order_id, amount, status, payment_date, transaction_reference, " +
+                             "created_at, updated_at, version", batchSize)) {
+
+            for (int i = 0; i < orderCount; i++) {
+                LocalDateTime orderDate = orderDates.sample(random);
+                int itemCount = 1 + (int) Math.min(maxItemsPerOrder - 1, Math.floor(-Math.log(random.nextDouble())));
+                long totalCents = 0;
+
+                for (int productOffset : distinctProducts(popularity, itemCount, random)) {
+                    int quantity = random.nextInt(8) == 0 ? 2 + random.nextInt(3) : 1;
+                    totalCents += (long) priceCents[productOffset] * quantity;
+                    orderItems.value(orderItemId++)
+                            .value(orderId)
+                            .value(firstProductId + productOffset)
+                            .value(quantity)
+                            .cents(priceCents[productOffset])
+                            .value(orderDate)
+                            .value(orderDate)
+                            .value(0)
+                            .endRow();
+                }
+
+                String status;
+                if (orderDate.isAfter(pendingSince)) {
+                    status = "PENDING";
+                } else {
+                    status = random.nextDouble() < 0.88 ? "COMPLETED" : "CANCELLED";
+                }
+
+                orders.value(orderId)
+                        .value(firstUserId + random.nextInt(userCount))
+                        .cents(totalCents)
+                        .cents(0)
+                        .cents(totalCents)
+                        .value(status)
+                        .nullValue()
+                        .value(orderDate);
+                if ("PENDING".equals(status)) {
+                    orders.value(orderDate.plusMinutes(pendingOrderTtlMinutes));
+                } else {
+                    orders.nullValue();
+                }
+                orders.value(orderDate).value(orderDate).value(0).endRow();
+
+                boolean completed = "COMPLETED".equals(status);
+                if (completed || ("CANCELLED".equals(status) && random.nextBoolean())) {
+                    LocalDateTime paymentDate = orderDate.plusMinutes(1 + random.nextInt(30));
+                    payments.value(paymentId++)
+                            .value(orderId)
+                            .cents(totalCents)
+                            .value(completed ? "SUCCESSFUL" : "FAILED")
+                            .value(paymentDate)
+                            .value(completed ? "TX-" + UUID.randomUUID().toString().substring(0, 8) : null)
+                            .value(paymentDate)
+                            .value(paymentDate)
+                            .value(0)
+                            .endRow();
+                }
+
+                orderId++;
+                if ((i + 1) % 1_000_000 == 0) {
+                    logger.info("Generated {} orders", i + 1);
+                }
+            }
+            logger.info("Generated {} orders with {} items and {} payments",
+                    orders.getTotalRows(), orderItems.getTotalRows(), payments.getTotalRows());
+        }
+    }
+
+    /**
+     * Samples distinct products by popularity.
+     *
+     * @return Up to count distinct product offsets
+     */
+    private int[] distinctProducts(ZipfianDistribution popularity, int count, SplittableRandom random) {
+        int target = Math.min(count, productCount);
+        int[] result = new int[target];
+        int size = 0;
+        int attempts = 0;
+
+        while (size < target && attempts < target * 10) {
+            int candidate = popularity.sample(random);
+            attempts++;
+            boolean duplicate = false;
+            for (int j = 0; j < size; j++) {
+                if (result[j] == candidate) {
+                    duplicate = true;
+                    break;
+                }
+            }
+            if (!duplicate) {
+                result[size++] = candidate;
+            }
+        }
+        return size == target ? result : Arrays.copyOf(result, size);
+    }
+
+    private long nextId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * Moves every ID sequence past the generated rows and refreshes planner statistics.
+     */
+    private void resetSequences(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : SEQUENCE_TABLES) {
+                statement.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), " +
+                        "(SELECT COALESCE(MAX(id), 0) + 1 FROM " + table + "), false)");
+                statement.execute("ANALYZE " + table);
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.shopease.datagen;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Distribution of order timestamps over a history window with seasonal skew:
+ * a November/December peak, busier weekends, slow growth over time and an
+ * evening-heavy time of day.
+ */
+public class SeasonalDateDistribution {
+
+    private static final double[] MONTH_WEIGHTS = {
+            0.80, 0.75, 0.85, 0.90, 0.95, 0.95, 1.00, 1.00, 0.95, 1.05, 1.60, 1.90
+    };
+
+    private static final double[] HOUR_WEIGHTS = {
+            0.3, 0.2, 0.1, 0.1, 0.1, 0.2, 0.4, 0.7, 0.9, 1.0, 1.1, 1.2,
+            1.3, 1.2, 1.1, 1.1, 1.2, 1.4, 1.6, 1.9, 2.0, 1.8, 1.2, 0.6
+    };
+
+    private final LocalDate firstDay;
+    private final double[] dayCumulative;
+    private final double[] hourCumulative;
+
+    /**
+     * Creates a distribution covering the given number of days up to and including today.
+     *
+     * @param days The length of the history window in days
+     * @param today The last day of the window
+     */
+    public SeasonalDateDistribution(int days, LocalDate today) {
+        if (days <= 0) {
+            throw new IllegalArgumentException("Days must be positive");
+        }
+
+        firstDay = today.minusDays(days - 1L);
+        dayCumulative = new double[days];
+        double sum = 0;
+        for (int i = 0; i < days; i++) {
+            LocalDate day = firstDay.plusDays(i);
+            double weight = MONTH_WEIGHTS[day.getMonthValue() - 1];
+            if (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                weight *= 1.25;
+            }
+            // Roughly 20% growth across the window
+            weight *= 1.0 + 0.2 * i / days;
+            sum += weight;
+            dayCumulative[i] = sum;
+        }
+        normalize(dayCumulative, sum);
+
+        hourCumulative = new double[HOUR_WEIGHTS.length];
+        sum = 0;
+        for (int hour = 0; hour < HOUR_WEIGHTS.length; hour++) {
+            sum += HOUR_WEIGHTS[hour];
+            hourCumulative[hour] = sum;
+        }
+        normalize(hourCumulative, sum);
+    }
+
+    /**
+     * Samples a timestamp.
+     *
+     * @param random The random source
+     * @return A timestamp within the window
+     */
+    public LocalDateTime sample(SplittableRandom random) {
+        LocalDate day = firstDay.plusDays(search(dayCumulative, random.nextDouble()));
+        int hour = search(hourCumulative, random.nextDouble());
+        return day.atTime(hour, random.nextInt(60), random.nextInt(60));
+    }
+
+    private static void normalize(double[] cumulative, double sum) {
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    private static int search(double[] cumulative, double u) {
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < u) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
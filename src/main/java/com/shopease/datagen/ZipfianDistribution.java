@@ -0,0 +1,79 @@
+package com.shopease.datagen;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zipfian distribution over a fixed number of items.
+ * Item ranks are shuffled once, so the most popular items are spread across the ID range
+ * instead of being the lowest IDs.
+ */
+public class ZipfianDistribution {
+
+    private final double[] cumulative;
+    private final int[] itemByRank;
+
+    /**
+     * Creates a distribution.
+     *
+     * @param itemCount The number of items
+     * @param exponent The skew; 0 is uniform, around 1 matches typical catalog popularity
+     * @param random The random source used to shuffle ranks
+     */
+    public ZipfianDistribution(int itemCount, double exponent, SplittableRandom random) {
+        if (itemCount <= 0) {
+            throw new IllegalArgumentException("Item count must be positive");
+        }
+
+        cumulative = new double[itemCount];
+        double sum = 0;
+        for (int rank = 0; rank < itemCount; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < itemCount; rank++) {
+            cumulative[rank] /= sum;
+        }
+
+        itemByRank = new int[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            itemByRank[i] = i;
+        }
+        for (int i = itemCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = itemByRank[i];
+            itemByRank[i] = itemByRank[j];
+            itemByRank[j] = swap;
+        }
+    }
+
+    /**
+     * Samples an item.
+     *
+     * @param random The random source
+     * @return The index of the sampled item, between 0 and itemCount - 1
+     */
+    public int sample(SplittableRandom random) {
+        return itemByRank[sampleRank(random)];
+    }
+
+    /**
+     * Samples a popularity rank, 0 being the most popular.
+     *
+     * @param random The random source
+     * @return The sampled rank
+     */
+    int sampleRank(SplittableRandom random) {
+        double u = random.nextDouble();
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < u) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
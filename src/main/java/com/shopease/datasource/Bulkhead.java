@@ -0,0 +1,20 @@
+package com.shopease.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a method, or every method of a class, against the connection pool of a bulkhead.
+ * A transaction keeps the connection it started with, so the bulkhead of the outermost
+ * annotated call that opens the transaction wins.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Bulkhead {
+
+    BulkheadPool value();
+}
@@ -0,0 +1,37 @@
+package com.shopease.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Enters the bulkhead declared with @Bulkhead for the duration of the call. Ordered ahead of
+ * the transaction interceptor so the bulkhead is in place before a connection is taken.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class BulkheadAspect {
+
+    @Around("@annotation(com.shopease.datasource.Bulkhead) || @within(com.shopease.datasource.Bulkhead)")
+    public Object enterBulkhead(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Bulkhead bulkhead = AnnotatedElementUtils.findMergedAnnotation(signature.getMethod(), Bulkhead.class);
+        if (bulkhead == null) {
+            bulkhead = AnnotatedElementUtils.findMergedAnnotation(joinPoint.getTarget().getClass(), Bulkhead.class);
+        }
+        if (bulkhead == null) {
+            return joinPoint.proceed();
+        }
+
+        BulkheadPool previous = BulkheadContext.enter(bulkhead.value());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            BulkheadContext.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.shopease.datasource;
+
+/**
+ * Holds the bulkhead of the current thread. Code that never entered a bulkhead uses the
+ * storefront pool.
+ */
+public final class BulkheadContext {
+
+    private static final ThreadLocal<BulkheadPool> CURRENT = new ThreadLocal<>();
+
+    private BulkheadContext() {
+    }
+
+    /**
+     * Switches the current thread to a bulkhead.
+     *
+     * @param pool The bulkhead to enter
+     * @return The previous bulkhead, to be passed to {@link #restore(BulkheadPool)}
+     */
+    public static BulkheadPool enter(BulkheadPool pool) {
+        BulkheadPool previous = CURRENT.get();
+        CURRENT.set(pool);
+        return previous;
+    }
+
+    /**
+     * Switches the current thread back to the bulkhead it was in before {@link #enter(BulkheadPool)}.
+     *
+     * @param previous The bulkhead returned by enter, possibly null
+     */
+    public static void restore(BulkheadPool previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Gets the bulkhead of the current thread.
+     *
+     * @return The current bulkhead, STOREFRONT by default
+     */
+    public static BulkheadPool current() {
+        BulkheadPool pool = CURRENT.get();
+        return pool != null ? pool : BulkheadPool.STOREFRONT;
+    }
+}
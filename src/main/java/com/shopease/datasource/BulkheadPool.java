@@ -0,0 +1,30 @@
+package com.shopease.datasource;
+
+/**
+ * The connection pools that separate workloads from each other, so that a slow report or a
+ * long background job cannot take the connections that checkout needs.
+ */
+public enum BulkheadPool {
+    /**
+     * Customer-facing requests. The default for any code not annotated with @Bulkhead.
+     */
+    STOREFRONT("storefront"),
+    /**
+     * Admin reporting and maintenance endpoints.
+     */
+    ADMIN("admin"),
+    /**
+     * Scheduled and background jobs.
+     */
+    BATCH("batch");
+
+    private final String poolName;
+
+    BulkheadPool(String poolName) {
+        this.poolName = poolName;
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+}
@@ -0,0 +1,43 @@
+package com.shopease.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands out connections from the pool of the current thread's bulkhead. When read replicas are
+ * enabled this data source takes the place of the primary behind ReplicaRoutingDataSource, so
+ * writes and non-transactional work are bulkheaded while storefront replica reads use the replica
+ * pools. Admin and batch reads are not sent to the replicas and stay in their bulkhead here.
+ */
+public class BulkheadRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final Map<BulkheadPool, DataSource> pools;
+
+    public BulkheadRoutingDataSource(Map<BulkheadPool, DataSource> pools) {
+        if (!pools.containsKey(BulkheadPool.STOREFRONT)) {
+            throw new IllegalArgumentException("A storefront pool is required");
+        }
+        this.pools = Collections.unmodifiableMap(new EnumMap<>(pools));
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(pools.get(BulkheadPool.STOREFRONT));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return BulkheadContext.current();
+    }
+
+    /**
+     * Gets the pool of each bulkhead.
+     *
+     * @return The pools keyed by bulkhead
+     */
+    public Map<BulkheadPool, DataSource> getPools() {
+        return pools;
+    }
+}
@@ -0,0 +1,64 @@
+package com.shopease.datasource;
+
+/**
+ * Per-request state for read-your-writes routing. The request filter opens a scope for each
+ * request; inside it, reads are sent to the primary if the client wrote recently (pinned) or if
+ * the current request already wrote. Outside a request scope (scheduled jobs, startup) nothing
+ * is tracked and read-only transactions go to the replicas.
+ */
+public final class ReadYourWritesContext {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private ReadYourWritesContext() {
+    }
+
+    /**
+     * Opens the scope for the current request.
+     *
+     * @param pinned Whether the client wrote within the read-your-writes window
+     * @param onFirstWrite Callback run once when the request performs its first write
+     */
+    public static void open(boolean pinned, Runnable onFirstWrite) {
+        CURRENT.set(new Scope(pinned, onFirstWrite));
+    }
+
+    /**
+     * Closes the scope for the current request.
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Records that the current request wrote to the primary.
+     */
+    public static void markWritten() {
+        Scope scope = CURRENT.get();
+        if (scope != null && !scope.written) {
+            scope.written = true;
+            scope.onFirstWrite.run();
+        }
+    }
+
+    /**
+     * Checks whether reads in the current request must see the primary's data.
+     *
+     * @return true if reads should go to the primary
+     */
+    public static boolean isPinnedToPrimary() {
+        Scope scope = CURRENT.get();
+        return scope != null && (scope.pinned || scope.written);
+    }
+
+    private static final class Scope {
+        private final boolean pinned;
+        private final Runnable onFirstWrite;
+        private boolean written;
+
+        private Scope(boolean pinned, Runnable onFirstWrite) {
+            this.pinned = pinned;
+            this.onFirstWrite = onFirstWrite;
+        }
+    }
+}
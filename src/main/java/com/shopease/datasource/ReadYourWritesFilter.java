@@ -0,0 +1,70 @@
+package com.shopease.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Pins a client's reads to the primary for a short window after it writes, so that replica lag
+ * never hides the client's own changes. The window is carried in a cookie holding the time, in
+ * epoch milliseconds, until which the client stays pinned.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "shopease-primary-until";
+
+    private final long windowMs;
+
+    public ReadYourWritesFilter(long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean pinned = pinnedUntil(request) > now;
+
+        // The cookie is added on the first write, while the response is still uncommitted
+        ReadYourWritesContext.open(pinned, () -> {
+            Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(now + windowMs));
+            cookie.setPath(request.getContextPath().isEmpty() ? "/" : request.getContextPath());
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, windowMs / 1000));
+            response.addCookie(cookie);
+        });
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWritesContext.clear();
+        }
+    }
+
+    /**
+     * Reads the pin cookie from the request.
+     *
+     * @param request The HTTP request
+     * @return The time until which the client is pinned, or 0 if it is not
+     */
+    private long pinnedUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
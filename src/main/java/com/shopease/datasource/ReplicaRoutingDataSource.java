@@ -0,0 +1,170 @@
+package com.shopease.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes read-only transactions to a healthy read replica and everything else to the primary.
+ * Only storefront reads go to the replicas. A replica has one pool shared by every caller, so
+ * admin and batch reads stay on the primary, inside the pools of their bulkheads.
+ * Must be wrapped in a LazyConnectionDataSourceProxy so that the connection is fetched after
+ * the transaction's read-only flag has been set.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String PRIMARY_KEY = "primary";
+
+    // Lag: zero on a primary or a fully caught-up replica, otherwise seconds since the last
+    // replayed commit. Streaming: whether a replica is receiving WAL from the primary; a replica
+    // that lost its primary has replayed all it received and would otherwise report no lag.
+    // Without pg_read_all_stats the receiver's status is hidden, so a running receiver counts.
+    private static final String LAG_QUERY =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END, " +
+            "NOT pg_is_in_recovery() OR EXISTS (SELECT 1 FROM pg_stat_wal_receiver " +
+            "WHERE COALESCE(status, 'streaming') = 'streaming')";
+
+    private final List<Replica> replicas;
+    private final long maxLagMs;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources, long maxLagMs) {
+        this.maxLagMs = maxLagMs;
+        this.replicas = new ArrayList<>();
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY_KEY, primary);
+        for (int i = 0; i < replicaDataSources.size(); i++) {
+            Replica replica = new Replica("replica-" + i, replicaDataSources.get(i));
+            replicas.add(replica);
+            targets.put(replica.key, replica.dataSource);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkReplicaLag();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY_KEY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            ReadYourWritesContext.markWritten();
+            return PRIMARY_KEY;
+        }
+        if (ReadYourWritesContext.isPinnedToPrimary() || BulkheadContext.current() != BulkheadPool.STOREFRONT) {
+            return PRIMARY_KEY;
+        }
+        return selectReplica();
+    }
+
+    /**
+     * Picks the next healthy replica round-robin, falling back to the primary when none is healthy.
+     *
+     * @return The lookup key of the chosen data source
+     */
+    private Object selectReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica.key;
+            }
+        }
+        return PRIMARY_KEY;
+    }
+
+    /**
+     * Measures the replication lag of each replica and takes replicas that are too far behind,
+     * not streaming from the primary, or unreachable, out of rotation until they catch up.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.lag-check-interval-ms:2000}")
+    public void checkReplicaLag() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                long lagMs = Math.round(resultSet.getDouble(1) * 1000);
+                boolean streaming = resultSet.getBoolean(2);
+                healthy = streaming && lagMs <= maxLagMs;
+                if (!streaming && replica.healthy) {
+                    logger.warn("Replica {} is not streaming from the primary, routing its reads to the primary",
+                            replica.key);
+                } else if (!healthy && replica.healthy) {
+                    logger.warn("Replica {} is {} ms behind the primary, routing its reads to the primary",
+                            replica.key, lagMs);
+                }
+            } catch (Exception e) {
+                healthy = false;
+                if (replica.healthy) {
+                    logger.warn("Replica {} failed its lag check, routing its reads to the primary: {}",
+                            replica.key, e.getMessage());
+                }
+            }
+            if (healthy && !replica.healthy) {
+                logger.info("Replica {} is back in rotation", replica.key);
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    /**
+     * Gets the replica data sources, in configuration order.
+     *
+     * @return The replica data sources
+     */
+    public List<DataSource> getReplicaDataSources() {
+        return replicas.stream().map(replica -> replica.dataSource).toList();
+    }
+
+    /**
+     * Closes the replica pools. The primary is a bean of its own and is closed by the container.
+     */
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    logger.warn("Failed to close replica {}", replica.key, e);
+                }
+            }
+        }
+    }
+
+    private static final class Replica {
+        private final String key;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String key, DataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.shopease.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO for handling bulk stock and price adjustment requests.
+ */
+@Data
+public class BulkStockAdjustmentRequest {
+
+    @NotEmpty(message = "Adjustments cannot be empty")
+    @Size(max = 10000, message = "At most 10000 adjustments can be applied at once")
+    private List<@Valid StockAdjustmentRequest> adjustments;
+}
@@ -0,0 +1,29 @@
+package com.shopease.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO describing a single stock and/or price change within a bulk adjustment.
+ * Each value can be given either as an absolute value or as a delta, but not both.
+ */
+@Data
+public class StockAdjustmentRequest {
+
+    @NotNull(message = "Product ID cannot be null")
+    private Long productId;
+
+    @PositiveOrZero(message = "Stock quantity cannot be negative")
+    private Integer stockQuantity;
+
+    private Integer stockDelta;
+
+    @Positive(message = "Price must be positive")
+    private BigDecimal price;
+
+    private BigDecimal priceDelta;
+}
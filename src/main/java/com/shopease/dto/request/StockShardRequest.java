@@ -0,0 +1,19 @@
+package com.shopease.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+/**
+ * DTO for splitting a hot product's stock across shard counters.
+ * Zero shards keeps the stock on the product row again.
+ */
+@Data
+public class StockShardRequest {
+
+    @NotNull(message = "Shard count cannot be null")
+    @PositiveOrZero(message = "Shard count cannot be negative")
+    @Max(value = 64, message = "Shard count cannot exceed 64")
+    private Integer shards;
+}
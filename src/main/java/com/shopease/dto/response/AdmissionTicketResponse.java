@@ -0,0 +1,36 @@
+package com.shopease.dto.response;
+
+import com.shopease.admission.AdmissionTicket;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for returning a checkout admission ticket in API responses.
+ */
+@Data
+public class AdmissionTicketResponse {
+    private String ticketId;
+    private String status;
+    private int position;
+    private LocalDateTime issuedAt;
+    private long pollAfterMs;
+
+    /**
+     * Creates an AdmissionTicketResponse from a ticket.
+     *
+     * @param ticket The ticket
+     * @param position The ticket's queue position
+     * @param pollAfterMs How long to wait before polling again
+     * @return An AdmissionTicketResponse DTO
+     */
+    public static AdmissionTicketResponse fromTicket(AdmissionTicket ticket, int position, long pollAfterMs) {
+        AdmissionTicketResponse response = new AdmissionTicketResponse();
+        response.setTicketId(ticket.getId());
+        response.setStatus(ticket.getStatus().name());
+        response.setPosition(position);
+        response.setIssuedAt(ticket.getIssuedAt());
+        response.setPollAfterMs(ticket.getStatus() == AdmissionTicket.Status.WAITING ? pollAfterMs : 0);
+        return response;
+    }
+}
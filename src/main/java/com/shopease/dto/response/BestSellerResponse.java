@@ -0,0 +1,38 @@
+package com.shopease.dto.response;
+
+import com.shopease.model.Product;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for returning best-selling product information in API responses.
+ */
+@Data
+public class BestSellerResponse {
+    private int rank;
+    private Long productId;
+    private String productName;
+    private String category;
+    private BigDecimal price;
+    private long quantitySold;
+
+    /**
+     * Creates a BestSellerResponse from a Product entity and its sales count.
+     *
+     * @param rank The position of the product in the leaderboard
+     * @param product The product entity
+     * @param quantitySold The number of units sold in the requested window
+     * @return A BestSellerResponse DTO
+     */
+    public static BestSellerResponse fromEntity(int rank, Product product, long quantitySold) {
+        BestSellerResponse response = new BestSellerResponse();
+        response.setRank(rank);
+        response.setProductId(product.getId());
+        response.setProductName(product.getName());
+        response.setCategory(product.getCategory());
+        response.setPrice(product.getPrice());
+        response.setQuantitySold(quantitySold);
+        return response;
+    }
+}
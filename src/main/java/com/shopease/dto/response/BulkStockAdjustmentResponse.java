@@ -0,0 +1,19 @@
+package com.shopease.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO summarising the outcome of a bulk stock and price adjustment.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkStockAdjustmentResponse {
+    private int requested;
+    private int updated;
+    private List<Long> skippedProductIds;
+}
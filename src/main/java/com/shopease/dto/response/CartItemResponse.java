@@ -1,6 +1,7 @@
 package com.shopease.dto.response;
 
 import com.shopease.model.CartItem;
+import com.shopease.model.Money;
 import lombok.Data;
 
 import java.math.BigDecimal;
@@ -30,9 +31,10 @@ public class CartItemResponse {
         response.setId(cartItem.getId());
         response.setProductId(cartItem.getProduct().getId());
         response.setProductName(cartItem.getProduct().getName());
-        response.setPrice(cartItem.getProduct().getPrice());
+        Money price = cartItem.getProduct().getPriceAmount();
+        response.setPrice(price.toBigDecimal());
         response.setQuantity(cartItem.getQuantity());
-        response.setTotal(cartItem.getProduct().getPrice().multiply(BigDecimal.valueOf(cartItem.getQuantity())));
+        response.setTotal(price.times(cartItem.getQuantity()).toBigDecimal());
         response.setAddedAt(cartItem.getAddedAt());
         return response;
     }
@@ -5,6 +5,7 @@ import lombok.Data;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -42,4 +43,19 @@ public class CartResponse {
 
         return response;
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates the response for a user who has no cart yet.
+     *
+     * @param userId The user ID
+     * @return An empty CartResponse DTO
+     */
+    public static CartResponse empty(Long userId) {
+        CartResponse response = new CartResponse();
+        response.setUserId(userId);
+        response.setItems(new ArrayList<>());
+        response.setTotalAmount(BigDecimal.ZERO);
+        response.setItemCount(0);
+        return response;
+    }
+}
@@ -21,6 +21,7 @@ public class OrderResponse {
     private BigDecimal finalPrice;
     private String discountCode;
     private LocalDateTime orderDate;
+    private LocalDateTime expiresAt;
     private List<OrderItemResponse> items;
     private PaymentResponse payment;
 
@@ -45,6 +46,10 @@ public class OrderResponse {
 
         response.setOrderDate(order.getOrderDate());
 
+        if (order.getStatus() == Order.OrderStatus.PENDING) {
+            response.setExpiresAt(order.getExpiresAt());
+        }
+
         List<OrderItemResponse> itemResponses = order.getItems().stream()
                 .map(OrderItemResponse::fromEntity)
                 .collect(Collectors.toList());
@@ -1,6 +1,7 @@
 package com.shopease.dto.response;
 
 import com.shopease.model.Product;
+import com.shopease.repository.projection.ProductSummary;
 import lombok.Data;
 
 import java.math.BigDecimal;
@@ -16,6 +17,7 @@ public class ProductResponse {
     private String description;
     private BigDecimal price;
     private Integer stockQuantity;
+    private Integer availableQuantity;
     private String category;
     private String status;
     private LocalDateTime createdAt;
@@ -34,10 +36,43 @@ public class ProductResponse {
         response.setDescription(product.getDescription());
         response.setPrice(product.getPrice());
         response.setStockQuantity(product.getStockQuantity());
+        response.setAvailableQuantity(product.getStockQuantity());
         response.setCategory(product.getCategory());
         response.setStatus(product.getStatus().name());
         response.setCreatedAt(product.getCreatedAt());
         response.setUpdatedAt(product.getUpdatedAt());
         return response;
     }
+
+    /**
+     * Creates a ProductResponse from a listing projection.
+     * The description is not part of the projection and is left empty.
+     *
+     * @param summary The product summary projection
+     * @return A ProductResponse DTO
+     */
+    public static ProductResponse fromSummary(ProductSummary summary) {
+        ProductResponse response = new ProductResponse();
+        response.setId(summary.getId());
+        response.setName(summary.getName());
+        response.setPrice(summary.getPrice().toBigDecimal());
+        response.setStockQuantity(summary.getStockQuantity());
+        response.setAvailableQuantity(summary.getStockQuantity());
+        response.setCategory(summary.getCategory());
+        response.setStatus(summary.getStatus().name());
+        response.setCreatedAt(summary.getCreatedAt());
+        response.setUpdatedAt(summary.getUpdatedAt());
+        return response;
+    }
+
+    /**
+     * Subtracts the units held by shoppers' carts from the available quantity.
+     *
+     * @param reservedQuantity The units held by carts
+     * @return This response
+     */
+    public ProductResponse withReserved(int reservedQuantity) {
+        this.availableQuantity = Math.max(0, stockQuantity - reservedQuantity);
+        return this;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.shopease.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for returning a product's stock ledger: its stock according to the ledger and a page
+ * of its movements, newest first.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockLedgerResponse {
+    private Long productId;
+    private Integer stockQuantity;
+    private PagedResponse<StockMovementResponse> movements;
+}
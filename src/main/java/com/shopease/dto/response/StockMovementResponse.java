@@ -0,0 +1,34 @@
+package com.shopease.dto.response;
+
+import com.shopease.inventory.StockMovement;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for returning one stock ledger entry in API responses.
+ */
+@Data
+public class StockMovementResponse {
+    private Long id;
+    private String type;
+    private int quantity;
+    private Long orderId;
+    private LocalDateTime createdAt;
+
+    /**
+     * Creates a StockMovementResponse from a ledger entry.
+     *
+     * @param movement The ledger entry
+     * @return A StockMovementResponse DTO
+     */
+    public static StockMovementResponse fromMovement(StockMovement movement) {
+        StockMovementResponse response = new StockMovementResponse();
+        response.setId(movement.id());
+        response.setType(movement.type().name());
+        response.setQuantity(movement.quantity());
+        response.setOrderId(movement.orderId());
+        response.setCreatedAt(movement.createdAt());
+        return response;
+    }
+}
@@ -3,6 +3,7 @@ package com.shopease.event;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 /**
@@ -80,4 +81,29 @@ public class EventListeners {
         // - Issue a refund if payment was already made
         // - Update inventory systems
     }
+
+    /**
+     * Handles stock threshold crossing events.
+     * Runs asynchronously so that stock mutations are not slowed down by alerting.
+     *
+     * @param event The stock threshold crossed event
+     */
+    @Async
+    @EventListener
+    public void handleStockThresholdCrossedEvent(StockThresholdCrossedEvent event) {
+        if (event.isLowStock()) {
+            logger.warn("Product {} is low on stock: {} left (threshold {})",
+                    event.getProductId(),
+                    event.getStockQuantity(),
+                    event.getThreshold());
+        } else {
+            logger.info("Product {} restocked above threshold: {} available",
+                    event.getProductId(),
+                    event.getStockQuantity());
+        }
+
+        // In a real application, you might want to:
+        // - Notify purchasing or the warehouse system
+        // - Push an alert to the admin dashboard
+    }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.shopease.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event triggered when a product's stock level crosses the low-stock alert threshold.
+ */
+@Getter
+public class StockThresholdCrossedEvent extends ApplicationEvent {
+
+    private final Long productId;
+    private final int stockQuantity;
+    private final int threshold;
+    private final boolean lowStock;
+
+    public StockThresholdCrossedEvent(Long productId, int stockQuantity, int threshold, boolean lowStock) {
+        super(productId);
+        this.productId = productId;
+        this.stockQuantity = stockQuantity;
+        this.threshold = threshold;
+        this.lowStock = lowStock;
+    }
+}
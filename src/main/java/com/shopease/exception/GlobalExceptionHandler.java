@@ -1,7 +1,9 @@
 package com.shopease.exception;
 
+import com.shopease.metrics.BusinessMetrics;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -18,6 +20,12 @@ import java.util.Map;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final BusinessMetrics businessMetrics;
+
+    public GlobalExceptionHandler(BusinessMetrics businessMetrics) {
+        this.businessMetrics = businessMetrics;
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ApiError> handleResourceNotFoundException(ResourceNotFoundException ex, WebRequest request) {
         ApiError apiError = new ApiError(HttpStatus.NOT_FOUND, ex.getMessage());
@@ -42,6 +50,24 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(InvalidProductDataException.class)
+    public ResponseEntity<ApiError> handleInvalidProductDataException(InvalidProductDataException ex, WebRequest request) {
+        ApiError apiError = new ApiError(HttpStatus.BAD_REQUEST, ex.getMessage());
+        return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidCartOperationException.class)
+    public ResponseEntity<ApiError> handleInvalidCartOperationException(InvalidCartOperationException ex, WebRequest request) {
+        ApiError apiError = new ApiError(HttpStatus.BAD_REQUEST, ex.getMessage());
+        return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidOrderException.class)
+    public ResponseEntity<ApiError> handleInvalidOrderException(InvalidOrderException ex, WebRequest request) {
+        ApiError apiError = new ApiError(HttpStatus.BAD_REQUEST, ex.getMessage());
+        return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(InvalidOrderStateException.class)
     public ResponseEntity<ApiError> handleInvalidOrderStateException(InvalidOrderStateException ex, WebRequest request) {
         ApiError apiError = new ApiError(HttpStatus.BAD_REQUEST, ex.getMessage());
@@ -54,6 +80,16 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleOptimisticLockingFailureException(ObjectOptimisticLockingFailureException ex, WebRequest request) {
+        String entity = ex.getPersistentClassName() != null
+                ? ex.getPersistentClassName().substring(ex.getPersistentClassName().lastIndexOf('.') + 1)
+                : "unknown";
+        businessMetrics.recordOptimisticLockFailure(entity);
+        ApiError apiError = new ApiError(HttpStatus.CONFLICT, "The resource was modified concurrently, please retry");
+        return new ResponseEntity<>(apiError, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ApiError> handleAccessDeniedException(AccessDeniedException ex, WebRequest request) {
         ApiError apiError = new ApiError(HttpStatus.FORBIDDEN, "Access denied");
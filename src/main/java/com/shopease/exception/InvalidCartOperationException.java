@@ -0,0 +1,15 @@
+package com.shopease.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a cart operation has invalid input, e.g. a quantity that is not positive.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCartOperationException extends RuntimeException {
+
+    public InvalidCartOperationException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.shopease.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when an order cannot be created from the current cart, e.g. because the cart
+ * is empty or a product does not have enough stock.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidOrderException extends RuntimeException {
+
+    public InvalidOrderException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
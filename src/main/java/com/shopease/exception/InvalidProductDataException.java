@@ -0,0 +1,15 @@
+package com.shopease.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when product data or a stock adjustment is invalid.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidProductDataException extends RuntimeException {
+
+    public InvalidProductDataException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.shopease.inventory;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the stock ledger.
+ *
+ * @param id The ledger position, or null until the movement is written
+ * @param productId The product
+ * @param type The kind of movement
+ * @param quantity The new stock level for SET movements, otherwise the change in stock
+ * @param orderId The order that caused the movement, if any
+ * @param createdAt When the movement was written, or null until then
+ */
+public record StockMovement(Long id, long productId, Type type, int quantity, Long orderId, LocalDateTime createdAt) {
+
+    public enum Type {
+        /** Stock set to an absolute level: product created or edited, or stock counted. */
+        SET,
+        /** Units sold by an order. */
+        ORDER,
+        /** Units returned by a cancelled order. */
+        CANCEL,
+        /** Units returned by an order that expired unpaid. */
+        EXPIRY,
+        /** Stock changed by a bulk adjustment. */
+        ADJUSTMENT
+    }
+
+    /**
+     * Creates a movement that has not been written yet.
+     */
+    public static StockMovement of(long productId, Type type, int quantity, Long orderId) {
+        return new StockMovement(null, productId, type, quantity, orderId, null);
+    }
+
+    /**
+     * Applies this movement to a stock level.
+     *
+     * @param stockQuantity The stock level before the movement
+     * @return The stock level after it
+     */
+    public int applyTo(int stockQuantity) {
+        return type == Type.SET ? quantity : stockQuantity + quantity;
+    }
+}
@@ -0,0 +1,75 @@
+package com.shopease.inventory;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Arithmetic for a product's stock split across shard counters.
+ * The quantities are indexed by shard number.
+ */
+public final class StockShards {
+
+    private StockShards() {
+    }
+
+    /**
+     * Splits a stock level evenly across shards; the first shards get the remainder.
+     *
+     * @param total The total stock
+     * @param shards The number of shards
+     * @return The quantity of each shard
+     */
+    public static int[] split(int total, int shards) {
+        int[] quantities = new int[shards];
+        for (int i = 0; i < shards; i++) {
+            quantities[i] = total / shards + (i < total % shards ? 1 : 0);
+        }
+        return quantities;
+    }
+
+    /**
+     * Tells whether shards have drifted apart enough to be evened out: once the gap between
+     * the fullest and emptiest shard exceeds half of an even share, checkouts that land on the
+     * emptiest shard start falling back to the slow path.
+     *
+     * @param min The smallest shard quantity
+     * @param max The largest shard quantity
+     * @param total The total stock
+     * @param shards The number of shards
+     * @return true if the shards should be redistributed
+     */
+    public static boolean needsRebalance(int min, int max, int total, int shards) {
+        return shards > 1 && max - min > Math.max(1, total / shards / 2);
+    }
+
+    /**
+     * Takes a quantity from several shards, fullest first, so as few shards as possible change.
+     *
+     * @param quantities The current shard quantities
+     * @param quantity The quantity to take
+     * @return The new shard quantities, or null if the shards hold less than the quantity in total
+     */
+    public static int[] take(int[] quantities, int quantity) {
+        if (Arrays.stream(quantities).sum() < quantity) {
+            return null;
+        }
+
+        int[] result = quantities.clone();
+        int[] fullestFirst = IntStream.range(0, result.length).boxed()
+                .sorted(Comparator.comparingInt((Integer shard) -> result[shard]).reversed())
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        int remaining = quantity;
+        for (int shard : fullestFirst) {
+            int taken = Math.min(remaining, result[shard]);
+            result[shard] -= taken;
+            remaining -= taken;
+            if (remaining == 0) {
+                break;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,35 @@
+package com.shopease.limiter;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Actuator endpoint (/actuator/concurrencylimits) with the current limit, in-flight count,
+ * rejections and average round-trip time of each endpoint group.
+ */
+@Endpoint(id = "concurrencylimits")
+public class ConcurrencyLimitEndpoint {
+
+    private final Map<EndpointGroup, ConcurrencyLimiter> limiters;
+
+    public ConcurrencyLimitEndpoint(Map<EndpointGroup, ConcurrencyLimiter> limiters) {
+        this.limiters = limiters;
+    }
+
+    @ReadOperation
+    public Map<String, GroupLimit> concurrencyLimits() {
+        Map<String, GroupLimit> groups = new TreeMap<>();
+        limiters.forEach((group, limiter) -> groups.put(group.getTag(), new GroupLimit(
+                limiter.getLimit(), limiter.getInflight(), limiter.getRejections(), limiter.getLongRttMillis())));
+        return groups;
+    }
+
+    /**
+     * State of one endpoint group's limiter.
+     */
+    public record GroupLimit(int limit, int inflight, long rejections, double averageRttMs) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.shopease.limiter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopease.exception.ApiError;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Sheds checkout and cart writes once their group is at its adaptive concurrency limit, so
+ * that a saturated database pool turns into fast 503 responses for those endpoints instead
+ * of blocking every request thread. Requests outside a group pass through untouched.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    private final Map<EndpointGroup, ConcurrencyLimiter> limiters;
+    private final ObjectMapper objectMapper;
+    private final long retryAfterSeconds;
+
+    public ConcurrencyLimitFilter(Map<EndpointGroup, ConcurrencyLimiter> limiters, ObjectMapper objectMapper,
+                                  long retryAfterSeconds) {
+        this.limiters = limiters;
+        this.objectMapper = objectMapper;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        EndpointGroup group = EndpointGroup.of(request);
+        ConcurrencyLimiter limiter = group == null ? null : limiters.get(group);
+        if (limiter == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!limiter.tryAcquire()) {
+            reject(response, limiter);
+            return;
+        }
+
+        long start = System.nanoTime();
+        int status = HttpStatus.INTERNAL_SERVER_ERROR.value();
+        try {
+            filterChain.doFilter(request, response);
+            status = response.getStatus();
+        } finally {
+            if (status == HttpStatus.ACCEPTED.value()) {
+                // A checkout told to wait in the admission queue returns without a transaction,
+                // so its quick round trip would make the limit think the database is idle
+                limiter.release();
+            } else {
+                limiter.release(System.nanoTime() - start, status >= HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
+        }
+    }
+
+    /**
+     * Writes a 503 response telling the client when to retry.
+     */
+    private void reject(HttpServletResponse response, ConcurrencyLimiter limiter) throws IOException {
+        logger.debug("Rejected {} request: {} in flight, limit {}",
+                limiter.getGroup().getTag(), limiter.getInflight(), limiter.getLimit());
+
+        ApiError apiError = new ApiError(HttpStatus.SERVICE_UNAVAILABLE, "Server is busy, please retry shortly");
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), apiError);
+    }
+}
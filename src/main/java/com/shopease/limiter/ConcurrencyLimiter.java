@@ -0,0 +1,94 @@
+package com.shopease.limiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admits requests of one endpoint group while fewer than the adaptive limit are in flight.
+ * Every admitted request must be released exactly once, normally with its round-trip time.
+ */
+public class ConcurrencyLimiter {
+
+    private final EndpointGroup group;
+    private final GradientConcurrencyLimit limit;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final Counter rejections;
+
+    public ConcurrencyLimiter(EndpointGroup group, GradientConcurrencyLimit limit, MeterRegistry meterRegistry) {
+        this.group = group;
+        this.limit = limit;
+        String tag = group.getTag();
+        Gauge.builder("shopease.concurrency.limit", limit, GradientConcurrencyLimit::getLimit)
+                .tag("group", tag)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("shopease.concurrency.inflight", inflight, AtomicInteger::get)
+                .tag("group", tag)
+                .description("Requests currently admitted")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("shopease.concurrency.rejections")
+                .tag("group", tag)
+                .description("Requests rejected because the group was at its limit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a permit if the group is below its limit.
+     *
+     * @return true if the request was admitted, false if it must be rejected
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= limit.getLimit()) {
+                rejections.increment();
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns a permit and feeds the request's outcome to the limit.
+     *
+     * @param rttNanos How long the request took
+     * @param dropped Whether the request failed
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int current = inflight.getAndDecrement();
+        limit.onSample(rttNanos, current, dropped);
+    }
+
+    /**
+     * Returns a permit without feeding a sample to the limit, for requests whose round-trip
+     * time says nothing about the load on the resource the limit protects.
+     */
+    public void release() {
+        inflight.decrementAndGet();
+    }
+
+    public EndpointGroup getGroup() {
+        return group;
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    public long getRejections() {
+        return (long) rejections.count();
+    }
+
+    public double getLongRttMillis() {
+        return limit.getLongRttMillis();
+    }
+}
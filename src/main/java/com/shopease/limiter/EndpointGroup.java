@@ -0,0 +1,49 @@
+package com.shopease.limiter;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Endpoint groups with their own concurrency limit. Catalog reads and every other request
+ * belong to no group and are never limited.
+ */
+public enum EndpointGroup {
+    /**
+     * Placing, paying for and cancelling orders.
+     */
+    CHECKOUT("checkout"),
+    /**
+     * Adding, updating and removing cart items.
+     */
+    CART("cart");
+
+    private final String tag;
+
+    EndpointGroup(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * Finds the group of a request.
+     *
+     * @param request The HTTP request
+     * @return The group, or null if the request is not limited
+     */
+    public static EndpointGroup of(HttpServletRequest request) {
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) {
+            return null;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.equals("/orders") || (path.startsWith("/orders/") && !path.startsWith("/orders/admin"))) {
+            return CHECKOUT;
+        }
+        if (path.equals("/cart") || path.startsWith("/cart/")) {
+            return CART;
+        }
+        return null;
+    }
+}
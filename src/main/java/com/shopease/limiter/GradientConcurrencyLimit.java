@@ -0,0 +1,96 @@
+package com.shopease.limiter;
+
+/**
+ * Concurrency limit that follows the latency gradient of the requests it admits.
+ *
+ * <p>A long-term average of the round-trip time is compared with each new sample. While
+ * requests take about as long as usual the limit grows by roughly its square root; once they
+ * take longer than {@code tolerance} times the average, which is what happens when the
+ * requests start queueing for database connections, the limit shrinks in proportion. Failed
+ * requests back the limit off multiplicatively. The limit is not raised while fewer than half
+ * of the permits are in use, since those samples say nothing about the capacity.
+ */
+public class GradientConcurrencyLimit {
+
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double LONG_RTT_DECAY = 0.95;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double backoffRatio;
+    private final double longRttAlpha;
+
+    private double estimatedLimit;
+    private double longRttNanos;
+    private volatile int limit;
+
+    /**
+     * @param initialLimit The limit before any samples have been seen
+     * @param minLimit The lowest the limit may drop to
+     * @param maxLimit The highest the limit may grow to
+     * @param tolerance How much slower than average a request may be before the limit shrinks
+     * @param smoothing Weight of each new estimate, between 0 and 1
+     * @param backoffRatio Factor applied to the limit when a request fails
+     * @param longRttWindow Number of samples averaged into the long-term round-trip time
+     */
+    public GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance,
+                                    double smoothing, double backoffRatio, int longRttWindow) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.backoffRatio = backoffRatio;
+        this.longRttAlpha = 2.0 / (longRttWindow + 1);
+        this.estimatedLimit = clamp(initialLimit, minLimit, maxLimit);
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Updates the limit with a completed request.
+     *
+     * @param rttNanos How long the request took
+     * @param inflight The number of requests in flight when it started to complete, itself included
+     * @param dropped Whether the request failed
+     */
+    public synchronized void onSample(long rttNanos, int inflight, boolean dropped) {
+        double rtt = Math.max(1, rttNanos);
+        longRttNanos = longRttNanos == 0 ? rtt : longRttNanos + longRttAlpha * (rtt - longRttNanos);
+
+        // Recover quickly once a latency spike has passed instead of waiting for the average
+        if (longRttNanos / rtt > 2) {
+            longRttNanos *= LONG_RTT_DECAY;
+        }
+
+        double newLimit;
+        if (dropped) {
+            newLimit = estimatedLimit * backoffRatio;
+        } else {
+            if (inflight < estimatedLimit / 2) {
+                return;
+            }
+            double gradient = clamp(tolerance * longRttNanos / rtt, MIN_GRADIENT, 1.0);
+            newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        }
+
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = clamp(newLimit, minLimit, maxLimit);
+        limit = (int) estimatedLimit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public synchronized double getLongRttMillis() {
+        return longRttNanos / 1_000_000.0;
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
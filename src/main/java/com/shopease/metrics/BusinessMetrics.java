@@ -0,0 +1,100 @@
+package com.shopease.metrics;
+
+import com.shopease.model.PaymentRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Business counters for the storefront. Every counter is tagged with the endpoint that
+ * triggered it and an outcome, so they can be lined up with http.server.requests.
+ */
+@Component
+public class BusinessMetrics {
+
+    public static final String CART_ADDS = "shopease.cart.adds";
+    public static final String CHECKOUTS = "shopease.checkouts";
+    public static final String PAYMENTS = "shopease.payments";
+    public static final String DISCOUNT_REDEMPTIONS = "shopease.discount.redemptions";
+    public static final String OPTIMISTIC_LOCK_FAILURES = "shopease.optimistic.lock.failures";
+
+    static final String NO_ENDPOINT = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    public BusinessMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Records the outcome of a payment attempt.
+     *
+     * @param status The final status of the payment record
+     */
+    public void recordPayment(PaymentRecord.PaymentStatus status) {
+        counter(PAYMENTS, status.name().toLowerCase()).increment();
+    }
+
+    /**
+     * Records a discount code being redeemed or rejected at checkout.
+     *
+     * @param outcome "redeemed", "invalid" or "not_found"
+     */
+    public void recordDiscountRedemption(String outcome) {
+        counter(DISCOUNT_REDEMPTIONS, outcome).increment();
+    }
+
+    /**
+     * Records a write that lost an optimistic locking race.
+     *
+     * @param entity The simple name of the entity that was concurrently modified
+     */
+    public void recordOptimisticLockFailure(String entity) {
+        meterRegistry.counter(OPTIMISTIC_LOCK_FAILURES,
+                "endpoint", currentEndpoint(), "outcome", "conflict", "entity", entity).increment();
+    }
+
+    private Counter counter(String name, String outcome) {
+        return meterRegistry.counter(name, "endpoint", currentEndpoint(), "outcome", outcome);
+    }
+
+    /**
+     * Gets the endpoint tag for the current request.
+     *
+     * @return The tag, e.g. "endpoint=POST /cart/items"
+     */
+    public static Tag endpointTag() {
+        return Tag.of("endpoint", currentEndpoint());
+    }
+
+    /**
+     * Resolves the route pattern of the request being handled on this thread. The pattern,
+     * rather than the raw URI, keeps tag cardinality bounded.
+     *
+     * @return The HTTP method and route pattern, or "none" outside of a request
+     */
+    static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return NO_ENDPOINT;
+        }
+        return endpointOf(servletAttributes.getRequest());
+    }
+
+    /**
+     * Resolves the route pattern of a request that has been through the dispatcher.
+     *
+     * @param request The HTTP request
+     * @return The HTTP method and route pattern, e.g. "GET /products/{id}"
+     */
+    static String endpointOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "UNKNOWN");
+    }
+}
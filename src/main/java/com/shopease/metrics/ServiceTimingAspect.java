@@ -0,0 +1,62 @@
+package com.shopease.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the *ServiceImpl classes as shopease.service.calls, tagged with
+ * class, method and outcome. Controller latency is covered by http.server.requests and
+ * repository latency by spring.data.repository.invocations, so together they give a
+ * per-layer breakdown of each request.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "app.metrics.service-timers.enabled", havingValue = "true", matchIfMissing = true)
+public class ServiceTimingAspect {
+
+    static final String METRIC_NAME = "shopease.service.calls";
+
+    private final MeterRegistry meterRegistry;
+
+    // Success timers are looked up on every call, so cache them instead of rebuilding meter IDs
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+    public ServiceTimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.shopease.service.impl.*ServiceImpl.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            successTimers.computeIfAbsent(method, m -> timer(joinPoint, "success"))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable ex) {
+            timer(joinPoint, ex.getClass().getSimpleName())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+
+    private Timer timer(ProceedingJoinPoint joinPoint, String outcome) {
+        return Timer.builder(METRIC_NAME)
+                .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                .tag("method", joinPoint.getSignature().getName())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,122 @@
+package com.shopease.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * SQL statements, rows and database time accumulated by one HTTP request. The stats are bound
+ * to the request thread; JDBC work done on other threads is not attributed to the request.
+ */
+public final class SqlStats {
+
+    /**
+     * Request attribute under which the finished stats are stored, for tests and advice.
+     */
+    public static final String REQUEST_ATTRIBUTE = SqlStats.class.getName();
+
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+
+    private final int repeatThreshold;
+    private final Map<String, Integer> statementCounts = new HashMap<>();
+    private final List<String> repeatedStatements = new ArrayList<>();
+    private int statements;
+    private long rows;
+    private long dbNanos;
+
+    SqlStats(int repeatThreshold) {
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    /**
+     * Starts collecting stats on the current thread.
+     *
+     * @param repeatThreshold Executions of one statement after which it is reported as N+1
+     * @return The new stats
+     */
+    static SqlStats start(int repeatThreshold) {
+        SqlStats stats = new SqlStats(repeatThreshold);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Stops collecting stats on the current thread.
+     */
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Gets the stats of the request being handled on the current thread.
+     *
+     * @return The stats, or null outside of a request
+     */
+    static SqlStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Records an executed statement.
+     *
+     * @param sql The statement text, with bind parameters as placeholders
+     * @param elapsedNanos Time spent executing the statement
+     * @return true the first time the statement crosses the repeat threshold
+     */
+    boolean recordStatement(String sql, long elapsedNanos) {
+        statements++;
+        dbNanos += elapsedNanos;
+        int count = statementCounts.merge(sql, 1, Integer::sum);
+        if (count == repeatThreshold) {
+            repeatedStatements.add(sql);
+            return true;
+        }
+        return false;
+    }
+
+    void addRows(long count) {
+        rows += count;
+    }
+
+    public int getRepeatThreshold() {
+        return repeatThreshold;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getDbNanos() {
+        return dbNanos;
+    }
+
+    public double getDbMillis() {
+        return dbNanos / 1_000_000.0;
+    }
+
+    /**
+     * Gets the statements that were executed at least the repeat threshold number of times.
+     *
+     * @return The repeated statements, in detection order
+     */
+    public List<String> getRepeatedStatements() {
+        return Collections.unmodifiableList(repeatedStatements);
+    }
+
+    /**
+     * Formats the stats as a Server-Timing header value.
+     *
+     * @return The header value, e.g. db;dur=3.2;desc="4 queries, 10 rows"
+     */
+    public String toServerTiming() {
+        return String.format(Locale.ROOT, "db;dur=%.1f;desc=\"%d queries, %d rows\"",
+                getDbMillis(), statements, rows);
+    }
+}
@@ -0,0 +1,81 @@
+package com.shopease.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Actuator endpoint (/actuator/sqlstats) with per-endpoint SQL aggregates since startup or
+ * the last reset. Endpoints are keyed by route pattern so the map stays small.
+ */
+@Endpoint(id = "sqlstats")
+public class SqlStatsEndpoint {
+
+    private final Map<String, Aggregate> aggregates = new ConcurrentHashMap<>();
+
+    /**
+     * Adds the stats of a finished request to its endpoint's aggregate.
+     *
+     * @param endpoint The HTTP method and route pattern
+     * @param stats The stats of the request
+     */
+    void record(String endpoint, SqlStats stats) {
+        aggregates.computeIfAbsent(endpoint, key -> new Aggregate()).add(stats);
+    }
+
+    @ReadOperation
+    public Map<String, EndpointSqlSummary> sqlStats() {
+        Map<String, EndpointSqlSummary> summaries = new TreeMap<>();
+        aggregates.forEach((endpoint, aggregate) -> summaries.put(endpoint, aggregate.summarize()));
+        return summaries;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        aggregates.clear();
+    }
+
+    /**
+     * Summary of the SQL issued by one endpoint.
+     */
+    public record EndpointSqlSummary(long requests, long statements, double statementsPerRequest,
+                                     long maxStatementsPerRequest, long rows, double dbTimeMs,
+                                     double dbTimeMsPerRequest, long requestsWithRepeatedStatements) {
+    }
+
+    private static final class Aggregate {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder dbNanos = new LongAdder();
+        private final LongAdder repeated = new LongAdder();
+
+        private void add(SqlStats stats) {
+            requests.increment();
+            statements.add(stats.getStatements());
+            maxStatements.accumulate(stats.getStatements());
+            rows.add(stats.getRows());
+            dbNanos.add(stats.getDbNanos());
+            if (!stats.getRepeatedStatements().isEmpty()) {
+                repeated.increment();
+            }
+        }
+
+        private EndpointSqlSummary summarize() {
+            long requestCount = requests.sum();
+            long statementCount = statements.sum();
+            double dbTimeMs = dbNanos.sum() / 1_000_000.0;
+            return new EndpointSqlSummary(requestCount, statementCount,
+                    requestCount == 0 ? 0 : (double) statementCount / requestCount,
+                    maxStatements.get(), rows.sum(), dbTimeMs,
+                    requestCount == 0 ? 0 : dbTimeMs / requestCount, repeated.sum());
+        }
+    }
+}
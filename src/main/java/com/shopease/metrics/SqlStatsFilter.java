@@ -0,0 +1,59 @@
+package com.shopease.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Collects SQL stats for each HTTP request. Once the request completes, the stats are added to
+ * the sqlstats endpoint and to the shopease.sql.statements.per.request summary, and exposed as a
+ * request attribute for tests.
+ */
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final SqlStatsEndpoint sqlStatsEndpoint;
+    private final MeterRegistry meterRegistry;
+    private final int repeatThreshold;
+
+    public SqlStatsFilter(SqlStatsEndpoint sqlStatsEndpoint, MeterRegistry meterRegistry, int repeatThreshold) {
+        this.sqlStatsEndpoint = sqlStatsEndpoint;
+        this.meterRegistry = meterRegistry;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStats stats = SqlStats.start(repeatThreshold);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStats.stop();
+            request.setAttribute(SqlStats.REQUEST_ATTRIBUTE, stats);
+
+            // Responses with a body get the header from ServerTimingAdvice before they are committed
+            if (!response.isCommitted() && !response.containsHeader(SERVER_TIMING_HEADER)) {
+                response.addHeader(SERVER_TIMING_HEADER, stats.toServerTiming());
+            }
+
+            String endpoint = BusinessMetrics.endpointOf(request);
+            sqlStatsEndpoint.record(endpoint, stats);
+            DistributionSummary.builder("shopease.sql.statements.per.request")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry)
+                    .record(stats.getStatements());
+            if (!stats.getRepeatedStatements().isEmpty()) {
+                meterRegistry.counter("shopease.sql.repeated.statements", "endpoint", endpoint)
+                        .increment(stats.getRepeatedStatements().size());
+            }
+        }
+    }
+}
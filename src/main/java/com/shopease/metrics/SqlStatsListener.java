@@ -0,0 +1,92 @@
+package com.shopease.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Datasource-proxy listener that attributes statements, rows and execution time to the
+ * current request, and logs statements repeated often enough to look like an N+1 pattern.
+ * Outside of a request (startup, scheduled jobs) it does nothing beyond a thread-local read.
+ */
+public class SqlStatsListener implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatsListener.class);
+
+    private static final String START_NANOS = "shopease.startNanos";
+    private static final int STACK_SAMPLE_DEPTH = 8;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (SqlStats.current() != null) {
+            execInfo.addCustomValue(START_NANOS, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStats stats = SqlStats.current();
+        Long startNanos = execInfo.getCustomValue(START_NANOS, Long.class);
+        if (stats == null || startNanos == null) {
+            return;
+        }
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        for (int i = 0; i < queryInfoList.size(); i++) {
+            String sql = queryInfoList.get(i).getQuery();
+            // Attribute the time once per execution, not once per statement in a batch
+            if (stats.recordStatement(sql, i == 0 ? elapsedNanos : 0)) {
+                logger.warn("Possible N+1: statement executed {} times in one request: {}\n{}",
+                        stats.getRepeatThreshold(), sql, stackSample());
+            }
+        }
+
+        Object result = execInfo.getResult();
+        if (result instanceof Integer updated && updated > 0) {
+            stats.addRows(updated);
+        } else if (result instanceof int[] batchUpdated) {
+            for (int updated : batchUpdated) {
+                stats.addRows(Math.max(updated, 0));
+            }
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        // Rows read are counted as successful ResultSet.next() calls
+        if (executionContext.getTarget() instanceof ResultSet
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            SqlStats stats = SqlStats.current();
+            if (stats != null) {
+                stats.addRows(1);
+            }
+        }
+    }
+
+    /**
+     * Captures the application frames that led to the repeated statement.
+     *
+     * @return The frames, one per line
+     */
+    private String stackSample() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith("com.shopease.")
+                        && !frame.getClassName().startsWith("com.shopease.metrics."))
+                .limit(STACK_SAMPLE_DEPTH)
+                .map(frame -> "\tat " + frame)
+                .collect(Collectors.joining("\n")));
+    }
+}
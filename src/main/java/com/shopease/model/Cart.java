@@ -86,9 +86,21 @@ public class Cart extends BaseEntity {
      * @return The total cart value
      */
     public BigDecimal calculateTotal() {
-        return items.stream()
-                .map(item -> item.getProduct().getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return calculateTotalAmount().toBigDecimal();
+    }
+
+    /**
+     * Calculates the total value of all items in the cart without intermediate allocations.
+     *
+     * @return The total cart value
+     */
+    public Money calculateTotalAmount() {
+        long totalCents = 0;
+        for (CartItem item : items) {
+            totalCents = Math.addExact(totalCents,
+                    Math.multiplyExact(item.getProduct().getPriceAmount().cents(), (long) item.getQuantity()));
+        }
+        return Money.ofCents(totalCents);
     }
 
     /**
@@ -5,6 +5,10 @@ import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -16,11 +20,14 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "discounts")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
 @Getter
 @Setter
 @NoArgsConstructor
 public class Discount extends BaseEntity {
 
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true)
     private String code;
 
@@ -66,6 +73,27 @@ public class Discount extends BaseEntity {
      * @return The calculated discount amount
      */
     public BigDecimal calculateDiscount(BigDecimal amount) {
-        return amount.multiply(percentage.divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP));
+        return calculateDiscount(Money.of(amount)).toBigDecimal();
+    }
+
+    /**
+     * Calculates the discount amount for a given price, rounded half-up to the cent.
+     * The percentage is applied exactly, in basis points.
+     *
+     * @param amount The amount to apply the discount to
+     * @return The calculated discount amount
+     */
+    public Money calculateDiscount(Money amount) {
+        return amount.percentage(getPercentageBasisPoints());
+    }
+
+    /**
+     * Gets the discount percentage in basis points (12.5% = 1250).
+     *
+     * @return The percentage in basis points
+     */
+    @Transient
+    public long getPercentageBasisPoints() {
+        return percentage.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
     }
 }
\ No newline at end of file
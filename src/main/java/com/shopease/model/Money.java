@@ -0,0 +1,91 @@
+package com.shopease.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Monetary amount stored as a whole number of cents.
+ * Used for in-memory pricing so that totals can be computed without allocating a
+ * BigDecimal per cart or order line. Rounding is always half-up, to the cent.
+ *
+ * @param cents The amount in cents
+ */
+public record Money(long cents) implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    private static final long BASIS_POINTS_PER_UNIT = 10_000;
+
+    /**
+     * Creates an amount from a number of cents.
+     *
+     * @param cents The amount in cents
+     * @return The Money value
+     */
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    /**
+     * Creates an amount from a decimal value, rounding half-up to the cent.
+     *
+     * @param amount The decimal amount
+     * @return The Money value, or null if the amount is null
+     */
+    public static Money of(BigDecimal amount) {
+        if (amount == null) {
+            return null;
+        }
+        return ofCents(amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money minus(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    public Money times(int quantity) {
+        return ofCents(Math.multiplyExact(cents, (long) quantity));
+    }
+
+    /**
+     * Calculates a percentage of this amount, rounding half-up to the cent.
+     *
+     * @param basisPoints The percentage in basis points (1250 = 12.5%)
+     * @return The percentage of this amount
+     */
+    public Money percentage(long basisPoints) {
+        long product = Math.multiplyExact(cents, basisPoints);
+        long half = BASIS_POINTS_PER_UNIT / 2;
+        long rounded = product >= 0
+                ? (product + half) / BASIS_POINTS_PER_UNIT
+                : -((-product + half) / BASIS_POINTS_PER_UNIT);
+        return ofCents(rounded);
+    }
+
+    public boolean isPositive() {
+        return cents > 0;
+    }
+
+    /**
+     * Converts this amount to a decimal with two decimal places.
+     *
+     * @return The decimal amount
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
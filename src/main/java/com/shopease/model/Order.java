@@ -49,6 +49,9 @@ public class Order extends BaseEntity {
     @Column(nullable = false)
     private LocalDateTime orderDate;
 
+    @Column
+    private LocalDateTime expiresAt;
+
     @OneToOne(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private PaymentRecord paymentRecord;
 
@@ -120,9 +123,11 @@ public class Order extends BaseEntity {
      * Recalculates all prices (total, discount, final) based on current items and discount.
      */
     private void recalculatePrices() {
-        this.totalPrice = calculateTotalPrice();
-        this.discountAmount = calculateDiscountAmount();
-        this.finalPrice = totalPrice.subtract(discountAmount);
+        Money total = calculateTotalAmount();
+        Money discount = calculateDiscountAmount(total);
+        this.totalPrice = total.toBigDecimal();
+        this.discountAmount = discount.toBigDecimal();
+        this.finalPrice = total.minus(discount).toBigDecimal();
     }
 
     /**
@@ -130,23 +135,27 @@ public class Order extends BaseEntity {
      *
      * @return The total price
      */
-    private BigDecimal calculateTotalPrice() {
-        return items.stream()
-                .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private Money calculateTotalAmount() {
+        long totalCents = 0;
+        for (OrderItem item : items) {
+            totalCents = Math.addExact(totalCents,
+                    Math.multiplyExact(item.getPriceAmount().cents(), (long) item.getQuantity()));
+        }
+        return Money.ofCents(totalCents);
     }
 
     /**
      * Calculates the discount amount based on the applied discount.
      *
+     * @param total The order total
      * @return The discount amount
      */
-    private BigDecimal calculateDiscountAmount() {
+    private Money calculateDiscountAmount(Money total) {
         if (appliedDiscount == null) {
-            return BigDecimal.ZERO;
+            return Money.ZERO;
         }
 
-        return appliedDiscount.calculateDiscount(totalPrice);
+        return appliedDiscount.calculateDiscount(total);
     }
 
     /**
@@ -167,7 +176,7 @@ public class Order extends BaseEntity {
             orderItem.setOrder(order);
             orderItem.setProduct(cartItem.getProduct());
             orderItem.setQuantity(cartItem.getQuantity());
-            orderItem.setPrice(cartItem.getProduct().getPrice());
+            orderItem.setPriceAmount(cartItem.getProduct().getPriceAmount());
             order.getItems().add(orderItem);
         });
 
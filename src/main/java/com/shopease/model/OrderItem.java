@@ -2,6 +2,7 @@ package com.shopease.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Positive;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -32,7 +33,46 @@ public class OrderItem extends BaseEntity {
     private Integer quantity;
 
     @Column(nullable = false)
-    private BigDecimal price;
+    @Convert(converter = MoneyConverter.class)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Money price;
+
+    /**
+     * Gets the unit price captured when the order was placed.
+     *
+     * @return The unit price as a decimal, or null if not set
+     */
+    public BigDecimal getPrice() {
+        return price != null ? price.toBigDecimal() : null;
+    }
+
+    /**
+     * Sets the unit price, rounded half-up to the cent.
+     *
+     * @param price The unit price as a decimal
+     */
+    public void setPrice(BigDecimal price) {
+        this.price = Money.of(price);
+    }
+
+    /**
+     * Gets the unit price for in-memory pricing.
+     *
+     * @return The unit price, or null if not set
+     */
+    public Money getPriceAmount() {
+        return price;
+    }
+
+    /**
+     * Sets the unit price.
+     *
+     * @param price The unit price
+     */
+    public void setPriceAmount(Money price) {
+        this.price = price;
+    }
 
     /**
      * Calculates the total price for this order item (price * quantity).
@@ -41,6 +81,16 @@ public class OrderItem extends BaseEntity {
      */
     @Transient
     public BigDecimal getTotalPrice() {
-        return price.multiply(BigDecimal.valueOf(quantity));
+        return getTotalAmount().toBigDecimal();
+    }
+
+    /**
+     * Calculates the total amount for this order item (price * quantity).
+     *
+     * @return The total amount for this item
+     */
+    @Transient
+    public Money getTotalAmount() {
+        return price.times(quantity);
     }
 }
\ No newline at end of file
@@ -7,11 +7,10 @@ import lombok.Setter;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 /**
  * Entity representing a payment record in the e-commerce system.
- * Used for simulating payments and tracking payment status.
+ * Tracks the status of payments made through the payment gateway.
  */
 @Entity
 @Table(name = "payment_records")
@@ -37,13 +36,17 @@ public class PaymentRecord extends BaseEntity {
     @Column
     private String transactionReference;
 
+    @Column(nullable = false)
+    private int attempt = 1;
+
     /**
      * Enum representing possible payment statuses.
      */
     public enum PaymentStatus {
         PENDING,
         SUCCESSFUL,
-        FAILED
+        FAILED,
+        REFUND_PENDING
     }
 
     /**
@@ -62,28 +65,53 @@ public class PaymentRecord extends BaseEntity {
     }
 
     /**
-     * Simulates payment processing with a configurable success rate.
-     * Updates payment status and generates a transaction reference on success.
+     * Marks the payment as in progress again.
+     * A failed payment is retried as a new attempt. A payment whose outcome is unknown keeps
+     * its attempt, so the retry asks the gateway about the same charge.
      */
-    public void processPayment() {
-        // In a real system, this would integrate with a payment gateway
-        boolean isSuccessful = simulatePaymentProcessing();
-
-        if (isSuccessful) {
-            this.status = PaymentStatus.SUCCESSFUL;
-            this.transactionReference = "TX-" + UUID.randomUUID().toString().substring(0, 8);
-        } else {
-            this.status = PaymentStatus.FAILED;
+    public void markPending() {
+        if (this.status == PaymentStatus.FAILED) {
+            this.attempt++;
         }
+        this.status = PaymentStatus.PENDING;
+        this.paymentDate = LocalDateTime.now();
+        this.transactionReference = null;
+    }
+
+    /**
+     * Gets the key that identifies the current attempt at the payment gateway.
+     *
+     * @return The idempotency key, the same for every retry of one attempt
+     */
+    public String getIdempotencyKey() {
+        return "payment-" + getId() + "-" + attempt;
+    }
+
+    /**
+     * Marks the payment as successful.
+     *
+     * @param transactionReference The reference assigned by the payment gateway
+     */
+    public void markSuccessful(String transactionReference) {
+        this.status = PaymentStatus.SUCCESSFUL;
+        this.transactionReference = transactionReference;
     }
 
     /**
-     * Simulates payment processing with a 90% success rate.
+     * Marks the payment as charged for an order that is no longer pending, so the money has to
+     * be refunded.
      *
-     * @return true if payment is successful, false otherwise
+     * @param transactionReference The reference assigned by the payment gateway
+     */
+    public void markRefundPending(String transactionReference) {
+        this.status = PaymentStatus.REFUND_PENDING;
+        this.transactionReference = transactionReference;
+    }
+
+    /**
+     * Marks the payment as failed.
      */
-    private boolean simulatePaymentProcessing() {
-        // Simulate 90% success rate for payments
-        return Math.random() < 0.9;
+    public void markFailed() {
+        this.status = PaymentStatus.FAILED;
     }
-}
\ No newline at end of file
+}
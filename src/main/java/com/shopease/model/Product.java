@@ -3,9 +3,14 @@ package com.shopease.model;
 import com.shopease.exception.InsufficientStockException;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.math.BigDecimal;
 
@@ -15,11 +20,14 @@ import java.math.BigDecimal;
  */
 @Entity
 @Table(name = "products")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
 @Getter
 @Setter
 @NoArgsConstructor
 public class Product extends BaseEntity {
 
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true)
     private String name;
 
@@ -27,8 +35,10 @@ public class Product extends BaseEntity {
     private String description;
 
     @Column(nullable = false)
-    @PositiveOrZero
-    private BigDecimal price;
+    @Convert(converter = MoneyConverter.class)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Money price;
 
     @Column(nullable = false)
     @PositiveOrZero
@@ -51,6 +61,34 @@ public class Product extends BaseEntity {
         DISCONTINUED
     }
 
+    /**
+     * Gets the product price.
+     *
+     * @return The price as a decimal, or null if not set
+     */
+    @PositiveOrZero
+    public BigDecimal getPrice() {
+        return price != null ? price.toBigDecimal() : null;
+    }
+
+    /**
+     * Sets the product price, rounded half-up to the cent.
+     *
+     * @param price The price as a decimal
+     */
+    public void setPrice(BigDecimal price) {
+        this.price = Money.of(price);
+    }
+
+    /**
+     * Gets the product price for in-memory pricing.
+     *
+     * @return The price, or null if not set
+     */
+    public Money getPriceAmount() {
+        return price;
+    }
+
     /**
      * Checks if the product has enough stock for a requested quantity.
      *
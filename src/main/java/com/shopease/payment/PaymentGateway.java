@@ -0,0 +1,21 @@
+package com.shopease.payment;
+
+import java.math.BigDecimal;
+
+/**
+ * Service provider interface for external payment gateways.
+ * Implementations perform a blocking remote call and are always invoked outside
+ * of a database transaction.
+ */
+public interface PaymentGateway {
+
+    /**
+     * Charges an amount for an order.
+     *
+     * @param orderId The ID of the order being paid
+     * @param amount The amount to charge
+     * @param idempotencyKey A key identifying the payment attempt, the same on every retry of it, so retries are not charged twice
+     * @return The result reported by the gateway
+     */
+    PaymentGatewayResult charge(Long orderId, BigDecimal amount, String idempotencyKey);
+}
@@ -0,0 +1,54 @@
+package com.shopease.payment;
+
+import lombok.Getter;
+
+/**
+ * Result of a payment gateway call.
+ */
+@Getter
+public class PaymentGatewayResult {
+
+    private final boolean successful;
+    private final boolean outcomeUnknown;
+    private final String transactionReference;
+    private final String failureReason;
+
+    private PaymentGatewayResult(boolean successful, boolean outcomeUnknown,
+                                 String transactionReference, String failureReason) {
+        this.successful = successful;
+        this.outcomeUnknown = outcomeUnknown;
+        this.transactionReference = transactionReference;
+        this.failureReason = failureReason;
+    }
+
+    /**
+     * Creates a successful result.
+     *
+     * @param transactionReference The reference assigned by the gateway
+     * @return A successful PaymentGatewayResult
+     */
+    public static PaymentGatewayResult success(String transactionReference) {
+        return new PaymentGatewayResult(true, false, transactionReference, null);
+    }
+
+    /**
+     * Creates a failed result.
+     *
+     * @param failureReason Why the payment failed
+     * @return A failed PaymentGatewayResult
+     */
+    public static PaymentGatewayResult failure(String failureReason) {
+        return new PaymentGatewayResult(false, false, null, failureReason);
+    }
+
+    /**
+     * Creates a result for a call whose outcome is not known, such as a timeout.
+     * The gateway may still have charged the payment, so it must not be treated as failed.
+     *
+     * @param reason Why the outcome is not known
+     * @return An unsuccessful PaymentGatewayResult with an unknown outcome
+     */
+    public static PaymentGatewayResult unknown(String reason) {
+        return new PaymentGatewayResult(false, true, null, reason);
+    }
+}
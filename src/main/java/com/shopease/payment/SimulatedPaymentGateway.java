@@ -0,0 +1,66 @@
+package com.shopease.payment;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local payment gateway that simulates a remote round trip.
+ * Latency and failure rate are configurable so that load tests can model a real provider.
+ * Like a real provider, it remembers the outcome of each idempotency key and returns it again
+ * when the key is retried, up to app.payment.simulated.remembered-keys keys.
+ */
+@Component
+@ConditionalOnProperty(name = "app.payment.gateway", havingValue = "simulated", matchIfMissing = true)
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+    @Value("${app.payment.simulated.latency-ms:200}")
+    private long latencyMs;
+
+    @Value("${app.payment.simulated.latency-jitter-ms:100}")
+    private long latencyJitterMs;
+
+    @Value("${app.payment.simulated.failure-rate:0.1}")
+    private double failureRate;
+
+    @Value("${app.payment.simulated.remembered-keys:100000}")
+    private int rememberedKeys = 100000;
+
+    private final Map<String, PaymentGatewayResult> outcomes = Collections.synchronizedMap(
+            new LinkedHashMap<>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PaymentGatewayResult> eldest) {
+                    return size() > rememberedKeys;
+                }
+            });
+
+    @Override
+    public PaymentGatewayResult charge(Long orderId, BigDecimal amount, String idempotencyKey) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        try {
+            long jitter = latencyJitterMs > 0 ? random.nextLong(latencyJitterMs + 1) : 0;
+            Thread.sleep(latencyMs + jitter);
+        } catch (InterruptedException e) {
+            // Nothing was charged, so the key stays unused
+            Thread.currentThread().interrupt();
+            return PaymentGatewayResult.failure("Payment interrupted");
+        }
+
+        return outcomes.computeIfAbsent(idempotencyKey, key -> decide());
+    }
+
+    private PaymentGatewayResult decide() {
+        if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+            return PaymentGatewayResult.failure("Payment declined");
+        }
+        return PaymentGatewayResult.success("TX-" + UUID.randomUUID().toString().substring(0, 8));
+    }
+}
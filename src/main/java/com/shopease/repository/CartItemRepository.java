@@ -2,8 +2,11 @@ package com.shopease.repository;
 
 import com.shopease.model.CartItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,6 +33,24 @@ public interface CartItemRepository extends JpaRepository<CartItem, Long> {
      */
     Optional<CartItem> findByCartIdAndProductId(Long cartId, Long productId);
 
+    /**
+     * Finds the IDs of the products in a user's cart without loading the cart.
+     *
+     * @param userId The user ID
+     * @return The product IDs
+     */
+    @Query("SELECT i.product.id FROM CartItem i WHERE i.cart.user.id = :userId")
+    List<Long> findProductIdsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Finds the IDs of the products in several users' carts without loading the carts.
+     *
+     * @param userIds The user IDs
+     * @return The distinct product IDs
+     */
+    @Query("SELECT DISTINCT i.product.id FROM CartItem i WHERE i.cart.user.id IN :userIds")
+    List<Long> findProductIdsByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
     /**
      * Deletes all items in a specific cart.
      *
@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -58,4 +59,13 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
      */
     @Query("SELECT DISTINCT c FROM Cart c JOIN c.items i JOIN i.product p WHERE p.category = :category")
     List<Cart> findCartsWithProductCategory(@Param("category") String category);
+
+    /**
+     * Finds the carts of several users with their items in one query.
+     *
+     * @param userIds The user IDs
+     * @return The carts that exist for those users
+     */
+    @Query("SELECT DISTINCT c FROM Cart c LEFT JOIN FETCH c.items WHERE c.user.id IN :userIds")
+    List<Cart> findWithItemsByUserIdIn(@Param("userIds") Collection<Long> userIds);
 }
\ No newline at end of file
@@ -1,26 +1,20 @@
 package com.shopease.repository;
 
 import com.shopease.model.Discount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Repository interface for Discount entity.
  */
 @Repository
-public interface DiscountRepository extends JpaRepository<Discount, Long> {
-
-    /**
-     * Finds a discount by code.
-     *
-     * @param code The code to search for
-     * @return An Optional containing the discount if found, or empty otherwise
-     */
-    Optional<Discount> findByCode(String code);
+public interface DiscountRepository extends JpaRepository<Discount, Long>, DiscountRepositoryCustom {
 
     /**
      * Checks if a discount with the given code exists.
@@ -28,6 +22,7 @@ public interface DiscountRepository extends JpaRepository<Discount, Long> {
      * @param code The code to check
      * @return true if a discount with the code exists, false otherwise
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     boolean existsByCode(String code);
 
     /**
@@ -0,0 +1,20 @@
+package com.shopease.repository;
+
+import com.shopease.model.Discount;
+
+import java.util.Optional;
+
+/**
+ * Custom repository operations for Discount that go through Hibernate's natural-id API,
+ * so they are served from the second-level cache when possible.
+ */
+public interface DiscountRepositoryCustom {
+
+    /**
+     * Finds a discount by code, the discount's natural ID.
+     *
+     * @param code The code to search for
+     * @return An Optional containing the discount if found, or empty otherwise
+     */
+    Optional<Discount> findByCode(String code);
+}
@@ -0,0 +1,26 @@
+package com.shopease.repository;
+
+import com.shopease.model.Discount;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+/**
+ * Natural-id implementation of {@link DiscountRepositoryCustom}.
+ */
+public class DiscountRepositoryCustomImpl implements DiscountRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    public DiscountRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<Discount> findByCode(String code) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Discount.class)
+                .loadOptional(code);
+    }
+}
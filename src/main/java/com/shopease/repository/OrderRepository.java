@@ -2,9 +2,12 @@ package com.shopease.repository;
 
 import com.shopease.model.Order;
 import com.shopease.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -17,7 +20,7 @@ import java.util.Optional;
  * Repository interface for Order entity.
  */
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
 
     /**
      * Finds all orders for a specific user ordered by date.
@@ -37,14 +40,36 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     Page<Order> findByUserId(Long userId, Pageable pageable);
 
     /**
-     * Finds a specific order for a specific user.
+     * Finds a specific order for a specific user, with its items loaded.
      *
      * @param orderId The order ID to find
      * @param userId The user ID to check
      * @return An Optional containing the order if found, or empty otherwise
      */
+    @EntityGraph(attributePaths = "items")
     Optional<Order> findByIdAndUserId(Long orderId, Long userId);
 
+    /**
+     * Finds an order by ID with its items loaded, so it can be mapped outside of a transaction.
+     *
+     * @param orderId The order ID to find
+     * @return An Optional containing the order if found, or empty otherwise
+     */
+    @EntityGraph(attributePaths = "items")
+    Optional<Order> findWithItemsById(Long orderId);
+
+    /**
+     * Finds an order by ID, locking its row and incrementing its version. Payment and
+     * cancellation of an order take this lock, so they run one after the other, and a copy of
+     * the order read before either of them can no longer be saved.
+     *
+     * @param orderId The order ID to find
+     * @return An Optional containing the locked order if found, or empty otherwise
+     */
+    @Lock(LockModeType.PESSIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT o FROM Order o WHERE o.id = :orderId")
+    Optional<Order> findForUpdateById(@Param("orderId") Long orderId);
+
     /**
      * Finds orders by status.
      *
@@ -0,0 +1,31 @@
+package com.shopease.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Custom repository operations for Order that are executed as set-based SQL
+ * rather than through the persistence context.
+ */
+public interface OrderRepositoryCustom {
+
+    /**
+     * Cancels a batch of pending orders whose expiry time has passed, oldest first.
+     * Orders with a PENDING payment are left alone, since the customer may have been charged,
+     * and rows locked by other nodes are skipped so that concurrent sweeps never block each other.
+     *
+     * @param now The current time
+     * @param limit The maximum number of orders to cancel
+     * @return The IDs of the cancelled orders
+     */
+    List<Long> cancelExpiredPendingOrders(LocalDateTime now, int limit);
+
+    /**
+     * Sums the ordered quantity per product across a set of orders.
+     *
+     * @param orderIds The order IDs
+     * @return The total quantity per product, keyed by product ID
+     */
+    Map<Long, Integer> sumItemQuantitiesByProduct(List<Long> orderIds);
+}
@@ -0,0 +1,66 @@
+package com.shopease.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of {@link OrderRepositoryCustom}.
+ */
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    private static final String CANCEL_EXPIRED_SQL =
+            "UPDATE orders o SET status = 'CANCELLED', updated_at = CURRENT_TIMESTAMP, version = o.version + 1 " +
+            "WHERE o.id IN (" +
+            "SELECT e.id FROM orders e " +
+            "WHERE e.status = 'PENDING' AND e.expires_at <= ? " +
+            "AND NOT EXISTS (SELECT 1 FROM payment_records pr WHERE pr.order_id = e.id " +
+            "AND pr.status = 'PENDING') " +
+            "ORDER BY e.expires_at " +
+            "LIMIT ? " +
+            "FOR UPDATE SKIP LOCKED) " +
+            "RETURNING o.id";
+
+    private static final String SUM_QUANTITIES_SQL =
+            "SELECT oi.product_id, SUM(oi.quantity) FROM order_items oi " +
+            "WHERE oi.order_id = ANY(?::bigint[]) " +
+            "GROUP BY oi.product_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> cancelExpiredPendingOrders(LocalDateTime now, int limit) {
+        PreparedStatementSetter parameters = ps -> {
+            ps.setTimestamp(1, Timestamp.valueOf(now));
+            ps.setInt(2, limit);
+        };
+
+        return jdbcTemplate.query(CANCEL_EXPIRED_SQL, parameters, (rs, rowNum) -> rs.getLong(1));
+    }
+
+    @Override
+    public Map<Long, Integer> sumItemQuantitiesByProduct(List<Long> orderIds) {
+        PreparedStatementSetter parameters = ps ->
+                ps.setArray(1, ps.getConnection().createArrayOf("bigint", orderIds.toArray(new Long[0])));
+
+        ResultSetExtractor<Map<Long, Integer>> quantities = rs -> {
+            Map<Long, Integer> result = new LinkedHashMap<>();
+            while (rs.next()) {
+                result.put(rs.getLong(1), rs.getInt(2));
+            }
+            return result;
+        };
+
+        return jdbcTemplate.query(SUM_QUANTITIES_SQL, parameters, quantities);
+    }
+}
@@ -1,9 +1,14 @@
 package com.shopease.repository;
 
 import com.shopease.model.PaymentRecord;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -27,4 +32,19 @@ public interface PaymentRepository extends JpaRepository<PaymentRecord, Long> {
      * @return An Optional containing the payment record if found, or empty otherwise
      */
     Optional<PaymentRecord> findByTransactionReference(String transactionReference);
-}
\ No newline at end of file
+
+    /**
+     * Finds expired pending orders whose payment has been PENDING since before the given time,
+     * meaning the outcome of its last gateway call was never learned.
+     *
+     * @param now The current time
+     * @param startedBefore Payment attempts started before this time are no longer in flight
+     * @param pageable Limits the number of orders returned
+     * @return The order IDs, oldest payment attempt first
+     */
+    @Query("SELECT p.order.id FROM PaymentRecord p WHERE p.status = 'PENDING' AND p.paymentDate < :startedBefore " +
+            "AND p.order.status = 'PENDING' AND p.order.expiresAt <= :now ORDER BY p.paymentDate")
+    List<Long> findExpiredOrderIdsWithUnresolvedPayment(@Param("now") LocalDateTime now,
+                                                        @Param("startedBefore") LocalDateTime startedBefore,
+                                                        Pageable pageable);
+}
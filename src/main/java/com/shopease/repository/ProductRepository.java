@@ -1,20 +1,25 @@
 package com.shopease.repository;
 
 import com.shopease.model.Product;
+import com.shopease.repository.projection.ProductStockLevel;
+import com.shopease.repository.projection.ProductSummary;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Repository interface for Product entity.
  */
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
 
     /**
      * Finds all products in a specific category.
@@ -33,6 +38,23 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      */
     Page<Product> findByCategory(String category, Pageable pageable);
 
+    /**
+     * Finds all products as listing projections with pagination.
+     *
+     * @param pageable Pagination information
+     * @return A page of product summaries
+     */
+    Page<ProductSummary> findAllProjectedBy(Pageable pageable);
+
+    /**
+     * Finds all products in a specific category as listing projections with pagination.
+     *
+     * @param category The category to filter by
+     * @param pageable Pagination information
+     * @return A page of product summaries in the specified category
+     */
+    Page<ProductSummary> findSummariesByCategory(String category, Pageable pageable);
+
     /**
      * Checks if a product with the given name exists.
      *
@@ -50,6 +72,15 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      */
     Page<Product> findByNameContainingIgnoreCase(String searchTerm, Pageable pageable);
 
+    /**
+     * Searches for products by name containing the search term, returning listing projections.
+     *
+     * @param searchTerm The search term to look for in product names
+     * @param pageable Pagination information
+     * @return A page of product summaries with names containing the search term
+     */
+    Page<ProductSummary> findSummariesByNameContainingIgnoreCase(String searchTerm, Pageable pageable);
+
     /**
      * Finds products with low stock (below a specified threshold).
      *
@@ -58,4 +89,36 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      */
     @Query("SELECT p FROM Product p WHERE p.stockQuantity <= :threshold")
     List<Product> findProductsWithLowStock(@Param("threshold") int threshold);
+
+    /**
+     * Finds the current stock level of every product.
+     * Used to build the in-memory low-stock index.
+     *
+     * @return A list of product IDs with their stock quantities
+     */
+    @Query("SELECT p.id AS id, p.stockQuantity AS stockQuantity FROM Product p")
+    List<ProductStockLevel> findAllStockLevels();
+
+    /**
+     * Finds the current stock level of the given products, taking the sum of the shards for
+     * sharded products, whose product row is only synced on rebalance.
+     *
+     * @param ids The product IDs
+     * @return A list of product IDs with their stock quantities
+     */
+    @Query(value = "SELECT p.id AS id, CAST(COALESCE((SELECT SUM(s.quantity) FROM product_stock_shards s " +
+            "WHERE s.product_id = p.id), p.stock_quantity) AS INTEGER) AS \"stockQuantity\" " +
+            "FROM products p WHERE p.id IN (:ids)", nativeQuery = true)
+    List<ProductStockLevel> findCurrentStockLevels(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds products by ID and locks their rows until the end of the transaction.
+     * Rows are locked in ID order, so concurrent callers cannot deadlock on them.
+     *
+     * @param ids The product IDs
+     * @return The locked products, ordered by ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> findAllForUpdate(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
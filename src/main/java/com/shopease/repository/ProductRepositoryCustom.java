@@ -0,0 +1,23 @@
+package com.shopease.repository;
+
+import com.shopease.dto.request.StockAdjustmentRequest;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Custom repository operations for Product that are executed as set-based SQL
+ * rather than through the persistence context.
+ */
+public interface ProductRepositoryCustom {
+
+    /**
+     * Applies stock and price adjustments to many products in a single UPDATE statement.
+     * Product status is recomputed from the resulting stock level. Adjustments that refer
+     * to unknown products, or that would make stock negative or price non-positive, are skipped.
+     *
+     * @param adjustments The adjustments to apply (product IDs must be unique)
+     * @return The resulting stock quantity of each updated product, keyed by product ID
+     */
+    Map<Long, Integer> applyStockAdjustments(List<StockAdjustmentRequest> adjustments);
+}
@@ -0,0 +1,135 @@
+package com.shopease.repository;
+
+import com.shopease.dto.request.StockAdjustmentRequest;
+import com.shopease.model.Product;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of {@link ProductRepositoryCustom}.
+ * The adjustments are passed as PostgreSQL arrays and joined with unnest, so a whole
+ * chunk is applied with one statement and one round trip. The statement bypasses Hibernate,
+ * so the updated products are evicted from the second-level cache by hand.
+ */
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private static final String NEW_STOCK =
+            "(CASE WHEN c.stock_value IS NULL THEN p.stock_quantity " +
+            "WHEN c.stock_absolute THEN c.stock_value " +
+            "ELSE p.stock_quantity + c.stock_value END)";
+
+    private static final String NEW_PRICE =
+            "(CASE WHEN c.price_value IS NULL THEN p.price " +
+            "WHEN c.price_absolute THEN c.price_value " +
+            "ELSE p.price + c.price_value END)";
+
+    private static final String BULK_ADJUST_SQL =
+            "UPDATE products p SET " +
+            "stock_quantity = " + NEW_STOCK + ", " +
+            "price = " + NEW_PRICE + ", " +
+            "status = CASE WHEN " + NEW_STOCK + " = 0 THEN 'OUT_OF_STOCK' " +
+            "WHEN p.status = 'OUT_OF_STOCK' THEN 'ACTIVE' ELSE p.status END, " +
+            "updated_at = CURRENT_TIMESTAMP, " +
+            "version = p.version + 1 " +
+            "FROM unnest(?::bigint[], ?::integer[], ?::boolean[], ?::numeric[], ?::boolean[]) " +
+            "AS c(product_id, stock_value, stock_absolute, price_value, price_absolute) " +
+            "WHERE p.id = c.product_id " +
+            "AND " + NEW_STOCK + " >= 0 " +
+            "AND " + NEW_PRICE + " > 0 " +
+            "RETURNING p.id, p.stock_quantity";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ProductRepositoryCustomImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public Map<Long, Integer> applyStockAdjustments(List<StockAdjustmentRequest> adjustments) {
+        int size = adjustments.size();
+        Long[] productIds = new Long[size];
+        Integer[] stockValues = new Integer[size];
+        Boolean[] stockAbsolute = new Boolean[size];
+        BigDecimal[] priceValues = new BigDecimal[size];
+        Boolean[] priceAbsolute = new Boolean[size];
+
+        for (int i = 0; i < size; i++) {
+            StockAdjustmentRequest adjustment = adjustments.get(i);
+            productIds[i] = adjustment.getProductId();
+
+            if (adjustment.getStockQuantity() != null) {
+                stockValues[i] = adjustment.getStockQuantity();
+                stockAbsolute[i] = true;
+            } else if (adjustment.getStockDelta() != null) {
+                stockValues[i] = adjustment.getStockDelta();
+                stockAbsolute[i] = false;
+            }
+
+            if (adjustment.getPrice() != null) {
+                priceValues[i] = adjustment.getPrice();
+                priceAbsolute[i] = true;
+            } else if (adjustment.getPriceDelta() != null) {
+                priceValues[i] = adjustment.getPriceDelta();
+                priceAbsolute[i] = false;
+            }
+        }
+
+        PreparedStatementSetter parameters = ps -> {
+            Connection connection = ps.getConnection();
+            ps.setArray(1, connection.createArrayOf("bigint", productIds));
+            ps.setArray(2, connection.createArrayOf("integer", stockValues));
+            ps.setArray(3, connection.createArrayOf("boolean", stockAbsolute));
+            ps.setArray(4, connection.createArrayOf("numeric", priceValues));
+            ps.setArray(5, connection.createArrayOf("boolean", priceAbsolute));
+        };
+
+        ResultSetExtractor<Map<Long, Integer>> updatedStock = rs -> {
+            Map<Long, Integer> result = new LinkedHashMap<>();
+            while (rs.next()) {
+                result.put(rs.getLong(1), rs.getInt(2));
+            }
+            return result;
+        };
+
+        Map<Long, Integer> updated = jdbcTemplate.query(BULK_ADJUST_SQL, parameters, updatedStock);
+        evictFromSecondLevelCache(List.copyOf(updated.keySet()));
+        return updated;
+    }
+
+    /**
+     * Evicts products changed behind Hibernate's back. Eviction is repeated after commit,
+     * because a concurrent transaction may re-cache the old row before this one commits.
+     *
+     * @param productIds The IDs of the updated products
+     */
+    private void evictFromSecondLevelCache(List<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+
+        Cache cache = entityManagerFactory.getCache();
+        productIds.forEach(id -> cache.evict(Product.class, id));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    productIds.forEach(id -> cache.evict(Product.class, id));
+                }
+            });
+        }
+    }
+}
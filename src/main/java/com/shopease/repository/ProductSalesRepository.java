@@ -0,0 +1,152 @@
+package com.shopease.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repository for the product sales counter tables.
+ * Counters are only ever incremented with upserts, so several nodes can flush concurrently.
+ */
+@Repository
+public class ProductSalesRepository {
+
+    private static final String UPSERT_TOTAL_SQL =
+            "INSERT INTO product_sales_totals (product_id, quantity_sold, updated_at) " +
+            "VALUES (?, ?, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (product_id) DO UPDATE SET " +
+            "quantity_sold = product_sales_totals.quantity_sold + EXCLUDED.quantity_sold, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    private static final String UPSERT_HOURLY_SQL =
+            "INSERT INTO product_sales_hourly (product_id, bucket_start, quantity_sold) " +
+            "VALUES (?, ?, ?) " +
+            "ON CONFLICT (product_id, bucket_start) DO UPDATE SET " +
+            "quantity_sold = product_sales_hourly.quantity_sold + EXCLUDED.quantity_sold";
+
+    private static final String SEED_TOTALS_SQL =
+            "INSERT INTO product_sales_totals (product_id, quantity_sold, updated_at) " +
+            "SELECT oi.product_id, SUM(oi.quantity), CURRENT_TIMESTAMP FROM order_items oi " +
+            "JOIN orders o ON oi.order_id = o.id " +
+            "WHERE o.status = 'COMPLETED' " +
+            "GROUP BY oi.product_id " +
+            "ON CONFLICT (product_id) DO NOTHING";
+
+    private static final String SEED_HOURLY_SQL =
+            "INSERT INTO product_sales_hourly (product_id, bucket_start, quantity_sold) " +
+            "SELECT oi.product_id, date_trunc('hour', o.order_date), SUM(oi.quantity) FROM order_items oi " +
+            "JOIN orders o ON oi.order_id = o.id " +
+            "WHERE o.status = 'COMPLETED' AND o.order_date >= ? " +
+            "GROUP BY oi.product_id, date_trunc('hour', o.order_date) " +
+            "ON CONFLICT (product_id, bucket_start) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductSalesRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Checks whether any all-time counters have been persisted yet.
+     *
+     * @return true if the totals table has rows, false otherwise
+     */
+    public boolean hasTotals() {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM product_sales_totals)", Boolean.class);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    /**
+     * Seeds the counters from the order history of completed orders.
+     *
+     * @param hourlySince The start of the period to seed hourly counters for
+     */
+    public void seedFromCompletedOrders(LocalDateTime hourlySince) {
+        jdbcTemplate.update(SEED_TOTALS_SQL);
+        jdbcTemplate.update(SEED_HOURLY_SQL, Timestamp.valueOf(hourlySince));
+    }
+
+    /**
+     * Finds the all-time units sold of every product.
+     *
+     * @return Units sold keyed by product ID
+     */
+    public Map<Long, Long> findAllTotals() {
+        Map<Long, Long> totals = new HashMap<>();
+        jdbcTemplate.query("SELECT product_id, quantity_sold FROM product_sales_totals",
+                rs -> {
+                    totals.put(rs.getLong(1), rs.getLong(2));
+                });
+        return totals;
+    }
+
+    /**
+     * Finds the IDs of the products with the most units sold of all time.
+     *
+     * @param limit The maximum number of IDs to return
+     * @return Product IDs, best-selling first
+     */
+    public List<Long> findTopProductIds(int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT product_id FROM product_sales_totals ORDER BY quantity_sold DESC LIMIT ?",
+                Long.class, limit);
+    }
+
+    /**
+     * Finds the hourly units sold of every product since a point in time.
+     *
+     * @param since The earliest bucket start to include
+     * @return Units sold keyed by bucket start, then by product ID
+     */
+    public Map<LocalDateTime, Map<Long, Long>> findHourlySince(LocalDateTime since) {
+        Map<LocalDateTime, Map<Long, Long>> hourly = new HashMap<>();
+        jdbcTemplate.query("SELECT bucket_start, product_id, quantity_sold FROM product_sales_hourly WHERE bucket_start >= ?",
+                rs -> {
+                    hourly.computeIfAbsent(rs.getTimestamp(1).toLocalDateTime(), bucket -> new HashMap<>())
+                            .put(rs.getLong(2), rs.getLong(3));
+                },
+                Timestamp.valueOf(since));
+        return hourly;
+    }
+
+    /**
+     * Adds units sold to the all-time counters.
+     *
+     * @param deltas Units sold keyed by product ID
+     */
+    public void addToTotals(Map<Long, Long> deltas) {
+        List<Object[]> batch = new ArrayList<>(deltas.size());
+        deltas.forEach((productId, quantity) -> batch.add(new Object[]{productId, quantity}));
+        jdbcTemplate.batchUpdate(UPSERT_TOTAL_SQL, batch);
+    }
+
+    /**
+     * Adds units sold to the counters of one hourly bucket.
+     *
+     * @param bucketStart The start of the hourly bucket
+     * @param deltas Units sold keyed by product ID
+     */
+    public void addToHourly(LocalDateTime bucketStart, Map<Long, Long> deltas) {
+        Timestamp bucket = Timestamp.valueOf(bucketStart);
+        List<Object[]> batch = new ArrayList<>(deltas.size());
+        deltas.forEach((productId, quantity) -> batch.add(new Object[]{productId, bucket, quantity}));
+        jdbcTemplate.batchUpdate(UPSERT_HOURLY_SQL, batch);
+    }
+
+    /**
+     * Deletes hourly counters that have fallen out of every sliding window.
+     *
+     * @param cutoff Buckets starting before this time are deleted
+     * @return The number of deleted rows
+     */
+    public int deleteHourlyBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM product_sales_hourly WHERE bucket_start < ?", Timestamp.valueOf(cutoff));
+    }
+}
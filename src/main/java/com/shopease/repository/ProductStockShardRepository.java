@@ -0,0 +1,129 @@
+package com.shopease.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Repository for the stock shard counters of hot products.
+ */
+@Repository
+public class ProductStockShardRepository {
+
+    /**
+     * Takes from one shard that holds enough and is not locked by another transaction, starting
+     * at a given shard so concurrent checkouts spread out instead of all trying shard 0.
+     */
+    private static final String TAKE_FROM_UNLOCKED_SHARD_SQL =
+            "UPDATE product_stock_shards SET quantity = quantity - ? " +
+            "WHERE product_id = ? AND quantity >= ? AND shard = (" +
+            "SELECT shard FROM product_stock_shards " +
+            "WHERE product_id = ? AND quantity >= ? " +
+            "ORDER BY (shard + ?) % ? LIMIT 1 FOR UPDATE SKIP LOCKED)";
+
+    /**
+     * Shard totals per product, along with the stock recorded on the product row.
+     */
+    public record ShardStats(long productId, int shards, int total, int min, int max, int productStock) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductStockShardRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Summarizes the shards of every sharded product.
+     *
+     * @return One entry per sharded product
+     */
+    public List<ShardStats> findAllStats() {
+        return jdbcTemplate.query(
+                "SELECT s.product_id, COUNT(*), SUM(s.quantity), MIN(s.quantity), MAX(s.quantity), p.stock_quantity " +
+                "FROM product_stock_shards s JOIN products p ON p.id = s.product_id " +
+                "GROUP BY s.product_id, p.stock_quantity",
+                (rs, rowNum) -> new ShardStats(rs.getLong(1), rs.getInt(2), rs.getInt(3),
+                        rs.getInt(4), rs.getInt(5), rs.getInt(6)));
+    }
+
+    /**
+     * Takes a quantity from a single shard without waiting for locks.
+     *
+     * @param productId The product ID
+     * @param quantity The quantity to take
+     * @param startShard The shard to try first
+     * @param shards The number of shards of the product
+     * @return true if a shard was updated, false if every shard with enough stock is locked
+     */
+    public boolean takeFromUnlockedShard(long productId, int quantity, int startShard, int shards) {
+        return jdbcTemplate.update(TAKE_FROM_UNLOCKED_SHARD_SQL,
+                quantity, productId, quantity, productId, quantity, shards - startShard, shards) > 0;
+    }
+
+    /**
+     * Locks all shards of a product, in shard order.
+     *
+     * @param productId The product ID
+     * @return The quantity of each shard, indexed by shard number; empty if the product is not sharded
+     */
+    public int[] lockShards(long productId) {
+        return jdbcTemplate.queryForList(
+                        "SELECT quantity FROM product_stock_shards WHERE product_id = ? ORDER BY shard FOR UPDATE",
+                        Integer.class, productId)
+                .stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Sets the quantity of every shard of a product, which must have been locked.
+     *
+     * @param productId The product ID
+     * @param quantities The quantity of each shard, indexed by shard number
+     */
+    public void updateShards(long productId, int[] quantities) {
+        List<Object[]> batch = new ArrayList<>(quantities.length);
+        for (int shard = 0; shard < quantities.length; shard++) {
+            batch.add(new Object[]{quantities[shard], productId, shard});
+        }
+        jdbcTemplate.batchUpdate("UPDATE product_stock_shards SET quantity = ? WHERE product_id = ? AND shard = ?", batch);
+    }
+
+    /**
+     * Adds a quantity to one shard.
+     *
+     * @param productId The product ID
+     * @param shard The shard number
+     * @param quantity The quantity to add
+     * @return true if the shard exists
+     */
+    public boolean addToShard(long productId, int shard, int quantity) {
+        return jdbcTemplate.update(
+                "UPDATE product_stock_shards SET quantity = quantity + ? WHERE product_id = ? AND shard = ?",
+                quantity, productId, shard) > 0;
+    }
+
+    /**
+     * Creates the shards of a product.
+     *
+     * @param productId The product ID
+     * @param quantities The quantity of each shard, indexed by shard number
+     */
+    public void createShards(long productId, int[] quantities) {
+        List<Object[]> batch = new ArrayList<>(quantities.length);
+        for (int shard = 0; shard < quantities.length; shard++) {
+            batch.add(new Object[]{productId, shard, quantities[shard]});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO product_stock_shards (product_id, shard, quantity) VALUES (?, ?, ?)", batch);
+    }
+
+    /**
+     * Deletes the shards of a product, making it an ordinary product again.
+     *
+     * @param productId The product ID
+     */
+    public void deleteShards(long productId) {
+        jdbcTemplate.update("DELETE FROM product_stock_shards WHERE product_id = ?", productId);
+    }
+}
@@ -0,0 +1,208 @@
+package com.shopease.repository;
+
+import com.shopease.inventory.StockMovement;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repository for the stock ledger: the append-only movements and the per-product snapshots.
+ * A product's stock is its snapshot plus the movements after it; a SET movement in that tail
+ * replaces everything before it.
+ */
+@Repository
+public class StockLedgerRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO stock_movements (product_id, movement_type, quantity, order_id, created_at) " +
+            "VALUES (?, ?, ?, ?, clock_timestamp())";
+
+    /**
+     * Stock per product from the movements after its snapshot, up to a ledger position.
+     * Products without movements after their snapshot are not listed.
+     */
+    private static final String LEDGER_CTE =
+            "WITH tail AS (" +
+            "SELECT m.product_id, m.id, m.movement_type, m.quantity FROM stock_movements m " +
+            "LEFT JOIN stock_snapshots s ON s.product_id = m.product_id " +
+            "WHERE m.id > COALESCE(s.last_movement_id, 0) AND m.id <= ?), " +
+            "last_set AS (" +
+            "SELECT DISTINCT ON (product_id) product_id, id, quantity FROM tail " +
+            "WHERE movement_type = 'SET' ORDER BY product_id, id DESC), " +
+            "ledger AS (" +
+            "SELECT t.product_id, MAX(t.id) AS last_movement_id, " +
+            "COALESCE(MAX(ls.quantity), MAX(s.quantity), 0) + COALESCE(SUM(t.quantity) " +
+            "FILTER (WHERE t.movement_type <> 'SET' AND t.id > COALESCE(ls.id, 0)), 0) AS quantity " +
+            "FROM tail t " +
+            "LEFT JOIN last_set ls ON ls.product_id = t.product_id " +
+            "LEFT JOIN stock_snapshots s ON s.product_id = t.product_id " +
+            "GROUP BY t.product_id) ";
+
+    private static final String CURRENT_STOCK_SELECT =
+            "SELECT product_id, quantity FROM ledger " +
+            "UNION ALL " +
+            "SELECT s.product_id, s.quantity FROM stock_snapshots s " +
+            "WHERE NOT EXISTS (SELECT 1 FROM ledger l WHERE l.product_id = s.product_id)";
+
+    private static final String TAKE_SNAPSHOTS_SQL =
+            LEDGER_CTE +
+            "INSERT INTO stock_snapshots (product_id, quantity, last_movement_id, taken_at) " +
+            "SELECT product_id, quantity, last_movement_id, CURRENT_TIMESTAMP FROM ledger " +
+            "ON CONFLICT (product_id) DO UPDATE SET quantity = EXCLUDED.quantity, " +
+            "last_movement_id = EXCLUDED.last_movement_id, taken_at = EXCLUDED.taken_at";
+
+    /**
+     * Compares the ledger with the stock recorded on the product rows, or the shards of
+     * sharded products. Stock changes and their movements commit together, so one statement
+     * sees both or neither.
+     */
+    private static final String DRIFT_SQL =
+            LEDGER_CTE + ", current_stock AS (" + CURRENT_STOCK_SELECT + ") " +
+            "SELECT c.product_id, c.quantity, COALESCE(sh.total, p.stock_quantity) FROM current_stock c " +
+            "JOIN products p ON p.id = c.product_id " +
+            "LEFT JOIN LATERAL (SELECT SUM(quantity) AS total FROM product_stock_shards " +
+            "WHERE product_id = p.id) sh ON TRUE " +
+            "WHERE c.quantity <> COALESCE(sh.total, p.stock_quantity)";
+
+    /**
+     * Gives products without a snapshot an opening balance: their recorded stock less the
+     * changes already in the ledger, so that applying those changes again arrives at the
+     * recorded stock.
+     */
+    private static final String OPEN_BALANCES_SQL =
+            "INSERT INTO stock_snapshots (product_id, quantity, last_movement_id, taken_at) " +
+            "SELECT p.id, COALESCE(sh.total, p.stock_quantity) - COALESCE(m.total, 0), 0, CURRENT_TIMESTAMP " +
+            "FROM products p " +
+            "LEFT JOIN LATERAL (SELECT SUM(quantity) AS total FROM product_stock_shards " +
+            "WHERE product_id = p.id) sh ON TRUE " +
+            "LEFT JOIN LATERAL (SELECT SUM(quantity) FILTER (WHERE movement_type <> 'SET') AS total " +
+            "FROM stock_movements WHERE product_id = p.id) m ON TRUE " +
+            "WHERE NOT EXISTS (SELECT 1 FROM stock_snapshots s WHERE s.product_id = p.id) " +
+            "ON CONFLICT (product_id) DO NOTHING";
+
+    private static final RowMapper<StockMovement> MOVEMENT_MAPPER = (rs, rowNum) -> new StockMovement(
+            rs.getLong("id"),
+            rs.getLong("product_id"),
+            StockMovement.Type.valueOf(rs.getString("movement_type")),
+            rs.getInt("quantity"),
+            rs.getObject("order_id", Long.class),
+            rs.getTimestamp("created_at").toLocalDateTime());
+
+    /**
+     * A product whose ledger disagrees with its recorded stock.
+     */
+    public record StockDrift(long productId, int ledgerStock, int recordedStock) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StockLedgerRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Appends movements with one batched insert.
+     *
+     * @param movements The movements to append
+     */
+    public void insertAll(List<StockMovement> movements) {
+        List<Object[]> batch = new ArrayList<>(movements.size());
+        movements.forEach(movement -> batch.add(new Object[]{
+                movement.productId(), movement.type().name(), movement.quantity(), movement.orderId()}));
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    }
+
+    /**
+     * Finds the latest ledger position that is old enough for every movement up to it to have
+     * committed. Positions are handed out before commit, so a newer position may still have
+     * an older one in flight.
+     *
+     * @param graceMillis How long a movement may take from being written to being committed
+     * @return The ledger position, or 0 if there is none
+     */
+    public long findSettledPosition(long graceMillis) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM stock_movements " +
+                "WHERE created_at < clock_timestamp() - (? * INTERVAL '1 millisecond') " +
+                "ORDER BY created_at DESC LIMIT 1",
+                Long.class, graceMillis);
+        return ids.isEmpty() ? 0 : ids.get(0);
+    }
+
+    /**
+     * Opens a balance for every product that has no snapshot yet.
+     *
+     * @return The number of balances opened
+     */
+    public int openMissingBalances() {
+        return jdbcTemplate.update(OPEN_BALANCES_SQL);
+    }
+
+    /**
+     * Moves the snapshot of every product with newer movements up to a ledger position.
+     *
+     * @param position The ledger position to snapshot up to
+     * @return The number of snapshots taken
+     */
+    public int takeSnapshots(long position) {
+        return jdbcTemplate.update(TAKE_SNAPSHOTS_SQL, position);
+    }
+
+    /**
+     * Computes the current stock of every product in the ledger.
+     *
+     * @return The stock per product ID
+     */
+    public Map<Long, Integer> findStockQuantities() {
+        Map<Long, Integer> stockQuantities = new HashMap<>();
+        jdbcTemplate.query(LEDGER_CTE + CURRENT_STOCK_SELECT,
+                rs -> {
+                    stockQuantities.put(rs.getLong(1), rs.getInt(2));
+                },
+                Long.MAX_VALUE);
+        return stockQuantities;
+    }
+
+    /**
+     * Finds the products whose ledger disagrees with their recorded stock.
+     *
+     * @return The disagreeing products
+     */
+    public List<StockDrift> findDrift() {
+        return jdbcTemplate.query(DRIFT_SQL,
+                (rs, rowNum) -> new StockDrift(rs.getLong(1), rs.getInt(2), rs.getInt(3)),
+                Long.MAX_VALUE);
+    }
+
+    /**
+     * Finds the movements of a product, newest first.
+     *
+     * @param productId The product ID
+     * @param limit The maximum number of movements
+     * @param offset The number of movements to skip
+     * @return The movements
+     */
+    public List<StockMovement> findByProductId(long productId, int limit, long offset) {
+        return jdbcTemplate.query(
+                "SELECT id, product_id, movement_type, quantity, order_id, created_at FROM stock_movements " +
+                "WHERE product_id = ? ORDER BY id DESC LIMIT ? OFFSET ?",
+                MOVEMENT_MAPPER, productId, limit, offset);
+    }
+
+    /**
+     * Counts the movements of a product.
+     *
+     * @param productId The product ID
+     * @return The number of movements
+     */
+    public long countByProductId(long productId) {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM stock_movements WHERE product_id = ?", Long.class, productId);
+        return count != null ? count : 0;
+    }
+}
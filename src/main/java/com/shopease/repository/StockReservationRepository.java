@@ -0,0 +1,74 @@
+package com.shopease.repository;
+
+import com.shopease.reservation.StockHold;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Repository for the persisted copy of the soft stock holds.
+ */
+@Repository
+public class StockReservationRepository {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO stock_reservations (user_id, product_id, quantity, expires_at) " +
+            "VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (user_id, product_id) DO UPDATE SET " +
+            "quantity = EXCLUDED.quantity, expires_at = EXCLUDED.expires_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StockReservationRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Finds the holds that have not lapsed yet.
+     *
+     * @param nowMillis The current time in epoch milliseconds
+     * @return The live holds
+     */
+    public List<StockHold> findActive(long nowMillis) {
+        return jdbcTemplate.query(
+                "SELECT user_id, product_id, quantity, expires_at FROM stock_reservations WHERE expires_at > ?",
+                (rs, rowNum) -> new StockHold(rs.getLong(1), rs.getLong(2), rs.getInt(3), rs.getTimestamp(4).getTime()),
+                new Timestamp(nowMillis));
+    }
+
+    /**
+     * Inserts or replaces holds.
+     *
+     * @param holds The holds to write
+     */
+    public void upsertAll(List<StockHold> holds) {
+        List<Object[]> batch = new ArrayList<>(holds.size());
+        holds.forEach(hold -> batch.add(new Object[]{
+                hold.userId(), hold.productId(), hold.quantity(), new Timestamp(hold.expiresAtMillis())}));
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+    }
+
+    /**
+     * Deletes released holds.
+     *
+     * @param keys The holds to delete
+     */
+    public void deleteAll(List<StockHold.Key> keys) {
+        List<Object[]> batch = new ArrayList<>(keys.size());
+        keys.forEach(key -> batch.add(new Object[]{key.userId(), key.productId()}));
+        jdbcTemplate.batchUpdate("DELETE FROM stock_reservations WHERE user_id = ? AND product_id = ?", batch);
+    }
+
+    /**
+     * Deletes holds that have lapsed.
+     *
+     * @param nowMillis The current time in epoch milliseconds
+     * @return The number of deleted rows
+     */
+    public int deleteExpired(long nowMillis) {
+        return jdbcTemplate.update("DELETE FROM stock_reservations WHERE expires_at <= ?", new Timestamp(nowMillis));
+    }
+}
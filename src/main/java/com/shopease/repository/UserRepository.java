@@ -1,24 +1,17 @@
 package com.shopease.repository;
 
 import com.shopease.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
-
 /**
  * Repository interface for User entity.
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-
-    /**
-     * Finds a user by email.
-     *
-     * @param email The email to search for
-     * @return An Optional containing the user if found, or empty otherwise
-     */
-    Optional<User> findByEmail(String email);
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
 
     /**
      * Checks if a user with the given email exists.
@@ -26,5 +19,6 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param email The email to check
      * @return true if a user with the email exists, false otherwise
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     boolean existsByEmail(String email);
 }
\ No newline at end of file
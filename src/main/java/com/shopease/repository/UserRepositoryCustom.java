@@ -0,0 +1,20 @@
+package com.shopease.repository;
+
+import com.shopease.model.User;
+
+import java.util.Optional;
+
+/**
+ * Custom repository operations for User that go through Hibernate's natural-id API,
+ * so they are served from the second-level cache when possible.
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Finds a user by email, the user's natural ID.
+     *
+     * @param email The email to search for
+     * @return An Optional containing the user if found, or empty otherwise
+     */
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,11 @@
+package com.shopease.repository.projection;
+
+/**
+ * Read-only projection of a product's current stock level.
+ */
+public interface ProductStockLevel {
+
+    Long getId();
+
+    Integer getStockQuantity();
+}
@@ -0,0 +1,29 @@
+package com.shopease.repository.projection;
+
+import com.shopease.model.Money;
+import com.shopease.model.Product;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of the product columns shown on listing pages.
+ * Leaves out the description so listings neither load it nor create managed entities.
+ */
+public interface ProductSummary {
+
+    Long getId();
+
+    String getName();
+
+    Money getPrice();
+
+    Integer getStockQuantity();
+
+    String getCategory();
+
+    Product.ProductStatus getStatus();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,22 @@
+package com.shopease.reservation;
+
+/**
+ * A soft hold of some units of a product for one user's cart, valid until it expires.
+ *
+ * @param userId The user holding the units
+ * @param productId The product
+ * @param quantity The number of units held
+ * @param expiresAtMillis When the hold lapses, in epoch milliseconds
+ */
+public record StockHold(long userId, long productId, int quantity, long expiresAtMillis) {
+
+    /**
+     * Identifies a hold: a user has at most one per product.
+     */
+    public record Key(long userId, long productId) {
+    }
+
+    public Key key() {
+        return new Key(userId, productId);
+    }
+}
@@ -0,0 +1,258 @@
+package com.shopease.reservation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory book of soft stock holds. Holds are grouped per user, so renewing or releasing a
+ * cart touches only that user's entries, and the units held per product are kept as a running
+ * total, so reading a product's reserved quantity is a single map lookup.
+ *
+ * <p>Changes are remembered by key until {@link #drainChanges()} hands them to the periodic
+ * flush. All methods are synchronized and take the current time as a parameter.
+ */
+public class StockHolds {
+
+    private final Map<Long, Map<Long, StockHold>> holdsByUser = new HashMap<>();
+    private final Map<Long, Integer> reservedByProduct = new HashMap<>();
+    private final Set<StockHold.Key> changed = new HashSet<>();
+    private int size;
+
+    /**
+     * Sets a user's hold on a product to a quantity, if the stock not held by other users allows it.
+     *
+     * @param userId The user ID
+     * @param productId The product ID
+     * @param quantity The quantity to hold; 0 or less releases the hold
+     * @param stockQuantity The product's current stock
+     * @param expiresAtMillis When the hold lapses
+     * @return true if the hold was placed, false if other holds leave too little stock
+     */
+    public synchronized boolean hold(long userId, long productId, int quantity, int stockQuantity, long expiresAtMillis) {
+        if (quantity <= 0) {
+            release(userId, productId);
+            return true;
+        }
+        if (quantity > stockQuantity - getReservedByOthers(userId, productId)) {
+            return false;
+        }
+
+        StockHold previous = holdsByUser.computeIfAbsent(userId, id -> new HashMap<>())
+                .put(productId, new StockHold(userId, productId, quantity, expiresAtMillis));
+        adjustReserved(productId, quantity - (previous != null ? previous.quantity() : 0));
+        if (previous == null) {
+            size++;
+        }
+        changed.add(new StockHold.Key(userId, productId));
+        return true;
+    }
+
+    /**
+     * Puts a user's hold on a product back to what it was before a change that was rolled back.
+     * Stock is not checked, since the units were held before. Nothing happens if the hold no
+     * longer has the quantity the change gave it, so a later change is not overwritten.
+     *
+     * @param userId The user ID
+     * @param productId The product ID
+     * @param changedQuantity The quantity the rolled-back change held
+     * @param previousQuantity The quantity held before the change; 0 means there was no hold
+     * @param expiresAtMillis When the restored hold lapses
+     */
+    public synchronized void revert(long userId, long productId, int changedQuantity, int previousQuantity, long expiresAtMillis) {
+        if (getHeld(userId, productId) != changedQuantity) {
+            return;
+        }
+        if (previousQuantity <= 0) {
+            release(userId, productId);
+            return;
+        }
+
+        StockHold previous = holdsByUser.computeIfAbsent(userId, id -> new HashMap<>())
+                .put(productId, new StockHold(userId, productId, previousQuantity, expiresAtMillis));
+        adjustReserved(productId, previousQuantity - (previous != null ? previous.quantity() : 0));
+        if (previous == null) {
+            size++;
+        }
+        changed.add(new StockHold.Key(userId, productId));
+    }
+
+    /**
+     * Extends every hold of a user.
+     *
+     * @param userId The user ID
+     * @param expiresAtMillis The new expiry of the user's holds
+     */
+    public synchronized void renew(long userId, long expiresAtMillis) {
+        Map<Long, StockHold> holds = holdsByUser.get(userId);
+        if (holds == null) {
+            return;
+        }
+        holds.replaceAll((productId, hold) -> {
+            changed.add(hold.key());
+            return new StockHold(userId, productId, hold.quantity(), expiresAtMillis);
+        });
+    }
+
+    /**
+     * Releases a user's hold on a product.
+     *
+     * @param userId The user ID
+     * @param productId The product ID
+     * @return The quantity that was held
+     */
+    public synchronized int release(long userId, long productId) {
+        Map<Long, StockHold> holds = holdsByUser.get(userId);
+        StockHold hold = holds != null ? holds.remove(productId) : null;
+        if (hold == null) {
+            return 0;
+        }
+        if (holds.isEmpty()) {
+            holdsByUser.remove(userId);
+        }
+        removed(hold);
+        changed.add(hold.key());
+        return hold.quantity();
+    }
+
+    /**
+     * Releases every hold of a user.
+     *
+     * @param userId The user ID
+     * @return The number of holds released
+     */
+    public synchronized int releaseAll(long userId) {
+        Map<Long, StockHold> holds = holdsByUser.remove(userId);
+        if (holds == null) {
+            return 0;
+        }
+        for (StockHold hold : holds.values()) {
+            removed(hold);
+            changed.add(hold.key());
+        }
+        return holds.size();
+    }
+
+    /**
+     * Removes the holds that have lapsed. Their rows are deleted by expiry time when the
+     * holds are flushed, so they are not recorded as changes.
+     *
+     * @param nowMillis The current time in epoch milliseconds
+     * @return The number of holds removed
+     */
+    public synchronized int expire(long nowMillis) {
+        int expired = 0;
+        Iterator<Map<Long, StockHold>> users = holdsByUser.values().iterator();
+        while (users.hasNext()) {
+            Map<Long, StockHold> holds = users.next();
+            Iterator<StockHold> iterator = holds.values().iterator();
+            while (iterator.hasNext()) {
+                StockHold hold = iterator.next();
+                if (hold.expiresAtMillis() <= nowMillis) {
+                    iterator.remove();
+                    removed(hold);
+                    expired++;
+                }
+            }
+            if (holds.isEmpty()) {
+                users.remove();
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Adds holds loaded from the database. Holds already in memory are newer and win.
+     *
+     * @param holds The persisted holds
+     * @param nowMillis The current time; lapsed holds are skipped
+     */
+    public synchronized void load(Collection<StockHold> holds, long nowMillis) {
+        for (StockHold hold : holds) {
+            if (hold.expiresAtMillis() <= nowMillis) {
+                continue;
+            }
+            Map<Long, StockHold> userHolds = holdsByUser.computeIfAbsent(hold.userId(), id -> new HashMap<>());
+            if (userHolds.putIfAbsent(hold.productId(), hold) == null) {
+                adjustReserved(hold.productId(), hold.quantity());
+                size++;
+            }
+        }
+    }
+
+    /**
+     * Takes the holds changed since the last call.
+     *
+     * @return The current state of every changed hold; released holds are listed as deleted
+     */
+    public synchronized Changes drainChanges() {
+        List<StockHold> upserted = new ArrayList<>();
+        List<StockHold.Key> deleted = new ArrayList<>();
+        for (StockHold.Key key : changed) {
+            Map<Long, StockHold> holds = holdsByUser.get(key.userId());
+            StockHold hold = holds != null ? holds.get(key.productId()) : null;
+            if (hold != null) {
+                upserted.add(hold);
+            } else {
+                deleted.add(key);
+            }
+        }
+        changed.clear();
+        return new Changes(upserted, deleted);
+    }
+
+    /**
+     * Marks drained changes as changed again, after they could not be persisted.
+     *
+     * @param changes The changes to retry
+     */
+    public synchronized void restore(Changes changes) {
+        changes.upserted().forEach(hold -> changed.add(hold.key()));
+        changed.addAll(changes.deleted());
+    }
+
+    public synchronized int getReserved(long productId) {
+        return reservedByProduct.getOrDefault(productId, 0);
+    }
+
+    public synchronized int getHeld(long userId, long productId) {
+        Map<Long, StockHold> holds = holdsByUser.get(userId);
+        StockHold hold = holds != null ? holds.get(productId) : null;
+        return hold != null ? hold.quantity() : 0;
+    }
+
+    public synchronized int getReservedByOthers(long userId, long productId) {
+        return getReserved(productId) - getHeld(userId, productId);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void removed(StockHold hold) {
+        adjustReserved(hold.productId(), -hold.quantity());
+        size--;
+    }
+
+    private void adjustReserved(long productId, int delta) {
+        reservedByProduct.merge(productId, delta, (current, change) -> current + change == 0 ? null : current + change);
+    }
+
+    /**
+     * Hold changes waiting to be persisted.
+     *
+     * @param upserted Holds to insert or update
+     * @param deleted Holds to delete
+     */
+    public record Changes(List<StockHold> upserted, List<StockHold.Key> deleted) {
+
+        public boolean isEmpty() {
+            return upserted.isEmpty() && deleted.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.shopease.service;
+
+import com.shopease.dto.response.BestSellerResponse;
+import com.shopease.model.Order;
+
+import java.util.List;
+
+/**
+ * Service interface for the incrementally maintained best-sellers leaderboard.
+ */
+public interface BestSellerService {
+
+    /**
+     * Time windows the leaderboard can be queried for.
+     */
+    enum SalesWindow {
+        ALL_TIME(0),
+        LAST_24_HOURS(24),
+        LAST_7_DAYS(24 * 7);
+
+        private final int hours;
+
+        SalesWindow(int hours) {
+            this.hours = hours;
+        }
+
+        public int getHours() {
+            return this.hours;
+        }
+    }
+
+    /**
+     * Gets the best-selling products for a time window.
+     *
+     * @param window The time window
+     * @param limit The maximum number of products to return
+     * @return The best-selling products, highest sales first
+     */
+    List<BestSellerResponse> getBestSellers(SalesWindow window, int limit);
+
+    /**
+     * Records the items of a completed order as sales.
+     *
+     * @param order The completed order
+     */
+    void recordCompletedOrder(Order order);
+
+    /**
+     * Persists pending counter increments and refreshes the leaderboards.
+     */
+    void synchronize();
+}
@@ -0,0 +1,54 @@
+package com.shopease.service;
+
+import com.shopease.admission.AdmissionTicket;
+
+/**
+ * Service interface for the checkout admission queue, which limits how many checkouts of the
+ * same product run at once and lets the other buyers wait in line without touching the database.
+ */
+public interface CheckoutAdmissionService {
+
+    /**
+     * Requests admission to checkout. Without a ticket ID, a ticket is issued for the products
+     * in the user's cart, or the user's live ticket is returned.
+     *
+     * @param userId The user ID
+     * @param ticketId The ticket ID from an earlier request, or null
+     * @return The ticket, admitted or waiting
+     * @throws com.shopease.exception.InsufficientStockException if a product in the cart is sold out
+     * @throws com.shopease.exception.ResourceNotFoundException if the ticket is unknown or expired
+     */
+    AdmissionTicket requestAdmission(Long userId, String ticketId);
+
+    /**
+     * Gets a ticket of the user, recording that the user is still waiting.
+     *
+     * @param userId The user ID
+     * @param ticketId The ticket ID
+     * @return The ticket
+     * @throws com.shopease.exception.ResourceNotFoundException if the ticket is unknown or expired
+     */
+    AdmissionTicket getTicket(Long userId, String ticketId);
+
+    /**
+     * Gets the number of tickets that must leave before a ticket is admitted.
+     *
+     * @param ticket The ticket
+     * @return The queue position, 0 once admitted
+     */
+    int getPosition(AdmissionTicket ticket);
+
+    /**
+     * Gives up a ticket after its checkout, or when the user leaves the queue.
+     *
+     * @param ticket The ticket
+     */
+    void release(AdmissionTicket ticket);
+
+    /**
+     * Gets how long clients should wait between polls.
+     *
+     * @return The poll interval in milliseconds
+     */
+    long getPollIntervalMs();
+}
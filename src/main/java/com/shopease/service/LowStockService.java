@@ -0,0 +1,48 @@
+package com.shopease.service;
+
+import java.util.List;
+import java.util.OptionalInt;
+
+/**
+ * Service interface for tracking product stock levels in memory and answering low-stock queries.
+ */
+public interface LowStockService {
+
+    /**
+     * Finds the IDs of products whose stock is at or below a threshold, lowest stock first.
+     *
+     * @param threshold The stock threshold
+     * @return A list of product IDs
+     */
+    List<Long> findProductIdsWithStockAtMost(int threshold);
+
+    /**
+     * Gets the last known stock level of a product.
+     *
+     * @param productId The product ID
+     * @return The stock level, or empty if the product is not indexed
+     */
+    OptionalInt findStockLevel(Long productId);
+
+    /**
+     * Records a new stock level for a product.
+     * When called inside a transaction, the index is updated only after the transaction commits.
+     *
+     * @param productId The product ID
+     * @param stockQuantity The new stock quantity
+     */
+    void recordStockLevel(Long productId, int stockQuantity);
+
+    /**
+     * Removes a product from the index.
+     * When called inside a transaction, the index is updated only after the transaction commits.
+     *
+     * @param productId The product ID
+     */
+    void removeProduct(Long productId);
+
+    /**
+     * Reloads all stock levels from the database.
+     */
+    void rebuild();
+}
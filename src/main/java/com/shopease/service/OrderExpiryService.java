@@ -0,0 +1,15 @@
+package com.shopease.service;
+
+/**
+ * Service interface for cancelling pending orders that were never paid.
+ */
+public interface OrderExpiryService {
+
+    /**
+     * Cancels pending orders whose expiry time has passed and returns their stock to inventory.
+     * Work is done in bounded batches, each in its own transaction.
+     *
+     * @return The number of orders cancelled
+     */
+    int expirePendingOrders();
+}
@@ -2,6 +2,7 @@ package com.shopease.service;
 
 import com.shopease.model.Order;
 import com.shopease.model.PaymentRecord;
+import com.shopease.payment.PaymentGatewayResult;
 
 /**
  * Service interface for payment-related operations.
@@ -9,12 +10,44 @@ import com.shopease.model.PaymentRecord;
 public interface PaymentService {
 
     /**
-     * Processes payment for an order.
+     * Creates or resets the payment record for an order so a new attempt can start.
+     * Must be called inside a transaction.
      *
-     * @param order The order to process payment for
+     * @param order The order to pay for
+     * @return The payment record in PENDING status
+     */
+    PaymentRecord initiatePayment(Order order);
+
+    /**
+     * Charges a payment through the payment gateway.
+     * Must be called outside of a transaction; blocks until the gateway answers or times out.
+     *
+     * A retry after an unknown outcome uses the same idempotency key, so it cannot charge the
+     * customer twice. After a decline, the next attempt gets a new key.
+     *
+     * @param paymentRecord The pending payment record
+     * @return The gateway result; timeouts and errors are reported as unknown outcomes
+     */
+    PaymentGatewayResult charge(PaymentRecord paymentRecord);
+
+    /**
+     * Records the gateway result on a payment record.
+     * A result with an unknown outcome leaves the payment PENDING until it is retried.
+     * A successful charge for an order that is no longer pending is marked REFUND_PENDING.
+     *
+     * @param paymentId The payment record ID
+     * @param result The gateway result
      * @return true if payment is successful, false otherwise
      */
-    boolean processPayment(Order order);
+    boolean completePayment(Long paymentId, PaymentGatewayResult result);
+
+    /**
+     * Checks whether a payment of an order is waiting on the gateway or has an unknown outcome.
+     *
+     * @param orderId The order ID
+     * @return true if the order's payment is PENDING
+     */
+    boolean isPaymentInProgress(Long orderId);
 
     /**
      * Gets a payment record by order ID.
@@ -23,4 +56,4 @@ public interface PaymentService {
      * @return The payment record
      */
     PaymentRecord getPaymentByOrderId(Long orderId);
-}
\ No newline at end of file
+}
@@ -1,6 +1,8 @@
 package com.shopease.service;
 
+import com.shopease.dto.request.BulkStockAdjustmentRequest;
 import com.shopease.dto.request.ProductRequest;
+import com.shopease.dto.response.BulkStockAdjustmentResponse;
 import com.shopease.dto.response.PagedResponse;
 import com.shopease.dto.response.ProductResponse;
 import com.shopease.model.Product;
@@ -44,6 +46,14 @@ public interface ProductService {
      */
     Product getProductById(Long id);
 
+    /**
+     * Gets a product as an API response, with the quantity not held by shoppers' carts.
+     *
+     * @param id The product ID
+     * @return The product response
+     */
+    ProductResponse getProductResponse(Long id);
+
     /**
      * Gets all products with pagination.
      *
@@ -77,7 +87,16 @@ public interface ProductService {
      * Gets products with low stock.
      *
      * @param threshold The stock threshold
-     * @return A list of products with stock below the threshold
+     * @return A list of products with stock below the threshold, lowest stock first
+     */
+    List<ProductResponse> getProductsWithLowStock(int threshold);
+
+    /**
+     * Applies stock and price adjustments to many products at once (admin only).
+     * Adjustments are applied in chunks with set-based updates instead of loading each product.
+     *
+     * @param request The adjustments to apply
+     * @return A summary of updated and skipped products
      */
-    List<Product> getProductsWithLowStock(int threshold);
+    BulkStockAdjustmentResponse adjustStock(BulkStockAdjustmentRequest request);
 }
\ No newline at end of file
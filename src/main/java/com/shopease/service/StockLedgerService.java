@@ -0,0 +1,50 @@
+package com.shopease.service;
+
+import com.shopease.dto.response.StockLedgerResponse;
+import com.shopease.inventory.StockMovement;
+
+import java.util.OptionalInt;
+
+/**
+ * Service interface for the stock ledger, an append-only record of every stock change.
+ * It serves as the audit trail of a product's stock and is reconciled against the stock
+ * recorded on the products.
+ */
+public interface StockLedgerService {
+
+    /**
+     * Records a stock movement. Inside a transaction, the movements are collected and written
+     * with one batched insert just before it commits, so they commit together with the stock
+     * change they describe.
+     *
+     * @param productId The product ID
+     * @param type The kind of movement
+     * @param quantity The new stock level for SET movements, otherwise the change in stock
+     * @param orderId The order that caused the movement, or null
+     */
+    void record(Long productId, StockMovement.Type type, int quantity, Long orderId);
+
+    /**
+     * Gets a product's stock according to the ledger, from the view kept in memory.
+     *
+     * @param productId The product ID
+     * @return The stock quantity, or empty if the product is not in the ledger yet
+     */
+    OptionalInt getStockQuantity(Long productId);
+
+    /**
+     * Gets a product's ledger stock and a page of its movements, newest first.
+     *
+     * @param productId The product ID
+     * @param page The page number
+     * @param size The page size
+     * @return The product's ledger
+     */
+    StockLedgerResponse getLedger(Long productId, int page, int size);
+
+    /**
+     * Moves every product's snapshot up to its latest settled movement, reloads the in-memory
+     * view from the snapshots and reports products whose ledger disagrees with their stock.
+     */
+    void snapshot();
+}
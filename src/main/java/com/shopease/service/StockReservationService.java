@@ -0,0 +1,77 @@
+package com.shopease.service;
+
+import com.shopease.model.Product;
+
+/**
+ * Service interface for soft stock holds. When reservations are enabled, adding a product to a
+ * cart holds those units for a limited time, so other shoppers cannot buy them away before
+ * checkout. When they are disabled, nothing is held and every query reports no holds.
+ */
+public interface StockReservationService {
+
+    /**
+     * Sets the user's hold on a product to the quantity in their cart, and renews it.
+     * When called inside a transaction, the hold is put back if the transaction rolls back.
+     *
+     * @param userId The user ID
+     * @param product The product
+     * @param quantity The quantity in the cart
+     * @throws com.shopease.exception.InsufficientStockException if other holds leave too little stock
+     */
+    void reserve(Long userId, Product product, int quantity);
+
+    /**
+     * Releases the user's hold on a product.
+     * When called inside a transaction, the hold is released only after the transaction commits.
+     *
+     * @param userId The user ID
+     * @param productId The product ID
+     */
+    void release(Long userId, Long productId);
+
+    /**
+     * Releases all holds of a user.
+     * When called inside a transaction, the holds are released only after the transaction commits.
+     *
+     * @param userId The user ID
+     */
+    void releaseAll(Long userId);
+
+    /**
+     * Extends all holds of a user, called whenever the user's cart is accessed.
+     *
+     * @param userId The user ID
+     */
+    void renew(Long userId);
+
+    /**
+     * Gets the units of a product held by all carts.
+     *
+     * @param productId The product ID
+     * @return The reserved quantity
+     */
+    int getReservedQuantity(Long productId);
+
+    /**
+     * Gets the units of a product held by the user's own cart.
+     *
+     * @param userId The user ID
+     * @param productId The product ID
+     * @return The held quantity
+     */
+    int getHeldQuantity(Long userId, Long productId);
+
+    /**
+     * Gets the units of a product held by carts other than the user's.
+     *
+     * @param userId The user ID
+     * @param productId The product ID
+     * @return The quantity the user cannot buy
+     */
+    int getReservedByOthers(Long userId, Long productId);
+
+    /**
+     * Drops lapsed holds and writes changed holds to the database.
+     */
+    void flush();
+}
@@ -0,0 +1,80 @@
+package com.shopease.service;
+
+import com.shopease.dto.request.StockAdjustmentRequest;
+import com.shopease.model.Product;
+
+import java.util.List;
+
+/**
+ * Service interface for sharded stock counters. The stock of a hot product can be split across
+ * several counter rows, so concurrent checkouts each update one of them instead of all queueing
+ * on the product row. The product row keeps a copy of the total, refreshed in the background.
+ */
+public interface StockShardService {
+
+    /**
+     * Tells whether a product's stock is kept in shards.
+     *
+     * @param productId The product ID
+     * @return true if the product is sharded
+     */
+    boolean isSharded(Long productId);
+
+    /**
+     * Gets the stock of a sharded product: the sum of its shards as last seen by this instance.
+     *
+     * @param productId The product ID
+     * @return The stock quantity
+     */
+    int getStockQuantity(Long productId);
+
+    /**
+     * Takes stock of a sharded product, from a single unlocked shard when one holds enough,
+     * otherwise from several shards after locking them all.
+     *
+     * @param product The product
+     * @param quantity The quantity to take
+     * @throws com.shopease.exception.InsufficientStockException if all shards together hold too little
+     */
+    void take(Product product, int quantity);
+
+    /**
+     * Returns stock of a sharded product to one of its shards.
+     *
+     * @param productId The product ID
+     * @param quantity The quantity to return
+     */
+    void restore(Long productId, int quantity);
+
+    /**
+     * Sets the stock of a sharded product, spreading it evenly over its shards.
+     * Does nothing for products that are not sharded.
+     *
+     * @param productId The product ID
+     * @param stockQuantity The new stock quantity
+     */
+    void setStock(Long productId, int stockQuantity);
+
+    /**
+     * Applies the stock part of bulk adjustments to sharded products. The returned adjustments
+     * carry the resulting shard totals as absolute stock, so the product rows stay in step;
+     * adjustments that would take a sharded product below zero are left out.
+     *
+     * @param adjustments The adjustments to apply
+     * @return The adjustments to apply to the product rows
+     */
+    List<StockAdjustmentRequest> applyToShards(List<StockAdjustmentRequest> adjustments);
+
+    /**
+     * Splits a product's stock across a number of shards, or merges it back into the product row.
+     *
+     * @param productId The product ID
+     * @param shards The number of shards; 0 makes the product an ordinary product again
+     */
+    void configure(Long productId, int shards);
+
+    /**
+     * Evens out shards that have drifted apart and copies shard totals to the product rows.
+     */
+    void rebalance();
+}
@@ -0,0 +1,296 @@
+package com.shopease.service.impl;
+
+import com.shopease.datasource.Bulkhead;
+import com.shopease.datasource.BulkheadPool;
+import com.shopease.dto.response.BestSellerResponse;
+import com.shopease.event.OrderCompletedEvent;
+import com.shopease.model.Order;
+import com.shopease.model.OrderItem;
+import com.shopease.model.Product;
+import com.shopease.repository.ProductRepository;
+import com.shopease.repository.ProductSalesRepository;
+import com.shopease.service.BestSellerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the BestSellerService interface.
+ * Sales are counted in memory as orders complete, flushed to the counter tables with
+ * additive upserts, and ranked periodically so that a top-K query only copies K entries.
+ */
+@Service
+public class BestSellerServiceImpl implements BestSellerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BestSellerServiceImpl.class);
+
+    private final ProductSalesRepository productSalesRepository;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Increments not yet flushed to the database
+    private final Map<Long, AtomicLong> pendingTotals = new ConcurrentHashMap<>();
+    private final Map<LocalDateTime, Map<Long, AtomicLong>> pendingHourly = new ConcurrentHashMap<>();
+
+    // Counters as last loaded from the database (includes flushes from other nodes)
+    private volatile Map<Long, Long> persistedTotals = Collections.emptyMap();
+    private volatile Map<LocalDateTime, Map<Long, Long>> persistedHourly = Collections.emptyMap();
+
+    private volatile Map<SalesWindow, List<ProductSales>> leaderboards = new EnumMap<>(SalesWindow.class);
+
+    @Value("${app.sales.leaderboard-size:100}")
+    private int leaderboardSize = 100;
+
+    public BestSellerServiceImpl(ProductSalesRepository productSalesRepository,
+                                 ProductRepository productRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.productSalesRepository = productSalesRepository;
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BestSellerResponse> getBestSellers(SalesWindow window, int limit) {
+        List<ProductSales> leaderboard = leaderboards.getOrDefault(window, Collections.emptyList());
+        List<ProductSales> top = leaderboard.subList(0, Math.min(Math.max(limit, 0), leaderboard.size()));
+
+        List<BestSellerResponse> response = new ArrayList<>(top.size());
+        if (top.isEmpty()) {
+            return response;
+        }
+
+        Map<Long, Product> products = productRepository.findAllById(
+                        top.stream().map(ProductSales::productId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        for (ProductSales sales : top) {
+            Product product = products.get(sales.productId());
+            if (product != null) {
+                response.add(BestSellerResponse.fromEntity(response.size() + 1, product, sales.quantitySold()));
+            }
+        }
+        return response;
+    }
+
+    @Override
+    public void recordCompletedOrder(Order order) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (OrderItem item : order.getItems()) {
+            quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recordSales(quantities);
+                }
+            });
+        } else {
+            recordSales(quantities);
+        }
+    }
+
+    /**
+     * Handles order completed events by counting the order's items as sales.
+     * Cancellations need no handling: only pending orders can be cancelled, and those were never counted.
+     *
+     * @param event The order completed event
+     */
+    @EventListener
+    public void handleOrderCompletedEvent(OrderCompletedEvent event) {
+        recordCompletedOrder(event.getOrder());
+    }
+
+    /**
+     * Seeds the counter tables from order history on first start and loads the leaderboards.
+     */
+    @Bulkhead(BulkheadPool.BATCH)
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            if (!productSalesRepository.hasTotals()) {
+                productSalesRepository.seedFromCompletedOrders(windowStart(SalesWindow.LAST_7_DAYS));
+            }
+            reload();
+            rebuildLeaderboards();
+        } catch (DataAccessException ex) {
+            logger.warn("Could not initialize best-seller counters, will retry on next synchronization", ex);
+        }
+    }
+
+    @Override
+    @Bulkhead(BulkheadPool.BATCH)
+    @Scheduled(initialDelayString = "${app.sales.sync-interval-ms:60000}",
+            fixedDelayString = "${app.sales.sync-interval-ms:60000}")
+    public void synchronize() {
+        flushPending();
+        try {
+            reload();
+        } catch (DataAccessException ex) {
+            logger.warn("Could not reload best-seller counters", ex);
+        }
+        rebuildLeaderboards();
+    }
+
+    /**
+     * Adds sales to the pending counters of the current hour.
+     *
+     * @param quantities Units sold keyed by product ID
+     */
+    private void recordSales(Map<Long, Integer> quantities) {
+        Map<Long, AtomicLong> bucket = pendingHourly.computeIfAbsent(
+                currentHour(), hour -> new ConcurrentHashMap<>());
+
+        quantities.forEach((productId, quantity) -> {
+            pendingTotals.computeIfAbsent(productId, id -> new AtomicLong()).addAndGet(quantity);
+            bucket.computeIfAbsent(productId, id -> new AtomicLong()).addAndGet(quantity);
+        });
+    }
+
+    /**
+     * Writes the pending increments to the database in one transaction.
+     * If the write fails, the increments are put back so they are retried on the next run.
+     */
+    private void flushPending() {
+        LocalDateTime staleBucket = currentHour().minusHours(1);
+
+        Map<Long, Long> totals = drain(pendingTotals);
+        Map<LocalDateTime, Map<Long, Long>> hourly = new HashMap<>();
+        for (Map.Entry<LocalDateTime, Map<Long, AtomicLong>> entry : pendingHourly.entrySet()) {
+            Map<Long, Long> deltas = drain(entry.getValue());
+            if (!deltas.isEmpty()) {
+                hourly.put(entry.getKey(), deltas);
+            }
+            // Orders are bucketed at commit time, so only the current and previous hour still receive writes
+            if (entry.getKey().isBefore(staleBucket)) {
+                pendingHourly.remove(entry.getKey());
+            }
+        }
+
+        if (totals.isEmpty() && hourly.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                productSalesRepository.addToTotals(totals);
+                hourly.forEach(productSalesRepository::addToHourly);
+            });
+        } catch (DataAccessException ex) {
+            logger.warn("Could not persist best-seller counters, retrying on next synchronization", ex);
+            totals.forEach((productId, quantity) ->
+                    pendingTotals.computeIfAbsent(productId, id -> new AtomicLong()).addAndGet(quantity));
+            hourly.forEach((hour, deltas) -> {
+                Map<Long, AtomicLong> bucket = pendingHourly.computeIfAbsent(hour, h -> new ConcurrentHashMap<>());
+                deltas.forEach((productId, quantity) ->
+                        bucket.computeIfAbsent(productId, id -> new AtomicLong()).addAndGet(quantity));
+            });
+        }
+    }
+
+    /**
+     * Loads the persisted counters and prunes hourly buckets that left every window.
+     */
+    private void reload() {
+        LocalDateTime oldestBucket = windowStart(SalesWindow.LAST_7_DAYS);
+        persistedTotals = productSalesRepository.findAllTotals();
+        persistedHourly = productSalesRepository.findHourlySince(oldestBucket);
+        productSalesRepository.deleteHourlyBefore(oldestBucket.minusDays(1));
+    }
+
+    /**
+     * Recomputes the ranked leaderboard of every window.
+     */
+    private void rebuildLeaderboards() {
+        Map<SalesWindow, List<ProductSales>> rebuilt = new EnumMap<>(SalesWindow.class);
+
+        for (SalesWindow window : SalesWindow.values()) {
+            Map<Long, Long> counts = new HashMap<>();
+            if (window == SalesWindow.ALL_TIME) {
+                counts.putAll(persistedTotals);
+                pendingTotals.forEach((productId, quantity) -> counts.merge(productId, quantity.get(), Long::sum));
+            } else {
+                LocalDateTime start = windowStart(window);
+                persistedHourly.forEach((hour, deltas) -> {
+                    if (!hour.isBefore(start)) {
+                        deltas.forEach((productId, quantity) -> counts.merge(productId, quantity, Long::sum));
+                    }
+                });
+                pendingHourly.forEach((hour, deltas) -> {
+                    if (!hour.isBefore(start)) {
+                        deltas.forEach((productId, quantity) -> counts.merge(productId, quantity.get(), Long::sum));
+                    }
+                });
+            }
+
+            List<ProductSales> ranked = counts.entrySet().stream()
+                    .filter(entry -> entry.getValue() > 0)
+                    .map(entry -> new ProductSales(entry.getKey(), entry.getValue()))
+                    .sorted(Comparator.comparingLong(ProductSales::quantitySold).reversed()
+                            .thenComparingLong(ProductSales::productId))
+                    .limit(leaderboardSize)
+                    .collect(Collectors.toList());
+            rebuilt.put(window, Collections.unmodifiableList(ranked));
+        }
+
+        leaderboards = rebuilt;
+    }
+
+    /**
+     * Atomically takes and resets all non-zero counters of a map.
+     *
+     * @param counters The counters to drain
+     * @return The drained values keyed by product ID
+     */
+    private Map<Long, Long> drain(Map<Long, AtomicLong> counters) {
+        Map<Long, Long> drained = new HashMap<>();
+        counters.forEach((productId, counter) -> {
+            long quantity = counter.getAndSet(0);
+            if (quantity != 0) {
+                drained.put(productId, quantity);
+            }
+        });
+        return drained;
+    }
+
+    private LocalDateTime currentHour() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private LocalDateTime windowStart(SalesWindow window) {
+        return currentHour().minusHours(window.getHours() - 1L);
+    }
+
+    /**
+     * Leaderboard entry pairing a product with its units sold.
+     */
+    private record ProductSales(long productId, long quantitySold) {
+    }
+}
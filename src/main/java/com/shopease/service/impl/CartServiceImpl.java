@@ -1,11 +1,14 @@
 package com.shopease.service.impl;
 
+import com.shopease.datasource.Bulkhead;
+import com.shopease.datasource.BulkheadPool;
 import com.shopease.dto.request.AddToCartRequest;
 import com.shopease.dto.response.CartResponse;
 import com.shopease.event.CartExpiredEvent;
 import com.shopease.exception.InsufficientStockException;
 import com.shopease.exception.InvalidCartOperationException;
 import com.shopease.exception.ResourceNotFoundException;
+import com.shopease.metrics.BusinessMetrics;
 import com.shopease.model.Cart;
 import com.shopease.model.CartItem;
 import com.shopease.model.Product;
@@ -15,6 +18,8 @@ import com.shopease.repository.CartRepository;
 import com.shopease.repository.ProductRepository;
 import com.shopease.repository.UserRepository;
 import com.shopease.service.CartService;
+import com.shopease.service.StockReservationService;
+import io.micrometer.core.annotation.Counted;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -36,6 +41,7 @@ public class CartServiceImpl implements CartService {
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
     private final ApplicationEventPublisher eventPublisher;
+    private final StockReservationService stockReservationService;
 
     @Value("${app.cart.expiry.hours:24}")
     private long cartExpiryHours;
@@ -44,12 +50,14 @@ public class CartServiceImpl implements CartService {
                            CartItemRepository cartItemRepository,
                            ProductRepository productRepository,
                            UserRepository userRepository,
-                           ApplicationEventPublisher eventPublisher) {
+                           ApplicationEventPublisher eventPublisher,
+                           StockReservationService stockReservationService) {
         this.cartRepository = cartRepository;
         this.cartItemRepository = cartItemRepository;
         this.productRepository = productRepository;
         this.userRepository = userRepository;
         this.eventPublisher = eventPublisher;
+        this.stockReservationService = stockReservationService;
     }
 
     @Override
@@ -69,6 +77,7 @@ public class CartServiceImpl implements CartService {
 
     @Override
     @Transactional
+    @Counted(value = BusinessMetrics.CART_ADDS, recordFailuresOnly = false)
     public CartItem addItemToCart(Long userId, AddToCartRequest request) {
         if (request.getQuantity() <= 0) {
             throw new InvalidCartOperationException("Quantity must be positive");
@@ -99,12 +108,14 @@ public class CartServiceImpl implements CartService {
             if (!product.hasStock(newQuantity)) {
                 throw new InsufficientStockException("Not enough stock available for product: " + product.getName());
             }
+            stockReservationService.reserve(userId, product, newQuantity);
 
             item.setQuantity(newQuantity);
             cartItemRepository.save(item);
             return item;
         } else {
             // Add new item
+            stockReservationService.reserve(userId, product, request.getQuantity());
             CartItem newItem = new CartItem();
             newItem.setCart(cart);
             newItem.setProduct(product);
@@ -137,6 +148,7 @@ public class CartServiceImpl implements CartService {
         if (!itemToUpdate.getProduct().hasStock(newQuantity)) {
             throw new InsufficientStockException("Not enough stock available for product: " + itemToUpdate.getProduct().getName());
         }
+        stockReservationService.reserve(userId, itemToUpdate.getProduct(), newQuantity);
 
         // Update the quantity
         itemToUpdate.setQuantity(newQuantity);
@@ -160,6 +172,8 @@ public class CartServiceImpl implements CartService {
         // Remove the item
         cart.getItems().remove(itemToRemove);
         cart.updateLastAccessed();
+        stockReservationService.release(userId, itemToRemove.getProduct().getId());
+        stockReservationService.renew(userId);
 
         // Save and return updated cart
         cartItemRepository.delete(itemToRemove);
@@ -169,11 +183,15 @@ public class CartServiceImpl implements CartService {
     @Override
     @Transactional(readOnly = true)
     public CartResponse getCartResponse(Long userId) {
-        Cart cart = getOrCreateCart(userId);
-        return CartResponse.fromEntity(cart);
+        // Read-only: a user without a cart gets an empty response instead of a new row
+        stockReservationService.renew(userId);
+        return cartRepository.findByUserId(userId)
+                .map(CartResponse::fromEntity)
+                .orElseGet(() -> CartResponse.empty(userId));
     }
 
     @Override
+    @Bulkhead(BulkheadPool.BATCH)
     @Scheduled(fixedRate = 86400000) // Run once per day
     @Transactional
     public void cleanupExpiredCarts() {
@@ -0,0 +1,221 @@
+package com.shopease.service.impl;
+
+import com.shopease.admission.AdmissionTicket;
+import com.shopease.admission.CheckoutAdmissionQueue;
+import com.shopease.exception.InsufficientStockException;
+import com.shopease.exception.ResourceNotFoundException;
+import com.shopease.repository.CartItemRepository;
+import com.shopease.repository.ProductRepository;
+import com.shopease.repository.projection.ProductStockLevel;
+import com.shopease.service.CheckoutAdmissionService;
+import com.shopease.service.LowStockService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of the CheckoutAdmissionService interface.
+ * A product admits at most app.checkout.admission.permits-per-product checkouts at a time, and
+ * never more than its last known stock level, so during a flash sale only buyers who can still
+ * get the product reach createOrder. The queue lives in memory and is per instance.
+ * The stock levels come from this instance's low-stock index, which may not have seen a restock
+ * or cancellation made on another instance yet, so a product is only reported sold out once the
+ * database agrees.
+ */
+@Service
+public class CheckoutAdmissionServiceImpl implements CheckoutAdmissionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CheckoutAdmissionServiceImpl.class);
+
+    static final String TICKETS_METRIC = "shopease.checkout.admission.tickets";
+
+    private final CartItemRepository cartItemRepository;
+    private final ProductRepository productRepository;
+    private final LowStockService lowStockService;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final CheckoutAdmissionQueue queue;
+    private final Timer waitTimer;
+
+    private final Map<Long, Long> soldOutConfirmedAt = new ConcurrentHashMap<>();
+
+    @Value("${app.checkout.admission.permits-per-product:20}")
+    private int permitsPerProduct = 20;
+
+    @Value("${app.checkout.admission.poll-interval-ms:2000}")
+    private long pollIntervalMs = 2000;
+
+    @Value("${app.checkout.admission.poll-timeout-ms:30000}")
+    private long pollTimeoutMs = 30000;
+
+    @Value("${app.checkout.admission.admitted-ttl-ms:60000}")
+    private long admittedTtlMs = 60000;
+
+    @Value("${app.checkout.admission.sold-out-recheck-ms:1000}")
+    private long soldOutRecheckMs = 1000;
+
+    public CheckoutAdmissionServiceImpl(CartItemRepository cartItemRepository,
+                                        ProductRepository productRepository,
+                                        LowStockService lowStockService,
+                                        MeterRegistry meterRegistry,
+                                        PlatformTransactionManager transactionManager) {
+        this.cartItemRepository = cartItemRepository;
+        this.productRepository = productRepository;
+        this.lowStockService = lowStockService;
+        this.meterRegistry = meterRegistry;
+        // Read-write, so the stock check reads the primary rather than a lagging replica
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new CheckoutAdmissionQueue(this::capacity);
+        this.waitTimer = Timer.builder("shopease.checkout.admission.wait")
+                .description("Time from ticket issue to admission")
+                .register(meterRegistry);
+        Gauge.builder("shopease.checkout.admission.queue", queue, CheckoutAdmissionQueue::getWaitingCount)
+                .tag("state", "waiting")
+                .register(meterRegistry);
+        Gauge.builder("shopease.checkout.admission.queue", queue, CheckoutAdmissionQueue::getAdmittedCount)
+                .tag("state", "admitted")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public AdmissionTicket requestAdmission(Long userId, String ticketId) {
+        AdmissionTicket ticket;
+        if (ticketId != null) {
+            ticket = getTicket(userId, ticketId);
+        } else {
+            ticket = issueTicket(userId, new HashSet<>(cartItemRepository.findProductIdsByUserId(userId)));
+        }
+
+        if (ticket.getStatus() == AdmissionTicket.Status.SOLD_OUT) {
+            throw new InsufficientStockException("A product in the cart is sold out");
+        }
+        return ticket;
+    }
+
+    @Override
+    public AdmissionTicket getTicket(Long userId, String ticketId) {
+        AdmissionTicket ticket = queue.find(ticketId, System.nanoTime())
+                .filter(found -> found.getUserId().equals(userId))
+                .orElseThrow(() -> new ResourceNotFoundException("Checkout ticket not found or expired: " + ticketId));
+
+        // A waiting ticket turned sold out by the index rejoins the queue if the database still has stock
+        if (ticket.getStatus() == AdmissionTicket.Status.SOLD_OUT && !confirmSoldOut(ticket.getProductIds())) {
+            return issueTicket(userId, ticket.getProductIds());
+        }
+        return ticket;
+    }
+
+    @Override
+    public int getPosition(AdmissionTicket ticket) {
+        return queue.position(ticket);
+    }
+
+    @Override
+    public void release(AdmissionTicket ticket) {
+        if (ticket.isAdmitted()) {
+            waitTimer.record(ticket.getWaitNanos(), TimeUnit.NANOSECONDS);
+        }
+        queue.release(ticket, System.nanoTime());
+    }
+
+    @Override
+    public long getPollIntervalMs() {
+        return pollIntervalMs;
+    }
+
+    /**
+     * Drops tickets whose holders stopped polling or never checked out, and admits the
+     * tickets behind them.
+     */
+    @Scheduled(fixedDelayString = "${app.checkout.admission.sweep-interval-ms:1000}")
+    public void expireTickets() {
+        List<AdmissionTicket> expired = queue.expire(System.nanoTime(),
+                TimeUnit.MILLISECONDS.toNanos(pollTimeoutMs), TimeUnit.MILLISECONDS.toNanos(admittedTtlMs));
+        if (!expired.isEmpty()) {
+            meterRegistry.counter(TICKETS_METRIC, "outcome", "expired").increment(expired.size());
+            logger.debug("Expired {} checkout tickets", expired.size());
+        }
+    }
+
+    /**
+     * Issues a ticket for a set of products, queuing it again if the index reported a product as
+     * sold out that the database still has stock of.
+     *
+     * @param userId The user ID
+     * @param productIds The product IDs
+     * @return The ticket
+     */
+    private AdmissionTicket issueTicket(Long userId, Set<Long> productIds) {
+        AdmissionTicket ticket = queue.enqueue(userId, productIds, System.nanoTime());
+        if (ticket.getStatus() == AdmissionTicket.Status.SOLD_OUT && !confirmSoldOut(productIds)) {
+            ticket = queue.enqueue(userId, productIds, System.nanoTime());
+        }
+        meterRegistry.counter(TICKETS_METRIC, "outcome", ticket.getStatus().name().toLowerCase()).increment();
+        return ticket;
+    }
+
+    /**
+     * Checks with the database whether a product of a ticket is really sold out, and corrects the
+     * low-stock index with the levels read. A product confirmed sold out is not checked again
+     * for app.checkout.admission.sold-out-recheck-ms, so a sold-out flash sale does not send
+     * every buyer to the primary.
+     *
+     * @param productIds The product IDs of the ticket
+     * @return true if a product has no stock left
+     */
+    private boolean confirmSoldOut(Set<Long> productIds) {
+        long now = System.nanoTime();
+        long recheckNanos = TimeUnit.MILLISECONDS.toNanos(soldOutRecheckMs);
+        boolean recentlyConfirmed = productIds.stream()
+                .map(soldOutConfirmedAt::get)
+                .anyMatch(confirmedAt -> confirmedAt != null && now - confirmedAt < recheckNanos);
+        if (recentlyConfirmed) {
+            return true;
+        }
+
+        List<ProductStockLevel> stockLevels = transactionTemplate.execute(
+                status -> productRepository.findCurrentStockLevels(productIds));
+
+        boolean soldOut = false;
+        for (ProductStockLevel stockLevel : stockLevels) {
+            lowStockService.recordStockLevel(stockLevel.getId(), stockLevel.getStockQuantity());
+            if (stockLevel.getStockQuantity() <= 0) {
+                soldOutConfirmedAt.put(stockLevel.getId(), now);
+                soldOut = true;
+            } else {
+                soldOutConfirmedAt.remove(stockLevel.getId());
+            }
+        }
+
+        if (!soldOut) {
+            logger.info("Low-stock index was behind the database for products {}", productIds);
+        }
+        return soldOut;
+    }
+
+    /**
+     * Gets how many checkouts of a product may run at once.
+     *
+     * @param productId The product ID
+     * @return The smaller of the configured permits and the known stock level
+     */
+    private int capacity(Long productId) {
+        OptionalInt stockLevel = lowStockService.findStockLevel(productId);
+        return stockLevel.isPresent() ? Math.min(permitsPerProduct, stockLevel.getAsInt()) : permitsPerProduct;
+    }
+}
@@ -0,0 +1,209 @@
+package com.shopease.service.impl;
+
+import com.shopease.datasource.Bulkhead;
+import com.shopease.datasource.BulkheadPool;
+import com.shopease.event.StockThresholdCrossedEvent;
+import com.shopease.repository.ProductRepository;
+import com.shopease.repository.projection.ProductStockLevel;
+import com.shopease.service.LowStockService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of the LowStockService interface.
+ * Keeps every product in a skip list ordered by (stock, id), so a threshold query is a
+ * head-set walk in O(log n + k) instead of a table scan.
+ *
+ * <p>Every update and removal is stamped with a sequence number, so a rebuild can tell which
+ * entries changed after it took its snapshot and leave those alone.
+ */
+@Service
+public class LowStockServiceImpl implements LowStockService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LowStockServiceImpl.class);
+
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, Entry> stockByProduct = new ConcurrentHashMap<>();
+    private final Map<Long, Long> removedAt = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final NavigableSet<StockLevel> index = new ConcurrentSkipListSet<>(
+            Comparator.comparingInt(StockLevel::stockQuantity).thenComparingLong(StockLevel::productId));
+
+    @Value("${app.inventory.low-stock.alert-threshold:5}")
+    private int alertThreshold = 5;
+
+    public LowStockServiceImpl(ProductRepository productRepository,
+                               ApplicationEventPublisher eventPublisher) {
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public List<Long> findProductIdsWithStockAtMost(int threshold) {
+        List<Long> productIds = new ArrayList<>();
+        for (StockLevel level : index.headSet(new StockLevel(Long.MAX_VALUE, threshold), true)) {
+            productIds.add(level.productId());
+        }
+        return productIds;
+    }
+
+    @Override
+    public OptionalInt findStockLevel(Long productId) {
+        Entry entry = stockByProduct.get(productId);
+        return entry != null ? OptionalInt.of(entry.stockQuantity()) : OptionalInt.empty();
+    }
+
+    @Override
+    public void recordStockLevel(Long productId, int stockQuantity) {
+        afterCommit(() -> applyStockLevel(productId, stockQuantity));
+    }
+
+    @Override
+    public void removeProduct(Long productId) {
+        afterCommit(() -> stockByProduct.compute(productId, (id, current) -> {
+            if (current != null) {
+                index.remove(new StockLevel(id, current.stockQuantity()));
+            }
+            // Remembered until a rebuild whose snapshot no longer has the product
+            removedAt.put(id, sequence.incrementAndGet());
+            return null;
+        }));
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Bulkhead(BulkheadPool.BATCH)
+    @Scheduled(initialDelayString = "${app.inventory.low-stock.resync-interval-ms:300000}",
+            fixedDelayString = "${app.inventory.low-stock.resync-interval-ms:300000}")
+    // Not read-only, so the snapshot comes from the primary and not from a lagging replica
+    @Transactional
+    public void rebuild() {
+        // Updates stamped after this point may be missing from the snapshot and must be kept
+        long snapshotSequence = sequence.get();
+        List<ProductStockLevel> levels = productRepository.findAllStockLevels();
+        Set<Long> productIds = new HashSet<>();
+
+        for (ProductStockLevel level : levels) {
+            productIds.add(level.getId());
+            refreshStockLevel(level.getId(), level.getStockQuantity(), snapshotSequence);
+        }
+
+        // Drop products deleted on other nodes since the last rebuild
+        for (Long productId : stockByProduct.keySet()) {
+            if (!productIds.contains(productId)) {
+                stockByProduct.computeIfPresent(productId, (id, current) -> {
+                    if (current.sequence() > snapshotSequence) {
+                        return current;
+                    }
+                    index.remove(new StockLevel(id, current.stockQuantity()));
+                    return null;
+                });
+            }
+        }
+        removedAt.values().removeIf(removed -> removed <= snapshotSequence);
+
+        logger.debug("Low-stock index rebuilt with {} products", levels.size());
+    }
+
+    /**
+     * Updates the index entry for a product and publishes a threshold-crossing event if needed.
+     *
+     * @param productId The product ID
+     * @param stockQuantity The new stock quantity
+     */
+    private void applyStockLevel(Long productId, int stockQuantity) {
+        stockByProduct.compute(productId, (id, previous) -> {
+            if (previous != null) {
+                index.remove(new StockLevel(id, previous.stockQuantity()));
+            }
+            index.add(new StockLevel(id, stockQuantity));
+
+            if (previous != null) {
+                boolean wasLow = previous.stockQuantity() <= alertThreshold;
+                boolean isLow = stockQuantity <= alertThreshold;
+                if (wasLow != isLow) {
+                    eventPublisher.publishEvent(
+                            new StockThresholdCrossedEvent(id, stockQuantity, alertThreshold, isLow));
+                }
+            }
+            return new Entry(stockQuantity, sequence.incrementAndGet());
+        });
+    }
+
+    /**
+     * Sets the index entry for a product to its level in a rebuild snapshot, unless the product
+     * was updated or removed after the snapshot was started.
+     *
+     * @param productId The product ID
+     * @param stockQuantity The stock quantity in the snapshot
+     * @param snapshotSequence The sequence number when the snapshot was started
+     */
+    private void refreshStockLevel(Long productId, int stockQuantity, long snapshotSequence) {
+        stockByProduct.compute(productId, (id, previous) -> {
+            if (previous != null && previous.sequence() > snapshotSequence) {
+                return previous;
+            }
+            if (removedAt.getOrDefault(id, 0L) > snapshotSequence) {
+                return previous;
+            }
+            if (previous != null) {
+                index.remove(new StockLevel(id, previous.stockQuantity()));
+            }
+            index.add(new StockLevel(id, stockQuantity));
+            return new Entry(stockQuantity, snapshotSequence);
+        });
+    }
+
+    /**
+     * Runs an index update after the current transaction commits, or immediately if there is none.
+     *
+     * @param update The update to run
+     */
+    private void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    /**
+     * Index entry pairing a product with its stock level.
+     */
+    private record StockLevel(long productId, int stockQuantity) {
+    }
+
+    /**
+     * A product's stock level and the sequence number of the update that set it.
+     */
+    private record Entry(int stockQuantity, long sequence) {
+    }
+}
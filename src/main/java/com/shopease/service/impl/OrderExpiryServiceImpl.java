@@ -0,0 +1,163 @@
+package com.shopease.service.impl;
+
+import com.shopease.datasource.Bulkhead;
+import com.shopease.datasource.BulkheadPool;
+import com.shopease.dto.request.StockAdjustmentRequest;
+import com.shopease.event.OrderCancelledEvent;
+import com.shopease.inventory.StockMovement;
+import com.shopease.model.Order;
+import com.shopease.repository.OrderRepository;
+import com.shopease.repository.PaymentRepository;
+import com.shopease.repository.ProductRepository;
+import com.shopease.service.LowStockService;
+import com.shopease.service.OrderExpiryService;
+import com.shopease.service.OrderService;
+import com.shopease.service.StockLedgerService;
+import com.shopease.service.StockShardService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of the OrderExpiryService interface.
+ * Expired orders are cancelled with one UPDATE per batch, and the stock of all orders
+ * in the batch is restored with one aggregated UPDATE, regardless of how many orders
+ * share a product. Orders whose payment outcome is unknown are not cancelled until a retry
+ * of that payment has settled it.
+ */
+@Service
+public class OrderExpiryServiceImpl implements OrderExpiryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderExpiryServiceImpl.class);
+
+    private final OrderRepository orderRepository;
+    private final PaymentRepository paymentRepository;
+    private final ProductRepository productRepository;
+    private final LowStockService lowStockService;
+    private final StockShardService stockShardService;
+    private final StockLedgerService stockLedgerService;
+    private final OrderService orderService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.order.expiry.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${app.order.expiry.max-batches-per-sweep:20}")
+    private int maxBatchesPerSweep = 20;
+
+    @Value("${app.order.expiry.payment-grace-ms:10000}")
+    private long paymentGraceMs = 10000;
+
+    public OrderExpiryServiceImpl(OrderRepository orderRepository,
+                                  PaymentRepository paymentRepository,
+                                  ProductRepository productRepository,
+                                  LowStockService lowStockService,
+                                  StockShardService stockShardService,
+                                  StockLedgerService stockLedgerService,
+                                  OrderService orderService,
+                                  ApplicationEventPublisher eventPublisher,
+                                  PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.paymentRepository = paymentRepository;
+        this.productRepository = productRepository;
+        this.lowStockService = lowStockService;
+        this.stockShardService = stockShardService;
+        this.stockLedgerService = stockLedgerService;
+        this.orderService = orderService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Bulkhead(BulkheadPool.BATCH)
+    @Scheduled(initialDelayString = "${app.order.expiry.sweep-interval-ms:15000}",
+            fixedDelayString = "${app.order.expiry.sweep-interval-ms:15000}")
+    public int expirePendingOrders() {
+        reconcilePayments();
+
+        int total = 0;
+
+        for (int batch = 0; batch < maxBatchesPerSweep; batch++) {
+            Integer cancelled = transactionTemplate.execute(status -> expireBatch());
+            int count = cancelled != null ? cancelled : 0;
+            total += count;
+
+            if (count < batchSize) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            logger.info("Expired {} pending orders", total);
+        }
+        return total;
+    }
+
+    /**
+     * Retries the payments of expired orders whose last gateway call has an unknown outcome.
+     * The retry reuses the payment's idempotency key, so the gateway reports the original
+     * charge if there was one. A settled failure lets the order expire on this sweep.
+     */
+    private void reconcilePayments() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> orderIds = paymentRepository.findExpiredOrderIdsWithUnresolvedPayment(
+                now, now.minusNanos(paymentGraceMs * 1_000_000), PageRequest.of(0, batchSize));
+
+        for (Long orderId : orderIds) {
+            try {
+                Order order = orderService.processPayment(orderId);
+                logger.info("Reconciled payment of expired order {}, which is now {}", orderId, order.getStatus());
+            } catch (RuntimeException ex) {
+                logger.warn("Could not reconcile payment of expired order {}", orderId, ex);
+            }
+        }
+    }
+
+    /**
+     * Cancels one batch of expired orders and restores their stock.
+     *
+     * @return The number of orders cancelled
+     */
+    private int expireBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> orderIds = orderRepository.cancelExpiredPendingOrders(now, batchSize);
+
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Integer> quantities = orderRepository.sumItemQuantitiesByProduct(orderIds);
+        List<StockAdjustmentRequest> adjustments = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) -> {
+            StockAdjustmentRequest adjustment = new StockAdjustmentRequest();
+            adjustment.setProductId(productId);
+            adjustment.setStockDelta(quantity);
+            adjustments.add(adjustment);
+        });
+
+        if (!adjustments.isEmpty()) {
+            Map<Long, Integer> updatedStock = productRepository.applyStockAdjustments(stockShardService.applyToShards(adjustments));
+            updatedStock.forEach(lowStockService::recordStockLevel);
+            updatedStock.keySet().forEach(productId ->
+                    stockLedgerService.record(productId, StockMovement.Type.EXPIRY, quantities.get(productId), null));
+        }
+
+        for (Order order : orderRepository.findAllById(orderIds)) {
+            eventPublisher.publishEvent(new OrderCancelledEvent(order));
+        }
+
+        return orderIds.size();
+    }
+}
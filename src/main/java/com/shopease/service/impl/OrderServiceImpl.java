@@ -9,21 +9,34 @@ import com.shopease.exception.InvalidDiscountException;
 import com.shopease.exception.InvalidOrderException;
 import com.shopease.exception.InvalidOrderStateException;
 import com.shopease.exception.ResourceNotFoundException;
+import com.shopease.inventory.StockMovement;
+import com.shopease.metrics.BusinessMetrics;
 import com.shopease.model.*;
+import com.shopease.payment.PaymentGatewayResult;
 import com.shopease.repository.*;
+import com.shopease.service.LowStockService;
 import com.shopease.service.OrderService;
 import com.shopease.service.PaymentService;
+import com.shopease.service.StockLedgerService;
+import com.shopease.service.StockReservationService;
+import com.shopease.service.StockShardService;
+import io.micrometer.core.annotation.Counted;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -39,7 +52,16 @@ public class OrderServiceImpl implements OrderService {
     private final UserRepository userRepository;
     private final DiscountRepository discountRepository;
     private final PaymentService paymentService;
+    private final LowStockService lowStockService;
+    private final StockReservationService stockReservationService;
+    private final StockShardService stockShardService;
+    private final StockLedgerService stockLedgerService;
     private final ApplicationEventPublisher eventPublisher;
+    private final BusinessMetrics businessMetrics;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.order.pending-ttl-minutes:30}")
+    private long pendingOrderTtlMinutes = 30;
 
     public OrderServiceImpl(OrderRepository orderRepository,
                             CartRepository cartRepository,
@@ -47,18 +69,31 @@ public class OrderServiceImpl implements OrderService {
                             UserRepository userRepository,
                             DiscountRepository discountRepository,
                             PaymentService paymentService,
-                            ApplicationEventPublisher eventPublisher) {
+                            LowStockService lowStockService,
+                            StockReservationService stockReservationService,
+                            StockShardService stockShardService,
+                            StockLedgerService stockLedgerService,
+                            ApplicationEventPublisher eventPublisher,
+                            BusinessMetrics businessMetrics,
+                            PlatformTransactionManager transactionManager) {
         this.orderRepository = orderRepository;
         this.cartRepository = cartRepository;
         this.productRepository = productRepository;
         this.userRepository = userRepository;
         this.discountRepository = discountRepository;
         this.paymentService = paymentService;
+        this.lowStockService = lowStockService;
+        this.stockReservationService = stockReservationService;
+        this.stockShardService = stockShardService;
+        this.stockLedgerService = stockLedgerService;
         this.eventPublisher = eventPublisher;
+        this.businessMetrics = businessMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
-    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    @Transactional
+    @Counted(value = BusinessMetrics.CHECKOUTS, recordFailuresOnly = false)
     public Order createOrder(Long userId, String discountCode) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
@@ -70,39 +105,59 @@ public class OrderServiceImpl implements OrderService {
             throw new InvalidOrderException("Cannot create order with empty cart");
         }
 
-        // Verify stock for all items
+        // Verify stock for all items, leaving the units held by other carts alone
         for (CartItem item : cart.getItems()) {
             Product product = item.getProduct();
-            if (!product.hasStock(item.getQuantity())) {
+            int required = item.getQuantity() + stockReservationService.getReservedByOthers(userId, product.getId());
+            boolean inStock = stockShardService.isSharded(product.getId())
+                    ? stockShardService.getStockQuantity(product.getId()) >= required
+                    : product.hasStock(required);
+            if (!inStock) {
                 throw new InvalidOrderException("Not enough stock for product: " + product.getName());
             }
         }
 
         // Create order from cart
         Order order = Order.createFromCart(cart, user);
+        order.setExpiresAt(order.getOrderDate().plusMinutes(pendingOrderTtlMinutes));
 
         // Apply discount if provided
         if (StringUtils.hasText(discountCode)) {
-            Discount discount = discountRepository.findByCode(discountCode)
-                    .orElseThrow(() -> new ResourceNotFoundException("Discount code not found: " + discountCode));
+            Discount discount = discountRepository.findByCode(discountCode).orElse(null);
+            if (discount == null) {
+                businessMetrics.recordDiscountRedemption("not_found");
+                throw new ResourceNotFoundException("Discount code not found: " + discountCode);
+            }
 
             if (!discount.isValid()) {
+                businessMetrics.recordDiscountRedemption("invalid");
                 throw new InvalidDiscountException("Discount code is expired or exceeded usage limit");
             }
 
             order.applyDiscount(discount);
             discount.incrementUsage();
             discountRepository.save(discount);
+            // A checkout that rolls back has not redeemed the code
+            afterCommit(() -> businessMetrics.recordDiscountRedemption("redeemed"));
         }
 
         // Save order
         order = orderRepository.save(order);
 
-        // Reduce stock for all products
-        for (OrderItem item : order.getItems()) {
+        // Reduce stock for all products, in product order so concurrent checkouts lock rows in the same order
+        List<OrderItem> items = order.getItems().stream()
+                .sorted(Comparator.comparing(item -> item.getProduct().getId()))
+                .toList();
+        for (OrderItem item : items) {
             Product product = item.getProduct();
+            stockLedgerService.record(product.getId(), StockMovement.Type.ORDER, -item.getQuantity(), order.getId());
+            if (stockShardService.isSharded(product.getId())) {
+                stockShardService.take(product, item.getQuantity());
+                continue;
+            }
             product.reduceStock(item.getQuantity());
             productRepository.save(product);
+            lowStockService.recordStockLevel(product.getId(), product.getStockQuantity());
         }
 
         // Clear cart
@@ -115,41 +170,68 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    @Transactional
     public Order processPayment(Long orderId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+        // Short transaction to validate the order and mark the payment attempt as pending
+        PaymentRecord paymentRecord = transactionTemplate.execute(status -> {
+            // Locked so a concurrent cancel waits for the payment row and then refuses
+            Order order = orderRepository.findForUpdateById(orderId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+
+            if (order.getStatus() != Order.OrderStatus.PENDING) {
+                throw new InvalidOrderStateException("Can only process payment for pending orders");
+            }
 
-        if (order.getStatus() != Order.OrderStatus.PENDING) {
-            throw new InvalidOrderStateException("Can only process payment for pending orders");
-        }
+            return paymentService.initiatePayment(order);
+        });
 
-        boolean paymentSuccessful = paymentService.processPayment(order);
+        // The gateway call happens outside of any transaction so no connection is held while waiting
+        PaymentGatewayResult result = paymentService.charge(paymentRecord);
 
-        if (paymentSuccessful) {
-            order.updateStatus(Order.OrderStatus.COMPLETED);
-            order = orderRepository.save(order);
-            eventPublisher.publishEvent(new OrderCompletedEvent(order));
-        }
+        // Short follow-up transaction to record the outcome
+        return transactionTemplate.execute(status -> {
+            orderRepository.findForUpdateById(orderId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+            // Marks the payment REFUND_PENDING instead if the order is no longer pending
+            boolean paymentSuccessful = paymentService.completePayment(paymentRecord.getId(), result);
 
-        return order;
+            Order order = orderRepository.findWithItemsById(orderId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+
+            if (paymentSuccessful) {
+                order.updateStatus(Order.OrderStatus.COMPLETED);
+                order = orderRepository.save(order);
+                eventPublisher.publishEvent(new OrderCompletedEvent(order));
+            }
+
+            return order;
+        });
     }
 
     @Override
     @Transactional
     public Order cancelOrder(Long orderId) {
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findForUpdateById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
 
         if (order.getStatus() != Order.OrderStatus.PENDING) {
             throw new InvalidOrderStateException("Only pending orders can be cancelled");
         }
+        // The gateway may be charging the order right now, or may already have
+        if (paymentService.isPaymentInProgress(orderId)) {
+            throw new InvalidOrderStateException("Cannot cancel an order while its payment is in progress");
+        }
 
         // Restore stock for all products
         for (OrderItem item : order.getItems()) {
             Product product = item.getProduct();
+            stockLedgerService.record(product.getId(), StockMovement.Type.CANCEL, item.getQuantity(), order.getId());
+            if (stockShardService.isSharded(product.getId())) {
+                stockShardService.restore(product.getId(), item.getQuantity());
+                continue;
+            }
             product.restoreStock(item.getQuantity());
             productRepository.save(product);
+            lowStockService.recordStockLevel(product.getId(), product.getStockQuantity());
         }
 
         order.updateStatus(Order.OrderStatus.CANCELLED);
@@ -242,4 +324,22 @@ public class OrderServiceImpl implements OrderService {
         Double revenue = orderRepository.calculateRevenueForPeriod(startDate, endDate);
         return revenue != null ? revenue : 0.0;
     }
-}
\ No newline at end of file
+
+    /**
+     * Runs an action after the current transaction commits, or immediately if there is none.
+     *
+     * @param action The action to run
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
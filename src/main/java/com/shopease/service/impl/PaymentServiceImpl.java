@@ -1,47 +1,153 @@
 package com.shopease.service.impl;
 
+import com.shopease.exception.InvalidOrderStateException;
 import com.shopease.exception.ResourceNotFoundException;
+import com.shopease.metrics.BusinessMetrics;
 import com.shopease.model.Order;
 import com.shopease.model.PaymentRecord;
+import com.shopease.payment.PaymentGateway;
+import com.shopease.payment.PaymentGatewayResult;
 import com.shopease.repository.PaymentRepository;
 import com.shopease.service.PaymentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 /**
  * Implementation of the PaymentService interface.
- * Simulates payment processing.
+ * Gateway calls run on a dedicated executor with a timeout, so request threads and
+ * database connections are never held hostage by a slow payment provider. A call that
+ * times out or fails after it started has an unknown outcome and leaves the payment
+ * PENDING; retries reuse the attempt's idempotency key, so the gateway reports the
+ * original charge instead of taking a second one. A declined payment is retried as a new
+ * attempt with a new key.
  */
 @Service
 public class PaymentServiceImpl implements PaymentService {
 
+    private static final Logger logger = LoggerFactory.getLogger(PaymentServiceImpl.class);
+
     private final PaymentRepository paymentRepository;
+    private final PaymentGateway paymentGateway;
+    private final Executor paymentGatewayExecutor;
+    private final BusinessMetrics businessMetrics;
+
+    @Value("${app.payment.gateway.timeout-ms:5000}")
+    private long gatewayTimeoutMs = 5000;
 
-    public PaymentServiceImpl(PaymentRepository paymentRepository) {
+    public PaymentServiceImpl(PaymentRepository paymentRepository,
+                              PaymentGateway paymentGateway,
+                              @Qualifier("paymentGatewayExecutor") Executor paymentGatewayExecutor,
+                              BusinessMetrics businessMetrics) {
         this.paymentRepository = paymentRepository;
+        this.paymentGateway = paymentGateway;
+        this.paymentGatewayExecutor = paymentGatewayExecutor;
+        this.businessMetrics = businessMetrics;
     }
 
     @Override
     @Transactional
-    public boolean processPayment(Order order) {
-        // Check if payment record already exists
-        PaymentRecord paymentRecord = paymentRepository.findByOrderId(order.getId())
-                .orElseGet(() -> PaymentRecord.createPaymentRecord(order));
+    public PaymentRecord initiatePayment(Order order) {
+        PaymentRecord paymentRecord = paymentRepository.findByOrderId(order.getId()).orElse(null);
+
+        if (paymentRecord == null) {
+            paymentRecord = PaymentRecord.createPaymentRecord(order);
+        } else if (paymentRecord.getStatus() == PaymentRecord.PaymentStatus.PENDING
+                && paymentRecord.getPaymentDate().isAfter(LocalDateTime.now().minusNanos(
+                        TimeUnit.MILLISECONDS.toNanos(gatewayTimeoutMs * 2)))) {
+            // Another request is still waiting on the gateway for this order
+            throw new InvalidOrderStateException("Payment is already in progress for this order");
+        } else {
+            paymentRecord.setAmount(order.getFinalPrice());
+            paymentRecord.markPending();
+        }
+
+        return paymentRepository.save(paymentRecord);
+    }
+
+    @Override
+    public PaymentGatewayResult charge(PaymentRecord paymentRecord) {
+        Long orderId = paymentRecord.getOrder().getId();
+        BigDecimal amount = paymentRecord.getAmount();
+        String idempotencyKey = paymentRecord.getIdempotencyKey();
 
-        // Process payment
-        paymentRecord.processPayment();
+        // A FutureTask, unlike a CompletableFuture, interrupts the gateway call when cancelled
+        FutureTask<PaymentGatewayResult> call = new FutureTask<>(
+                () -> paymentGateway.charge(orderId, amount, idempotencyKey));
+        try {
+            paymentGatewayExecutor.execute(call);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Payment gateway executor saturated, rejecting payment for order {}", orderId);
+            return PaymentGatewayResult.failure("Payment gateway is busy");
+        }
+
+        // Once the call has started, the gateway may have charged the payment whatever happens here
+        try {
+            return call.get(gatewayTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            call.cancel(true);
+            logger.warn("Payment gateway timed out after {} ms for order {}", gatewayTimeoutMs, orderId);
+            return PaymentGatewayResult.unknown("Payment gateway timed out");
+        } catch (InterruptedException e) {
+            call.cancel(true);
+            Thread.currentThread().interrupt();
+            return PaymentGatewayResult.unknown("Payment interrupted");
+        } catch (ExecutionException e) {
+            logger.error("Payment gateway call failed for order {}", orderId, e.getCause());
+            return PaymentGatewayResult.unknown("Payment gateway error");
+        }
+    }
+
+    @Override
+    @Transactional
+    public boolean completePayment(Long paymentId, PaymentGatewayResult result) {
+        PaymentRecord paymentRecord = paymentRepository.findById(paymentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Payment record not found with id: " + paymentId));
+
+        if (result.isOutcomeUnknown()) {
+            // Left PENDING: a retry of the same attempt will learn the real outcome
+            logger.warn("Outcome of payment {} is unknown ({}), leaving it pending",
+                    paymentId, result.getFailureReason());
+        } else if (result.isSuccessful() && paymentRecord.getOrder().getStatus() != Order.OrderStatus.PENDING) {
+            logger.warn("Payment {} succeeded for order {} which is now {}, refund required",
+                    result.getTransactionReference(), paymentRecord.getOrder().getId(), paymentRecord.getOrder().getStatus());
+            paymentRecord.markRefundPending(result.getTransactionReference());
+        } else if (result.isSuccessful()) {
+            paymentRecord.markSuccessful(result.getTransactionReference());
+        } else {
+            paymentRecord.markFailed();
+        }
 
-        // Save payment record
         paymentRepository.save(paymentRecord);
+        businessMetrics.recordPayment(paymentRecord.getStatus());
 
-        // Return payment status
         return paymentRecord.getStatus() == PaymentRecord.PaymentStatus.SUCCESSFUL;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isPaymentInProgress(Long orderId) {
+        return paymentRepository.findByOrderId(orderId)
+                .map(paymentRecord -> paymentRecord.getStatus() == PaymentRecord.PaymentStatus.PENDING)
+                .orElse(false);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PaymentRecord getPaymentByOrderId(Long orderId) {
         return paymentRepository.findByOrderId(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Payment record not found for order with id: " + orderId));
     }
-}
\ No newline at end of file
+}
@@ -1,14 +1,24 @@
 package com.shopease.service.impl;
 
+import com.shopease.dto.request.BulkStockAdjustmentRequest;
 import com.shopease.dto.request.ProductRequest;
+import com.shopease.dto.request.StockAdjustmentRequest;
+import com.shopease.dto.response.BulkStockAdjustmentResponse;
 import com.shopease.dto.response.PagedResponse;
 import com.shopease.dto.response.ProductResponse;
 import com.shopease.exception.InvalidProductDataException;
 import com.shopease.exception.ProductNameAlreadyExistsException;
 import com.shopease.exception.ResourceNotFoundException;
+import com.shopease.inventory.StockMovement;
 import com.shopease.model.Product;
 import com.shopease.repository.ProductRepository;
+import com.shopease.repository.projection.ProductSummary;
+import com.shopease.service.LowStockService;
 import com.shopease.service.ProductService;
+import com.shopease.service.StockLedgerService;
+import com.shopease.service.StockReservationService;
+import com.shopease.service.StockShardService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -17,7 +27,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -27,9 +42,24 @@ import java.util.stream.Collectors;
 public class ProductServiceImpl implements ProductService {
 
     private final ProductRepository productRepository;
+    private final LowStockService lowStockService;
+    private final StockReservationService stockReservationService;
+    private final StockShardService stockShardService;
+    private final StockLedgerService stockLedgerService;
 
-    public ProductServiceImpl(ProductRepository productRepository) {
+    @Value("${app.product.bulk-adjustment.chunk-size:500}")
+    private int bulkAdjustmentChunkSize = 500;
+
+    public ProductServiceImpl(ProductRepository productRepository,
+                              LowStockService lowStockService,
+                              StockReservationService stockReservationService,
+                              StockShardService stockShardService,
+                              StockLedgerService stockLedgerService) {
         this.productRepository = productRepository;
+        this.lowStockService = lowStockService;
+        this.stockReservationService = stockReservationService;
+        this.stockShardService = stockShardService;
+        this.stockLedgerService = stockLedgerService;
     }
 
     @Override
@@ -45,7 +75,10 @@ public class ProductServiceImpl implements ProductService {
         product.setCategory(productRequest.getCategory());
         product.setStatus(Product.ProductStatus.ACTIVE);
 
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        lowStockService.recordStockLevel(savedProduct.getId(), savedProduct.getStockQuantity());
+        stockLedgerService.record(savedProduct.getId(), StockMovement.Type.SET, savedProduct.getStockQuantity(), null);
+        return savedProduct;
     }
 
     @Override
@@ -55,14 +88,22 @@ public class ProductServiceImpl implements ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
 
         validateProductData(productRequest, product);
+        boolean stockChanged = stockShardService.isSharded(id)
+                || !product.getStockQuantity().equals(productRequest.getStockQuantity());
 
         product.setName(productRequest.getName());
         product.setDescription(productRequest.getDescription());
         product.setPrice(productRequest.getPrice());
         product.setStockQuantity(productRequest.getStockQuantity());
         product.setCategory(productRequest.getCategory());
+        stockShardService.setStock(id, productRequest.getStockQuantity());
 
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        lowStockService.recordStockLevel(savedProduct.getId(), savedProduct.getStockQuantity());
+        if (stockChanged) {
+            stockLedgerService.record(id, StockMovement.Type.SET, productRequest.getStockQuantity(), null);
+        }
+        return savedProduct;
     }
 
     @Override
@@ -72,6 +113,7 @@ public class ProductServiceImpl implements ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
 
         productRepository.delete(product);
+        lowStockService.removeProduct(id);
     }
 
     @Override
@@ -81,14 +123,21 @@ public class ProductServiceImpl implements ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ProductResponse getProductResponse(Long id) {
+        return withAvailability(ProductResponse.fromEntity(getProductById(id)));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PagedResponse<ProductResponse> getAllProducts(int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("id").descending());
-        Page<Product> products = productRepository.findAll(pageable);
+        Page<ProductSummary> products = productRepository.findAllProjectedBy(pageable);
 
         return new PagedResponse<>(
-                products.getContent().stream().map(ProductResponse::fromEntity).collect(Collectors.toList()),
+                products.getContent().stream().map(ProductResponse::fromSummary).map(this::withAvailability)
+                        .collect(Collectors.toList()),
                 products.getNumber(),
                 products.getSize(),
                 products.getTotalElements(),
@@ -101,10 +150,11 @@ public class ProductServiceImpl implements ProductService {
     @Transactional(readOnly = true)
     public PagedResponse<ProductResponse> getProductsByCategory(String category, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("id").descending());
-        Page<Product> products = productRepository.findByCategory(category, pageable);
+        Page<ProductSummary> products = productRepository.findSummariesByCategory(category, pageable);
 
         return new PagedResponse<>(
-                products.getContent().stream().map(ProductResponse::fromEntity).collect(Collectors.toList()),
+                products.getContent().stream().map(ProductResponse::fromSummary).map(this::withAvailability)
+                        .collect(Collectors.toList()),
                 products.getNumber(),
                 products.getSize(),
                 products.getTotalElements(),
@@ -117,10 +167,11 @@ public class ProductServiceImpl implements ProductService {
     @Transactional(readOnly = true)
     public PagedResponse<ProductResponse> searchProducts(String searchTerm, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("id").descending());
-        Page<Product> products = productRepository.findByNameContainingIgnoreCase(searchTerm, pageable);
+        Page<ProductSummary> products = productRepository.findSummariesByNameContainingIgnoreCase(searchTerm, pageable);
 
         return new PagedResponse<>(
-                products.getContent().stream().map(ProductResponse::fromEntity).collect(Collectors.toList()),
+                products.getContent().stream().map(ProductResponse::fromSummary).map(this::withAvailability)
+                        .collect(Collectors.toList()),
                 products.getNumber(),
                 products.getSize(),
                 products.getTotalElements(),
@@ -131,8 +182,79 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<Product> getProductsWithLowStock(int threshold) {
-        return productRepository.findProductsWithLowStock(threshold);
+    public List<ProductResponse> getProductsWithLowStock(int threshold) {
+        List<Long> productIds = lowStockService.findProductIdsWithStockAtMost(threshold);
+        if (productIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Fetch by primary key; the index already decided which products qualify. Sharded
+        // products report their shard total, as in the listings, since their row lags behind it
+        return productRepository.findAllById(productIds).stream()
+                .map(ProductResponse::fromEntity)
+                .map(this::withAvailability)
+                .filter(product -> product.getStockQuantity() <= threshold)
+                .sorted(Comparator.comparing(ProductResponse::getStockQuantity).thenComparing(ProductResponse::getId))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public BulkStockAdjustmentResponse adjustStock(BulkStockAdjustmentRequest request) {
+        List<StockAdjustmentRequest> adjustments = request.getAdjustments();
+        validateStockAdjustments(adjustments);
+
+        int chunkSize = Math.max(1, bulkAdjustmentChunkSize);
+        List<Long> skippedProductIds = new ArrayList<>();
+        int updated = 0;
+
+        for (int from = 0; from < adjustments.size(); from += chunkSize) {
+            List<StockAdjustmentRequest> chunk = adjustments.subList(from, Math.min(from + chunkSize, adjustments.size()));
+            Map<Long, Integer> updatedStock = productRepository.applyStockAdjustments(stockShardService.applyToShards(chunk));
+
+            updated += updatedStock.size();
+            updatedStock.forEach(lowStockService::recordStockLevel);
+            for (StockAdjustmentRequest adjustment : chunk) {
+                Long productId = adjustment.getProductId();
+                if (!updatedStock.containsKey(productId)) {
+                    skippedProductIds.add(productId);
+                } else if (adjustment.getStockQuantity() != null) {
+                    stockLedgerService.record(productId, StockMovement.Type.SET, adjustment.getStockQuantity(), null);
+                } else if (adjustment.getStockDelta() != null) {
+                    stockLedgerService.record(productId, StockMovement.Type.ADJUSTMENT, adjustment.getStockDelta(), null);
+                }
+            }
+        }
+
+        return new BulkStockAdjustmentResponse(adjustments.size(), updated, skippedProductIds);
+    }
+
+    /**
+     * Validates a list of bulk stock adjustments.
+     *
+     * @param adjustments The adjustments to validate
+     */
+    private void validateStockAdjustments(List<StockAdjustmentRequest> adjustments) {
+        Set<Long> productIds = new HashSet<>();
+
+        for (StockAdjustmentRequest adjustment : adjustments) {
+            if (!productIds.add(adjustment.getProductId())) {
+                throw new InvalidProductDataException("Duplicate adjustment for product: " + adjustment.getProductId());
+            }
+
+            if (adjustment.getStockQuantity() != null && adjustment.getStockDelta() != null) {
+                throw new InvalidProductDataException("Specify either stock quantity or stock delta for product: " + adjustment.getProductId());
+            }
+
+            if (adjustment.getPrice() != null && adjustment.getPriceDelta() != null) {
+                throw new InvalidProductDataException("Specify either price or price delta for product: " + adjustment.getProductId());
+            }
+
+            if (adjustment.getStockQuantity() == null && adjustment.getStockDelta() == null
+                    && adjustment.getPrice() == null && adjustment.getPriceDelta() == null) {
+                throw new InvalidProductDataException("No change specified for product: " + adjustment.getProductId());
+            }
+        }
     }
 
     /**
@@ -159,4 +281,19 @@ public class ProductServiceImpl implements ProductService {
             throw new InvalidProductDataException("Stock quantity cannot be negative");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Sets a response's stock to the live shard total for sharded products, and reduces its
+     * available quantity by the units held in shoppers' carts.
+     * Both are kept in memory, so this adds no queries.
+     *
+     * @param response The product response
+     * @return The same response
+     */
+    private ProductResponse withAvailability(ProductResponse response) {
+        if (stockShardService.isSharded(response.getId())) {
+            response.setStockQuantity(stockShardService.getStockQuantity(response.getId()));
+        }
+        return response.withReserved(stockReservationService.getReservedQuantity(response.getId()));
+    }
+}
@@ -0,0 +1,206 @@
+package com.shopease.service.impl;
+
+import com.shopease.datasource.Bulkhead;
+import com.shopease.datasource.BulkheadPool;
+import com.shopease.dto.response.PagedResponse;
+import com.shopease.dto.response.StockLedgerResponse;
+import com.shopease.dto.response.StockMovementResponse;
+import com.shopease.exception.ResourceNotFoundException;
+import com.shopease.inventory.StockMovement;
+import com.shopease.repository.ProductRepository;
+import com.shopease.repository.StockLedgerRepository;
+import com.shopease.service.StockLedgerService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the StockLedgerService interface.
+ * Movements are buffered per transaction and appended with one batched insert before commit,
+ * so a checkout adds one round trip however many products it buys. The current stock per
+ * product is kept in memory: reloaded from snapshot plus tail every
+ * app.inventory.ledger.snapshot-interval-ms and advanced by this instance's own movements as
+ * they commit.
+ */
+@Service
+public class StockLedgerServiceImpl implements StockLedgerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockLedgerServiceImpl.class);
+
+    static final String LEDGER_METRIC = "shopease.inventory.ledger";
+
+    private final StockLedgerRepository stockLedgerRepository;
+    private final ProductRepository productRepository;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, Integer> stockQuantities = new ConcurrentHashMap<>();
+    private final AtomicInteger driftingProducts = new AtomicInteger();
+
+    /** Key of the movements buffered for the current transaction. */
+    private final Object pendingMovementsKey = new Object();
+
+    @Value("${app.inventory.ledger.snapshot-grace-ms:30000}")
+    private long snapshotGraceMs = 30000;
+
+    public StockLedgerServiceImpl(StockLedgerRepository stockLedgerRepository,
+                                  ProductRepository productRepository,
+                                  MeterRegistry meterRegistry,
+                                  PlatformTransactionManager transactionManager) {
+        this.stockLedgerRepository = stockLedgerRepository;
+        this.productRepository = productRepository;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        Gauge.builder(LEDGER_METRIC + ".drift", driftingProducts, AtomicInteger::get)
+                .description("Products whose ledger disagreed with their stock at the last reconciliation")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void record(Long productId, StockMovement.Type type, int quantity, Long orderId) {
+        StockMovement movement = StockMovement.of(productId, type, quantity, orderId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            stockLedgerRepository.insertAll(List.of(movement));
+            applied(List.of(movement));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<StockMovement> pending = (List<StockMovement>) TransactionSynchronizationManager.getResource(pendingMovementsKey);
+        if (pending == null) {
+            pending = new ArrayList<>();
+            bufferUntilCommit(pending);
+        }
+        pending.add(movement);
+    }
+
+    @Override
+    public OptionalInt getStockQuantity(Long productId) {
+        Integer stockQuantity = stockQuantities.get(productId);
+        return stockQuantity != null ? OptionalInt.of(stockQuantity) : OptionalInt.empty();
+    }
+
+    @Override
+    public StockLedgerResponse getLedger(Long productId, int page, int size) {
+        if (!productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException("Product not found with id: " + productId);
+        }
+
+        Pageable pageable = PageRequest.of(page, size);
+        List<StockMovementResponse> movements = stockLedgerRepository
+                .findByProductId(productId, pageable.getPageSize(), pageable.getOffset()).stream()
+                .map(StockMovementResponse::fromMovement)
+                .collect(Collectors.toList());
+        long totalElements = stockLedgerRepository.countByProductId(productId);
+        int totalPages = (int) ((totalElements + size - 1) / size);
+
+        PagedResponse<StockMovementResponse> pagedMovements = new PagedResponse<>(
+                movements, page, size, totalElements, totalPages, page >= totalPages - 1);
+        Integer stockQuantity = stockQuantities.get(productId);
+        return new StockLedgerResponse(productId, stockQuantity, pagedMovements);
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Bulkhead(BulkheadPool.BATCH)
+    @Scheduled(initialDelayString = "${app.inventory.ledger.snapshot-interval-ms:60000}",
+            fixedDelayString = "${app.inventory.ledger.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                int opened = stockLedgerRepository.openMissingBalances();
+                if (opened > 0) {
+                    logger.info("Opened stock ledger balances for {} products", opened);
+                }
+                long position = stockLedgerRepository.findSettledPosition(snapshotGraceMs);
+                if (position > 0) {
+                    int taken = stockLedgerRepository.takeSnapshots(position);
+                    logger.debug("Took {} stock snapshots up to ledger position {}", taken, position);
+                }
+            });
+
+            Map<Long, Integer> current = stockLedgerRepository.findStockQuantities();
+            stockQuantities.keySet().retainAll(current.keySet());
+            stockQuantities.putAll(current);
+
+            reconcile();
+        } catch (DataAccessException ex) {
+            logger.warn("Could not snapshot the stock ledger, retrying on next run", ex);
+        }
+    }
+
+    /**
+     * Compares the ledger with the recorded stock and logs every product that disagrees.
+     */
+    private void reconcile() {
+        List<StockLedgerRepository.StockDrift> drift = stockLedgerRepository.findDrift();
+        driftingProducts.set(drift.size());
+        for (StockLedgerRepository.StockDrift product : drift) {
+            logger.warn("Stock of product {} is {} but its ledger adds up to {}",
+                    product.productId(), product.recordedStock(), product.ledgerStock());
+        }
+    }
+
+    /**
+     * Binds a buffer to the current transaction, written just before the transaction commits
+     * and applied to the in-memory view once it has.
+     *
+     * @param pending The buffer
+     */
+    private void bufferUntilCommit(List<StockMovement> pending) {
+        TransactionSynchronizationManager.bindResource(pendingMovementsKey, pending);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                stockLedgerRepository.insertAll(pending);
+            }
+
+            @Override
+            public void afterCommit() {
+                applied(pending);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(pendingMovementsKey);
+            }
+        });
+    }
+
+    /**
+     * Advances the in-memory view by committed movements. Products the view does not hold yet
+     * are picked up by the next snapshot, unless the movement sets their stock outright.
+     *
+     * @param movements The committed movements
+     */
+    private void applied(List<StockMovement> movements) {
+        for (StockMovement movement : movements) {
+            if (movement.type() == StockMovement.Type.SET) {
+                stockQuantities.put(movement.productId(), movement.quantity());
+            } else {
+                stockQuantities.computeIfPresent(movement.productId(), (id, current) -> movement.applyTo(current));
+            }
+            meterRegistry.counter(LEDGER_METRIC + ".movements", "type", movement.type().name()).increment();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.shopease.service.impl;
+
+import com.shopease.datasource.Bulkhead;
+import com.shopease.datasource.BulkheadPool;
+import com.shopease.event.CartExpiredEvent;
+import com.shopease.event.OrderCreatedEvent;
+import com.shopease.exception.InsufficientStockException;
+import com.shopease.model.Product;
+import com.shopease.repository.StockReservationRepository;
+import com.shopease.reservation.StockHolds;
+import com.shopease.service.StockReservationService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of the StockReservationService interface.
+ * Holds live in memory, so placing, renewing and reading them never reaches the database;
+ * changes are flushed every app.inventory.reservations.flush-interval-ms and loaded back on
+ * startup. Like the checkout queue, holds are tracked per instance.
+ */
+@Service
+public class StockReservationServiceImpl implements StockReservationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockReservationServiceImpl.class);
+
+    static final String HOLDS_METRIC = "shopease.inventory.reservations";
+
+    private final StockReservationRepository stockReservationRepository;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final StockHolds holds = new StockHolds();
+
+    @Value("${app.inventory.reservations.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.inventory.reservations.ttl-minutes:15}")
+    private long ttlMinutes = 15;
+
+    public StockReservationServiceImpl(StockReservationRepository stockReservationRepository,
+                                       MeterRegistry meterRegistry,
+                                       PlatformTransactionManager transactionManager) {
+        this.stockReservationRepository = stockReservationRepository;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        Gauge.builder(HOLDS_METRIC + ".active", holds, StockHolds::size)
+                .description("Soft stock holds currently in memory")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void reserve(Long userId, Product product, int quantity) {
+        if (!enabled) {
+            return;
+        }
+        Long productId = product.getId();
+        int previous = holds.getHeld(userId, productId);
+        boolean held = holds.hold(userId, productId, quantity, product.getStockQuantity(), expiresAt());
+        meterRegistry.counter(HOLDS_METRIC, "outcome", held ? "held" : "rejected").increment();
+        if (!held) {
+            throw new InsufficientStockException("Not enough stock available for product: " + product.getName());
+        }
+        onRollback(() -> holds.revert(userId, productId, quantity, previous, expiresAt()));
+        holds.renew(userId, expiresAt());
+    }
+
+    @Override
+    public void release(Long userId, Long productId) {
+        if (enabled) {
+            afterCommit(() -> holds.release(userId, productId));
+        }
+    }
+
+    @Override
+    public void releaseAll(Long userId) {
+        if (enabled) {
+            afterCommit(() -> holds.releaseAll(userId));
+        }
+    }
+
+    @Override
+    public void renew(Long userId) {
+        if (enabled) {
+            holds.renew(userId, expiresAt());
+        }
+    }
+
+    @Override
+    public int getReservedQuantity(Long productId) {
+        return enabled ? holds.getReserved(productId) : 0;
+    }
+
+    @Override
+    public int getHeldQuantity(Long userId, Long productId) {
+        return enabled ? holds.getHeld(userId, productId) : 0;
+    }
+
+    @Override
+    public int getReservedByOthers(Long userId, Long productId) {
+        return enabled ? holds.getReservedByOthers(userId, productId) : 0;
+    }
+
+    /**
+     * Releases the holds of a cart once it has been turned into an order.
+     *
+     * @param event The order created event
+     */
+    @EventListener
+    public void handleOrderCreatedEvent(OrderCreatedEvent event) {
+        releaseAll(event.getOrder().getUser().getId());
+    }
+
+    /**
+     * Releases the holds of an expired cart.
+     *
+     * @param event The cart expired event
+     */
+    @EventListener
+    public void handleCartExpiredEvent(CartExpiredEvent event) {
+        releaseAll(event.getCart().getUser().getId());
+    }
+
+    /**
+     * Loads the holds persisted before the last shutdown.
+     */
+    @Bulkhead(BulkheadPool.BATCH)
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            holds.load(stockReservationRepository.findActive(System.currentTimeMillis()), System.currentTimeMillis());
+            logger.info("Loaded {} stock holds", holds.size());
+        } catch (DataAccessException ex) {
+            logger.warn("Could not load stock holds, starting without them", ex);
+        }
+    }
+
+    @Override
+    @Bulkhead(BulkheadPool.BATCH)
+    @Scheduled(fixedDelayString = "${app.inventory.reservations.flush-interval-ms:5000}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        int expired = holds.expire(now);
+        if (expired > 0) {
+            meterRegistry.counter(HOLDS_METRIC, "outcome", "expired").increment(expired);
+        }
+
+        StockHolds.Changes changes = holds.drainChanges();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!changes.isEmpty()) {
+                    stockReservationRepository.upsertAll(changes.upserted());
+                    stockReservationRepository.deleteAll(changes.deleted());
+                }
+                stockReservationRepository.deleteExpired(now);
+            });
+        } catch (DataAccessException ex) {
+            logger.warn("Could not persist stock holds, retrying on next flush", ex);
+            holds.restore(changes);
+        }
+    }
+
+    private long expiresAt() {
+        return System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(ttlMinutes);
+    }
+
+    /**
+     * Runs a release after the current transaction commits, or immediately if there is none,
+     * so that a checkout that rolls back keeps its holds.
+     *
+     * @param release The release to run
+     */
+    private void afterCommit(Runnable release) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    release.run();
+                }
+            });
+        } else {
+            release.run();
+        }
+    }
+
+    /**
+     * Runs an undo if the current transaction rolls back. A hold is placed right away, so
+     * that two carts cannot both take the last units, and is put back if the cart change that
+     * placed it is not committed.
+     *
+     * @param undo The undo to run
+     */
+    private void onRollback(Runnable undo) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        undo.run();
+                    }
+                }
+            });
+        }
+    }
+}
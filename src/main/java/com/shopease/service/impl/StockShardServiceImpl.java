@@ -0,0 +1,289 @@
+package com.shopease.service.impl;
+
+import com.shopease.datasource.Bulkhead;
+import com.shopease.datasource.BulkheadPool;
+import com.shopease.dto.request.StockAdjustmentRequest;
+import com.shopease.exception.InsufficientStockException;
+import com.shopease.exception.ResourceNotFoundException;
+import com.shopease.inventory.StockShards;
+import com.shopease.model.Product;
+import com.shopease.repository.ProductRepository;
+import com.shopease.repository.ProductStockShardRepository;
+import com.shopease.service.LowStockService;
+import com.shopease.service.StockShardService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Implementation of the StockShardService interface.
+ * Which products are sharded, and their shard totals, are kept in memory and refreshed by the
+ * periodic rebalance, so reads and the checkout stock check add no queries. Like the stock holds,
+ * this view is per instance: a product sharded on another instance is picked up on the next
+ * rebalance, so shard layouts are best changed outside of a sale.
+ */
+@Service
+public class StockShardServiceImpl implements StockShardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockShardServiceImpl.class);
+
+    static final String TAKES_METRIC = "shopease.inventory.shards.takes";
+    static final String REBALANCES_METRIC = "shopease.inventory.shards.rebalances";
+
+    private final ProductStockShardRepository shardRepository;
+    private final ProductRepository productRepository;
+    private final LowStockService lowStockService;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, Integer> shardCounts = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> stockQuantities = new ConcurrentHashMap<>();
+
+    public StockShardServiceImpl(ProductStockShardRepository shardRepository,
+                                 ProductRepository productRepository,
+                                 LowStockService lowStockService,
+                                 MeterRegistry meterRegistry,
+                                 PlatformTransactionManager transactionManager) {
+        this.shardRepository = shardRepository;
+        this.productRepository = productRepository;
+        this.lowStockService = lowStockService;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public boolean isSharded(Long productId) {
+        return shardCounts.containsKey(productId);
+    }
+
+    @Override
+    public int getStockQuantity(Long productId) {
+        return stockQuantities.getOrDefault(productId, 0);
+    }
+
+    @Override
+    public void take(Product product, int quantity) {
+        Long productId = product.getId();
+        int shards = shardCounts.getOrDefault(productId, 1);
+
+        String path = "shard";
+        if (!shardRepository.takeFromUnlockedShard(productId, quantity, ThreadLocalRandom.current().nextInt(shards), shards)) {
+            // No single free shard holds enough: wait for all of them and take from several
+            int[] remaining = StockShards.take(shardRepository.lockShards(productId), quantity);
+            if (remaining == null) {
+                meterRegistry.counter(TAKES_METRIC, "path", "rejected").increment();
+                throw new InsufficientStockException("Not enough stock available for product: " + product.getName());
+            }
+            shardRepository.updateShards(productId, remaining);
+            path = "locked";
+        }
+
+        meterRegistry.counter(TAKES_METRIC, "path", path).increment();
+        afterCommit(() -> recordStockChange(productId, -quantity));
+    }
+
+    @Override
+    public void restore(Long productId, int quantity) {
+        int shards = shardCounts.getOrDefault(productId, 1);
+
+        // The shard layout may have changed since it was last read; shard 0 exists for any layout
+        if (!shardRepository.addToShard(productId, ThreadLocalRandom.current().nextInt(shards), quantity)
+                && !shardRepository.addToShard(productId, 0, quantity)) {
+            StockAdjustmentRequest adjustment = new StockAdjustmentRequest();
+            adjustment.setProductId(productId);
+            adjustment.setStockDelta(quantity);
+            productRepository.applyStockAdjustments(List.of(adjustment)).forEach(lowStockService::recordStockLevel);
+            return;
+        }
+
+        afterCommit(() -> recordStockChange(productId, quantity));
+    }
+
+    @Override
+    public void setStock(Long productId, int stockQuantity) {
+        if (!isSharded(productId)) {
+            return;
+        }
+
+        int[] quantities = shardRepository.lockShards(productId);
+        if (quantities.length > 0) {
+            shardRepository.updateShards(productId, StockShards.split(stockQuantity, quantities.length));
+            afterCommit(() -> stockQuantities.computeIfPresent(productId, (id, current) -> stockQuantity));
+        }
+    }
+
+    @Override
+    public List<StockAdjustmentRequest> applyToShards(List<StockAdjustmentRequest> adjustments) {
+        List<StockAdjustmentRequest> remaining = new ArrayList<>(adjustments.size());
+
+        for (StockAdjustmentRequest adjustment : adjustments) {
+            Long productId = adjustment.getProductId();
+            boolean changesStock = adjustment.getStockQuantity() != null || adjustment.getStockDelta() != null;
+            int[] quantities = changesStock && isSharded(productId) ? shardRepository.lockShards(productId) : new int[0];
+            if (quantities.length == 0) {
+                remaining.add(adjustment);
+                continue;
+            }
+
+            int stockQuantity = adjustment.getStockQuantity() != null
+                    ? adjustment.getStockQuantity()
+                    : Arrays.stream(quantities).sum() + adjustment.getStockDelta();
+            if (stockQuantity < 0) {
+                continue;
+            }
+
+            shardRepository.updateShards(productId, StockShards.split(stockQuantity, quantities.length));
+            afterCommit(() -> stockQuantities.computeIfPresent(productId, (id, current) -> stockQuantity));
+
+            StockAdjustmentRequest absolute = new StockAdjustmentRequest();
+            absolute.setProductId(productId);
+            absolute.setStockQuantity(stockQuantity);
+            absolute.setPrice(adjustment.getPrice());
+            absolute.setPriceDelta(adjustment.getPriceDelta());
+            remaining.add(absolute);
+        }
+
+        return remaining;
+    }
+
+    @Override
+    @Transactional
+    public void configure(Long productId, int shards) {
+        // Shards are always locked before the product row, as in the other stock paths
+        int[] current = shardRepository.lockShards(productId);
+        Product product = productRepository.findAllForUpdate(List.of(productId)).stream().findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+
+        int stockQuantity = current.length > 0 ? Arrays.stream(current).sum() : product.getStockQuantity();
+        shardRepository.deleteShards(productId);
+        if (shards > 0) {
+            shardRepository.createShards(productId, StockShards.split(stockQuantity, shards));
+        }
+        syncProductRow(productId, stockQuantity);
+
+        afterCommit(() -> {
+            if (shards > 0) {
+                stockQuantities.put(productId, stockQuantity);
+                shardCounts.put(productId, shards);
+            } else {
+                shardCounts.remove(productId);
+                stockQuantities.remove(productId);
+            }
+        });
+        logger.info("Stock of product {} split across {} shards", productId, shards);
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Bulkhead(BulkheadPool.BATCH)
+    @Scheduled(initialDelayString = "${app.inventory.shards.rebalance-interval-ms:5000}",
+            fixedDelayString = "${app.inventory.shards.rebalance-interval-ms:5000}")
+    public void rebalance() {
+        Set<Long> productIds = new HashSet<>();
+
+        for (ProductStockShardRepository.ShardStats stats : shardRepository.findAllStats()) {
+            Long productId = stats.productId();
+            productIds.add(productId);
+
+            int stockQuantity = stats.total();
+            if (StockShards.needsRebalance(stats.min(), stats.max(), stats.total(), stats.shards())
+                    || stats.total() != stats.productStock()) {
+                Integer rebalanced = transactionTemplate.execute(status -> rebalanceProduct(productId));
+                if (rebalanced == null) {
+                    productIds.remove(productId);
+                    continue;
+                }
+                stockQuantity = rebalanced;
+            }
+
+            stockQuantities.put(productId, stockQuantity);
+            shardCounts.put(productId, stats.shards());
+        }
+
+        // Drop products unsharded on other instances since the last rebalance
+        shardCounts.keySet().retainAll(productIds);
+        stockQuantities.keySet().retainAll(productIds);
+    }
+
+    /**
+     * Evens out the shards of one product and copies their total to the product row.
+     *
+     * @param productId The product ID
+     * @return The product's stock, or null if it is no longer sharded
+     */
+    private Integer rebalanceProduct(Long productId) {
+        int[] quantities = shardRepository.lockShards(productId);
+        if (quantities.length == 0) {
+            return null;
+        }
+
+        int stockQuantity = Arrays.stream(quantities).sum();
+        int min = Arrays.stream(quantities).min().getAsInt();
+        int max = Arrays.stream(quantities).max().getAsInt();
+        if (StockShards.needsRebalance(min, max, stockQuantity, quantities.length)) {
+            shardRepository.updateShards(productId, StockShards.split(stockQuantity, quantities.length));
+            meterRegistry.counter(REBALANCES_METRIC).increment();
+        }
+
+        syncProductRow(productId, stockQuantity);
+        return stockQuantity;
+    }
+
+    /**
+     * Copies a sharded product's stock to its product row, which listings, the low-stock index
+     * and the product status read.
+     *
+     * @param productId The product ID
+     * @param stockQuantity The stock quantity
+     */
+    private void syncProductRow(Long productId, int stockQuantity) {
+        StockAdjustmentRequest adjustment = new StockAdjustmentRequest();
+        adjustment.setProductId(productId);
+        adjustment.setStockQuantity(stockQuantity);
+        productRepository.applyStockAdjustments(List.of(adjustment)).forEach(lowStockService::recordStockLevel);
+    }
+
+    private void recordStockChange(Long productId, int change) {
+        Integer stockQuantity = stockQuantities.computeIfPresent(productId, (id, current) -> Math.max(0, current + change));
+        if (stockQuantity != null) {
+            lowStockService.recordStockLevel(productId, stockQuantity);
+        }
+    }
+
+    /**
+     * Runs an update of the in-memory view after the current transaction commits,
+     * or immediately if there is none.
+     *
+     * @param update The update to run
+     */
+    private void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package com.shopease.warmup;
+
+import com.shopease.model.Cart;
+import com.shopease.model.Discount;
+import com.shopease.model.Order;
+import com.shopease.model.Product;
+import com.shopease.model.User;
+import com.shopease.repository.ProductRepository;
+import com.shopease.repository.ProductSalesRepository;
+import com.shopease.security.JwtTokenProvider;
+import com.shopease.security.UserPrincipal;
+import com.shopease.service.DiscountService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Warms the JIT and the second-level cache before the instance reports ready. Boot only
+ * publishes the ACCEPTING_TRAFFIC readiness state after every ApplicationRunner has
+ * returned, so a load balancer that follows /actuator/health/readiness keeps traffic away
+ * until the hot paths have been compiled and the popular products are cached.
+ *
+ * <p>Each round replays the configured catalog reads against the local server, validates
+ * a token and prices a cart, until the round limit or the time budget is reached. The
+ * duration, request counts and the latency of the first and last rounds are published
+ * under shopease.warmup.* so the effect of the warm-up can be tracked per deployment.
+ */
+@Component
+@ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true")
+public class WarmupRunner implements ApplicationRunner, Ordered {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private static final String WARMUP_EMAIL = "warmup@shopease.local";
+
+    private final ProductRepository productRepository;
+    private final ProductSalesRepository productSalesRepository;
+    private final DiscountService discountService;
+    private final JwtTokenProvider tokenProvider;
+    private final ApplicationContext applicationContext;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.warmup.rounds:200}")
+    private int rounds;
+
+    @Value("${app.warmup.max-duration-ms:30000}")
+    private long maxDurationMs;
+
+    @Value("${app.warmup.concurrency:4}")
+    private int concurrency;
+
+    @Value("${app.warmup.popular-products:50}")
+    private int popularProducts;
+
+    @Value("${app.warmup.paths:/products,/products?page=1,/products/best-sellers}")
+    private List<String> paths;
+
+    @Value("${app.warmup.request-timeout-ms:2000}")
+    private long requestTimeoutMs;
+
+    @Value("${server.servlet.context-path:}")
+    private String contextPath;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    // Held here so the gauges, which only keep a weak reference, stay readable
+    private volatile WarmupReport report;
+
+    public WarmupRunner(ProductRepository productRepository,
+                        ProductSalesRepository productSalesRepository,
+                        DiscountService discountService,
+                        JwtTokenProvider tokenProvider,
+                        ApplicationContext applicationContext,
+                        MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.productSalesRepository = productSalesRepository;
+        this.discountService = discountService;
+        this.tokenProvider = tokenProvider;
+        this.applicationContext = applicationContext;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs after every other runner, so warm-up sees the application fully initialized.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long startNanos = System.nanoTime();
+        long jitBeforeMs = compilationTimeMs();
+
+        List<Product> products = preloadProducts();
+        List<Discount> discounts = preloadDiscounts();
+        List<URI> uris = resolveUris(products);
+        if (uris.isEmpty()) {
+            logger.info("No local web server found, warm-up will skip the HTTP requests");
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(requestTimeoutMs))
+                .build();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, concurrency));
+        long deadline = startNanos + TimeUnit.MILLISECONDS.toNanos(maxDurationMs);
+        double firstRoundMs = 0;
+        double lastRoundMs = 0;
+        int completedRounds = 0;
+        try {
+            while (completedRounds < rounds && System.nanoTime() < deadline) {
+                lastRoundMs = runRound(client, executor, uris, products, discounts);
+                if (completedRounds == 0) {
+                    firstRoundMs = lastRoundMs;
+                }
+                completedRounds++;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        long jitMs = Math.max(0, compilationTimeMs() - jitBeforeMs);
+        report = new WarmupReport(durationMs, completedRounds, requests.get(), errors.get(),
+                firstRoundMs, lastRoundMs, jitMs, products.size(), discounts.size());
+        report.register(meterRegistry);
+        logger.info("Warm-up finished in {} ms: {} rounds, {} requests ({} failed), round latency {} ms -> {} ms, " +
+                        "{} ms of JIT compilation, {} products and {} discounts cached",
+                durationMs, completedRounds, report.requests(), report.errors(),
+                String.format("%.2f", firstRoundMs), String.format("%.2f", lastRoundMs),
+                jitMs, products.size(), discounts.size());
+    }
+
+    /**
+     * Loads the best-selling products into the second-level cache, falling back to the
+     * first catalog page when no sales have been recorded yet.
+     *
+     * @return The loaded products
+     */
+    private List<Product> preloadProducts() {
+        try {
+            List<Long> ids = productSalesRepository.findTopProductIds(popularProducts);
+            List<Product> products = ids.isEmpty()
+                    ? productRepository.findAll(PageRequest.of(0, popularProducts)).getContent()
+                    : productRepository.findAllById(ids);
+            logger.debug("Pre-loaded {} popular products", products.size());
+            return products;
+        } catch (DataAccessException ex) {
+            logger.warn("Could not pre-load popular products", ex);
+            return List.of();
+        }
+    }
+
+    /**
+     * Loads the active discounts into the second-level cache.
+     *
+     * @return The active discounts
+     */
+    private List<Discount> preloadDiscounts() {
+        try {
+            return discountService.getActiveDiscounts();
+        } catch (DataAccessException ex) {
+            logger.warn("Could not pre-load active discounts", ex);
+            return List.of();
+        }
+    }
+
+    /**
+     * Builds the loopback URIs for the configured paths and the popular product pages.
+     *
+     * @param products The popular products
+     * @return The URIs to request each round, empty when no web server is running
+     */
+    private List<URI> resolveUris(List<Product> products) {
+        if (!(applicationContext instanceof WebServerApplicationContext webContext)
+                || webContext.getWebServer() == null || webContext.getWebServer().getPort() <= 0) {
+            return List.of();
+        }
+        String base = "http://localhost:" + webContext.getWebServer().getPort() + contextPath;
+        List<URI> uris = new ArrayList<>();
+        paths.forEach(path -> uris.add(URI.create(base + path)));
+        products.forEach(product -> uris.add(URI.create(base + "/products/" + product.getId())));
+        return uris;
+    }
+
+    /**
+     * Runs one round of requests, token validations and cart pricing.
+     *
+     * @return The mean request latency of the round in milliseconds
+     */
+    private double runRound(HttpClient client, ExecutorService executor, List<URI> uris,
+                            List<Product> products, List<Discount> discounts) throws InterruptedException {
+        List<Future<Long>> futures = new ArrayList<>(uris.size());
+        for (URI uri : uris) {
+            futures.add(executor.submit(() -> request(client, uri)));
+        }
+
+        validateToken();
+        priceCart(products, discounts);
+
+        long totalNanos = 0;
+        for (Future<Long> future : futures) {
+            try {
+                totalNanos += future.get();
+            } catch (Exception ex) {
+                errors.incrementAndGet();
+            }
+        }
+        return futures.isEmpty() ? 0 : totalNanos / 1_000_000.0 / futures.size();
+    }
+
+    /**
+     * Sends a GET request to the local server.
+     *
+     * @return The request latency in nanoseconds
+     */
+    private long request(HttpClient client, URI uri) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMillis(requestTimeoutMs))
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        long elapsed = System.nanoTime() - start;
+        requests.incrementAndGet();
+        if (response.statusCode() >= 400) {
+            errors.incrementAndGet();
+        }
+        return elapsed;
+    }
+
+    /**
+     * Signs and validates a token for a synthetic user, exercising the JWT path of every
+     * authenticated request without touching the database.
+     */
+    private void validateToken() {
+        User user = User.createUser("Warm-up", WARMUP_EMAIL, "");
+        user.setId(0L);
+        UserPrincipal principal = UserPrincipal.create(user);
+        String token = tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        if (!tokenProvider.validateToken(token)) {
+            errors.incrementAndGet();
+        }
+        tokenProvider.getUsernameFromJWT(token);
+    }
+
+    /**
+     * Prices a transient cart of popular products and the order built from it, with each
+     * active discount applied in turn. Nothing is persisted.
+     */
+    private void priceCart(List<Product> products, List<Discount> discounts) {
+        if (products.isEmpty()) {
+            return;
+        }
+        Cart cart = new Cart();
+        for (int i = 0; i < Math.min(products.size(), 5); i++) {
+            cart.addItem(products.get(i), i + 1);
+        }
+        cart.calculateTotal();
+
+        Order order = Order.createFromCart(cart, null);
+        for (Discount discount : discounts) {
+            try {
+                order.applyDiscount(discount);
+            } catch (RuntimeException ex) {
+                logger.debug("Could not apply discount {} during warm-up", discount.getCode(), ex);
+            }
+        }
+    }
+
+    /**
+     * Reads the accumulated JIT compilation time, or 0 when the JVM does not report it.
+     *
+     * @return Compilation time in milliseconds
+     */
+    private static long compilationTimeMs() {
+        CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+        if (compilation == null || !compilation.isCompilationTimeMonitoringSupported()) {
+            return 0;
+        }
+        return compilation.getTotalCompilationTime();
+    }
+
+    /**
+     * Outcome of a warm-up run.
+     */
+    record WarmupReport(long durationMs, int rounds, long requests, long errors,
+                        double firstRoundMs, double lastRoundMs, long jitCompilationMs,
+                        int products, int discounts) {
+
+        /**
+         * Speed-up of the last round over the first, 1 when there were no requests.
+         *
+         * @return First-round latency divided by last-round latency
+         */
+        double speedup() {
+            return lastRoundMs > 0 ? firstRoundMs / lastRoundMs : 1.0;
+        }
+
+        /**
+         * Publishes the report as gauges.
+         *
+         * @param registry The registry to publish to
+         */
+        void register(MeterRegistry registry) {
+            TimeGauge.builder("shopease.warmup.duration", this, TimeUnit.MILLISECONDS, WarmupReport::durationMs)
+                    .description("Time spent warming up before reporting ready")
+                    .register(registry);
+            TimeGauge.builder("shopease.warmup.jit.compilation", this, TimeUnit.MILLISECONDS,
+                            WarmupReport::jitCompilationMs)
+                    .description("JIT compilation time spent during warm-up")
+                    .register(registry);
+            TimeGauge.builder("shopease.warmup.round.latency", this, TimeUnit.MILLISECONDS,
+                            WarmupReport::firstRoundMs)
+                    .tag("round", "first")
+                    .register(registry);
+            TimeGauge.builder("shopease.warmup.round.latency", this, TimeUnit.MILLISECONDS,
+                            WarmupReport::lastRoundMs)
+                    .tag("round", "last")
+                    .register(registry);
+            Gauge.builder("shopease.warmup.speedup", this, WarmupReport::speedup)
+                    .description("First-round latency divided by last-round latency")
+                    .register(registry);
+            Gauge.builder("shopease.warmup.rounds", this, WarmupReport::rounds).register(registry);
+            Gauge.builder("shopease.warmup.requests", this, WarmupReport::requests)
+                    .tag("outcome", "total")
+                    .register(registry);
+            Gauge.builder("shopease.warmup.requests", this, WarmupReport::errors)
+                    .tag("outcome", "error")
+                    .register(registry);
+            Gauge.builder("shopease.warmup.preloaded", this, WarmupReport::products)
+                    .tag("type", "products")
+                    .register(registry);
+            Gauge.builder("shopease.warmup.preloaded", this, WarmupReport::discounts)
+                    .tag("type", "discounts")
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+-- Incrementally maintained sales counters backing the best-sellers leaderboard
+
+-- All-time units sold per product
+CREATE TABLE product_sales_totals (
+                                      product_id BIGINT PRIMARY KEY REFERENCES products(id) ON DELETE CASCADE,
+                                      quantity_sold BIGINT NOT NULL DEFAULT 0,
+                                      updated_at TIMESTAMP NOT NULL
+);
+
+-- Units sold per product per hour, kept for the sliding windows
+CREATE TABLE product_sales_hourly (
+                                      product_id BIGINT NOT NULL REFERENCES products(id) ON DELETE CASCADE,
+                                      bucket_start TIMESTAMP NOT NULL,
+                                      quantity_sold BIGINT NOT NULL DEFAULT 0,
+                                      PRIMARY KEY (product_id, bucket_start)
+);
+
+-- Indexes
+CREATE INDEX idx_product_sales_hourly_bucket_start ON product_sales_hourly(bucket_start);
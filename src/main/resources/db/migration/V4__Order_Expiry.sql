@@ -0,0 +1,8 @@
+-- Expiry time for pending orders, after which their reserved stock is released
+
+ALTER TABLE orders ADD COLUMN expires_at TIMESTAMP;
+
+UPDATE orders SET expires_at = order_date + INTERVAL '30 minutes' WHERE status = 'PENDING';
+
+-- Partial index so the expiry sweep only ever touches pending orders
+CREATE INDEX idx_orders_pending_expires_at ON orders(expires_at) WHERE status = 'PENDING';
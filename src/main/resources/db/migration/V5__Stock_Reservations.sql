@@ -0,0 +1,13 @@
+-- Soft stock holds placed when items are added to a cart.
+-- Held in memory and flushed here periodically so they survive a restart.
+
+CREATE TABLE stock_reservations (
+                                    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+                                    product_id BIGINT NOT NULL REFERENCES products(id) ON DELETE CASCADE,
+                                    quantity INTEGER NOT NULL,
+                                    expires_at TIMESTAMP NOT NULL,
+                                    PRIMARY KEY (user_id, product_id)
+);
+
+-- Indexes
+CREATE INDEX idx_stock_reservations_expires_at ON stock_reservations(expires_at);
@@ -0,0 +1,10 @@
+-- Stock of hot products split across several counter rows, so concurrent checkouts
+-- update different rows instead of queueing on the product row.
+-- A product is sharded while it has rows here; its stock is the sum of its shards.
+
+CREATE TABLE product_stock_shards (
+                                      product_id BIGINT NOT NULL REFERENCES products(id) ON DELETE CASCADE,
+                                      shard INTEGER NOT NULL,
+                                      quantity INTEGER NOT NULL CHECK (quantity >= 0),
+                                      PRIMARY KEY (product_id, shard)
+);
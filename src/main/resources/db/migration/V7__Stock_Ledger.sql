@@ -0,0 +1,24 @@
+-- Append-only ledger of stock movements. Rows are never updated; a product's stock is its
+-- latest snapshot plus the movements after it. SET movements record an absolute stock level
+-- (product created or edited, stock counted), every other movement a change.
+
+CREATE TABLE stock_movements (
+                                 id BIGSERIAL PRIMARY KEY,
+                                 product_id BIGINT NOT NULL REFERENCES products(id) ON DELETE CASCADE,
+                                 movement_type VARCHAR(20) NOT NULL,
+                                 quantity INTEGER NOT NULL,
+                                 order_id BIGINT,
+                                 created_at TIMESTAMP NOT NULL
+);
+
+-- Stock per product as of a movement, so reads only sum the movements after it
+CREATE TABLE stock_snapshots (
+                                 product_id BIGINT PRIMARY KEY REFERENCES products(id) ON DELETE CASCADE,
+                                 quantity INTEGER NOT NULL,
+                                 last_movement_id BIGINT NOT NULL,
+                                 taken_at TIMESTAMP NOT NULL
+);
+
+-- Indexes
+CREATE INDEX idx_stock_movements_product_id ON stock_movements(product_id, id);
+CREATE INDEX idx_stock_movements_created_at ON stock_movements(created_at);
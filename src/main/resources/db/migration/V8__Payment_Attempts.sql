@@ -0,0 +1,4 @@
+-- Attempt number of a payment. A declined payment is retried as a new attempt, so it gets a
+-- new idempotency key at the gateway; a payment with an unknown outcome keeps its attempt.
+
+ALTER TABLE payment_records ADD COLUMN attempt INTEGER NOT NULL DEFAULT 1;
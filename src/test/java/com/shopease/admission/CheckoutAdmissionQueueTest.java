@@ -0,0 +1,132 @@
+package com.shopease.admission;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CheckoutAdmissionQueueTest {
+
+    private static final long HOT = 1L;
+    private static final long OTHER = 2L;
+
+    private Map<Long, Integer> capacities;
+    private CheckoutAdmissionQueue queue;
+
+    @BeforeEach
+    public void setup() {
+        capacities = new HashMap<>();
+        capacities.put(HOT, 2);
+        capacities.put(OTHER, 10);
+        queue = new CheckoutAdmissionQueue(productId -> capacities.getOrDefault(productId, 10));
+    }
+
+    @Test
+    public void testEnqueue_AdmitsUpToCapacityThenQueuesInOrder() {
+        // Act
+        AdmissionTicket first = queue.enqueue(1L, Set.of(HOT), 0);
+        AdmissionTicket second = queue.enqueue(2L, Set.of(HOT), 0);
+        AdmissionTicket third = queue.enqueue(3L, Set.of(HOT), 0);
+        AdmissionTicket fourth = queue.enqueue(4L, Set.of(HOT), 0);
+
+        // Assert
+        assertTrue(first.isAdmitted());
+        assertTrue(second.isAdmitted());
+        assertEquals(AdmissionTicket.Status.WAITING, third.getStatus());
+        assertEquals(1, queue.position(third));
+        assertEquals(2, queue.position(fourth));
+        assertEquals(2, queue.getWaitingCount());
+    }
+
+    @Test
+    public void testRelease_AdmitsNextInLine() {
+        // Arrange
+        AdmissionTicket first = queue.enqueue(1L, Set.of(HOT), 0);
+        queue.enqueue(2L, Set.of(HOT), 0);
+        AdmissionTicket third = queue.enqueue(3L, Set.of(HOT), 0);
+
+        // Act
+        queue.release(first, 10);
+
+        // Assert
+        assertTrue(third.isAdmitted());
+        assertEquals(10, third.getWaitNanos());
+        assertEquals(0, queue.position(third));
+    }
+
+    @Test
+    public void testEnqueue_ReturnsLiveTicketOfSameUser() {
+        // Arrange
+        AdmissionTicket ticket = queue.enqueue(1L, Set.of(HOT), 0);
+
+        // Act
+        AdmissionTicket again = queue.enqueue(1L, Set.of(HOT, OTHER), 5);
+
+        // Assert
+        assertSame(ticket, again);
+    }
+
+    @Test
+    public void testEnqueue_UncontendedProductIsNotHeldBackByHotLine() {
+        // Arrange
+        queue.enqueue(1L, Set.of(HOT), 0);
+        queue.enqueue(2L, Set.of(HOT), 0);
+        queue.enqueue(3L, Set.of(HOT), 0);
+
+        // Act
+        AdmissionTicket other = queue.enqueue(4L, Set.of(OTHER), 0);
+
+        // Assert
+        assertTrue(other.isAdmitted());
+    }
+
+    @Test
+    public void testEnqueue_SoldOutProductIsRejectedWithoutQueueing() {
+        // Arrange
+        capacities.put(HOT, 0);
+
+        // Act
+        AdmissionTicket ticket = queue.enqueue(1L, Set.of(HOT), 0);
+
+        // Assert
+        assertEquals(AdmissionTicket.Status.SOLD_OUT, ticket.getStatus());
+        assertTrue(queue.find(ticket.getId(), 0).isEmpty());
+    }
+
+    @Test
+    public void testFind_MarksWaitingTicketSoldOutWhenStockRunsOut() {
+        // Arrange
+        queue.enqueue(1L, Set.of(HOT), 0);
+        queue.enqueue(2L, Set.of(HOT), 0);
+        AdmissionTicket waiting = queue.enqueue(3L, Set.of(HOT), 0);
+        capacities.put(HOT, 0);
+
+        // Act
+        AdmissionTicket found = queue.find(waiting.getId(), 5).orElseThrow();
+
+        // Assert
+        assertEquals(AdmissionTicket.Status.SOLD_OUT, found.getStatus());
+        assertEquals(0, queue.getWaitingCount());
+    }
+
+    @Test
+    public void testExpire_DropsAbandonedTicketsAndPromotes() {
+        // Arrange
+        AdmissionTicket admitted = queue.enqueue(1L, Set.of(HOT), 0);
+        queue.enqueue(2L, Set.of(HOT), 100);
+        AdmissionTicket waiting = queue.enqueue(3L, Set.of(HOT), 0);
+        queue.find(waiting.getId(), 150);
+
+        // Act
+        List<AdmissionTicket> expired = queue.expire(200, 1_000, 150);
+
+        // Assert
+        assertEquals(List.of(admitted), expired);
+        assertTrue(waiting.isAdmitted());
+    }
+}
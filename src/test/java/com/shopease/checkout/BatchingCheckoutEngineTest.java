@@ -0,0 +1,277 @@
+package com.shopease.checkout;
+
+import com.shopease.exception.InvalidOrderException;
+import com.shopease.exception.ResourceNotFoundException;
+import com.shopease.metrics.BusinessMetrics;
+import com.shopease.model.Cart;
+import com.shopease.model.CartItem;
+import com.shopease.model.Order;
+import com.shopease.model.Product;
+import com.shopease.model.User;
+import com.shopease.repository.CartItemRepository;
+import com.shopease.repository.CartRepository;
+import com.shopease.repository.DiscountRepository;
+import com.shopease.repository.OrderRepository;
+import com.shopease.repository.ProductRepository;
+import com.shopease.service.LowStockService;
+import com.shopease.service.StockLedgerService;
+import com.shopease.service.OrderService;
+import com.shopease.service.StockReservationService;
+import com.shopease.service.StockShardService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BatchingCheckoutEngineTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private CartRepository cartRepository;
+
+    @Mock
+    private CartItemRepository cartItemRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private DiscountRepository discountRepository;
+
+    @Mock
+    private LowStockService lowStockService;
+
+    @Mock
+    private StockReservationService stockReservationService;
+
+    @Mock
+    private StockShardService stockShardService;
+
+    @Mock
+    private StockLedgerService stockLedgerService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BusinessMetrics businessMetrics;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BatchingCheckoutEngine engine;
+    private Product product;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        engine = new BatchingCheckoutEngine(orderService, cartRepository, cartItemRepository, productRepository,
+                orderRepository, discountRepository, lowStockService, stockReservationService, stockShardService,
+                stockLedgerService, eventPublisher, businessMetrics, meterRegistry, transactionManager);
+
+        product = new Product();
+        product.setId(1L);
+        product.setName("Limited Edition");
+        product.setPrice(new BigDecimal("49.99"));
+        product.setStockQuantity(3);
+        product.setStatus(Product.ProductStatus.ACTIVE);
+    }
+
+    @Test
+    public void testProcessBatch_ValidatesStockAcrossBatchAndUpdatesOncePerProduct() {
+        // Arrange
+        Cart first = cart(1L, 2);
+        Cart second = cart(2L, 2);
+        stubBatch(first, second);
+        BatchingCheckoutEngine.PendingCheckout firstCheckout = pending(1L);
+        BatchingCheckoutEngine.PendingCheckout secondCheckout = pending(2L);
+
+        // Act
+        engine.processBatch(List.of(firstCheckout, secondCheckout));
+
+        // Assert
+        Order order = firstCheckout.result().join().order();
+        assertEquals(1L, order.getUser().getId());
+        assertInstanceOf(InvalidOrderException.class, secondCheckout.result().join().failure());
+
+        assertEquals(1, product.getStockQuantity());
+        verify(orderRepository).saveAll(argThat(orders -> ((List<?>) orders).size() == 1));
+        verify(productRepository, times(1)).save(product);
+        verify(lowStockService).recordStockLevel(1L, 1);
+        verify(cartRepository).deleteAll(List.of(first));
+        verify(orderService, never()).createOrder(any(), any());
+    }
+
+    @Test
+    public void testProcessBatch_SameUserTwice_SecondCheckoutFindsNoCart() {
+        // Arrange
+        stubBatch(cart(1L, 1));
+        BatchingCheckoutEngine.PendingCheckout firstCheckout = pending(1L);
+        BatchingCheckoutEngine.PendingCheckout retry = pending(1L);
+
+        // Act
+        engine.processBatch(List.of(firstCheckout, retry));
+
+        // Assert
+        assertNotNull(firstCheckout.result().join().order());
+        assertInstanceOf(ResourceNotFoundException.class, retry.result().join().failure());
+        assertEquals(2, product.getStockQuantity());
+    }
+
+    @Test
+    public void testProcessBatch_TransactionFails_HandsCheckoutsBackWithoutRetryingThem() {
+        // Arrange
+        stubBatch(cart(1L, 1), cart(2L, 1));
+        when(orderRepository.saveAll(anyList())).thenThrow(new IllegalStateException("connection lost"));
+        BatchingCheckoutEngine.PendingCheckout firstCheckout = pending(1L);
+        BatchingCheckoutEngine.PendingCheckout secondCheckout = pending(2L);
+
+        // Act
+        engine.processBatch(List.of(firstCheckout, secondCheckout));
+
+        // Assert
+        assertTrue(firstCheckout.result().join().retryAlone());
+        assertTrue(secondCheckout.result().join().retryAlone());
+        verify(transactionManager).rollback(any());
+        verify(orderService, never()).createOrder(any(), any());
+    }
+
+    @Test
+    public void testCheckout_CountsUnderCountedTagKeys() {
+        // Arrange
+        stubBatch(cart(1L, 1));
+        engine.start();
+
+        // Act
+        Order order;
+        try {
+            order = engine.checkout(1L, null);
+        } finally {
+            engine.stop();
+        }
+
+        // Assert
+        assertNotNull(order);
+        Counter checkouts = meterRegistry.get(BusinessMetrics.CHECKOUTS).counter();
+        assertEquals(1.0, checkouts.count());
+        Set<String> tagKeys = new HashSet<>();
+        checkouts.getId().getTags().forEach(tag -> tagKeys.add(tag.getKey()));
+        assertEquals(Set.of("endpoint", "result", "exception"), tagKeys);
+        assertEquals("none", checkouts.getId().getTag("endpoint"));
+        assertEquals("success", checkouts.getId().getTag("result"));
+    }
+
+    @Test
+    public void testCheckout_TransactionFails_RetriesOnCallerThread() {
+        // Arrange
+        stubBatch(cart(1L, 1));
+        when(orderRepository.saveAll(anyList())).thenThrow(new IllegalStateException("connection lost"));
+        Order retried = new Order();
+        AtomicReference<Thread> retriedOn = new AtomicReference<>();
+        when(orderService.createOrder(1L, null)).thenAnswer(invocation -> {
+            retriedOn.set(Thread.currentThread());
+            return retried;
+        });
+        engine.start();
+
+        // Act
+        Order order;
+        try {
+            order = engine.checkout(1L, null);
+        } finally {
+            engine.stop();
+        }
+
+        // Assert
+        assertSame(retried, order);
+        assertSame(Thread.currentThread(), retriedOn.get());
+    }
+
+    @Test
+    public void testCheckout_NotPickedUpInTime_RetriesAlone() {
+        // Arrange
+        Order order = new Order();
+        when(orderService.createOrder(1L, null)).thenReturn(order);
+        // Running without a flusher, so nothing ever takes the checkout off the queue
+        ReflectionTestUtils.setField(engine, "running", true);
+        ReflectionTestUtils.setField(engine, "waitTimeoutMs", 50L);
+
+        // Act
+        Order result = engine.checkout(1L, null);
+
+        // Assert
+        assertSame(order, result);
+        verify(orderService).createOrder(1L, null);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testStop_HandsQueuedCheckoutsBackToTheirCallers() {
+        // Arrange
+        engine.start();
+        engine.stop();
+        // Queued after the flusher is gone, like a checkout that raced with shutdown
+        BatchingCheckoutEngine.PendingCheckout queued = pending(1L);
+        ((Queue<BatchingCheckoutEngine.PendingCheckout>) ReflectionTestUtils.getField(engine, "queue")).add(queued);
+
+        // Act
+        engine.stop();
+
+        // Assert
+        assertTrue(queued.result().join().retryAlone());
+        verify(orderService, never()).createOrder(any(), any());
+    }
+
+    private void stubBatch(Cart... carts) {
+        when(cartItemRepository.findProductIdsByUserIdIn(any())).thenReturn(List.of(product.getId()));
+        when(productRepository.findAllForUpdate(any())).thenReturn(List.of(product));
+        when(cartRepository.findWithItemsByUserIdIn(any())).thenReturn(List.of(carts));
+    }
+
+    private Cart cart(Long userId, int quantity) {
+        User user = new User();
+        user.setId(userId);
+
+        Cart cart = new Cart();
+        cart.setId(userId);
+        cart.setUser(user);
+
+        CartItem item = new CartItem();
+        item.setCart(cart);
+        item.setProduct(product);
+        item.setQuantity(quantity);
+        cart.setItems(new HashSet<>(Set.of(item)));
+        return cart;
+    }
+
+    private static BatchingCheckoutEngine.PendingCheckout pending(Long userId) {
+        return new BatchingCheckoutEngine.PendingCheckout(userId, null, new CompletableFuture<>());
+    }
+}
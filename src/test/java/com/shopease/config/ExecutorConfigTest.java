@@ -0,0 +1,35 @@
+package com.shopease.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExecutorConfigTest {
+
+    @Test
+    public void testVirtualThreadExecutor_RejectsBeyondLimitWithoutWaiting() throws Exception {
+        // Arrange
+        SimpleAsyncTaskExecutor executor = ExecutorConfig.virtualThreadExecutor("test-vt-", 1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> running = executor.submit(() -> {
+            release.await();
+            return null;
+        });
+
+        // Act
+        long start = System.nanoTime();
+        assertThrows(TaskRejectedException.class, () -> executor.execute(() -> { }));
+        long rejectedAfterMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        release.countDown();
+
+        // Assert
+        assertTrue(rejectedAfterMs < 1000);
+        assertNull(running.get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,95 @@
+package com.shopease.controller;
+
+import com.shopease.model.User;
+import com.shopease.repository.UserRepository;
+import com.shopease.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class ActuatorSecurityIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private String customerToken;
+    private String adminToken;
+
+    @BeforeEach
+    public void setup() {
+        customerToken = "Bearer " + jwtTokenProvider.generateToken(createUser("customer@example.com", User.Role.USER).getId());
+        adminToken = "Bearer " + jwtTokenProvider.generateToken(createUser("ops@example.com", User.Role.ADMIN).getId());
+    }
+
+    @Test
+    public void testResetSqlStats_Customer_Forbidden() throws Exception {
+        mockMvc.perform(delete("/actuator/sqlstats")
+                        .header("Authorization", customerToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    public void testResetSqlStats_Admin_Allowed() throws Exception {
+        mockMvc.perform(delete("/actuator/sqlstats")
+                        .header("Authorization", adminToken))
+                .andExpect(status().is2xxSuccessful());
+    }
+
+    @Test
+    public void testReadSqlStats_Customer_Allowed() throws Exception {
+        mockMvc.perform(get("/actuator/sqlstats")
+                        .header("Authorization", customerToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testHealth_Anonymous_Allowed() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    @Test
+    public void testReadinessProbe_Anonymous_Allowed() throws Exception {
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    @Test
+    public void testLivenessProbe_Anonymous_Allowed() throws Exception {
+        mockMvc.perform(get("/actuator/health/liveness"))
+                .andExpect(status().isOk());
+    }
+
+    private User createUser(String email, User.Role role) {
+        User user = new User();
+        user.setName("Actuator Test User");
+        user.setEmail(email);
+        user.setPassword(passwordEncoder.encode("password123"));
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+}
@@ -13,6 +13,7 @@ import com.shopease.repository.ProductRepository;
 import com.shopease.repository.UserRepository;
 import com.shopease.security.JwtTokenProvider;
 import com.shopease.service.CartService;
+import com.shopease.support.QueryBudget;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -97,12 +98,13 @@ public class CartControllerIntegrationTest {
                         .header("Authorization", jwtToken)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id").exists())
+                .andExpect(jsonPath("$.id").doesNotExist())
                 .andExpect(jsonPath("$.userId").value(testUser.getId()))
                 .andExpect(jsonPath("$.items").isArray())
                 .andExpect(jsonPath("$.items").isEmpty())
                 .andExpect(jsonPath("$.totalAmount").value(0))
-                .andExpect(jsonPath("$.itemCount").value(0));
+                .andExpect(jsonPath("$.itemCount").value(0))
+                .andExpect(QueryBudget.atMost(3)); // authenticated user lookup + cart lookup
     }
 
     @Test
@@ -152,7 +154,8 @@ public class CartControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.items", hasSize(1)))
                 .andExpect(jsonPath("$.items[0].quantity").value(5))
-                .andExpect(jsonPath("$.totalAmount").value(499.95)); // 99.99 * 5
+                .andExpect(jsonPath("$.totalAmount").value(499.95)) // 99.99 * 5
+                .andExpect(QueryBudget.noRepeatedStatements());
     }
 
     @Test
@@ -0,0 +1,49 @@
+package com.shopease.datagen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ZipfianDistributionTest {
+
+    @Test
+    public void testSampleRank_SkewedTowardsTopRanks() {
+        // Arrange
+        SplittableRandom random = new SplittableRandom(42);
+        ZipfianDistribution distribution = new ZipfianDistribution(1000, 1.0, random);
+        int[] counts = new int[1000];
+
+        // Act
+        for (int i = 0; i < 100_000; i++) {
+            counts[distribution.sampleRank(random)]++;
+        }
+
+        // Assert
+        // With exponent 1 over 1000 items, rank 0 gets about 13% of samples and rank 1 about half of that
+        assertTrue(counts[0] > 11_000 && counts[0] < 15_000);
+        assertTrue(counts[1] > counts[0] / 3 && counts[1] < counts[0]);
+        assertTrue(counts[999] < 100);
+    }
+
+    @Test
+    public void testSample_StaysWithinRange() {
+        // Arrange
+        SplittableRandom random = new SplittableRandom(7);
+        ZipfianDistribution distribution = new ZipfianDistribution(10, 1.2, random);
+
+        // Act & Assert
+        for (int i = 0; i < 10_000; i++) {
+            int item = distribution.sample(random);
+            assertTrue(item >= 0 && item < 10);
+        }
+    }
+
+    @Test
+    public void testConstructor_RejectsEmptyRange() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new ZipfianDistribution(0, 1.0, new SplittableRandom()));
+    }
+}
@@ -0,0 +1,115 @@
+package com.shopease.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BulkheadRoutingDataSourceTest {
+
+    @Mock
+    private DataSource storefront;
+
+    @Mock
+    private DataSource admin;
+
+    @Mock
+    private DataSource batch;
+
+    private BulkheadRoutingDataSource routing;
+
+    @BeforeEach
+    public void setup() {
+        routing = new BulkheadRoutingDataSource(Map.of(
+                BulkheadPool.STOREFRONT, storefront,
+                BulkheadPool.ADMIN, admin,
+                BulkheadPool.BATCH, batch));
+        routing.afterPropertiesSet();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        BulkheadContext.restore(null);
+    }
+
+    @Test
+    public void testDetermineLookupKey_DefaultsToStorefront() {
+        // Act & Assert
+        assertEquals(BulkheadPool.STOREFRONT, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    public void testAnnotatedMethod_UsesItsBulkheadAndRestoresPrevious() {
+        // Arrange
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Reports(routing));
+        factory.addAspect(new BulkheadAspect());
+        Reports reports = factory.getProxy();
+
+        // Act
+        Object insideKey = reports.export();
+        Object afterKey = routing.determineCurrentLookupKey();
+
+        // Assert
+        assertEquals(BulkheadPool.ADMIN, insideKey);
+        assertEquals(BulkheadPool.STOREFRONT, afterKey);
+    }
+
+    @Test
+    public void testAnnotatedClass_MethodAnnotationWins() {
+        // Arrange
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Jobs(routing));
+        factory.addAspect(new BulkheadAspect());
+        Jobs jobs = factory.getProxy();
+
+        // Act & Assert
+        assertEquals(BulkheadPool.BATCH, jobs.sweep());
+        assertEquals(BulkheadPool.ADMIN, jobs.report());
+    }
+
+    @Test
+    public void testConstructor_RequiresStorefrontPool() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new BulkheadRoutingDataSource(Map.of(BulkheadPool.ADMIN, admin)));
+    }
+
+    static class Reports {
+        private final BulkheadRoutingDataSource routing;
+
+        Reports(BulkheadRoutingDataSource routing) {
+            this.routing = routing;
+        }
+
+        @Bulkhead(BulkheadPool.ADMIN)
+        public Object export() {
+            return routing.determineCurrentLookupKey();
+        }
+    }
+
+    @Bulkhead(BulkheadPool.BATCH)
+    static class Jobs {
+        private final BulkheadRoutingDataSource routing;
+
+        Jobs(BulkheadRoutingDataSource routing) {
+            this.routing = routing;
+        }
+
+        public Object sweep() {
+            return routing.determineCurrentLookupKey();
+        }
+
+        @Bulkhead(BulkheadPool.ADMIN)
+        public Object report() {
+            return routing.determineCurrentLookupKey();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.shopease.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @AfterEach
+    public void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadYourWritesContext.clear();
+        BulkheadContext.restore(null);
+    }
+
+    @Test
+    public void testReadOnlyTransaction_RoutesToReplica() {
+        // Arrange
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica), 1000);
+        beginTransaction(true);
+
+        // Act & Assert
+        assertEquals("replica-0", routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    public void testWriteTransaction_RoutesToPrimaryAndPinsRequest() {
+        // Arrange
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica), 1000);
+        Runnable onFirstWrite = mock(Runnable.class);
+        ReadYourWritesContext.open(false, onFirstWrite);
+
+        // Act
+        beginTransaction(false);
+        Object writeKey = routing.determineCurrentLookupKey();
+        beginTransaction(true);
+        Object readKey = routing.determineCurrentLookupKey();
+
+        // Assert
+        assertEquals(ReplicaRoutingDataSource.PRIMARY_KEY, writeKey);
+        assertEquals(ReplicaRoutingDataSource.PRIMARY_KEY, readKey);
+        verify(onFirstWrite, times(1)).run();
+    }
+
+    @Test
+    public void testPinnedClient_ReadsFromPrimary() {
+        // Arrange
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica), 1000);
+        ReadYourWritesContext.open(true, () -> { });
+        beginTransaction(true);
+
+        // Act & Assert
+        assertEquals(ReplicaRoutingDataSource.PRIMARY_KEY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    public void testAdminReadOnlyTransaction_StaysOnPrimaryBulkhead() {
+        // Arrange
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica), 1000);
+        BulkheadContext.enter(BulkheadPool.ADMIN);
+        beginTransaction(true);
+
+        // Act & Assert
+        assertEquals(ReplicaRoutingDataSource.PRIMARY_KEY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    public void testCheckReplicaLag_LaggingReplicaFallsBackToPrimary() throws SQLException {
+        // Arrange
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica), 1000);
+        stubLagSeconds(2.5, true);
+        beginTransaction(true);
+
+        // Act
+        routing.checkReplicaLag();
+
+        // Assert
+        assertEquals(ReplicaRoutingDataSource.PRIMARY_KEY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    public void testCheckReplicaLag_UnreachableReplicaRecovers() throws SQLException {
+        // Arrange
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica), 1000);
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        beginTransaction(true);
+
+        // Act
+        routing.checkReplicaLag();
+        Object keyWhileDown = routing.determineCurrentLookupKey();
+        reset(replica);
+        stubLagSeconds(0.2, true);
+        routing.checkReplicaLag();
+        Object keyAfterRecovery = routing.determineCurrentLookupKey();
+
+        // Assert
+        assertEquals(ReplicaRoutingDataSource.PRIMARY_KEY, keyWhileDown);
+        assertEquals("replica-0", keyAfterRecovery);
+    }
+
+    @Test
+    public void testCheckReplicaLag_DisconnectedReplicaFallsBackToPrimary() throws SQLException {
+        // Arrange
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica), 1000);
+        // Replayed everything it received, so it reports no lag, but it no longer receives anything
+        stubLagSeconds(0, false);
+        beginTransaction(true);
+
+        // Act
+        routing.checkReplicaLag();
+
+        // Assert
+        assertEquals(ReplicaRoutingDataSource.PRIMARY_KEY, routing.determineCurrentLookupKey());
+    }
+
+    private void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private void stubLagSeconds(double lagSeconds, boolean streaming) throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(replica.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(lagSeconds);
+        when(resultSet.getBoolean(2)).thenReturn(streaming);
+    }
+}
@@ -0,0 +1,48 @@
+package com.shopease.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StockShardsTest {
+
+    @Test
+    public void testSplit_SpreadsRemainderOverFirstShards() {
+        // Act
+        int[] quantities = StockShards.split(10, 4);
+
+        // Assert
+        assertArrayEquals(new int[]{3, 3, 2, 2}, quantities);
+    }
+
+    @Test
+    public void testTake_DrainsFullestShardsFirst() {
+        // Act
+        int[] quantities = StockShards.take(new int[]{1, 4, 0, 2}, 5);
+
+        // Assert
+        assertArrayEquals(new int[]{1, 0, 0, 1}, quantities);
+    }
+
+    @Test
+    public void testTake_NotEnoughAcrossAllShards_ReturnsNull() {
+        // Arrange
+        int[] quantities = {1, 1, 1};
+
+        // Act
+        int[] result = StockShards.take(quantities, 4);
+
+        // Assert
+        assertNull(result);
+        assertArrayEquals(new int[]{1, 1, 1}, quantities);
+    }
+
+    @Test
+    public void testNeedsRebalance_OnlyWhenGapExceedsHalfAnEvenShare() {
+        // Assert
+        assertFalse(StockShards.needsRebalance(20, 30, 100, 4));
+        assertTrue(StockShards.needsRebalance(10, 30, 80, 4));
+        assertFalse(StockShards.needsRebalance(0, 50, 50, 1));
+        assertTrue(StockShards.needsRebalance(0, 2, 2, 2));
+    }
+}
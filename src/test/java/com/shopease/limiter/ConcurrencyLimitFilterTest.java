@@ -0,0 +1,98 @@
+package com.shopease.limiter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrencyLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimiter checkoutLimiter;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        checkoutLimiter = new ConcurrencyLimiter(EndpointGroup.CHECKOUT,
+                new GradientConcurrencyLimit(1, 1, 10, 2.0, 0.2, 0.9, 100), meterRegistry);
+        filter = new ConcurrencyLimitFilter(Map.of(EndpointGroup.CHECKOUT, checkoutLimiter),
+                new ObjectMapper().registerModule(new JavaTimeModule()), 2);
+    }
+
+    @Test
+    public void testDoFilter_RejectsOverLimitWithRetryAfter() throws Exception {
+        // Arrange
+        assertTrue(checkoutLimiter.tryAcquire());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("POST", "/orders"), response, new MockFilterChain());
+
+        // Assert
+        assertEquals(503, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertEquals(1.0, meterRegistry.get("shopease.concurrency.rejections")
+                .tag("group", "checkout").counter().count());
+    }
+
+    @Test
+    public void testDoFilter_ReleasesPermitAfterRequest() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("POST", "/orders/7/payment"), response, new MockFilterChain());
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertEquals(0, checkoutLimiter.getInflight());
+    }
+
+    @Test
+    public void testDoFilter_QueuedCheckoutIsNotSampled() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                response.setStatus(HttpServletResponse.SC_ACCEPTED);
+            }
+        });
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("POST", "/orders"), response, chain);
+
+        // Assert
+        assertEquals(202, response.getStatus());
+        assertEquals(0, checkoutLimiter.getInflight());
+        assertEquals(0.0, checkoutLimiter.getLongRttMillis());
+    }
+
+    @Test
+    public void testDoFilter_CatalogReadsAreNotLimited() throws Exception {
+        // Arrange
+        assertTrue(checkoutLimiter.tryAcquire());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/products"), response, chain);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertEquals(0, checkoutLimiter.getRejections());
+    }
+}
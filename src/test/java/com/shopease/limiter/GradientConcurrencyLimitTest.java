@@ -0,0 +1,70 @@
+package com.shopease.limiter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GradientConcurrencyLimitTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    public void testOnSample_GrowsWhileLatencyIsSteady() {
+        // Arrange
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(10, 2, 100, 2.0, 0.2, 0.9, 100);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(10 * MILLIS, limit.getLimit(), false);
+        }
+
+        // Assert
+        assertTrue(limit.getLimit() > 10);
+    }
+
+    @Test
+    public void testOnSample_ShrinksWhenLatencyClimbs() {
+        // Arrange
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(50, 2, 100, 2.0, 0.2, 0.9, 100);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(10 * MILLIS, 50, false);
+        }
+        int before = limit.getLimit();
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(200 * MILLIS, limit.getLimit(), false);
+        }
+
+        // Assert
+        assertTrue(limit.getLimit() < before);
+    }
+
+    @Test
+    public void testOnSample_DoesNotGrowWhenUnderused() {
+        // Arrange
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(40, 2, 100, 2.0, 0.2, 0.9, 100);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(10 * MILLIS, 3, false);
+        }
+
+        // Assert
+        assertEquals(40, limit.getLimit());
+    }
+
+    @Test
+    public void testOnSample_BacksOffOnDropsButNotBelowMinimum() {
+        // Arrange
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 5, 100, 2.0, 1.0, 0.5, 100);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(10 * MILLIS, 1, true);
+        }
+
+        // Assert
+        assertEquals(5, limit.getLimit());
+    }
+}
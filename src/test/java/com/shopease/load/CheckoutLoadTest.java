@@ -0,0 +1,292 @@
+package com.shopease.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopease.model.Product;
+import com.shopease.repository.ProductRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load test of the checkout funnel against an embedded PostgreSQL.
+ * Each virtual user registers, logs in, then repeatedly adds to cart, checks out and pays
+ * over real HTTP. Excluded from the default test task; run with ./gradlew loadTest.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.com.shopease=INFO",
+        "app.payment.simulated.latency-ms=20",
+        "app.payment.simulated.latency-jitter-ms=10",
+        "app.payment.simulated.failure-rate=0"
+})
+public class CheckoutLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CheckoutLoadTest.class);
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 50);
+    private static final int ITERATIONS = Integer.getInteger("loadtest.iterations", 20);
+    private static final int PRODUCTS = Integer.getInteger("loadtest.products", 10);
+
+    private static EmbeddedPostgres postgres;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private final Map<String, OperationStats> stats = new LinkedHashMap<>();
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> Math.max(10, USERS / 2));
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    public void checkoutFunnel() throws Exception {
+        for (String operation : List.of("register", "login", "addToCart", "checkout", "payment")) {
+            stats.put(operation, new OperationStats(operation));
+        }
+        List<Long> productIds = createProducts();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Measure statements per operation with a single user, free of interference
+        profileQueries(statistics, productIds.get(0));
+
+        // Measured phase
+        statistics.clear();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> users = new ArrayList<>();
+
+        for (int u = 0; u < USERS; u++) {
+            int userNumber = u;
+            users.add(executor.submit(() -> {
+                start.await();
+                runVirtualUser(userNumber, productIds);
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> user : users) {
+            user.get();
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        executor.shutdown();
+
+        report(statistics, elapsed);
+
+        long errors = 0;
+        for (OperationStats operation : stats.values()) {
+            errors += operation.errorCount();
+        }
+        assertTrue(errors < (long) USERS * ITERATIONS, "Every checkout attempt failed");
+    }
+
+    /**
+     * Runs the funnel for one virtual user.
+     *
+     * @param userNumber The virtual user number
+     * @param productIds The products to buy
+     */
+    private void runVirtualUser(int userNumber, List<Long> productIds) throws Exception {
+        String email = "load-" + userNumber + "-" + System.nanoTime() + "@example.com";
+        call("register", "POST", "/auth/register", null,
+                Map.of("name", "Load User " + userNumber, "email", email, "password", "password123"), 201);
+
+        JsonNode login = call("login", "POST", "/auth/login", null,
+                Map.of("email", email, "password", "password123"), 200);
+        if (login == null) {
+            return;
+        }
+        String token = login.get("accessToken").asText();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            Long productId = productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+            JsonNode cart = call("addToCart", "POST", "/cart", token,
+                    Map.of("productId", productId, "quantity", 1), 201);
+            if (cart == null) {
+                continue;
+            }
+
+            JsonNode order = call("checkout", "POST", "/orders", token, Map.of(), 201);
+            if (order == null) {
+                continue;
+            }
+
+            call("payment", "POST", "/orders/" + order.get("id").asLong() + "/payment", token, null, 200);
+        }
+    }
+
+    /**
+     * Runs the funnel once and records how many statements each operation issues.
+     *
+     * @param statistics The Hibernate statistics
+     * @param productId The product to buy
+     */
+    private void profileQueries(Statistics statistics, Long productId) throws Exception {
+        String email = "profile-" + System.nanoTime() + "@example.com";
+        OperationStats ignored = new OperationStats("profile");
+
+        statistics.clear();
+        send("POST", "/auth/register", null,
+                Map.of("name", "Profile User", "email", email, "password", "password123"), ignored, 201);
+        stats.get("register").setQueriesPerCall(statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        JsonNode login = send("POST", "/auth/login", null,
+                Map.of("email", email, "password", "password123"), ignored, 200);
+        stats.get("login").setQueriesPerCall(statistics.getPrepareStatementCount());
+        String token = login.get("accessToken").asText();
+
+        statistics.clear();
+        send("POST", "/cart", token, Map.of("productId", productId, "quantity", 1), ignored, 201);
+        stats.get("addToCart").setQueriesPerCall(statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        JsonNode order = send("POST", "/orders", token, Map.of(), ignored, 201);
+        stats.get("checkout").setQueriesPerCall(statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        send("POST", "/orders/" + order.get("id").asLong() + "/payment", token, null, ignored, 200);
+        stats.get("payment").setQueriesPerCall(statistics.getPrepareStatementCount());
+    }
+
+    private JsonNode call(String operation, String method, String path, String token,
+                          Object body, int expectedStatus) throws Exception {
+        return send(method, path, token, body, stats.get(operation), expectedStatus);
+    }
+
+    /**
+     * Sends one request and records its latency.
+     *
+     * @return The response body, or null if the status was not the expected one
+     */
+    private JsonNode send(String method, String path, String token, Object body,
+                          OperationStats operation, int expectedStatus) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api" + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .method(method, body != null
+                        ? HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body))
+                        : HttpRequest.BodyPublishers.noBody());
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+
+        long startedAt = System.nanoTime();
+        HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        long latency = System.nanoTime() - startedAt;
+
+        boolean successful = response.statusCode() == expectedStatus;
+        operation.record(latency, successful);
+        return successful ? objectMapper.readTree(response.body()) : null;
+    }
+
+    /**
+     * Creates the products bought during the test, with enough stock for every iteration.
+     *
+     * @return The product IDs
+     */
+    private List<Long> createProducts() {
+        List<Long> productIds = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product();
+            product.setName("Load Product " + i + " " + System.nanoTime());
+            product.setDescription("Product used by the checkout load test");
+            product.setPrice(new BigDecimal("19.99"));
+            product.setStockQuantity(USERS * ITERATIONS * 2 + 10);
+            product.setCategory("LoadTest");
+            productIds.add(productRepository.save(product).getId());
+        }
+        return productIds;
+    }
+
+    /**
+     * Logs the report and writes it to build/reports/load-test so runs can be compared.
+     *
+     * @param statistics The Hibernate statistics for the measured phase
+     * @param elapsedNanos The duration of the measured phase
+     */
+    private void report(Statistics statistics, long elapsedNanos) throws IOException {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Checkout load test: %d users x %d iterations over %d products in %.1f s%n",
+                USERS, ITERATIONS, PRODUCTS, elapsedNanos / 1_000_000_000.0));
+        report.append(OperationStats.header()).append(System.lineSeparator());
+        for (OperationStats operation : stats.values()) {
+            report.append(operation.format(elapsedNanos)).append(System.lineSeparator());
+        }
+        report.append(String.format("Hibernate statements: %d, transactions: %d, optimistic lock failures: %d%n",
+                statistics.getPrepareStatementCount(),
+                statistics.getTransactionCount(),
+                statistics.getOptimisticFailureCount()));
+
+        logger.info("{}{}", System.lineSeparator(), report);
+
+        Path directory = Paths.get("build", "reports", "load-test");
+        Files.createDirectories(directory);
+        String timestamp = LocalDateTime.now().toString().replace(':', '-');
+        Files.writeString(directory.resolve("checkout-" + timestamp + ".txt"), report.toString());
+    }
+}
@@ -0,0 +1,190 @@
+package com.shopease.load;
+
+import com.shopease.model.User;
+import com.shopease.repository.UserRepository;
+import com.shopease.security.JwtTokenProvider;
+import com.shopease.security.UserPrincipal;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures throughput with a large number of concurrent connections, each issuing
+ * authenticated reads back to back. Subclasses boot the application with platform or
+ * virtual request threads so the two modes can be compared on the same workload.
+ */
+abstract class ConnectionScalingLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionScalingLoadTest.class);
+
+    private static final int CONNECTIONS = Integer.getInteger("loadtest.connections", 2000);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration-seconds", 30);
+
+    private static EmbeddedPostgres postgres;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) throws IOException {
+        if (postgres == null) {
+            postgres = EmbeddedPostgres.builder().start();
+        }
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+            postgres = null;
+        }
+    }
+
+    /**
+     * Gets the name of the threading mode under test, used in the report.
+     *
+     * @return The mode name
+     */
+    protected abstract String mode();
+
+    @Test
+    public void concurrentConnections() throws Exception {
+        List<String> tokens = createUsers();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        OperationStats stats = new OperationStats(mode());
+
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong deadline = new AtomicLong();
+        List<Future<?>> clients = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String token : tokens) {
+                clients.add(executor.submit(() -> {
+                    start.await();
+                    runClient(httpClient, token, deadline.get(), stats);
+                    return null;
+                }));
+            }
+
+            long startedAt = System.nanoTime();
+            deadline.set(startedAt + Duration.ofSeconds(DURATION_SECONDS).toNanos());
+            start.countDown();
+            for (Future<?> client : clients) {
+                client.get();
+            }
+            report(stats, System.nanoTime() - startedAt);
+        }
+
+        assertTrue(stats.errorCount() < stats.callCount(), "Every request failed");
+    }
+
+    /**
+     * Issues requests on one connection until the deadline.
+     */
+    private void runClient(HttpClient httpClient, String token, long deadline, OperationStats stats) {
+        String[] paths = {"/products?page=0&size=20", "/orders?page=0&size=10"};
+        int request = 0;
+
+        while (System.nanoTime() < deadline) {
+            HttpRequest httpRequest = HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + port + "/api" + paths[request++ % paths.length]))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build();
+
+            long startedAt = System.nanoTime();
+            boolean successful;
+            try {
+                successful = httpClient.send(httpRequest, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+            } catch (IOException e) {
+                successful = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            stats.record(System.nanoTime() - startedAt, successful);
+        }
+    }
+
+    /**
+     * Creates one user per connection and issues a token for each.
+     *
+     * @return The tokens
+     */
+    private List<String> createUsers() {
+        String passwordHash = passwordEncoder.encode("password123");
+        String runId = String.valueOf(System.nanoTime());
+        List<User> users = new ArrayList<>(CONNECTIONS);
+
+        for (int i = 0; i < CONNECTIONS; i++) {
+            User user = new User();
+            user.setName("Connection User " + i);
+            user.setEmail("conn-" + runId + "-" + i + "@example.com");
+            user.setPassword(passwordHash);
+            user.setRole(User.Role.USER);
+            users.add(user);
+        }
+
+        List<String> tokens = new ArrayList<>(CONNECTIONS);
+        for (User user : userRepository.saveAll(users)) {
+            UserPrincipal principal = UserPrincipal.create(user);
+            tokens.add(tokenProvider.generateToken(
+                    new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities())));
+        }
+        return tokens;
+    }
+
+    private void report(OperationStats stats, long elapsedNanos) throws IOException {
+        String report = String.format("Connection scaling: %d connections for %d s%n%s%n%s%n",
+                CONNECTIONS, DURATION_SECONDS, OperationStats.header(), stats.format(elapsedNanos));
+        logger.info("{}{}", System.lineSeparator(), report);
+
+        Path directory = Paths.get("build", "reports", "load-test");
+        Files.createDirectories(directory);
+        String timestamp = LocalDateTime.now().toString().replace(':', '-');
+        Files.writeString(directory.resolve("connections-" + mode() + "-" + timestamp + ".txt"), report);
+    }
+}
@@ -0,0 +1,108 @@
+package com.shopease.load;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency and error statistics for one operation of the load test.
+ */
+class OperationStats {
+
+    private final String name;
+    private final ConcurrentLinkedQueue<Long> latenciesNanos = new ConcurrentLinkedQueue<>();
+    private final AtomicLong errors = new AtomicLong();
+    private volatile long queriesPerCall = -1;
+
+    OperationStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records one call.
+     *
+     * @param latencyNanos The call latency in nanoseconds
+     * @param successful Whether the call returned the expected status
+     */
+    void record(long latencyNanos, boolean successful) {
+        latenciesNanos.add(latencyNanos);
+        if (!successful) {
+            errors.incrementAndGet();
+        }
+    }
+
+    /**
+     * Sets the number of SQL statements a single call issues, measured in isolation.
+     *
+     * @param queriesPerCall The statement count
+     */
+    void setQueriesPerCall(long queriesPerCall) {
+        this.queriesPerCall = queriesPerCall;
+    }
+
+    /**
+     * Returns the number of recorded calls.
+     *
+     * @return The call count
+     */
+    long callCount() {
+        return latenciesNanos.size();
+    }
+
+    /**
+     * Returns the number of calls that did not return the expected status.
+     *
+     * @return The error count
+     */
+    long errorCount() {
+        return errors.get();
+    }
+
+    /**
+     * Formats the statistics as one line of the report.
+     *
+     * @param elapsedNanos The duration of the measured phase
+     * @return The formatted line
+     */
+    String format(long elapsedNanos) {
+        List<Long> sorted = new ArrayList<>(latenciesNanos);
+        Collections.sort(sorted);
+        double seconds = elapsedNanos / 1_000_000_000.0;
+
+        return String.format("%-10s %8d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %8s",
+                name,
+                sorted.size(),
+                errors.get(),
+                sorted.size() / seconds,
+                millis(percentile(sorted, 0.50)),
+                millis(percentile(sorted, 0.90)),
+                millis(percentile(sorted, 0.99)),
+                millis(sorted.isEmpty() ? 0 : sorted.get(sorted.size() - 1)),
+                queriesPerCall >= 0 ? String.valueOf(queriesPerCall) : "-");
+    }
+
+    /**
+     * Returns the header line matching {@link #format(long)}.
+     *
+     * @return The header line
+     */
+    static String header() {
+        return String.format("%-10s %8s %8s %10s %9s %9s %9s %9s %8s",
+                "operation", "calls", "errors", "ops/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "queries");
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
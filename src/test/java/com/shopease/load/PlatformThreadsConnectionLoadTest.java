@@ -0,0 +1,22 @@
+package com.shopease.load;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Connection scaling with Tomcat's platform worker pool.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.threads.virtual.enabled=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.com.shopease=INFO"
+})
+public class PlatformThreadsConnectionLoadTest extends ConnectionScalingLoadTest {
+
+    @Override
+    protected String mode() {
+        return "platform";
+    }
+}
@@ -0,0 +1,206 @@
+package com.shopease.load;
+
+import com.shopease.dto.request.AddToCartRequest;
+import com.shopease.model.Product;
+import com.shopease.model.User;
+import com.shopease.repository.ProductRepository;
+import com.shopease.repository.UserRepository;
+import com.shopease.service.CartService;
+import com.shopease.service.OrderService;
+import com.shopease.service.StockShardService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares checkouts of a single hot product with its stock on the product row, in one shard
+ * and split across several shards. Every checkout buys one unit of the same product at the same
+ * moment, so the only difference between the runs is how many rows they contend on.
+ */
+@Tag("load")
+@SpringBootTest(properties = {
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.com.shopease=INFO"
+})
+public class StockShardContentionLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockShardContentionLoadTest.class);
+
+    private static final int CHECKOUTS = Integer.getInteger("loadtest.checkouts", 256);
+    private static final int SHARDS = Integer.getInteger("loadtest.shards", 16);
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private StockShardService stockShardService;
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> 64);
+        registry.add("spring.datasource.hikari.connection-timeout", () -> 60000);
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    public void hotProductCheckouts() throws Exception {
+        List<String> lines = new ArrayList<>();
+        long errors = 0;
+
+        for (int shards : new int[]{0, 1, SHARDS}) {
+            String name = shards == 0 ? "unsharded" : shards == 1 ? "1 shard" : shards + " shards";
+            OperationStats stats = new OperationStats(name);
+            long elapsed = runCheckouts(shards, stats);
+            lines.add(stats.format(elapsed));
+            errors += stats.errorCount();
+        }
+
+        report(lines);
+        assertTrue(errors < 3L * CHECKOUTS, "Every checkout failed");
+    }
+
+    /**
+     * Fills one cart per checkout with the same product, then checks all carts out at once.
+     *
+     * @param shards The number of shards, or 0 to keep the stock on the product row
+     * @param stats The statistics to record into
+     * @return The duration of the checkouts
+     */
+    private long runCheckouts(int shards, OperationStats stats) throws Exception {
+        Long productId = createProduct();
+        if (shards > 0) {
+            stockShardService.configure(productId, shards);
+        }
+        List<Long> userIds = createUsersWithCarts(productId);
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> checkouts = new ArrayList<>(userIds.size());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Long userId : userIds) {
+                checkouts.add(executor.submit(() -> {
+                    start.await();
+                    long startedAt = System.nanoTime();
+                    boolean successful;
+                    try {
+                        orderService.createOrder(userId, null);
+                        successful = true;
+                    } catch (RuntimeException e) {
+                        successful = false;
+                    }
+                    stats.record(System.nanoTime() - startedAt, successful);
+                    return null;
+                }));
+            }
+
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> checkout : checkouts) {
+                checkout.get();
+            }
+            return System.nanoTime() - startedAt;
+        }
+    }
+
+    /**
+     * Creates the hot product with exactly one unit per checkout.
+     *
+     * @return The product ID
+     */
+    private Long createProduct() {
+        Product product = new Product();
+        product.setName("Hot Product " + System.nanoTime());
+        product.setDescription("Product used by the stock shard contention test");
+        product.setPrice(new BigDecimal("9.99"));
+        product.setStockQuantity(CHECKOUTS);
+        product.setCategory("LoadTest");
+        return productRepository.save(product).getId();
+    }
+
+    /**
+     * Creates one user per checkout, each with one unit of the product in their cart.
+     *
+     * @param productId The product ID
+     * @return The user IDs
+     */
+    private List<Long> createUsersWithCarts(Long productId) {
+        String runId = String.valueOf(System.nanoTime());
+        List<User> users = new ArrayList<>(CHECKOUTS);
+        for (int i = 0; i < CHECKOUTS; i++) {
+            User user = new User();
+            user.setName("Hot Product User " + i);
+            user.setEmail("hot-" + runId + "-" + i + "@example.com");
+            user.setPassword("not-used");
+            user.setRole(User.Role.USER);
+            users.add(user);
+        }
+
+        AddToCartRequest request = new AddToCartRequest();
+        request.setProductId(productId);
+        request.setQuantity(1);
+
+        List<Long> userIds = new ArrayList<>(CHECKOUTS);
+        for (User user : userRepository.saveAll(users)) {
+            cartService.addItemToCart(user.getId(), request);
+            userIds.add(user.getId());
+        }
+        return userIds;
+    }
+
+    private void report(List<String> lines) throws IOException {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Hot product checkouts: %d concurrent checkouts of one product%n", CHECKOUTS));
+        report.append(OperationStats.header()).append(System.lineSeparator());
+        lines.forEach(line -> report.append(line).append(System.lineSeparator()));
+        logger.info("{}{}", System.lineSeparator(), report);
+
+        Path directory = Paths.get("build", "reports", "load-test");
+        Files.createDirectories(directory);
+        String timestamp = LocalDateTime.now().toString().replace(':', '-');
+        Files.writeString(directory.resolve("stock-shards-" + timestamp + ".txt"), report.toString());
+    }
+}
@@ -0,0 +1,23 @@
+package com.shopease.load;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Connection scaling with a virtual thread per request and the pinning monitor enabled.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.threads.virtual.enabled=true",
+        "app.threads.virtual.pinning-monitor.enabled=true",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.com.shopease=INFO"
+})
+public class VirtualThreadsConnectionLoadTest extends ConnectionScalingLoadTest {
+
+    @Override
+    protected String mode() {
+        return "virtual";
+    }
+}
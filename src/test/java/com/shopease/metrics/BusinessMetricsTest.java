@@ -0,0 +1,60 @@
+package com.shopease.metrics;
+
+import com.shopease.model.PaymentRecord;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BusinessMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BusinessMetrics businessMetrics;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        businessMetrics = new BusinessMetrics(meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void testRecordPayment_TagsRoutePatternAndOutcome() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/orders/42/payment");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/orders/{orderId}/payment");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // Act
+        businessMetrics.recordPayment(PaymentRecord.PaymentStatus.FAILED);
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get(BusinessMetrics.PAYMENTS)
+                .tag("endpoint", "POST /orders/{orderId}/payment")
+                .tag("outcome", "failed")
+                .counter().count());
+    }
+
+    @Test
+    public void testRecordDiscountRedemption_OutsideRequest() {
+        // Act
+        businessMetrics.recordDiscountRedemption("redeemed");
+        businessMetrics.recordDiscountRedemption("redeemed");
+
+        // Assert
+        assertEquals(2.0, meterRegistry.get(BusinessMetrics.DISCOUNT_REDEMPTIONS)
+                .tag("endpoint", BusinessMetrics.NO_ENDPOINT)
+                .tag("outcome", "redeemed")
+                .counter().count());
+    }
+}
@@ -0,0 +1,41 @@
+package com.shopease.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SqlStatsTest {
+
+    @Test
+    public void testRecordStatement_FlagsRepeatedStatementOnce() {
+        // Arrange
+        SqlStats stats = new SqlStats(3);
+        String itemQuery = "select * from order_items where order_id=?";
+
+        // Act
+        boolean[] flagged = new boolean[5];
+        for (int i = 0; i < flagged.length; i++) {
+            flagged[i] = stats.recordStatement(itemQuery, 1_000_000);
+        }
+        stats.recordStatement("select * from orders where id=?", 1_000_000);
+
+        // Assert
+        assertArrayEquals(new boolean[]{false, false, true, false, false}, flagged);
+        assertEquals(List.of(itemQuery), stats.getRepeatedStatements());
+        assertEquals(6, stats.getStatements());
+        assertEquals(6.0, stats.getDbMillis(), 0.001);
+    }
+
+    @Test
+    public void testToServerTiming() {
+        // Arrange
+        SqlStats stats = new SqlStats(5);
+        stats.recordStatement("select 1", 2_500_000);
+        stats.addRows(4);
+
+        // Act & Assert
+        assertEquals("db;dur=2.5;desc=\"1 queries, 4 rows\"", stats.toServerTiming());
+    }
+}
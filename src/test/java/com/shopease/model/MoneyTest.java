@@ -0,0 +1,52 @@
+package com.shopease.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoneyTest {
+
+    @Test
+    public void testOf_RoundsHalfUpToCents() {
+        // Act & Assert
+        assertEquals(1000, Money.of(new BigDecimal("9.995")).cents());
+        assertEquals(999, Money.of(new BigDecimal("9.994")).cents());
+        assertEquals(new BigDecimal("9.99"), Money.ofCents(999).toBigDecimal());
+    }
+
+    @Test
+    public void testPercentage_RoundsHalfUp() {
+        // Arrange
+        Money amount = Money.ofCents(19998); // 199.98
+
+        // Act & Assert
+        assertEquals(3000, amount.percentage(1500).cents()); // 29.997 -> 30.00
+        assertEquals(2500, amount.percentage(1250).cents()); // 24.9975 -> 25.00
+        assertEquals(-3000, Money.ofCents(-19998).percentage(1500).cents());
+    }
+
+    @Test
+    public void testCalculateDiscount_AppliesFractionalPercentageExactly() {
+        // Arrange
+        Discount discount = new Discount();
+        discount.setPercentage(new BigDecimal("12.5"));
+        discount.setStartDate(LocalDateTime.now().minusDays(1));
+        discount.setExpiryDate(LocalDateTime.now().plusDays(1));
+
+        // Act
+        BigDecimal result = discount.calculateDiscount(new BigDecimal("100.00"));
+
+        // Assert
+        // The percentage used to be rounded to 0.13 before multiplying, giving 13.00
+        assertEquals(new BigDecimal("12.50"), result);
+    }
+
+    @Test
+    public void testTimes_DetectsOverflow() {
+        // Act & Assert
+        assertThrows(ArithmeticException.class, () -> Money.ofCents(Long.MAX_VALUE / 2).times(3));
+    }
+}
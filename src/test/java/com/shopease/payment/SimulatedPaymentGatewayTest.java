@@ -0,0 +1,53 @@
+package com.shopease.payment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimulatedPaymentGatewayTest {
+
+    private SimulatedPaymentGateway gateway;
+
+    @BeforeEach
+    public void setup() {
+        gateway = new SimulatedPaymentGateway();
+        ReflectionTestUtils.setField(gateway, "latencyMs", 0L);
+        ReflectionTestUtils.setField(gateway, "latencyJitterMs", 0L);
+    }
+
+    @Test
+    public void testCharge_SameKey_ReturnsOriginalOutcome() {
+        // Arrange
+        ReflectionTestUtils.setField(gateway, "failureRate", 0.0);
+        PaymentGatewayResult first = gateway.charge(1L, new BigDecimal("49.99"), "payment-7-1");
+
+        // Act
+        PaymentGatewayResult retry = gateway.charge(1L, new BigDecimal("49.99"), "payment-7-1");
+        PaymentGatewayResult nextAttempt = gateway.charge(1L, new BigDecimal("49.99"), "payment-7-2");
+
+        // Assert
+        assertTrue(first.isSuccessful());
+        assertSame(first, retry);
+        assertNotEquals(first.getTransactionReference(), nextAttempt.getTransactionReference());
+    }
+
+    @Test
+    public void testCharge_DeclinedKey_StaysDeclined() {
+        // Arrange
+        ReflectionTestUtils.setField(gateway, "failureRate", 1.0);
+        gateway.charge(1L, new BigDecimal("49.99"), "payment-7-1");
+        ReflectionTestUtils.setField(gateway, "failureRate", 0.0);
+
+        // Act
+        PaymentGatewayResult retry = gateway.charge(1L, new BigDecimal("49.99"), "payment-7-1");
+        PaymentGatewayResult nextAttempt = gateway.charge(1L, new BigDecimal("49.99"), "payment-7-2");
+
+        // Assert
+        assertFalse(retry.isSuccessful());
+        assertTrue(nextAttempt.isSuccessful());
+    }
+}
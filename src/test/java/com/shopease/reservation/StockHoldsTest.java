@@ -0,0 +1,119 @@
+package com.shopease.reservation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StockHoldsTest {
+
+    private static final long PRODUCT = 7L;
+
+    private StockHolds holds;
+
+    @BeforeEach
+    public void setup() {
+        holds = new StockHolds();
+    }
+
+    @Test
+    public void testHold_RespectsUnitsHeldByOtherUsers() {
+        // Act
+        boolean first = holds.hold(1L, PRODUCT, 3, 5, 1000);
+        boolean second = holds.hold(2L, PRODUCT, 3, 5, 1000);
+        boolean smaller = holds.hold(2L, PRODUCT, 2, 5, 1000);
+
+        // Assert
+        assertTrue(first);
+        assertFalse(second);
+        assertTrue(smaller);
+        assertEquals(5, holds.getReserved(PRODUCT));
+        assertEquals(3, holds.getReservedByOthers(2L, PRODUCT));
+    }
+
+    @Test
+    public void testHold_ReplacesOwnHoldInsteadOfAdding() {
+        // Arrange
+        holds.hold(1L, PRODUCT, 3, 5, 1000);
+
+        // Act
+        boolean raised = holds.hold(1L, PRODUCT, 5, 5, 1000);
+
+        // Assert
+        assertTrue(raised);
+        assertEquals(5, holds.getReserved(PRODUCT));
+        assertEquals(1, holds.size());
+    }
+
+    @Test
+    public void testExpire_DropsOnlyLapsedHoldsAndRenewKeepsThemAlive() {
+        // Arrange
+        holds.hold(1L, PRODUCT, 2, 10, 1000);
+        holds.hold(2L, PRODUCT, 3, 10, 1000);
+        holds.renew(2L, 5000);
+
+        // Act
+        int expired = holds.expire(2000);
+
+        // Assert
+        assertEquals(1, expired);
+        assertEquals(0, holds.getHeld(1L, PRODUCT));
+        assertEquals(3, holds.getReserved(PRODUCT));
+    }
+
+    @Test
+    public void testReleaseAll_ReturnsUnitsAndIsRecordedAsDelete() {
+        // Arrange
+        holds.hold(1L, PRODUCT, 2, 10, 1000);
+        holds.hold(1L, 8L, 1, 10, 1000);
+        holds.drainChanges();
+
+        // Act
+        int released = holds.releaseAll(1L);
+        StockHolds.Changes changes = holds.drainChanges();
+
+        // Assert
+        assertEquals(2, released);
+        assertEquals(0, holds.getReserved(PRODUCT));
+        assertTrue(changes.upserted().isEmpty());
+        assertEquals(2, changes.deleted().size());
+        assertTrue(holds.drainChanges().isEmpty());
+    }
+
+    @Test
+    public void testLoad_SkipsLapsedHoldsAndKeepsNewerOnes() {
+        // Arrange
+        holds.hold(1L, PRODUCT, 4, 10, 5000);
+
+        // Act
+        holds.load(List.of(
+                new StockHold(1L, PRODUCT, 1, 5000),
+                new StockHold(2L, PRODUCT, 2, 5000),
+                new StockHold(3L, PRODUCT, 3, 100)), 1000);
+
+        // Assert
+        assertEquals(4, holds.getHeld(1L, PRODUCT));
+        assertEquals(6, holds.getReserved(PRODUCT));
+        assertEquals(2, holds.size());
+    }
+
+    @Test
+    public void testRevert_RestoresPreviousQuantityUnlessChangedAgain() {
+        // Arrange
+        holds.hold(1L, PRODUCT, 2, 10, 1000);
+        holds.hold(1L, PRODUCT, 5, 10, 1000);
+        holds.hold(2L, PRODUCT, 1, 10, 1000);
+
+        // Act
+        holds.revert(1L, PRODUCT, 5, 2, 1000);
+        holds.revert(2L, PRODUCT, 3, 0, 1000);
+
+        // Assert
+        assertEquals(2, holds.getHeld(1L, PRODUCT));
+        assertEquals(1, holds.getHeld(2L, PRODUCT));
+        assertEquals(3, holds.getReserved(PRODUCT));
+        assertEquals(2, holds.size());
+    }
+}
@@ -0,0 +1,118 @@
+package com.shopease.service;
+
+import com.shopease.dto.response.BestSellerResponse;
+import com.shopease.model.Order;
+import com.shopease.model.OrderItem;
+import com.shopease.model.Product;
+import com.shopease.repository.ProductRepository;
+import com.shopease.repository.ProductSalesRepository;
+import com.shopease.service.impl.BestSellerServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BestSellerServiceTest {
+
+    @Mock
+    private ProductSalesRepository productSalesRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BestSellerServiceImpl bestSellerService;
+
+    private Product phone;
+    private Product laptop;
+
+    @BeforeEach
+    public void setup() {
+        bestSellerService = new BestSellerServiceImpl(productSalesRepository, productRepository, transactionManager);
+
+        phone = product(1L, "Smartphone X");
+        laptop = product(2L, "Laptop Pro");
+    }
+
+    @Test
+    public void testGetBestSellers_RankedByQuantity() {
+        // Arrange
+        bestSellerService.recordCompletedOrder(order(item(phone, 2), item(laptop, 5)));
+        bestSellerService.recordCompletedOrder(order(item(phone, 1)));
+
+        when(productSalesRepository.findAllTotals()).thenReturn(new HashMap<>());
+        when(productSalesRepository.findHourlySince(any())).thenReturn(new HashMap<>());
+        when(productRepository.findAllById(anyList())).thenReturn(Arrays.asList(phone, laptop));
+
+        // Act
+        bestSellerService.synchronize();
+        List<BestSellerResponse> result = bestSellerService.getBestSellers(BestSellerService.SalesWindow.LAST_24_HOURS, 10);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(laptop.getId(), result.get(0).getProductId());
+        assertEquals(5, result.get(0).getQuantitySold());
+        assertEquals(1, result.get(0).getRank());
+        assertEquals(phone.getId(), result.get(1).getProductId());
+        assertEquals(3, result.get(1).getQuantitySold());
+
+        verify(productSalesRepository).addToTotals(Map.of(1L, 3L, 2L, 5L));
+    }
+
+    @Test
+    public void testGetBestSellers_IncludesPersistedCounters() {
+        // Arrange
+        when(productSalesRepository.findAllTotals()).thenReturn(new HashMap<>(Map.of(1L, 100L, 2L, 40L)));
+        when(productSalesRepository.findHourlySince(any())).thenReturn(new HashMap<>());
+        when(productRepository.findAllById(anyList())).thenReturn(Collections.singletonList(phone));
+
+        // Act
+        bestSellerService.synchronize();
+        List<BestSellerResponse> result = bestSellerService.getBestSellers(BestSellerService.SalesWindow.ALL_TIME, 1);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(phone.getId(), result.get(0).getProductId());
+        assertEquals(100, result.get(0).getQuantitySold());
+        assertTrue(bestSellerService.getBestSellers(BestSellerService.SalesWindow.LAST_7_DAYS, 10).isEmpty());
+
+        verify(productSalesRepository, never()).addToTotals(any());
+    }
+
+    private Product product(Long id, String name) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setPrice(new BigDecimal("99.99"));
+        product.setCategory("Electronics");
+        return product;
+    }
+
+    private OrderItem item(Product product, int quantity) {
+        OrderItem item = new OrderItem();
+        item.setProduct(product);
+        item.setQuantity(quantity);
+        item.setPrice(product.getPrice());
+        return item;
+    }
+
+    private Order order(OrderItem... items) {
+        Order order = new Order();
+        order.setStatus(Order.OrderStatus.COMPLETED);
+        order.setItems(new HashSet<>(Arrays.asList(items)));
+        return order;
+    }
+}
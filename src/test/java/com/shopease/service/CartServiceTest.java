@@ -49,6 +49,9 @@ public class CartServiceTest {
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
+    @Mock
+    private StockReservationService stockReservationService;
+
     @InjectMocks
     private CartServiceImpl cartService;
 
@@ -310,7 +313,7 @@ public class CartServiceTest {
     @Test
     public void testGetCartResponse_Success() {
         // Arrange
-        when(cartService.getOrCreateCart(userId)).thenReturn(cart);
+        when(cartRepository.findByUserId(userId)).thenReturn(Optional.of(cart));
 
         // Act
         CartResponse result = cartService.getCartResponse(userId);
@@ -323,6 +326,23 @@ public class CartServiceTest {
         assertEquals(new BigDecimal("199.98"), result.getTotalAmount()); // 99.99 * 2
     }
 
+    @Test
+    public void testGetCartResponse_NoCart() {
+        // Arrange
+        when(cartRepository.findByUserId(userId)).thenReturn(Optional.empty());
+
+        // Act
+        CartResponse result = cartService.getCartResponse(userId);
+
+        // Assert
+        assertNotNull(result);
+        assertNull(result.getId());
+        assertEquals(userId, result.getUserId());
+        assertTrue(result.getItems().isEmpty());
+        assertEquals(0, BigDecimal.ZERO.compareTo(result.getTotalAmount()));
+        verify(cartRepository, never()).save(any(Cart.class));
+    }
+
     @Test
     public void testCleanupExpiredCarts() {
         // Arrange
@@ -0,0 +1,108 @@
+package com.shopease.service;
+
+import com.shopease.admission.AdmissionTicket;
+import com.shopease.exception.InsufficientStockException;
+import com.shopease.repository.CartItemRepository;
+import com.shopease.repository.ProductRepository;
+import com.shopease.repository.projection.ProductStockLevel;
+import com.shopease.service.impl.CheckoutAdmissionServiceImpl;
+import com.shopease.service.impl.LowStockServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CheckoutAdmissionServiceTest {
+
+    @Mock
+    private CartItemRepository cartItemRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LowStockService lowStockService;
+    private CheckoutAdmissionServiceImpl checkoutAdmissionService;
+
+    @BeforeEach
+    public void setup() {
+        lowStockService = new LowStockServiceImpl(productRepository, eventPublisher);
+        checkoutAdmissionService = new CheckoutAdmissionServiceImpl(cartItemRepository, productRepository,
+                lowStockService, new SimpleMeterRegistry(), transactionManager);
+
+        when(cartItemRepository.findProductIdsByUserId(1L)).thenReturn(List.of(10L));
+    }
+
+    @Test
+    public void testRequestAdmission_IndexBehindDatabase_AdmitsAndCorrectsIndex() {
+        // Arrange
+        lowStockService.recordStockLevel(10L, 0);
+        when(productRepository.findCurrentStockLevels(any())).thenReturn(List.of(stockLevel(10L, 4)));
+
+        // Act
+        AdmissionTicket ticket = checkoutAdmissionService.requestAdmission(1L, null);
+
+        // Assert
+        assertTrue(ticket.isAdmitted());
+        assertEquals(4, lowStockService.findStockLevel(10L).getAsInt());
+    }
+
+    @Test
+    public void testRequestAdmission_SoldOutInDatabase_RejectsAndSkipsRecheck() {
+        // Arrange
+        lowStockService.recordStockLevel(10L, 0);
+        when(cartItemRepository.findProductIdsByUserId(2L)).thenReturn(List.of(10L));
+        when(productRepository.findCurrentStockLevels(any())).thenReturn(List.of(stockLevel(10L, 0)));
+
+        // Act & Assert
+        assertThrows(InsufficientStockException.class, () -> checkoutAdmissionService.requestAdmission(1L, null));
+        assertThrows(InsufficientStockException.class, () -> checkoutAdmissionService.requestAdmission(2L, null));
+
+        // Confirmed once, then trusted until the recheck interval passes
+        verify(productRepository, times(1)).findCurrentStockLevels(Collections.singleton(10L));
+    }
+
+    @Test
+    public void testRequestAdmission_InStock_DoesNotQueryDatabase() {
+        // Arrange
+        lowStockService.recordStockLevel(10L, 3);
+
+        // Act
+        AdmissionTicket ticket = checkoutAdmissionService.requestAdmission(1L, null);
+
+        // Assert
+        assertTrue(ticket.isAdmitted());
+        verify(productRepository, never()).findCurrentStockLevels(any());
+    }
+
+    private ProductStockLevel stockLevel(Long id, int stockQuantity) {
+        return new ProductStockLevel() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Integer getStockQuantity() {
+                return stockQuantity;
+            }
+        };
+    }
+}
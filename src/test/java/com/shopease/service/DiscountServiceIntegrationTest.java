@@ -0,0 +1,60 @@
+package com.shopease.service;
+
+import com.shopease.dto.request.DiscountRequest;
+import com.shopease.model.Discount;
+import com.shopease.repository.DiscountRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class DiscountServiceIntegrationTest {
+
+    @Autowired
+    private DiscountService discountService;
+
+    @Autowired
+    private DiscountRepository discountRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    public void testUpdateDiscount_ChangesCode() {
+        // Arrange
+        Discount discount = new Discount();
+        discount.setCode("SPRING10");
+        discount.setPercentage(new BigDecimal("10.00"));
+        discount.setStartDate(LocalDateTime.now().minusDays(1));
+        discount.setExpiryDate(LocalDateTime.now().plusDays(30));
+        discount.setMaxUsage(100);
+        discount.setCurrentUsage(0);
+        discount = discountRepository.saveAndFlush(discount);
+
+        DiscountRequest request = new DiscountRequest();
+        request.setCode("SUMMER15");
+        request.setPercentage(new BigDecimal("15.00"));
+        request.setStartDate(discount.getStartDate());
+        request.setExpiryDate(discount.getExpiryDate());
+        request.setMaxUsage(100);
+
+        // Act
+        discountService.updateDiscount(discount.getId(), request);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        assertTrue(discountRepository.findByCode("SUMMER15").isPresent());
+        assertFalse(discountRepository.findByCode("SPRING10").isPresent());
+    }
+}
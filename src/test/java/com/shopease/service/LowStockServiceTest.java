@@ -0,0 +1,138 @@
+package com.shopease.service;
+
+import com.shopease.event.StockThresholdCrossedEvent;
+import com.shopease.repository.ProductRepository;
+import com.shopease.repository.projection.ProductStockLevel;
+import com.shopease.service.impl.LowStockServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LowStockServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private LowStockServiceImpl lowStockService;
+
+    @BeforeEach
+    public void setup() {
+        when(productRepository.findAllStockLevels()).thenReturn(Arrays.asList(
+                stockLevel(1L, 50),
+                stockLevel(2L, 3),
+                stockLevel(3L, 0),
+                stockLevel(4L, 5)));
+
+        lowStockService.rebuild();
+    }
+
+    @Test
+    public void testFindProductIdsWithStockAtMost_OrderedByStock() {
+        // Act
+        List<Long> result = lowStockService.findProductIdsWithStockAtMost(5);
+
+        // Assert
+        assertEquals(Arrays.asList(3L, 2L, 4L), result);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    public void testRecordStockLevel_CrossingBelowThresholdPublishesEvent() {
+        // Act
+        lowStockService.recordStockLevel(1L, 2);
+
+        // Assert
+        assertEquals(Arrays.asList(3L, 1L, 2L, 4L), lowStockService.findProductIdsWithStockAtMost(5));
+
+        ArgumentCaptor<StockThresholdCrossedEvent> captor = ArgumentCaptor.forClass(StockThresholdCrossedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(1L, captor.getValue().getProductId());
+        assertTrue(captor.getValue().isLowStock());
+    }
+
+    @Test
+    public void testRecordStockLevel_NoCrossingPublishesNothing() {
+        // Act
+        lowStockService.recordStockLevel(1L, 40);
+
+        // Assert
+        assertFalse(lowStockService.findProductIdsWithStockAtMost(5).contains(1L));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    public void testRebuild_RemovesDeletedProducts() {
+        // Arrange
+        when(productRepository.findAllStockLevels()).thenReturn(Collections.singletonList(stockLevel(2L, 3)));
+
+        // Act
+        lowStockService.rebuild();
+
+        // Assert
+        assertEquals(Collections.singletonList(2L), lowStockService.findProductIdsWithStockAtMost(100));
+    }
+
+    @Test
+    public void testRebuild_KeepsUpdatesMadeDuringSnapshot() {
+        // Arrange
+        when(productRepository.findAllStockLevels()).thenAnswer(invocation -> {
+            // Committed after the snapshot was read, so the snapshot still has the old level
+            lowStockService.recordStockLevel(1L, 2);
+            return Arrays.asList(stockLevel(1L, 50), stockLevel(2L, 3));
+        });
+
+        // Act
+        lowStockService.rebuild();
+
+        // Assert
+        assertEquals(2, lowStockService.findStockLevel(1L).getAsInt());
+        assertEquals(Arrays.asList(1L, 2L), lowStockService.findProductIdsWithStockAtMost(5));
+    }
+
+    @Test
+    public void testRebuild_DoesNotRestoreProductRemovedDuringSnapshot() {
+        // Arrange
+        when(productRepository.findAllStockLevels()).thenAnswer(invocation -> {
+            lowStockService.removeProduct(2L);
+            return Arrays.asList(stockLevel(1L, 50), stockLevel(2L, 3));
+        });
+
+        // Act
+        lowStockService.rebuild();
+
+        // Assert
+        assertFalse(lowStockService.findStockLevel(2L).isPresent());
+    }
+
+    private ProductStockLevel stockLevel(Long id, int stockQuantity) {
+        return new ProductStockLevel() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Integer getStockQuantity() {
+                return stockQuantity;
+            }
+        };
+    }
+}
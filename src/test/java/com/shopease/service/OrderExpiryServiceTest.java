@@ -0,0 +1,153 @@
+package com.shopease.service;
+
+import com.shopease.dto.request.StockAdjustmentRequest;
+import com.shopease.event.OrderCancelledEvent;
+import com.shopease.inventory.StockMovement;
+import com.shopease.model.Order;
+import com.shopease.model.User;
+import com.shopease.repository.OrderRepository;
+import com.shopease.repository.PaymentRepository;
+import com.shopease.repository.ProductRepository;
+import com.shopease.service.impl.OrderExpiryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderExpiryServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private LowStockService lowStockService;
+
+    @Mock
+    private StockShardService stockShardService;
+
+    @Mock
+    private StockLedgerService stockLedgerService;
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderExpiryServiceImpl orderExpiryService;
+
+    @BeforeEach
+    public void setup() {
+        orderExpiryService = new OrderExpiryServiceImpl(
+                orderRepository, paymentRepository, productRepository, lowStockService, stockShardService,
+                stockLedgerService, orderService, eventPublisher, transactionManager);
+    }
+
+    @Test
+    public void testExpirePendingOrders_RestoresAggregatedStock() {
+        // Arrange
+        List<Long> orderIds = Arrays.asList(10L, 11L);
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(1L, 5);
+        quantities.put(2L, 1);
+
+        when(orderRepository.cancelExpiredPendingOrders(any(), anyInt())).thenReturn(orderIds);
+        when(orderRepository.sumItemQuantitiesByProduct(orderIds)).thenReturn(quantities);
+        when(stockShardService.applyToShards(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(productRepository.applyStockAdjustments(anyList())).thenReturn(Map.of(1L, 15, 2L, 3));
+        when(orderRepository.findAllById(orderIds)).thenReturn(Arrays.asList(order(10L), order(11L)));
+
+        // Act
+        int expired = orderExpiryService.expirePendingOrders();
+
+        // Assert
+        assertEquals(2, expired);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<StockAdjustmentRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(productRepository).applyStockAdjustments(captor.capture());
+        List<StockAdjustmentRequest> adjustments = captor.getValue();
+        assertEquals(2, adjustments.size());
+        assertEquals(1L, adjustments.get(0).getProductId());
+        assertEquals(5, adjustments.get(0).getStockDelta());
+        assertNull(adjustments.get(0).getStockQuantity());
+
+        verify(lowStockService).recordStockLevel(1L, 15);
+        verify(lowStockService).recordStockLevel(2L, 3);
+        verify(stockLedgerService).record(1L, StockMovement.Type.EXPIRY, 5, null);
+        verify(stockLedgerService).record(2L, StockMovement.Type.EXPIRY, 1, null);
+        verify(eventPublisher, times(2)).publishEvent(any(OrderCancelledEvent.class));
+    }
+
+    @Test
+    public void testExpirePendingOrders_NothingExpired() {
+        // Arrange
+        when(orderRepository.cancelExpiredPendingOrders(any(), anyInt())).thenReturn(Collections.emptyList());
+
+        // Act
+        int expired = orderExpiryService.expirePendingOrders();
+
+        // Assert
+        assertEquals(0, expired);
+        verify(orderRepository).cancelExpiredPendingOrders(any(), anyInt());
+        verify(productRepository, never()).applyStockAdjustments(anyList());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    public void testExpirePendingOrders_RetriesUnresolvedPaymentsFirst() {
+        // Arrange
+        Order completed = order(20L);
+        completed.setStatus(Order.OrderStatus.COMPLETED);
+
+        when(paymentRepository.findExpiredOrderIdsWithUnresolvedPayment(any(), any(), any()))
+                .thenReturn(Arrays.asList(20L, 21L));
+        when(orderService.processPayment(20L)).thenReturn(completed);
+        when(orderService.processPayment(21L)).thenThrow(new IllegalStateException("Gateway unavailable"));
+        when(orderRepository.cancelExpiredPendingOrders(any(), anyInt())).thenReturn(Collections.emptyList());
+
+        // Act
+        int expired = orderExpiryService.expirePendingOrders();
+
+        // Assert
+        assertEquals(0, expired);
+        InOrder inOrder = inOrder(orderService, orderRepository);
+        inOrder.verify(orderService).processPayment(20L);
+        inOrder.verify(orderService).processPayment(21L);
+        inOrder.verify(orderRepository).cancelExpiredPendingOrders(any(), anyInt());
+    }
+
+    private Order order(Long id) {
+        User user = new User();
+        user.setId(1L);
+
+        Order order = new Order();
+        order.setId(id);
+        order.setUser(user);
+        order.setStatus(Order.OrderStatus.CANCELLED);
+        return order;
+    }
+}
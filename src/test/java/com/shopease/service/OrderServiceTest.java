@@ -9,7 +9,10 @@ import com.shopease.exception.InvalidDiscountException;
 import com.shopease.exception.InvalidOrderException;
 import com.shopease.exception.InvalidOrderStateException;
 import com.shopease.exception.ResourceNotFoundException;
+import com.shopease.inventory.StockMovement;
+import com.shopease.metrics.BusinessMetrics;
 import com.shopease.model.*;
+import com.shopease.payment.PaymentGatewayResult;
 import com.shopease.repository.*;
 import com.shopease.service.impl.OrderServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,6 +25,9 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -52,9 +58,27 @@ public class OrderServiceTest {
     @Mock
     private PaymentService paymentService;
 
+    @Mock
+    private LowStockService lowStockService;
+
+    @Mock
+    private StockReservationService stockReservationService;
+
+    @Mock
+    private StockShardService stockShardService;
+
+    @Mock
+    private StockLedgerService stockLedgerService;
+
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
+    @Mock
+    private BusinessMetrics businessMetrics;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -178,6 +202,31 @@ public class OrderServiceTest {
         verify(productRepository).save(product);
         verify(eventPublisher).publishEvent(any(OrderCreatedEvent.class));
         verify(cartRepository).delete(cart);
+        verify(businessMetrics).recordDiscountRedemption("redeemed");
+    }
+
+    @Test
+    public void testCreateOrder_WithDiscount_CountsRedemptionOnlyOnCommit() {
+        // Arrange
+        String discountCode = "TEST10";
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(cartRepository.findByUser(user)).thenReturn(Optional.of(cart));
+        when(discountRepository.findByCode(discountCode)).thenReturn(Optional.of(discount));
+        when(orderRepository.save(any(Order.class))).thenReturn(order);
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            // Act
+            orderService.createOrder(userId, discountCode);
+            verify(businessMetrics, never()).recordDiscountRedemption("redeemed");
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            // Assert
+            verify(businessMetrics).recordDiscountRedemption("redeemed");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
     @Test
@@ -216,6 +265,27 @@ public class OrderServiceTest {
         verify(orderRepository, never()).save(any(Order.class));
     }
 
+    @Test
+    public void testCreateOrder_ShardedProduct_TakesFromShards() {
+        // Arrange
+        product.setStockQuantity(0); // Stale copy; the shards hold the stock
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(cartRepository.findByUser(user)).thenReturn(Optional.of(cart));
+        when(stockShardService.isSharded(productId)).thenReturn(true);
+        when(stockShardService.getStockQuantity(productId)).thenReturn(5);
+        when(orderRepository.save(any(Order.class))).thenReturn(order);
+
+        // Act
+        Order result = orderService.createOrder(userId, null);
+
+        // Assert
+        assertEquals(order, result);
+        verify(stockShardService).take(product, 2);
+        verify(productRepository, never()).save(any(Product.class));
+        verify(lowStockService, never()).recordStockLevel(any(), anyInt());
+    }
+
     @Test
     public void testCreateOrder_InvalidDiscount() {
         // Arrange
@@ -234,14 +304,22 @@ public class OrderServiceTest {
         verify(userRepository).findById(userId);
         verify(cartRepository).findByUser(user);
         verify(discountRepository).findByCode(discountCode);
+        verify(businessMetrics).recordDiscountRedemption("invalid");
         verify(orderRepository, never()).save(any(Order.class));
     }
 
     @Test
     public void testProcessPayment_Success() {
         // Arrange
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-        when(paymentService.processPayment(order)).thenReturn(true);
+        PaymentRecord paymentRecord = PaymentRecord.createPaymentRecord(order);
+        paymentRecord.setId(1L);
+        PaymentGatewayResult gatewayResult = PaymentGatewayResult.success("TX-12345678");
+
+        when(orderRepository.findForUpdateById(orderId)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(order));
+        when(paymentService.initiatePayment(order)).thenReturn(paymentRecord);
+        when(paymentService.charge(paymentRecord)).thenReturn(gatewayResult);
+        when(paymentService.completePayment(1L, gatewayResult)).thenReturn(true);
         when(orderRepository.save(any(Order.class))).thenReturn(order);
         doNothing().when(eventPublisher).publishEvent(any(OrderCompletedEvent.class));
 
@@ -252,45 +330,74 @@ public class OrderServiceTest {
         assertNotNull(result);
         assertEquals(Order.OrderStatus.COMPLETED, result.getStatus());
 
-        verify(orderRepository).findById(orderId);
-        verify(paymentService).processPayment(order);
+        verify(orderRepository, times(2)).findForUpdateById(orderId);
+        verify(orderRepository).findWithItemsById(orderId);
+        verify(paymentService).initiatePayment(order);
+        verify(paymentService).charge(paymentRecord);
+        verify(paymentService).completePayment(1L, gatewayResult);
         verify(orderRepository).save(order);
         verify(eventPublisher).publishEvent(any(OrderCompletedEvent.class));
     }
 
+    @Test
+    public void testProcessPayment_Declined() {
+        // Arrange
+        PaymentRecord paymentRecord = PaymentRecord.createPaymentRecord(order);
+        paymentRecord.setId(1L);
+        PaymentGatewayResult gatewayResult = PaymentGatewayResult.failure("Payment declined");
+
+        when(orderRepository.findForUpdateById(orderId)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(order));
+        when(paymentService.initiatePayment(order)).thenReturn(paymentRecord);
+        when(paymentService.charge(paymentRecord)).thenReturn(gatewayResult);
+        when(paymentService.completePayment(1L, gatewayResult)).thenReturn(false);
+
+        // Act
+        Order result = orderService.processPayment(orderId);
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(Order.OrderStatus.PENDING, result.getStatus());
+
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(eventPublisher, never()).publishEvent(any(OrderCompletedEvent.class));
+    }
+
     @Test
     public void testProcessPayment_OrderNotFound() {
         // Arrange
-        when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+        when(orderRepository.findForUpdateById(orderId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> {
             orderService.processPayment(orderId);
         });
 
-        verify(orderRepository).findById(orderId);
-        verify(paymentService, never()).processPayment(any(Order.class));
+        verify(orderRepository).findForUpdateById(orderId);
+        verify(paymentService, never()).initiatePayment(any(Order.class));
+        verify(paymentService, never()).charge(any(PaymentRecord.class));
     }
 
     @Test
     public void testProcessPayment_NotPendingOrder() {
         // Arrange
         order.setStatus(Order.OrderStatus.COMPLETED);
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+        when(orderRepository.findForUpdateById(orderId)).thenReturn(Optional.of(order));
 
         // Act & Assert
         assertThrows(InvalidOrderStateException.class, () -> {
             orderService.processPayment(orderId);
         });
 
-        verify(orderRepository).findById(orderId);
-        verify(paymentService, never()).processPayment(any(Order.class));
+        verify(orderRepository).findForUpdateById(orderId);
+        verify(paymentService, never()).initiatePayment(any(Order.class));
+        verify(paymentService, never()).charge(any(PaymentRecord.class));
     }
 
     @Test
     public void testCancelOrder_Success() {
         // Arrange
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+        when(orderRepository.findForUpdateById(orderId)).thenReturn(Optional.of(order));
         when(orderRepository.save(any(Order.class))).thenReturn(order);
         doNothing().when(eventPublisher).publishEvent(any(OrderCancelledEvent.class));
 
@@ -301,7 +408,8 @@ public class OrderServiceTest {
         assertNotNull(result);
         assertEquals(Order.OrderStatus.CANCELLED, result.getStatus());
 
-        verify(orderRepository).findById(orderId);
+        verify(orderRepository).findForUpdateById(orderId);
+        verify(stockLedgerService).record(productId, StockMovement.Type.CANCEL, 2, orderId);
         verify(productRepository).save(product);
         verify(orderRepository).save(order);
         verify(eventPublisher).publishEvent(any(OrderCancelledEvent.class));
@@ -310,14 +418,14 @@ public class OrderServiceTest {
     @Test
     public void testCancelOrder_OrderNotFound() {
         // Arrange
-        when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+        when(orderRepository.findForUpdateById(orderId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> {
             orderService.cancelOrder(orderId);
         });
 
-        verify(orderRepository).findById(orderId);
+        verify(orderRepository).findForUpdateById(orderId);
         verify(productRepository, never()).save(any(Product.class));
     }
 
@@ -325,15 +433,31 @@ public class OrderServiceTest {
     public void testCancelOrder_NotPendingOrder() {
         // Arrange
         order.setStatus(Order.OrderStatus.COMPLETED);
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+        when(orderRepository.findForUpdateById(orderId)).thenReturn(Optional.of(order));
+
+        // Act & Assert
+        assertThrows(InvalidOrderStateException.class, () -> {
+            orderService.cancelOrder(orderId);
+        });
+
+        verify(orderRepository).findForUpdateById(orderId);
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    public void testCancelOrder_PaymentInProgress() {
+        // Arrange
+        when(orderRepository.findForUpdateById(orderId)).thenReturn(Optional.of(order));
+        when(paymentService.isPaymentInProgress(orderId)).thenReturn(true);
 
         // Act & Assert
         assertThrows(InvalidOrderStateException.class, () -> {
             orderService.cancelOrder(orderId);
         });
 
-        verify(orderRepository).findById(orderId);
+        verify(stockLedgerService, never()).record(any(), any(), anyInt(), any());
         verify(productRepository, never()).save(any(Product.class));
+        verify(orderRepository, never()).save(any(Order.class));
     }
 
     @Test
@@ -0,0 +1,201 @@
+package com.shopease.service;
+
+import com.shopease.metrics.BusinessMetrics;
+import com.shopease.model.Order;
+import com.shopease.model.PaymentRecord;
+import com.shopease.payment.PaymentGateway;
+import com.shopease.payment.PaymentGatewayResult;
+import com.shopease.repository.PaymentRepository;
+import com.shopease.service.impl.PaymentServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PaymentServiceTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private PaymentGateway paymentGateway;
+
+    @Mock
+    private BusinessMetrics businessMetrics;
+
+    private ExecutorService gatewayExecutor;
+    private PaymentRecord paymentRecord;
+
+    @BeforeEach
+    public void setup() {
+        gatewayExecutor = Executors.newSingleThreadExecutor();
+
+        Order order = new Order();
+        order.setId(1L);
+        order.setFinalPrice(new BigDecimal("49.99"));
+
+        paymentRecord = PaymentRecord.createPaymentRecord(order);
+        paymentRecord.setId(7L);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        gatewayExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testCharge_Timeout_ReportsUnknownOutcomeAndInterruptsCall() throws InterruptedException {
+        // Arrange
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(paymentGateway.charge(eq(1L), any(), anyString())).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return PaymentGatewayResult.success("TX-LATE");
+        });
+        PaymentServiceImpl paymentService = paymentService(gatewayExecutor);
+        ReflectionTestUtils.setField(paymentService, "gatewayTimeoutMs", 50L);
+
+        // Act
+        PaymentGatewayResult result = paymentService.charge(paymentRecord);
+
+        // Assert
+        assertFalse(result.isSuccessful());
+        assertTrue(result.isOutcomeUnknown());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCharge_ExecutorSaturated_FailsWithoutCallingGateway() {
+        // Arrange
+        PaymentServiceImpl paymentService = paymentService(command -> {
+            throw new RejectedExecutionException("Saturated");
+        });
+
+        // Act
+        PaymentGatewayResult result = paymentService.charge(paymentRecord);
+
+        // Assert
+        assertFalse(result.isSuccessful());
+        assertFalse(result.isOutcomeUnknown());
+        assertEquals("Payment gateway is busy", result.getFailureReason());
+        verify(paymentGateway, never()).charge(any(), any(), anyString());
+    }
+
+    @Test
+    public void testCharge_Retry_ReusesIdempotencyKey() {
+        // Arrange
+        when(paymentGateway.charge(eq(1L), any(), anyString()))
+                .thenReturn(PaymentGatewayResult.unknown("Connection reset"))
+                .thenReturn(PaymentGatewayResult.success("TX-1"));
+        PaymentServiceImpl paymentService = paymentService(Runnable::run);
+
+        // Act
+        paymentService.charge(paymentRecord);
+        paymentRecord.markPending();
+        PaymentGatewayResult retry = paymentService.charge(paymentRecord);
+
+        // Assert
+        assertTrue(retry.isSuccessful());
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        verify(paymentGateway, times(2)).charge(eq(1L), any(), keys.capture());
+        List<String> idempotencyKeys = keys.getAllValues();
+        assertEquals("payment-7-1", idempotencyKeys.get(0));
+        assertEquals(idempotencyKeys.get(0), idempotencyKeys.get(1));
+    }
+
+    @Test
+    public void testCharge_RetryAfterDecline_UsesNewIdempotencyKey() {
+        // Arrange
+        when(paymentGateway.charge(eq(1L), any(), anyString()))
+                .thenReturn(PaymentGatewayResult.failure("Payment declined"))
+                .thenReturn(PaymentGatewayResult.success("TX-1"));
+        PaymentServiceImpl paymentService = paymentService(Runnable::run);
+
+        // Act
+        paymentService.charge(paymentRecord);
+        paymentRecord.markFailed();
+        paymentRecord.markPending();
+        PaymentGatewayResult retry = paymentService.charge(paymentRecord);
+
+        // Assert
+        assertTrue(retry.isSuccessful());
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        verify(paymentGateway, times(2)).charge(eq(1L), any(), keys.capture());
+        assertEquals(List.of("payment-7-1", "payment-7-2"), keys.getAllValues());
+    }
+
+    @Test
+    public void testCompletePayment_UnknownOutcome_LeavesPaymentPending() {
+        // Arrange
+        when(paymentRepository.findById(7L)).thenReturn(Optional.of(paymentRecord));
+        PaymentServiceImpl paymentService = paymentService(Runnable::run);
+
+        // Act
+        boolean successful = paymentService.completePayment(7L, PaymentGatewayResult.unknown("Payment gateway timed out"));
+
+        // Assert
+        assertFalse(successful);
+        assertEquals(PaymentRecord.PaymentStatus.PENDING, paymentRecord.getStatus());
+        verify(paymentRepository).save(paymentRecord);
+    }
+
+    @Test
+    public void testCompletePayment_Declined_MarksPaymentFailed() {
+        // Arrange
+        when(paymentRepository.findById(7L)).thenReturn(Optional.of(paymentRecord));
+        PaymentServiceImpl paymentService = paymentService(Runnable::run);
+
+        // Act
+        boolean successful = paymentService.completePayment(7L, PaymentGatewayResult.failure("Payment declined"));
+
+        // Assert
+        assertFalse(successful);
+        assertEquals(PaymentRecord.PaymentStatus.FAILED, paymentRecord.getStatus());
+        verify(businessMetrics).recordPayment(PaymentRecord.PaymentStatus.FAILED);
+    }
+
+    @Test
+    public void testCompletePayment_OrderNoLongerPending_MarksRefundPending() {
+        // Arrange
+        paymentRecord.getOrder().setStatus(Order.OrderStatus.CANCELLED);
+        when(paymentRepository.findById(7L)).thenReturn(Optional.of(paymentRecord));
+        PaymentServiceImpl paymentService = paymentService(Runnable::run);
+
+        // Act
+        boolean successful = paymentService.completePayment(7L, PaymentGatewayResult.success("TX-1"));
+
+        // Assert
+        assertFalse(successful);
+        assertEquals(PaymentRecord.PaymentStatus.REFUND_PENDING, paymentRecord.getStatus());
+        assertEquals("TX-1", paymentRecord.getTransactionReference());
+        verify(businessMetrics).recordPayment(PaymentRecord.PaymentStatus.REFUND_PENDING);
+    }
+
+    private PaymentServiceImpl paymentService(Executor executor) {
+        return new PaymentServiceImpl(paymentRepository, paymentGateway, executor, businessMetrics);
+    }
+}
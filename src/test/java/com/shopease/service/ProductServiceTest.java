@@ -1,6 +1,9 @@
 package com.shopease.service;
 
+import com.shopease.dto.request.BulkStockAdjustmentRequest;
 import com.shopease.dto.request.ProductRequest;
+import com.shopease.dto.request.StockAdjustmentRequest;
+import com.shopease.dto.response.BulkStockAdjustmentResponse;
 import com.shopease.dto.response.PagedResponse;
 import com.shopease.dto.response.ProductResponse;
 import com.shopease.exception.InvalidProductDataException;
@@ -8,6 +11,7 @@ import com.shopease.exception.ProductNameAlreadyExistsException;
 import com.shopease.exception.ResourceNotFoundException;
 import com.shopease.model.Product;
 import com.shopease.repository.ProductRepository;
+import com.shopease.repository.projection.ProductSummary;
 import com.shopease.service.impl.ProductServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,14 +22,18 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -35,6 +43,18 @@ public class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private LowStockService lowStockService;
+
+    @Mock
+    private StockReservationService stockReservationService;
+
+    @Mock
+    private StockShardService stockShardService;
+
+    @Mock
+    private StockLedgerService stockLedgerService;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -238,16 +258,79 @@ public class ProductServiceTest {
         verify(productRepository).findById(productId);
     }
 
+    @Test
+    public void testGetProductResponse_SubtractsHeldUnits() {
+        // Arrange
+        Long productId = 1L;
+        when(productRepository.findById(productId)).thenReturn(Optional.of(existingProduct));
+        when(stockReservationService.getReservedQuantity(productId)).thenReturn(15);
+
+        // Act
+        ProductResponse result = productService.getProductResponse(productId);
+
+        // Assert
+        assertEquals(20, result.getStockQuantity());
+        assertEquals(5, result.getAvailableQuantity());
+    }
+
+    @Test
+    public void testGetProductResponse_ShardedProduct_UsesShardTotal() {
+        // Arrange
+        Long productId = 1L;
+        when(productRepository.findById(productId)).thenReturn(Optional.of(existingProduct));
+        when(stockShardService.isSharded(productId)).thenReturn(true);
+        when(stockShardService.getStockQuantity(productId)).thenReturn(12);
+
+        // Act
+        ProductResponse result = productService.getProductResponse(productId);
+
+        // Assert
+        assertEquals(12, result.getStockQuantity());
+        assertEquals(12, result.getAvailableQuantity());
+    }
+
+    @Test
+    public void testGetProductsWithLowStock_ShardedProductsUseShardTotal() {
+        // Arrange
+        Product restocked = new Product();
+        restocked.setId(2L);
+        restocked.setStockQuantity(1);
+        restocked.setStatus(Product.ProductStatus.ACTIVE);
+
+        Product unsharded = new Product();
+        unsharded.setId(3L);
+        unsharded.setStockQuantity(4);
+        unsharded.setStatus(Product.ProductStatus.ACTIVE);
+
+        when(lowStockService.findProductIdsWithStockAtMost(5)).thenReturn(List.of(2L, 1L, 3L));
+        when(productRepository.findAllById(List.of(2L, 1L, 3L)))
+                .thenReturn(new ArrayList<>(List.of(existingProduct, restocked, unsharded)));
+        when(stockShardService.isSharded(1L)).thenReturn(true);
+        when(stockShardService.getStockQuantity(1L)).thenReturn(3);
+        when(stockShardService.isSharded(2L)).thenReturn(true);
+        when(stockShardService.getStockQuantity(2L)).thenReturn(50);
+
+        // Act
+        List<ProductResponse> result = productService.getProductsWithLowStock(5);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(1L, result.get(0).getId());
+        assertEquals(3, result.get(0).getStockQuantity());
+        assertEquals(3L, result.get(1).getId());
+        assertEquals(4, result.get(1).getStockQuantity());
+    }
+
     @Test
     public void testGetAllProducts_Success() {
         // Arrange
         int page = 0;
         int size = 10;
-        List<Product> products = new ArrayList<>();
-        products.add(existingProduct);
+        List<ProductSummary> products = new ArrayList<>();
+        products.add(new SpelAwareProxyProjectionFactory().createProjection(ProductSummary.class, existingProduct));
 
-        Page<Product> productPage = new PageImpl<>(products);
-        when(productRepository.findAll(any(Pageable.class))).thenReturn(productPage);
+        Page<ProductSummary> productPage = new PageImpl<>(products);
+        when(productRepository.findAllProjectedBy(any(Pageable.class))).thenReturn(productPage);
 
         // Act
         PagedResponse<ProductResponse> result = productService.getAllProducts(page, size);
@@ -262,7 +345,60 @@ public class ProductServiceTest {
         ProductResponse productResponse = result.getContent().get(0);
         assertEquals(existingProduct.getId(), productResponse.getId());
         assertEquals(existingProduct.getName(), productResponse.getName());
+        assertNull(productResponse.getDescription());
+
+        verify(productRepository).findAllProjectedBy(any(Pageable.class));
+        verify(productRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    public void testAdjustStock_Success() {
+        // Arrange
+        StockAdjustmentRequest absolute = new StockAdjustmentRequest();
+        absolute.setProductId(1L);
+        absolute.setStockQuantity(50);
+
+        StockAdjustmentRequest delta = new StockAdjustmentRequest();
+        delta.setProductId(2L);
+        delta.setStockDelta(-5);
+
+        StockAdjustmentRequest unknown = new StockAdjustmentRequest();
+        unknown.setProductId(3L);
+        unknown.setPrice(new BigDecimal("9.99"));
+
+        BulkStockAdjustmentRequest request = new BulkStockAdjustmentRequest();
+        request.setAdjustments(Arrays.asList(absolute, delta, unknown));
+
+        when(stockShardService.applyToShards(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(productRepository.applyStockAdjustments(anyList())).thenReturn(Map.of(1L, 50, 2L, 15));
+
+        // Act
+        BulkStockAdjustmentResponse result = productService.adjustStock(request);
+
+        // Assert
+        assertEquals(3, result.getRequested());
+        assertEquals(2, result.getUpdated());
+        assertEquals(List.of(3L), result.getSkippedProductIds());
+
+        verify(productRepository).applyStockAdjustments(anyList());
+    }
+
+    @Test
+    public void testAdjustStock_ConflictingValues() {
+        // Arrange
+        StockAdjustmentRequest adjustment = new StockAdjustmentRequest();
+        adjustment.setProductId(1L);
+        adjustment.setStockQuantity(10);
+        adjustment.setStockDelta(5);
+
+        BulkStockAdjustmentRequest request = new BulkStockAdjustmentRequest();
+        request.setAdjustments(List.of(adjustment));
+
+        // Act & Assert
+        assertThrows(InvalidProductDataException.class, () -> {
+            productService.adjustStock(request);
+        });
 
-        verify(productRepository).findAll(any(Pageable.class));
+        verify(productRepository, never()).applyStockAdjustments(anyList());
     }
 }
\ No newline at end of file
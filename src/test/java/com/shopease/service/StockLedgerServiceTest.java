@@ -0,0 +1,99 @@
+package com.shopease.service;
+
+import com.shopease.inventory.StockMovement;
+import com.shopease.repository.ProductRepository;
+import com.shopease.repository.StockLedgerRepository;
+import com.shopease.service.impl.StockLedgerServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StockLedgerServiceTest {
+
+    @Mock
+    private StockLedgerRepository stockLedgerRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StockLedgerServiceImpl stockLedgerService;
+
+    @BeforeEach
+    public void setup() {
+        stockLedgerService = new StockLedgerServiceImpl(
+                stockLedgerRepository, productRepository, new SimpleMeterRegistry(), transactionManager);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testRecord_InTransaction_WritesOneBatchBeforeCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        stockLedgerService.record(1L, StockMovement.Type.ORDER, -2, 10L);
+        stockLedgerService.record(2L, StockMovement.Type.ORDER, -1, 10L);
+        verify(stockLedgerRepository, never()).insertAll(anyList());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Assert
+        assertEquals(1, synchronizations.size());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<StockMovement>> captor = ArgumentCaptor.forClass(List.class);
+        verify(stockLedgerRepository, times(1)).insertAll(captor.capture());
+        List<StockMovement> movements = captor.getValue();
+        assertEquals(2, movements.size());
+        assertEquals(-2, movements.get(0).quantity());
+        assertEquals(10L, movements.get(1).orderId());
+    }
+
+    @Test
+    public void testSnapshot_ReloadsViewThatCommittedMovementsAdvance() {
+        // Arrange
+        when(stockLedgerRepository.findStockQuantities()).thenReturn(Map.of(1L, 10));
+        stockLedgerService.snapshot();
+
+        // Act
+        stockLedgerService.record(1L, StockMovement.Type.ORDER, -3, 5L);
+        stockLedgerService.record(2L, StockMovement.Type.CANCEL, 1, 6L);
+        stockLedgerService.record(3L, StockMovement.Type.SET, 4, null);
+
+        // Assert
+        assertEquals(OptionalInt.of(7), stockLedgerService.getStockQuantity(1L));
+        assertEquals(OptionalInt.empty(), stockLedgerService.getStockQuantity(2L));
+        assertEquals(OptionalInt.of(4), stockLedgerService.getStockQuantity(3L));
+        verify(stockLedgerRepository, times(3)).insertAll(anyList());
+        verify(stockLedgerRepository, never()).takeSnapshots(anyLong());
+    }
+}
@@ -0,0 +1,203 @@
+package com.shopease.service;
+
+import com.shopease.exception.InsufficientStockException;
+import com.shopease.model.Product;
+import com.shopease.repository.StockReservationRepository;
+import com.shopease.reservation.StockHold;
+import com.shopease.service.impl.StockReservationServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StockReservationServiceTest {
+
+    @Mock
+    private StockReservationRepository stockReservationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StockReservationServiceImpl stockReservationService;
+    private Product product;
+
+    @BeforeEach
+    public void setup() {
+        stockReservationService = new StockReservationServiceImpl(stockReservationRepository,
+                new SimpleMeterRegistry(), transactionManager);
+        ReflectionTestUtils.setField(stockReservationService, "enabled", true);
+
+        product = new Product();
+        product.setId(7L);
+        product.setName("Limited Edition");
+        product.setStockQuantity(5);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testReserve_Disabled_HoldsNothing() {
+        // Arrange
+        ReflectionTestUtils.setField(stockReservationService, "enabled", false);
+
+        // Act
+        stockReservationService.reserve(1L, product, 10);
+        stockReservationService.flush();
+
+        // Assert
+        assertEquals(0, stockReservationService.getReservedQuantity(7L));
+        assertEquals(0, stockReservationService.getReservedByOthers(2L, 7L));
+        verifyNoInteractions(stockReservationRepository, transactionManager);
+    }
+
+    @Test
+    public void testReserve_RejectsUnitsHeldByOtherCarts() {
+        // Arrange
+        stockReservationService.reserve(1L, product, 4);
+
+        // Act & Assert
+        assertThrows(InsufficientStockException.class, () -> stockReservationService.reserve(2L, product, 2));
+        assertEquals(4, stockReservationService.getReservedQuantity(7L));
+        assertEquals(4, stockReservationService.getReservedByOthers(2L, 7L));
+    }
+
+    @Test
+    public void testReserve_RolledBack_PutsPreviousHoldBack() {
+        // Arrange
+        stockReservationService.reserve(1L, product, 2);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        stockReservationService.reserve(1L, product, 4);
+        assertEquals(4, stockReservationService.getHeldQuantity(1L, 7L));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Assert
+        assertEquals(2, stockReservationService.getHeldQuantity(1L, 7L));
+        assertEquals(2, stockReservationService.getReservedQuantity(7L));
+    }
+
+    @Test
+    public void testReserve_RolledBackNewHold_ReleasesIt() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        stockReservationService.reserve(1L, product, 3);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Assert
+        assertEquals(0, stockReservationService.getReservedQuantity(7L));
+    }
+
+    @Test
+    public void testReserve_Committed_KeepsHold() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        stockReservationService.reserve(1L, product, 3);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Assert
+        assertEquals(3, stockReservationService.getReservedQuantity(7L));
+    }
+
+    @Test
+    public void testRelease_InTransaction_WaitsForCommit() {
+        // Arrange
+        stockReservationService.reserve(1L, product, 3);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        stockReservationService.release(1L, 7L);
+        int beforeCommit = stockReservationService.getReservedQuantity(7L);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        assertEquals(3, beforeCommit);
+        assertEquals(0, stockReservationService.getReservedQuantity(7L));
+    }
+
+    @Test
+    public void testRelease_RolledBack_KeepsHold() {
+        // Arrange
+        stockReservationService.reserve(1L, product, 3);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        stockReservationService.releaseAll(1L);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Assert
+        assertEquals(3, stockReservationService.getReservedQuantity(7L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFlush_WritesChangedHoldsOnce() {
+        // Arrange
+        stockReservationService.reserve(1L, product, 3);
+
+        // Act
+        stockReservationService.flush();
+        stockReservationService.flush();
+
+        // Assert
+        ArgumentCaptor<List<StockHold>> upserted = ArgumentCaptor.forClass(List.class);
+        verify(stockReservationRepository, times(1)).upsertAll(upserted.capture());
+        assertEquals(1, upserted.getValue().size());
+        assertEquals(3, upserted.getValue().get(0).quantity());
+        verify(stockReservationRepository, times(2)).deleteExpired(anyLong());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFlush_Failure_RestoresChangesForNextFlush() {
+        // Arrange
+        stockReservationService.reserve(1L, product, 3);
+        doThrow(new DataAccessResourceFailureException("connection lost"))
+                .doNothing()
+                .when(stockReservationRepository).upsertAll(anyList());
+
+        // Act
+        stockReservationService.flush();
+        stockReservationService.flush();
+
+        // Assert
+        ArgumentCaptor<List<StockHold>> upserted = ArgumentCaptor.forClass(List.class);
+        verify(stockReservationRepository, times(2)).upsertAll(upserted.capture());
+        assertEquals(1, upserted.getAllValues().get(1).size());
+        verify(transactionManager).rollback(any());
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
@@ -0,0 +1,231 @@
+package com.shopease.smoke;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Smoke tests for a packaged build of the application, started as a separate process against
+ * an embedded PostgreSQL. Walks the storefront path once (catalog, register, login, cart,
+ * checkout, payment) and appends the time to the first served GET /products and the resident
+ * set size to build/reports/smoke/startup.txt, so the JVM and native builds can be compared.
+ */
+@Tag("smoke")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public abstract class ApplicationSmokeTest {
+
+    private static final Path REPORT_DIR = Paths.get("build", "reports", "smoke");
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private EmbeddedPostgres postgres;
+    private Process process;
+    private String baseUrl;
+    private long startupMillis;
+
+    private Long productId;
+    private String token;
+    private Long orderId;
+
+    /**
+     * Gets the name of the build under test, used in the report.
+     *
+     * @return The build name
+     */
+    protected abstract String buildName();
+
+    /**
+     * Gets the command that starts the build under test, without application arguments.
+     *
+     * @return The command
+     */
+    protected abstract List<String> command();
+
+    @BeforeAll
+    public void startApplication() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        baseUrl = "http://localhost:" + port + "/api";
+
+        List<String> command = new ArrayList<>(command());
+        command.add("--server.port=" + port);
+        command.add("--app.payment.simulated.latency-ms=10");
+        command.add("--app.payment.simulated.failure-rate=0");
+
+        Files.createDirectories(REPORT_DIR);
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(REPORT_DIR.resolve(buildName() + ".log").toFile());
+        builder.environment().put("SPRING_DATASOURCE_URL", postgres.getJdbcUrl("postgres", "postgres"));
+        builder.environment().put("SPRING_DATASOURCE_USERNAME", "postgres");
+        builder.environment().put("SPRING_DATASOURCE_PASSWORD", "postgres");
+
+        long started = System.nanoTime();
+        process = builder.start();
+        awaitFirstProductsRequest(started);
+    }
+
+    @AfterAll
+    public void stopApplication() throws Exception {
+        try {
+            if (process != null && process.isAlive()) {
+                long rssKb = residentSetKb(process.pid());
+                Files.writeString(REPORT_DIR.resolve("startup.txt"),
+                        String.format("%-8s first GET /products after %6d ms, RSS %6.1f MB%n",
+                                buildName(), startupMillis, rssKb / 1024.0),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                process.destroy();
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            }
+        } finally {
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+    }
+
+    @Test
+    @Order(1)
+    public void testListsSeededProducts() throws Exception {
+        JsonNode products = send("GET", "/products", null, null, 200);
+
+        assertTrue(products.get("content").size() > 0, "No products returned");
+        productId = products.get("content").get(0).get("id").asLong();
+    }
+
+    @Test
+    @Order(2)
+    public void testRegistersAndLogsIn() throws Exception {
+        String email = "smoke-" + System.nanoTime() + "@example.com";
+        send("POST", "/auth/register", null,
+                Map.of("name", "Smoke User", "email", email, "password", "password123"), 201);
+
+        JsonNode login = send("POST", "/auth/login", null,
+                Map.of("email", email, "password", "password123"), 200);
+
+        token = login.get("accessToken").asText();
+        assertFalse(token.isEmpty());
+    }
+
+    @Test
+    @Order(3)
+    public void testAddsToCart() throws Exception {
+        JsonNode cart = send("POST", "/cart", token, Map.of("productId", productId, "quantity", 1), 201);
+
+        assertEquals(1, cart.get("itemCount").asInt());
+    }
+
+    @Test
+    @Order(4)
+    public void testChecksOutAndPays() throws Exception {
+        JsonNode order = send("POST", "/orders", token, Map.of(), 201);
+        orderId = order.get("id").asLong();
+
+        JsonNode paid = send("POST", "/orders/" + orderId + "/payment", token, null, 200);
+
+        assertEquals("COMPLETED", paid.get("status").asText());
+    }
+
+    @Test
+    @Order(5)
+    public void testHealthIsUp() throws Exception {
+        JsonNode health = send("GET", "/actuator/health", null, null, 200);
+
+        assertEquals("UP", health.get("status").asText());
+    }
+
+    /**
+     * Polls GET /products until it is served and records the elapsed time.
+     *
+     * @param started System.nanoTime() when the process was started
+     */
+    private void awaitFirstProductsRequest(long started) throws Exception {
+        long deadline = started + STARTUP_TIMEOUT.toNanos();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/products")).GET().build();
+        while (System.nanoTime() < deadline) {
+            assertTrue(process.isAlive(), "Application exited during startup, see " + buildName() + ".log");
+            try {
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    startupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                    return;
+                }
+            } catch (ConnectException e) {
+                // Not listening yet
+            }
+            Thread.sleep(20);
+        }
+        fail("Application did not serve GET /products within " + STARTUP_TIMEOUT);
+    }
+
+    private JsonNode send(String method, String path, String bearerToken, Object body, int expectedStatus)
+            throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+        if (bearerToken != null) {
+            builder.header("Authorization", "Bearer " + bearerToken);
+        }
+        builder.method(method, body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+
+        HttpResponse<String> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(expectedStatus, response.statusCode(), method + " " + path + ": " + response.body());
+        return response.body().isEmpty() ? null : objectMapper.readTree(response.body());
+    }
+
+    /**
+     * Reads the resident set size of a process from /proc (Linux only).
+     *
+     * @param pid The process ID
+     * @return The resident set size in KB, or 0 where /proc is not available
+     */
+    private long residentSetKb(long pid) throws IOException {
+        Path status = Paths.get("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return 0;
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .map(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                .findFirst()
+                .orElse(0L);
+    }
+}
@@ -0,0 +1,21 @@
+package com.shopease.smoke;
+
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Smoke tests against the boot jar. Run with ./gradlew smokeTest.
+ */
+public class JvmSmokeTest extends ApplicationSmokeTest {
+
+    @Override
+    protected String buildName() {
+        return "jvm";
+    }
+
+    @Override
+    protected List<String> command() {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        return List.of(java, "-jar", System.getProperty("smoke.jar"), "--spring.profiles.active=prod");
+    }
+}
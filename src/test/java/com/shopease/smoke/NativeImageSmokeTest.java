@@ -0,0 +1,19 @@
+package com.shopease.smoke;
+
+import java.util.List;
+
+/**
+ * Smoke tests against the native image. Run with ./gradlew nativeSmokeTest.
+ */
+public class NativeImageSmokeTest extends ApplicationSmokeTest {
+
+    @Override
+    protected String buildName() {
+        return "native";
+    }
+
+    @Override
+    protected List<String> command() {
+        return List.of(System.getProperty("smoke.binary"), "--spring.profiles.active=prod");
+    }
+}
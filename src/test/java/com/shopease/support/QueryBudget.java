@@ -0,0 +1,51 @@
+package com.shopease.support;
+
+import com.shopease.metrics.SqlStats;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MockMvc matchers that hold an endpoint to a SQL statement budget, e.g.
+ * {@code .andExpect(QueryBudget.atMost(3))}. Relies on the SQL stats filter, which
+ * {@code @AutoConfigureMockMvc} registers along with the other filters.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    /**
+     * Asserts that the request issued at most the given number of statements.
+     *
+     * @param maxStatements The statement budget
+     * @return The result matcher
+     */
+    public static ResultMatcher atMost(int maxStatements) {
+        return result -> {
+            SqlStats stats = stats(result);
+            assertTrue(stats.getStatements() <= maxStatements,
+                    "Expected at most " + maxStatements + " SQL statements but " + stats.getStatements()
+                            + " were executed (" + stats.toServerTiming() + ")");
+        };
+    }
+
+    /**
+     * Asserts that no statement was repeated often enough to be reported as N+1.
+     *
+     * @return The result matcher
+     */
+    public static ResultMatcher noRepeatedStatements() {
+        return result -> assertEquals(List.of(), stats(result).getRepeatedStatements(),
+                "Statements repeated within one request (possible N+1)");
+    }
+
+    private static SqlStats stats(MvcResult result) {
+        Object stats = result.getRequest().getAttribute(SqlStats.REQUEST_ATTRIBUTE);
+        assertNotNull(stats, "No SQL stats recorded; is app.sql.stats.enabled set?");
+        return (SqlStats) stats;
+    }
+}
@@ -0,0 +1,52 @@
+package com.shopease.warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WarmupRunnerTest {
+
+    @Test
+    public void testSpeedup_ComparesFirstAndLastRound() {
+        // Arrange
+        WarmupRunner.WarmupReport report = new WarmupRunner.WarmupReport(
+                12_000, 150, 9_000, 3, 40.0, 4.0, 2_500, 50, 2);
+
+        // Act & Assert
+        assertEquals(10.0, report.speedup(), 0.0001);
+    }
+
+    @Test
+    public void testSpeedup_NoRequests() {
+        // Arrange
+        WarmupRunner.WarmupReport report = new WarmupRunner.WarmupReport(
+                300, 200, 0, 0, 0.0, 0.0, 100, 0, 0);
+
+        // Act & Assert
+        assertEquals(1.0, report.speedup(), 0.0001);
+    }
+
+    @Test
+    public void testRegister_PublishesGauges() {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        WarmupRunner.WarmupReport report = new WarmupRunner.WarmupReport(
+                12_000, 150, 9_000, 3, 40.0, 4.0, 2_500, 50, 2);
+
+        // Act
+        report.register(meterRegistry);
+
+        // Assert
+        assertEquals(12_000, meterRegistry.get("shopease.warmup.duration")
+                .timeGauge().value(TimeUnit.MILLISECONDS), 0.0001);
+        assertEquals(4.0, meterRegistry.get("shopease.warmup.round.latency").tag("round", "last")
+                .timeGauge().value(TimeUnit.MILLISECONDS), 0.0001);
+        assertEquals(3, meterRegistry.get("shopease.warmup.requests").tag("outcome", "error")
+                .gauge().value(), 0.0001);
+        assertEquals(50, meterRegistry.get("shopease.warmup.preloaded").tag("type", "products")
+                .gauge().value(), 0.0001);
+    }
+}